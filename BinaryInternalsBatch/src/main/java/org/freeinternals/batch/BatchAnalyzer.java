@@ -0,0 +1,268 @@
+/*
+ * BatchAnalyzer.java    Oct 16, 2026, 21:10
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.batch;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.freeinternals.biv.plugin.PluginManager;
+import org.freeinternals.commonlib.core.FileFormat;
+import org.freeinternals.commonlib.core.ParseContext;
+import org.freeinternals.commonlib.core.ParseMonitor;
+
+/**
+ * Parses all files of directory trees in parallel, without any UI.
+ *
+ * <p>
+ * The directories are walked on the calling thread, and each file is parsed
+ * by the {@link FileFormat} of its plug-in on a work-stealing
+ * {@link ForkJoinPool}. The walk pauses when {@link BatchOptions#queueSize}
+ * files are waiting, or when the files being parsed reach
+ * {@link BatchOptions#memoryLimit}, so a directory of huge files does not
+ * exhaust the heap. The result of each file is passed to the
+ * {@link ResultListener} as soon as it is ready.
+ * </p>
+ *
+ * @author Amos Shi
+ */
+public final class BatchAnalyzer {
+
+    /**
+     * Listener of the file results. It is called on the parsing threads, so
+     * it must be thread-safe.
+     */
+    public interface ResultListener {
+
+        /**
+         * A file is analyzed.
+         *
+         * @param result Result of the file
+         */
+        void fileAnalyzed(FileResult result);
+    }
+
+    /**
+     * Memory is counted in KB, so that the permits fit in an
+     * <code>int</code>.
+     */
+    private static final int MEMORY_UNIT = 1024;
+
+    /**
+     * Options of the batch.
+     */
+    private final BatchOptions options;
+    /**
+     * Listener of the file results.
+     */
+    private final ResultListener listener;
+    /**
+     * Statistics of the batch.
+     */
+    private final BatchStatistics statistics = new BatchStatistics();
+    /**
+     * Free slots of the task queue.
+     */
+    private final Semaphore queueSlots;
+    /**
+     * Free memory in {@link #MEMORY_UNIT}.
+     */
+    private final Semaphore memory;
+    /**
+     * Total memory in {@link #MEMORY_UNIT}.
+     */
+    private final int memoryPermits;
+
+    /**
+     * Creates an analyzer.
+     *
+     * @param options Options of the batch
+     * @param listener Listener of the file results
+     */
+    public BatchAnalyzer(final BatchOptions options, final ResultListener listener) {
+        if (options.threads < 1 || options.queueSize < 1 || options.memoryLimit < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid options. threads = %d, queueSize = %d, memoryLimit = %d",
+                    options.threads, options.queueSize, options.memoryLimit));
+        }
+
+        this.options = options;
+        this.listener = listener;
+        this.queueSlots = new Semaphore(options.queueSize);
+        this.memoryPermits = (int) Math.min(Integer.MAX_VALUE, Math.max(1, options.memoryLimit / MEMORY_UNIT));
+        this.memory = new Semaphore(this.memoryPermits);
+    }
+
+    /**
+     * Analyze all files under {@code roots}, and wait until all of them are
+     * done.
+     *
+     * @param roots Directories or files
+     * @return Statistics of the batch
+     * @throws InterruptedException The calling thread is interrupted
+     */
+    public BatchStatistics analyze(final List<Path> roots) throws InterruptedException {
+        final ForkJoinPool pool = new ForkJoinPool(this.options.threads);
+        try {
+            for (Path root : roots) {
+                this.walk(root, pool);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException("The directory walk is interrupted.");
+                }
+            }
+
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } finally {
+            pool.shutdownNow();
+            this.statistics.finish();
+        }
+
+        return this.statistics;
+    }
+
+    private void walk(final Path root, final ForkJoinPool pool) {
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+
+                @Override
+                public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                    if (!attrs.isRegularFile()) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                    try {
+                        submit(file, attrs.size(), pool);
+                        return FileVisitResult.CONTINUE;
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        return FileVisitResult.TERMINATE;
+                    }
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(final Path file, final IOException ex) {
+                    report(new FileResult(file, 0, null, FileResult.Status.FAILED, ex.toString(), 0, 0));
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException ex) {
+            this.report(new FileResult(root, 0, null, FileResult.Status.FAILED, ex.toString(), 0, 0));
+        }
+    }
+
+    /**
+     * Queue {@code file} for parsing. It blocks while the queue is full or
+     * there is not enough memory for the file.
+     */
+    private void submit(final Path file, final long size, final ForkJoinPool pool) throws InterruptedException {
+        if (size == 0) {
+            this.report(new FileResult(file, size, null, FileResult.Status.SKIPPED, "The file is empty.", 0, 0));
+            return;
+        }
+        if (this.options.maxFileSize > 0 && size > this.options.maxFileSize) {
+            this.report(new FileResult(file, size, null, FileResult.Status.SKIPPED,
+                    String.format("The file is bigger than %d bytes.", this.options.maxFileSize), 0, 0));
+            return;
+        }
+
+        // A file bigger than the memory limit takes all of it, so it is parsed alone
+        final int permits = (int) Math.min(this.memoryPermits, Math.max(1, (size + MEMORY_UNIT - 1) / MEMORY_UNIT));
+        this.queueSlots.acquire();
+        try {
+            this.memory.acquire(permits);
+        } catch (InterruptedException ex) {
+            this.queueSlots.release();
+            throw ex;
+        }
+
+        pool.execute(() -> {
+            try {
+                this.report(this.parse(file, size));
+            } finally {
+                this.memory.release(permits);
+                this.queueSlots.release();
+            }
+        });
+    }
+
+    private void report(final FileResult result) {
+        this.statistics.add(result);
+        this.listener.fileAnalyzed(result);
+    }
+
+    /**
+     * Parse one file with its {@link FileFormat}.
+     */
+    private FileResult parse(final Path path, final long size) {
+        final long start = System.nanoTime();
+        final File file = path.toFile();
+        String format = null;
+        final ParseMonitor monitor = (this.options.timeoutMillis > 0)
+                ? new Deadline(start + TimeUnit.MILLISECONDS.toNanos(this.options.timeoutMillis))
+                : ParseMonitor.NONE;
+
+        FileFormat ff = null;
+        try {
+            ff = ParseContext.call(monitor, () -> PluginManager.create(file));
+            format = ff.getClass().getSimpleName();
+            final int count = ff.getFileComponents().size();
+
+            // A parser without progress reports is not stopped at the deadline
+            if (monitor.isCancelled()) {
+                throw new CancellationException();
+            }
+            return new FileResult(path, size, format, FileResult.Status.OK, null, count, System.nanoTime() - start);
+        } catch (CancellationException ex) {
+            return new FileResult(path, size, format, FileResult.Status.TIMEOUT,
+                    String.format("The parsing takes longer than %d ms.", this.options.timeoutMillis), 0, System.nanoTime() - start);
+        } catch (Throwable ex) {
+            final Throwable cause = (ex instanceof ExecutionException && ex.getCause() != null) ? ex.getCause() : ex;
+            return new FileResult(path, size, format, FileResult.Status.FAILED, cause.toString(), 0, System.nanoTime() - start);
+        } finally {
+            if (ff != null) {
+                try {
+                    ff.close();
+                } catch (IOException ex) {
+                    // The result is already known, nothing more to report
+                }
+            }
+        }
+    }
+
+    /**
+     * Cancels the parsing after a deadline.
+     */
+    private static final class Deadline implements ParseMonitor {
+
+        /**
+         * Deadline in {@link System#nanoTime()}.
+         */
+        private final long deadline;
+
+        Deadline(final long deadline) {
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void progress(final long done, final long total) {
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return System.nanoTime() - this.deadline > 0;
+        }
+    }
+}
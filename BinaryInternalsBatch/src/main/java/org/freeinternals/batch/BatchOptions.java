@@ -0,0 +1,43 @@
+/*
+ * BatchOptions.java    Oct 16, 2026, 21:10
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.batch;
+
+/**
+ * Options of {@link BatchAnalyzer}.
+ *
+ * @author Amos Shi
+ */
+public final class BatchOptions {
+
+    /**
+     * Number of parsing threads, all processors by default.
+     */
+    public int threads = Runtime.getRuntime().availableProcessors();
+    /**
+     * Max number of files waiting or being parsed. The directory walk pauses
+     * when the queue is full, so the number of tasks in memory is bounded.
+     */
+    public int queueSize = 1024;
+    /**
+     * Max total size in bytes of the files being parsed at the same time,
+     * half of the max heap by default. A file bigger than the limit is parsed
+     * alone.
+     */
+    public long memoryLimit = Runtime.getRuntime().maxMemory() / 2;
+    /**
+     * Files bigger than this size in bytes are skipped, <code>0</code> for no
+     * limit.
+     */
+    public long maxFileSize = 0;
+    /**
+     * Max parsing time of one file in milliseconds, <code>0</code> for no
+     * limit. The parser stops at its next progress report. The ELF, PE and BMP
+     * parsers read only fixed headers and report no progress, so they run to
+     * their end; the file is still reported as timed out if it took longer.
+     */
+    public long timeoutMillis = 0;
+}
@@ -0,0 +1,147 @@
+/*
+ * BatchStatistics.java    Oct 16, 2026, 21:10
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.batch;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of a batch, updated by all parsing threads.
+ *
+ * @author Amos Shi
+ */
+public final class BatchStatistics {
+
+    /**
+     * Number of files of each status.
+     */
+    private final LongAdder[] statusCount = new LongAdder[FileResult.Status.values().length];
+    /**
+     * Total bytes of the parsed files.
+     */
+    private final LongAdder bytes = new LongAdder();
+    /**
+     * Total parsing time of all threads in nanoseconds.
+     */
+    private final LongAdder parseNanos = new LongAdder();
+    /**
+     * Number of files of each format.
+     */
+    private final Map<String, LongAdder> formatCount = new ConcurrentHashMap<>();
+    /**
+     * Start time of the batch.
+     */
+    private final long startNanos = System.nanoTime();
+    /**
+     * End time of the batch, <code>0</code> before the batch finishes.
+     */
+    private volatile long endNanos = 0;
+
+    BatchStatistics() {
+        for (int i = 0; i < this.statusCount.length; i++) {
+            this.statusCount[i] = new LongAdder();
+        }
+    }
+
+    void add(final FileResult result) {
+        this.statusCount[result.status.ordinal()].increment();
+        if (result.status != FileResult.Status.SKIPPED) {
+            this.bytes.add(result.length);
+            this.parseNanos.add(result.nanos);
+        }
+        if (!result.format.isEmpty()) {
+            this.formatCount.computeIfAbsent(result.format, (k) -> new LongAdder()).increment();
+        }
+    }
+
+    void finish() {
+        this.endNanos = System.nanoTime();
+    }
+
+    /**
+     * Get the number of files of {@code status}.
+     *
+     * @param status Status of the files
+     * @return Number of files
+     */
+    public long getCount(final FileResult.Status status) {
+        return this.statusCount[status.ordinal()].sum();
+    }
+
+    /**
+     * Get the number of all files.
+     *
+     * @return Number of files
+     */
+    public long getFiles() {
+        long sum = 0;
+        for (LongAdder count : this.statusCount) {
+            sum += count.sum();
+        }
+        return sum;
+    }
+
+    /**
+     * Get the total bytes of the parsed files.
+     *
+     * @return Bytes of the parsed files
+     */
+    public long getBytes() {
+        return this.bytes.sum();
+    }
+
+    /**
+     * Get the elapsed wall-clock time of the batch.
+     *
+     * @return Elapsed time in seconds
+     */
+    public double getElapsedSeconds() {
+        final long end = (this.endNanos != 0) ? this.endNanos : System.nanoTime();
+        return (end - this.startNanos) / 1e9;
+    }
+
+    /**
+     * Get the throughput in files per second.
+     *
+     * @return Files per second
+     */
+    public double getFilesPerSecond() {
+        final double seconds = this.getElapsedSeconds();
+        return (seconds > 0) ? this.getFiles() / seconds : 0;
+    }
+
+    /**
+     * Get the throughput in MB (1024 * 1024 bytes) per second.
+     *
+     * @return MB per second
+     */
+    public double getMegabytesPerSecond() {
+        final double seconds = this.getElapsedSeconds();
+        return (seconds > 0) ? this.getBytes() / (1024.0 * 1024.0) / seconds : 0;
+    }
+
+    /**
+     * Print the statistics.
+     *
+     * @param out Print target
+     */
+    public void print(final PrintStream out) {
+        out.println(String.format("Files    : %d", this.getFiles()));
+        for (FileResult.Status status : FileResult.Status.values()) {
+            out.println(String.format("  %-7s: %d", status, this.getCount(status)));
+        }
+        out.println(String.format("Bytes    : %d (%.2f MB)", this.getBytes(), this.getBytes() / (1024.0 * 1024.0)));
+        out.println(String.format("Time     : %.3f s elapsed, %.3f s parsing", this.getElapsedSeconds(), this.parseNanos.sum() / 1e9));
+        out.println(String.format("Speed    : %.1f files/s, %.2f MB/s", this.getFilesPerSecond(), this.getMegabytesPerSecond()));
+
+        out.println("Formats  :");
+        new TreeMap<>(this.formatCount).forEach((format, count) -> out.println(String.format("  %s: %d", format, count.sum())));
+    }
+}
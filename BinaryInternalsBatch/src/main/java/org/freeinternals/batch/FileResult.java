@@ -0,0 +1,101 @@
+/*
+ * FileResult.java    Oct 16, 2026, 21:10
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.batch;
+
+import java.nio.file.Path;
+
+/**
+ * Result of analyzing one file.
+ *
+ * @author Amos Shi
+ */
+public final class FileResult {
+
+    /**
+     * Status of the analysis.
+     */
+    public enum Status {
+
+        /**
+         * The file is parsed successfully.
+         */
+        OK,
+        /**
+         * The parser reported an error.
+         */
+        FAILED,
+        /**
+         * The parsing took longer than {@link BatchOptions#timeoutMillis}.
+         */
+        TIMEOUT,
+        /**
+         * The file is not parsed, for example it is bigger than
+         * {@link BatchOptions#maxFileSize}.
+         */
+        SKIPPED
+    }
+
+    /**
+     * The analyzed file.
+     */
+    public final Path path;
+    /**
+     * File length in bytes.
+     */
+    public final long length;
+    /**
+     * Simple name of the {@link org.freeinternals.commonlib.core.FileFormat}
+     * class used, or empty if none.
+     */
+    public final String format;
+    /**
+     * Status of the analysis.
+     */
+    public final Status status;
+    /**
+     * Error message for {@link Status#FAILED} and {@link Status#SKIPPED},
+     * else empty.
+     */
+    public final String message;
+    /**
+     * Number of parsed file components.
+     */
+    public final int components;
+    /**
+     * Time used in nanoseconds.
+     */
+    public final long nanos;
+
+    FileResult(final Path path, final long length, final String format, final Status status,
+            final String message, final int components, final long nanos) {
+        this.path = path;
+        this.length = length;
+        this.format = (format != null) ? format : "";
+        this.status = status;
+        this.message = (message != null) ? message : "";
+        this.components = components;
+        this.nanos = nanos;
+    }
+
+    /**
+     * Tab separated text of the result: status, milliseconds, length, format,
+     * components, path, message.
+     *
+     * @return Text of the result in one line
+     */
+    @Override
+    public String toString() {
+        return String.format("%s\t%.3f\t%d\t%s\t%d\t%s\t%s",
+                this.status,
+                this.nanos / 1000000.0,
+                this.length,
+                this.format,
+                this.components,
+                this.path,
+                this.message.replace('\t', ' ').replace('\n', ' ').replace('\r', ' '));
+    }
+}
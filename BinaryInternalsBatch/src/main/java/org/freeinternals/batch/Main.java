@@ -0,0 +1,230 @@
+/*
+ * Main.java    Oct 16, 2026, 21:10
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.batch;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.freeinternals.biv.plugin.PluginManager;
+
+/**
+ * Command line tool which parses whole directory trees with the Binary
+ * Internals Viewer plug-ins, without any UI.
+ *
+ * <p>
+ * Each file result is printed as one tab separated line, see
+ * {@link FileResult#toString()}. The statistics are printed to the standard
+ * error at the end. The exit code is <code>0</code> when all files are
+ * parsed, <code>1</code> when some files failed, and <code>2</code> for a
+ * wrong command line.
+ * </p>
+ *
+ * @author Amos Shi
+ */
+public final class Main {
+
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: java -jar BinaryInternalsBatch.jar [options] <file or directory>...",
+            "",
+            "Options:",
+            "  --threads <n>     Parsing threads, default: number of processors",
+            "  --queue <n>       Max files waiting for parsing, default: 1024",
+            "  --memory <size>   Max total size of the files parsed at the same time,",
+            "                    like 512m, default: half of the max heap",
+            "  --max-size <size> Skip files bigger than the size",
+            "  --timeout <ms>    Max parsing time of one file, checked when the parser",
+            "                    reports its progress",
+            "  --output <file>   Write the results to the file, default: standard output",
+            "  --summary         Print the statistics only",
+            "  --verbose         Keep the messages and the whole log of the parsers",
+            "",
+            "Plug-ins are loaded from system property biv.plugin.dir, default: ./libs");
+
+    private Main() {
+    }
+
+    /**
+     * Main entry point.
+     *
+     * @param args Command line arguments
+     */
+    public static void main(final String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        final BatchOptions options = new BatchOptions();
+        final List<Path> roots = new ArrayList<>();
+        String output = null;
+        boolean summary = false;
+        boolean verbose = false;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--threads":
+                        options.threads = Integer.parseInt(value(args, ++i));
+                        break;
+                    case "--queue":
+                        options.queueSize = Integer.parseInt(value(args, ++i));
+                        break;
+                    case "--memory":
+                        options.memoryLimit = parseSize(value(args, ++i));
+                        break;
+                    case "--max-size":
+                        options.maxFileSize = parseSize(value(args, ++i));
+                        break;
+                    case "--timeout":
+                        options.timeoutMillis = Long.parseLong(value(args, ++i));
+                        break;
+                    case "--output":
+                        output = value(args, ++i);
+                        break;
+                    case "--summary":
+                        summary = true;
+                        break;
+                    case "--verbose":
+                        verbose = true;
+                        break;
+                    default:
+                        if (args[i].startsWith("--")) {
+                            throw new IllegalArgumentException("Unknown option: " + args[i]);
+                        }
+                        roots.add(Paths.get(args[i]));
+                }
+            }
+            if (roots.isEmpty()) {
+                throw new IllegalArgumentException("No file or directory is given.");
+            }
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        final PrintStream err = System.err;
+        final PrintStream results;
+        try {
+            results = (output == null) ? System.out
+                    : new PrintStream(new BufferedOutputStream(new FileOutputStream(output)), false, "UTF-8");
+        } catch (IOException ex) {
+            err.println(ex.toString());
+            System.exit(2);
+            return;
+        }
+
+        // Some parsers print debug messages, keep them out of the results;
+        // the parser log is kept, at SEVERE only unless verbose
+        final PrintStream out = System.out;
+        final Logger rootLogger = Logger.getLogger("");
+        final Level level = rootLogger.getLevel();
+        final int exitCode;
+        if (verbose) {
+            System.setOut(err);
+        } else {
+            System.setOut(new PrintStream(new NullOutputStream()));
+            rootLogger.setLevel(Level.SEVERE);
+        }
+        try {
+            exitCode = run(options, roots, results, !summary, err);
+        } finally {
+            System.setOut(out);
+            rootLogger.setLevel(level);
+            results.flush();
+            if (output != null) {
+                results.close();
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    /**
+     * Analyze the files and print the statistics.
+     *
+     * @return The exit code
+     */
+    private static int run(final BatchOptions options, final List<Path> roots, final PrintStream results,
+            final boolean printResults, final PrintStream err) {
+        err.println(String.format("Plug-ins: %d loaded from %s", PluginManager.getPlugins().size(), PluginManager.PLUGIN_DIR));
+
+        final BatchAnalyzer analyzer = new BatchAnalyzer(options, (result) -> {
+            if (printResults) {
+                synchronized (results) {
+                    results.println(result.toString());
+                }
+            }
+        });
+
+        final BatchStatistics statistics;
+        try {
+            statistics = analyzer.analyze(roots);
+        } catch (InterruptedException ex) {
+            err.println("Interrupted.");
+            return 1;
+        }
+
+        statistics.print(err);
+        final boolean failed = statistics.getCount(FileResult.Status.FAILED) > 0
+                || statistics.getCount(FileResult.Status.TIMEOUT) > 0;
+        return failed ? 1 : 0;
+    }
+
+    private static String value(final String[] args, final int i) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException("Missing value of option " + args[i - 1]);
+        }
+        return args[i];
+    }
+
+    /**
+     * Parse a size like <code>1024</code>, <code>64k</code>, <code>512m</code>
+     * or <code>2g</code>.
+     */
+    static long parseSize(final String text) {
+        final String s = text.trim().toLowerCase(Locale.ROOT);
+        long unit = 1;
+        int end = s.length();
+        if (s.endsWith("k")) {
+            unit = 1024L;
+            end--;
+        } else if (s.endsWith("m")) {
+            unit = 1024L * 1024;
+            end--;
+        } else if (s.endsWith("g")) {
+            unit = 1024L * 1024 * 1024;
+            end--;
+        }
+
+        try {
+            return Long.parseLong(s.substring(0, end)) * unit;
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid size: " + text);
+        }
+    }
+
+    /**
+     * Discards all output.
+     */
+    private static final class NullOutputStream extends OutputStream {
+
+        @Override
+        public void write(final int b) {
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+        }
+    }
+}
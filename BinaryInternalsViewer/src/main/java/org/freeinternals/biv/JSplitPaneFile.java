@@ -10,6 +10,7 @@ import java.awt.Component;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.io.File;
+import java.io.IOException;
 import javax.swing.Icon;
 import javax.swing.JFrame;
 import javax.swing.JPanel;
@@ -28,6 +29,7 @@ import org.freeinternals.commonlib.ui.JBinaryViewer;
 import org.freeinternals.commonlib.ui.UITool;
 import org.freeinternals.commonlib.ui.JPanelForTree;
 import org.freeinternals.commonlib.ui.JTreeNodeFileComponent;
+import org.freeinternals.commonlib.ui.TreeNodeIndex;
 import org.freeinternals.commonlib.core.FileFormatException;
 
 /**
@@ -53,16 +55,42 @@ public class JSplitPaneFile extends JSplitPane {
     public JSplitPaneFile(final File file, final JFrame frame) throws FileFormatException, Throwable {
         this.file = PluginManager.getFile(file);
         this.topLevelFrame = frame;
-        this.createAndShowGUI();
+        this.createAndShowGUI(generateTree(this.file));
     }
 
-    private void createAndShowGUI() {
+    /**
+     * Creates a split panel from a parsed file and its tree nodes, which are
+     * usually generated by {@link ParseExecutor} in the background.
+     *
+     * @param file The parsed file
+     * @param root Root tree node of the file, see {@link #generateTree(FileFormat)}
+     * @param frame Top level frame
+     */
+    public JSplitPaneFile(final FileFormat file, final DefaultMutableTreeNode root, final JFrame frame) {
+        this.file = file;
+        this.topLevelFrame = frame;
+        this.createAndShowGUI(root);
+    }
 
+    /**
+     * Generate the tree nodes of {@code file}. It does not touch any Swing
+     * component, so it can be called on a background thread.
+     *
+     * @param file The parsed file
+     * @return Root tree node of the file
+     */
+    static DefaultMutableTreeNode generateTree(final FileFormat file) {
+        // Tree node positions are int, a file over 2 GB is covered up to Integer.MAX_VALUE
         final DefaultMutableTreeNode root = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
                 0,
-                this.file.fileByteArray.length,
-                this.file.fileName));
-        this.file.generateTreeNode(root);
+                (int) Math.min(file.getFileLength(), Integer.MAX_VALUE),
+                file.fileName));
+        file.generateTreeNode(root);
+        return root;
+    }
+
+    private void createAndShowGUI(final DefaultMutableTreeNode root) {
+
         final JTree tree = new JTree(new DefaultTreeModel(root));
 
         tree.setCellRenderer(new DefaultTreeCellRenderer() {
@@ -96,6 +124,7 @@ public class JSplitPaneFile extends JSplitPane {
             }
         });
 
+        UITool.setFixedRowHeight(tree);
         tree.addTreeSelectionListener(this::treeSelectionChanged);
         tree.addMouseListener(new MouseAdapter() {
 
@@ -121,7 +150,9 @@ public class JSplitPaneFile extends JSplitPane {
 
         final JTabbedPane tabbedPane = new JTabbedPane();
         this.binaryViewer = new JBinaryViewer();
-        this.binaryViewer.setData(this.file.fileByteArray);
+        this.binaryViewer.setData(this.file.getByteSource());
+        final TreeNodeIndex nodeIndex = new TreeNodeIndex(root);
+        this.binaryViewer.addByteClickListener((offset) -> nodeIndex.select(tree, offset));
         this.binaryViewerView = new JScrollPane(this.binaryViewer);
         this.binaryViewerView.getVerticalScrollBar().setValue(0);
         tabbedPane.add(this.file.getContentTabName(), this.binaryViewerView);
@@ -135,6 +166,15 @@ public class JSplitPaneFile extends JSplitPane {
         this.binaryViewerView.getVerticalScrollBar().setValue(0);
     }
 
+    /**
+     * Release the resources of the opened file.
+     *
+     * @throws IOException Error happened when closing the file
+     */
+    public void closeFile() throws IOException {
+        this.file.close();
+    }
+
     private void treeSelectionChanged(final TreeSelectionEvent evt) {
         Object obj = evt.getPath().getLastPathComponent();
         if (obj instanceof DefaultMutableTreeNode) {
@@ -9,6 +9,7 @@ package org.freeinternals.biv;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Desktop;
+import java.awt.FlowLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
@@ -18,17 +19,24 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.swing.JButton;
 import javax.swing.JFileChooser;
 import javax.swing.JFrame;
+import javax.swing.JLabel;
 import javax.swing.JMenu;
 import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.KeyStroke;
 import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import javax.swing.tree.DefaultMutableTreeNode;
+import org.freeinternals.biv.plugin.PluginDescriptor;
 import org.freeinternals.biv.plugin.PluginManager;
+import org.freeinternals.commonlib.core.FileFormat;
 import org.freeinternals.commonlib.ui.UITool;
 import org.freeinternals.commonlib.core.FileFormatException;
 
@@ -42,6 +50,14 @@ public class Main extends JFrame {
     private static final long serialVersionUID = 4876543219876500000L;
     private final JPanel filedropPanel = new JPanel();
     private JSplitPaneFile contentPane = null;
+    /**
+     * The file being parsed in the background, or {@code null}.
+     */
+    private ParseExecutor.Task parseTask = null;
+    /**
+     * Progress panel shown while {@link #parseTask} is running.
+     */
+    private JPanel progressPanel = null;
 
     @SuppressWarnings("LeakingThisInConstructor")
     private Main() {
@@ -197,7 +213,11 @@ public class Main extends JFrame {
     private void menu_FileOpen() {
 
         final JFileChooser chooser = new JFileChooser();
-        PluginManager.initChooseFilters(chooser);
+        for (PluginDescriptor plugin : PluginManager.getPlugins().values()) {
+            chooser.addChoosableFileFilter(new FileNameExtensionFilter(
+                    plugin.getExtensionDescription(),
+                    plugin.getExtensions()));
+        }
 
         final int returnVal = chooser.showOpenDialog(this);
         if (returnVal == JFileChooser.APPROVE_OPTION) {
@@ -208,28 +228,80 @@ public class Main extends JFrame {
     private void openFile(final File file) {
         this.closeFile();      // Close any open file first
 
-        try {
-            this.contentPane = new JSplitPaneFile(file, this);
-        } catch (Throwable ex) {
-            Logger.getLogger(Main.class.getName()).log(Level.SEVERE, null, ex);
-            JOptionPane.showMessageDialog(
-                    this,
-                    ex.getMessage(),
-                    this.getTitle(),
-                    JOptionPane.ERROR_MESSAGE);
-        }
-        this.filedropPanel.add(this.contentPane, BorderLayout.CENTER);
+        final JProgressBar progressBar = new JProgressBar(0, 100);
+        progressBar.setStringPainted(true);
+        final JButton cancelButton = new JButton("Cancel");
+        cancelButton.addActionListener((e) -> this.closeFile());
+
+        final JPanel panel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        panel.setOpaque(false);
+        panel.add(new JLabel("Parsing " + file.getName()));
+        panel.add(progressBar);
+        panel.add(cancelButton);
+        this.progressPanel = panel;
+        this.filedropPanel.add(panel, BorderLayout.NORTH);
+        this.validate();
+
+        this.parseTask = ParseExecutor.submit(file, new ParseExecutor.Listener() {
+
+            @Override
+            public void progress(final int percent) {
+                progressBar.setValue(percent);
+            }
 
-        // Resize after adding new content
-        this.setSize(this.getWidth() + 2, this.getHeight());
-        this.setSize(this.getWidth() - 2, this.getHeight());
+            @Override
+            public void parsed(final FileFormat parsed, final DefaultMutableTreeNode root) {
+                removeProgress();
+                contentPane = new JSplitPaneFile(parsed, root, Main.this);
+                filedropPanel.add(contentPane, BorderLayout.CENTER);
+
+                // Resize after adding new content
+                setSize(getWidth() + 2, getHeight());
+                setSize(getWidth() - 2, getHeight());
+            }
+
+            @Override
+            public void failed(final Throwable ex) {
+                removeProgress();
+                Logger.getLogger(Main.class.getName()).log(Level.SEVERE, null, ex);
+                JOptionPane.showMessageDialog(
+                        Main.this,
+                        ex.getMessage(),
+                        getTitle(),
+                        JOptionPane.ERROR_MESSAGE);
+            }
+        });
+    }
+
+    /**
+     * Remove the progress panel of {@link #parseTask}.
+     */
+    private void removeProgress() {
+        this.parseTask = null;
+        if (this.progressPanel != null) {
+            this.filedropPanel.remove(this.progressPanel);
+            this.progressPanel = null;
+            this.validate();
+            this.repaint();
+        }
     }
 
     private void closeFile() {
+        // Stop the parsing in progress
+        if (this.parseTask != null) {
+            this.parseTask.cancel();
+        }
+        this.removeProgress();
+
         // Clear Content
         if (this.contentPane != null) {
             //this.remove(this.contentPane);
             this.filedropPanel.remove(this.contentPane);
+            try {
+                this.contentPane.closeFile();
+            } catch (IOException ex) {
+                Logger.getLogger(Main.class.getName()).log(Level.WARNING, null, ex);
+            }
             this.validate();
         }
         this.contentPane = null;
@@ -0,0 +1,237 @@
+/*
+ * ParseExecutor.java    Oct 16, 2026, 20:40
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.biv;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.SwingUtilities;
+import javax.swing.tree.DefaultMutableTreeNode;
+import org.freeinternals.biv.plugin.PluginManager;
+import org.freeinternals.commonlib.core.FileFormat;
+import org.freeinternals.commonlib.core.ParseContext;
+import org.freeinternals.commonlib.core.ParseMonitor;
+
+/**
+ * Parses files on dedicated background threads, so that the Swing event
+ * dispatch thread (EDT) is never blocked by a parser.
+ *
+ * <p>
+ * Both the {@link FileFormat} creation and the tree node generation run on the
+ * executor. The {@link Listener} is always called on the EDT. Several files can
+ * be parsed at the same time, up to the number of processors.
+ * </p>
+ * <p>
+ * A parser reports its progress, and notices the cancellation, through
+ * {@link FileFormat#reportProgress(long)} in its parsing loop. The ELF, PE and
+ * BMP parsers read only fixed headers and have no such loop: they show no
+ * progress, and a cancelled task of such a file runs to its end before the
+ * result is dropped.
+ * </p>
+ *
+ * @author Amos Shi
+ */
+public final class ParseExecutor {
+
+    /**
+     * Threads for parsing.
+     */
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()),
+            new ParserThreadFactory());
+
+    private ParseExecutor() {
+    }
+
+    /**
+     * Parse {@code file} in the background.
+     *
+     * @param file The file to be parsed
+     * @param listener Listener for the progress and the result, called on the
+     * EDT
+     * @return The parsing task, which could be cancelled
+     */
+    public static Task submit(final File file, final Listener listener) {
+        final Task task = new Task(file, listener);
+        task.future = EXECUTOR.submit(task::run);
+        return task;
+    }
+
+    /**
+     * Listener of a parsing task. All methods are called on the EDT.
+     */
+    public interface Listener {
+
+        /**
+         * The parsing has made progress.
+         *
+         * @param percent Progress in percent, from 0 to 100
+         */
+        void progress(int percent);
+
+        /**
+         * The file is parsed successfully.
+         *
+         * @param file The parsed file
+         * @param root Root tree node of the file
+         */
+        void parsed(FileFormat file, DefaultMutableTreeNode root);
+
+        /**
+         * The parsing failed. It is not called for a cancelled task.
+         *
+         * @param ex The error
+         */
+        void failed(Throwable ex);
+    }
+
+    /**
+     * A file parsing task. It is the {@link ParseMonitor} of its own parsing.
+     */
+    public static final class Task implements ParseMonitor {
+
+        /**
+         * The file to be parsed.
+         */
+        private final File file;
+        /**
+         * Listener of the task.
+         */
+        private final Listener listener;
+        /**
+         * Whether the task is cancelled.
+         */
+        private volatile boolean cancelled = false;
+        /**
+         * Last reported progress in percent, to notify the EDT only when it
+         * changes.
+         */
+        private volatile int lastPercent = -1;
+        /**
+         * Future of the task in the executor.
+         */
+        private volatile Future<?> future;
+
+        private Task(final File file, final Listener listener) {
+            this.file = file;
+            this.listener = listener;
+        }
+
+        /**
+         * Get the file to be parsed.
+         *
+         * @return The file
+         */
+        public File getFile() {
+            return this.file;
+        }
+
+        /**
+         * Ask the task to stop. The parsing stops at the next progress report
+         * of the parser, and the {@link Listener} will not be called any more.
+         */
+        public void cancel() {
+            this.cancelled = true;
+            if (this.future != null) {
+                // Not interrupted, an interrupt closes the mapped file channel
+                this.future.cancel(false);
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return this.cancelled;
+        }
+
+        @Override
+        public void progress(final long done, final long total) {
+            if (total <= 0) {
+                return;
+            }
+
+            final int percent = (int) Math.min(100, done * 100 / total);
+            if (percent != this.lastPercent) {
+                this.lastPercent = percent;
+                SwingUtilities.invokeLater(() -> {
+                    if (!this.cancelled) {
+                        this.listener.progress(percent);
+                    }
+                });
+            }
+        }
+
+        private void run() {
+            FileFormat ff = null;
+            try {
+                ff = ParseContext.call(this, () -> PluginManager.create(this.file));
+                final FileFormat parsed = ff;
+                final DefaultMutableTreeNode root = ParseContext.call(this, () -> JSplitPaneFile.generateTree(parsed));
+                this.progress(1, 1);
+
+                SwingUtilities.invokeLater(() -> {
+                    if (this.cancelled) {
+                        close(parsed);
+                    } else {
+                        this.listener.parsed(parsed, root);
+                    }
+                });
+            } catch (CancellationException ex) {
+                close(ff);
+            } catch (Throwable ex) {
+                close(ff);
+                if (!this.cancelled) {
+                    final Throwable cause = (ex instanceof ExecutionException && ex.getCause() != null) ? ex.getCause() : ex;
+                    SwingUtilities.invokeLater(() -> {
+                        // It may be cancelled after the check above
+                        if (!this.cancelled) {
+                            this.listener.failed(cause);
+                        }
+                    });
+                }
+            }
+        }
+
+        private static void close(final FileFormat ff) {
+            if (ff == null) {
+                return;
+            }
+            try {
+                ff.close();
+            } catch (IOException ex) {
+                Logger.getLogger(ParseExecutor.class.getName()).log(Level.WARNING, null, ex);
+            }
+        }
+    }
+
+    /**
+     * Creates daemon threads, so that a running parser does not keep the
+     * application alive.
+     */
+    private static final class ParserThreadFactory implements ThreadFactory {
+
+        /**
+         * Number of created threads.
+         */
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable r) {
+            final Thread t = new Thread(r, "biv-parser-" + this.count.incrementAndGet());
+            t.setDaemon(true);
+            t.setPriority(Thread.NORM_PRIORITY - 1);
+            return t;
+        }
+    }
+}
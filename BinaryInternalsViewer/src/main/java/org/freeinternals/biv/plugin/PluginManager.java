@@ -1,172 +0,0 @@
-/*
- * Plugin.java    Apr 12, 2011, 13:04
- *
- * Copyright 2011, FreeInternals.org. All rights reserved.
- * Use is subject to license terms.
- */
-package org.freeinternals.biv.plugin;
-
-import org.freeinternals.commonlib.core.FileFormat;
-import java.io.File;
-import java.io.IOException;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
-import java.net.URL;
-import java.net.URLClassLoader;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.jar.JarFile;
-import java.util.jar.Manifest;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-import javax.swing.JFileChooser;
-import javax.swing.filechooser.FileNameExtensionFilter;
-import org.freeinternals.commonlib.core.FileFormatException;
-
-/**
- *
- * @author Amos Shi
- */
-public class PluginManager {
-
-    public static final String MANIFEST_ATTR_NAME = "biv-plugin";
-    public static final String PLUGIN_DIR = System.getProperty("user.dir")
-            + System.getProperty("file.separator")
-            + "libs";
-    /**
-     * Jar file name and the plug-in descriptor.
-     */
-    protected static final Map<String, PluginDescriptor> PLUGINS = new HashMap<>(10);
-
-    static {
-        loadPlugins();
-    }
-
-    private static void loadPlugins() {
-        File pluginFolder = new File(PLUGIN_DIR);
-        String pluginDescClassName;
-
-        if (pluginFolder.exists() == false) {
-            // The plugin folder does not exist
-            return;
-        }
-
-        for (File plguinFile : pluginFolder.listFiles()) {
-            if (plguinFile.isFile() & plguinFile.getName().toLowerCase().endsWith(".jar")) {
-                try {
-                    JarFile jar = new JarFile(plguinFile);
-
-                    Manifest mf = jar.getManifest();
-                    if (mf == null) {
-                        continue;
-                    }
-
-                    pluginDescClassName = mf.getMainAttributes().getValue(MANIFEST_ATTR_NAME);
-                    if (pluginDescClassName == null || pluginDescClassName.length() == 0) {
-                        continue;
-                    }
-
-                    loadPlugin(plguinFile, pluginDescClassName);
-                } catch (IOException ex) {
-                    Logger.getLogger(PluginManager.class.getName()).log(Level.SEVERE, null, ex);
-                } catch (Exception ex) {
-                    Logger.getLogger(PluginManager.class.getName()).log(Level.SEVERE, null, ex);
-                }
-            }
-        }
-    }
-
-    private static void loadPlugin(File pluginFile, String pluginDescClassName) throws Exception {
-        URL url = pluginFile.toURI().toURL();
-        ClassLoader loader = new URLClassLoader(new URL[]{url});
-        Class<?> cls = loader.loadClass(pluginDescClassName);
-        if (cls == null) {
-            return;
-        }
-        PLUGINS.put(pluginFile.getName(), (PluginDescriptor) cls.getDeclaredConstructor().newInstance());
-    }
-
-    public static String getPlugedExtensions(){
-        StringBuilder builder = new StringBuilder(16);
-        if (!PLUGINS.isEmpty()) {
-            builder.append(" - ");
-            PLUGINS.values().stream().map((plugin) -> plugin.getExtensions()).forEachOrdered((exts) -> {
-                for (String ext : exts) {
-                    builder.append(ext);
-                    builder.append(", ");
-                }
-            });
-            builder.append(" ...");
-        }
-    
-        return builder.toString();
-    }
-    
-    public static void initChooseFilters(JFileChooser chooser) {
-        FileNameExtensionFilter filter;
-        for (PluginDescriptor plugin : PLUGINS.values()) {
-            filter = new FileNameExtensionFilter(
-                    plugin.getExtensionDescription(),
-                    plugin.getExtensions());
-            chooser.addChoosableFileFilter(filter);
-        }
-    }
-
-    public static FileFormat getFile(final File file) throws FileFormatException, Throwable {
-        Class<? extends FileFormat> fileFormatClass = null;
-        Constructor<? extends FileFormat> c = null;
-        FileFormat ff = null;
-        String ext = file.getName().substring(file.getName().lastIndexOf('.') + 1);
-
-        for (PluginDescriptor plugin : PLUGINS.values()) {
-            if (isContain(plugin.getExtensions(), ext)) {
-                fileFormatClass = plugin.getFileFormatClass();
-            }
-        }
-        if (fileFormatClass == null) {
-            fileFormatClass = DefaultFileFormat.class;
-        }
-
-        try {
-            c = fileFormatClass.getConstructor(File.class);
-        } catch (NoSuchMethodException | SecurityException | IllegalArgumentException ex) {
-            Logger.getLogger(PluginManager.class.getName()).log(Level.SEVERE, null, ex);
-            throw ex;
-        }
-
-        try {
-            ff = c.newInstance(file);
-        } catch (InstantiationException | IllegalAccessException | IllegalArgumentException ex) {
-            Logger.getLogger(PluginManager.class.getName()).log(Level.SEVERE, null, ex);
-            throw ex;
-        } catch (InvocationTargetException ex) {
-            Logger.getLogger(PluginManager.class.getName()).log(Level.SEVERE, null, ex);
-            throw ex.getCause();
-        }
-
-        return ff;
-    }
-
-    static boolean isContain(String[] exts, String ext) {
-        boolean result = false;
-        if (exts != null && exts.length != 0) {
-            for (String item : exts) {
-                if (item.equalsIgnoreCase(ext)) {
-                    result = true;
-                    break;
-                }
-            }
-        }
-
-        return result;
-    }
-
-    /**
-     * Return the loaded {@link #PLUGINS}.
-     * 
-     * @return Loaded plug-ins
-     */
-    public static Map<String, PluginDescriptor> getPlugins(){
-        return PLUGINS;
-    }
-}
@@ -20,7 +20,7 @@ public class DefaultFileFormat extends FileFormat{
 
 
     public DefaultFileFormat(final File file) throws IOException, FileFormatException {
-        super(file);
+        super(file, false);
     }
 
     @Override
@@ -0,0 +1,93 @@
+/*
+ * FileFormatFactory.java    Oct 16, 2026, 22:20
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.biv.plugin;
+
+import java.io.File;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutionException;
+import org.freeinternals.commonlib.core.FileFormat;
+
+/**
+ * Creates {@link FileFormat} objects of one class through its
+ * <code>(File)</code> constructor.
+ *
+ * <p>
+ * The constructor is resolved once into a {@link MethodHandle}, so creating a
+ * file costs no reflection lookup, and the exception of the constructor is
+ * thrown as it is instead of an
+ * {@link java.lang.reflect.InvocationTargetException}.
+ * </p>
+ *
+ * @author Amos Shi
+ * @see PluginManager#getFactory(Class)
+ */
+public final class FileFormatFactory {
+
+    /**
+     * Type of {@link #constructor}.
+     */
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(FileFormat.class, File.class);
+
+    /**
+     * The {@link FileFormat} class.
+     */
+    private final Class<? extends FileFormat> fileFormatClass;
+    /**
+     * The <code>(File)</code> constructor of {@link #fileFormatClass}.
+     */
+    private final MethodHandle constructor;
+
+    /**
+     * Resolve the constructor of {@code fileFormatClass}.
+     *
+     * @param fileFormatClass The {@link FileFormat} class
+     * @throws IllegalArgumentException The class has no public
+     * <code>(File)</code> constructor
+     */
+    FileFormatFactory(final Class<? extends FileFormat> fileFormatClass) {
+        this.fileFormatClass = fileFormatClass;
+        try {
+            this.constructor = MethodHandles.publicLookup()
+                    .findConstructor(fileFormatClass, MethodType.methodType(void.class, File.class))
+                    .asType(CONSTRUCTOR_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException ex) {
+            throw new IllegalArgumentException(String.format(
+                    "No public constructor (File) found. class = %s", fileFormatClass.getName()), ex);
+        }
+    }
+
+    /**
+     * Get the class of the created objects.
+     *
+     * @return The {@link FileFormat} class
+     */
+    public Class<? extends FileFormat> getFileFormatClass() {
+        return this.fileFormatClass;
+    }
+
+    /**
+     * Create the {@link FileFormat} object of {@code file}.
+     *
+     * @param file The file
+     * @return The parsed file
+     * @throws Exception Error thrown by the constructor, like
+     * {@link org.freeinternals.commonlib.core.FileFormatException} or
+     * {@link java.io.IOException}; an undeclared {@link Throwable} is wrapped
+     * in an {@link ExecutionException}
+     */
+    public FileFormat create(final File file) throws Exception {
+        try {
+            return (FileFormat) this.constructor.invokeExact(file);
+        } catch (Exception | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new ExecutionException(ex);
+        }
+    }
+}
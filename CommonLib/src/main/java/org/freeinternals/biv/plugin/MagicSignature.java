@@ -0,0 +1,109 @@
+/*
+ * MagicSignature.java    Oct 16, 2026, 21:50
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.biv.plugin;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Magic bytes at a fixed offset of a file, which identify the file format by
+ * content instead of by file extension.
+ *
+ * @author Amos Shi
+ * @see PluginDescriptor#getMagicSignatures()
+ */
+public final class MagicSignature {
+
+    /**
+     * Offset of the magic bytes in the file.
+     */
+    public final int offset;
+    /**
+     * The magic bytes.
+     */
+    private final byte[] bytes;
+
+    /**
+     * Creates a signature.
+     *
+     * @param offset Offset of the magic bytes in the file
+     * @param bytes The magic bytes
+     */
+    public MagicSignature(final int offset, final byte[] bytes) {
+        if (offset < 0 || bytes == null || bytes.length == 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid magic signature. offset = %d, bytes = %s", offset, Arrays.toString(bytes)));
+        }
+        this.offset = offset;
+        this.bytes = bytes.clone();
+    }
+
+    /**
+     * Creates a signature of ASCII text at offset <code>0</code>, like
+     * <code>"%PDF-"</code>.
+     *
+     * @param text The ASCII text, chars above <code>0xFF</code> are not
+     * allowed
+     * @return The signature
+     */
+    public static MagicSignature ascii(final String text) {
+        return new MagicSignature(0, text.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Creates a signature of bytes at offset <code>0</code>, like
+     * <code>0x89, 'P', 'N', 'G'</code>.
+     *
+     * @param values Unsigned byte values
+     * @return The signature
+     */
+    public static MagicSignature bytes(final int... values) {
+        final byte[] b = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            b[i] = (byte) values[i];
+        }
+        return new MagicSignature(0, b);
+    }
+
+    /**
+     * Get the number of magic bytes.
+     *
+     * @return Number of bytes
+     */
+    public int length() {
+        return this.bytes.length;
+    }
+
+    /**
+     * Get one magic byte.
+     *
+     * @param index Index in the magic bytes
+     * @return The byte
+     */
+    public byte byteAt(final int index) {
+        return this.bytes[index];
+    }
+
+    /**
+     * Get the number of file bytes needed to check the signature.
+     *
+     * @return {@link #offset} plus {@link #length()}
+     */
+    public int end() {
+        return this.offset + this.bytes.length;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder(this.bytes.length * 3 + 8);
+        sb.append('@').append(this.offset).append(':');
+        for (byte b : this.bytes) {
+            sb.append(String.format(" %02X", b & 0xFF));
+        }
+        return sb.toString();
+    }
+}
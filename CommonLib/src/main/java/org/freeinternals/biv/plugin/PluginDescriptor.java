@@ -19,4 +19,15 @@ public interface PluginDescriptor {
     String[] getExtensions();
 
     Class<? extends FileFormat> getFileFormatClass();
+
+    /**
+     * Get the magic signatures of the file format. A file whose content
+     * matches one of them is handled by this plug-in, whatever its extension
+     * is.
+     *
+     * @return The magic signatures, or empty array if the format has none
+     */
+    default MagicSignature[] getMagicSignatures() {
+        return new MagicSignature[0];
+    }
 }
@@ -0,0 +1,364 @@
+/*
+ * Plugin.java    Apr 12, 2011, 13:04
+ *
+ * Copyright 2011, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.biv.plugin;
+
+import org.freeinternals.commonlib.core.FileFormat;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.freeinternals.commonlib.core.FileFormatException;
+
+/**
+ *
+ * @author Amos Shi
+ */
+public class PluginManager {
+
+    /**
+     * Manifest attribute of the plug-in descriptor class.
+     *
+     * @deprecated Plug-ins are found by {@link ServiceLoader} now, a plug-in
+     * jar lists its {@link PluginDescriptor} in
+     * <code>META-INF/services/org.freeinternals.biv.plugin.PluginDescriptor</code>
+     */
+    @Deprecated
+    public static final String MANIFEST_ATTR_NAME = "biv-plugin";
+    /**
+     * Folder of the plug-in jar files, <code>libs</code> of the current
+     * folder by default. It can be changed by system property
+     * <code>biv.plugin.dir</code>.
+     */
+    public static final String PLUGIN_DIR = System.getProperty("biv.plugin.dir",
+            System.getProperty("user.dir")
+            + System.getProperty("file.separator")
+            + "libs");
+    /**
+     * Jar file name and the plug-in descriptor.
+     */
+    protected static final Map<String, PluginDescriptor> PLUGINS = new HashMap<>(10);
+    /**
+     * Lower case file extension and the plug-in descriptor.
+     */
+    private static final Map<String, PluginDescriptor> EXTENSIONS = new HashMap<>(20);
+    /**
+     * Magic signatures of all plug-ins.
+     */
+    private static final SignatureTrie<PluginDescriptor> SIGNATURES = new SignatureTrie<>();
+    /**
+     * Plug-ins without magic signature, chosen by the file extension only.
+     */
+    private static final Set<PluginDescriptor> EXTENSION_ONLY = new HashSet<>();
+    /**
+     * Resolved factories of the {@link FileFormat} classes.
+     */
+    private static final Map<Class<? extends FileFormat>, FileFormatFactory> FACTORIES = new ConcurrentHashMap<>(20);
+
+    static {
+        loadPlugins();
+        for (PluginDescriptor plugin : PLUGINS.values()) {
+            final String[] exts = plugin.getExtensions();
+            if (exts != null) {
+                for (String ext : exts) {
+                    EXTENSIONS.put(ext.toLowerCase(Locale.ROOT), plugin);
+                }
+            }
+
+            final MagicSignature[] signatures = plugin.getMagicSignatures();
+            if (signatures != null && signatures.length > 0) {
+                for (MagicSignature signature : signatures) {
+                    SIGNATURES.add(signature, plugin);
+                }
+            } else {
+                EXTENSION_ONLY.add(plugin);
+            }
+
+            try {
+                getFactory(plugin.getFileFormatClass());
+            } catch (IllegalArgumentException ex) {
+                Logger.getLogger(PluginManager.class.getName()).log(Level.SEVERE, null, ex);
+            }
+        }
+    }
+
+    /**
+     * Load the plug-ins listed by {@link ServiceLoader}, from the class path
+     * and from the jar files in {@link #PLUGIN_DIR}.
+     *
+     * {@link ServiceLoader} looks for the service file in every jar, so each
+     * jar of {@link #PLUGIN_DIR} is opened once here. The jars share one
+     * {@link URLClassLoader}, which is never closed: the plug-in classes are
+     * loaded from it for the life of the application, and it keeps the jars
+     * open.
+     */
+    private static void loadPlugins() {
+        final List<URL> urls = new ArrayList<>();
+        final File[] files = new File(PLUGIN_DIR).listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isFile() && file.getName().toLowerCase(Locale.ROOT).endsWith(".jar")) {
+                    try {
+                        urls.add(file.toURI().toURL());
+                    } catch (MalformedURLException ex) {
+                        Logger.getLogger(PluginManager.class.getName()).log(Level.SEVERE, null, ex);
+                    }
+                }
+            }
+        }
+
+        final ClassLoader parent = PluginManager.class.getClassLoader();
+        final ClassLoader loader = urls.isEmpty() ? parent : new URLClassLoader(urls.toArray(new URL[urls.size()]), parent);
+        final Set<String> loaded = new HashSet<>();
+        final Iterator<PluginDescriptor> it = ServiceLoader.load(PluginDescriptor.class, loader).iterator();
+        while (true) {
+            try {
+                if (!it.hasNext()) {
+                    break;
+                }
+                final PluginDescriptor plugin = it.next();
+                // A jar both on the class path and in the plug-in folder is listed twice
+                if (loaded.add(plugin.getClass().getName())) {
+                    final String jarName = getJarName(plugin.getClass());
+                    PLUGINS.put(PLUGINS.containsKey(jarName) ? plugin.getClass().getName() : jarName, plugin);
+                }
+            } catch (ServiceConfigurationError ex) {
+                Logger.getLogger(PluginManager.class.getName()).log(Level.SEVERE, null, ex);
+            }
+        }
+    }
+
+    /**
+     * Get the name of the jar file of {@code cls}, or the class name if it is
+     * not loaded from a local jar file.
+     */
+    private static String getJarName(final Class<?> cls) {
+        try {
+            final CodeSource source = cls.getProtectionDomain().getCodeSource();
+            if (source != null && source.getLocation() != null) {
+                final String name = new File(source.getLocation().toURI()).getName();
+                if (name.toLowerCase(Locale.ROOT).endsWith(".jar")) {
+                    return name;
+                }
+            }
+        } catch (URISyntaxException | IllegalArgumentException | SecurityException ex) {
+            // Not a local file, the class name is used
+        }
+        return cls.getName();
+    }
+
+    public static String getPlugedExtensions(){
+        StringBuilder builder = new StringBuilder(16);
+        if (!PLUGINS.isEmpty()) {
+            builder.append(" - ");
+            PLUGINS.values().stream().map((plugin) -> plugin.getExtensions()).forEachOrdered((exts) -> {
+                for (String ext : exts) {
+                    builder.append(ext);
+                    builder.append(", ");
+                }
+            });
+            builder.append(" ...");
+        }
+    
+        return builder.toString();
+    }
+    
+    /**
+     * Get the {@link FileFormat} class which handles {@code file}, by the
+     * leading bytes and the extension of the file. It does not use any UI
+     * class, so it is safe for headless tools.
+     *
+     * @param file The file
+     * @return The {@link FileFormat} class of the plug-in, or
+     * {@link DefaultFileFormat} if no plug-in handles the file
+     * @see #getFileFormatClass(String, byte[], int)
+     */
+    public static Class<? extends FileFormat> getFileFormatClass(final File file) {
+        final byte[] head = readHead(file);
+        return getFileFormatClass(file.getName(), head, head.length);
+    }
+
+    /**
+     * Read the leading bytes of {@code file} needed by the signatures.
+     *
+     * @return The bytes, shorter than {@link #getSignatureLength()} for a
+     * small or unreadable file
+     */
+    private static byte[] readHead(final File file) {
+        final byte[] head = new byte[SIGNATURES.getMaxEnd()];
+        int length = 0;
+        if (head.length > 0) {
+            try (FileInputStream in = new FileInputStream(file)) {
+                int read;
+                while (length < head.length && (read = in.read(head, length, head.length - length)) > 0) {
+                    length += read;
+                }
+            } catch (IOException ex) {
+                // Not readable, the extension decides; the parser reports the error
+                length = 0;
+            }
+        }
+
+        return (length == head.length) ? head : Arrays.copyOf(head, length);
+    }
+
+    /**
+     * Get the {@link FileFormat} class which handles a file.
+     *
+     * <p>
+     * The content decides first: when the leading bytes match the magic
+     * signature of a plug-in, that plug-in is used, unless the plug-in of the
+     * file extension matches too. When no signature matches, the plug-in of
+     * the file extension is used. A plug-in without signature, like the APK
+     * one whose files are zip files, is used whenever the extension is
+     * its.
+     * </p>
+     *
+     * @param fileName Name of the file
+     * @param head Leading bytes of the file, see {@link #getSignatureLength()}
+     * @param length Number of valid bytes in {@code head}
+     * @return The {@link FileFormat} class of the plug-in, or
+     * {@link DefaultFileFormat} if no plug-in handles the file
+     * @see #create(File)
+     */
+    public static Class<? extends FileFormat> getFileFormatClass(final String fileName, final byte[] head, final int length) {
+        final List<PluginDescriptor> plugins = getCandidates(fileName, head, length);
+        return plugins.isEmpty() ? DefaultFileFormat.class : plugins.get(0).getFileFormatClass();
+    }
+
+    /**
+     * Get the plug-ins which could handle a file, in the order to try. The
+     * plug-in of the file extension is the only one if the content matches it,
+     * matches no signature, or if it has no signature; otherwise these are the
+     * plug-ins whose signature matches, the longest signature first.
+     */
+    private static List<PluginDescriptor> getCandidates(final String fileName, final byte[] head, final int length) {
+        final String ext = fileName.substring(fileName.lastIndexOf('.') + 1);
+        final PluginDescriptor byExtension = EXTENSIONS.get(ext.toLowerCase(Locale.ROOT));
+
+        final List<PluginDescriptor> byContent = SIGNATURES.match(head, Math.min(length, head.length));
+        if (byExtension != null && (byContent.isEmpty() || byContent.contains(byExtension) || EXTENSION_ONLY.contains(byExtension))) {
+            return Collections.singletonList(byExtension);
+        }
+        return byContent;
+    }
+
+    /**
+     * Create the {@link FileFormat} object of {@code file}, by the plug-in
+     * returned by {@link #getFileFormatClass(File)}.
+     *
+     * <p>
+     * When the plug-in is chosen by the magic signature only, and it fails to
+     * parse the file, the next plug-in whose signature matches is tried, then
+     * {@link DefaultFileFormat}. Short signatures like <code>BM</code> or
+     * <code>MZ</code> also match text files. The error of a plug-in chosen by
+     * the file extension is thrown.
+     * </p>
+     *
+     * @param file The file
+     * @return The parsed file
+     * @throws Exception Error thrown by the {@link FileFormat} constructor,
+     * see {@link FileFormatFactory#create(File)}
+     */
+    public static FileFormat create(final File file) throws Exception {
+        final byte[] head = readHead(file);
+        final String ext = file.getName().substring(file.getName().lastIndexOf('.') + 1);
+        final List<PluginDescriptor> plugins = getCandidates(file.getName(), head, head.length);
+        if (plugins.size() == 1 && plugins.get(0) == EXTENSIONS.get(ext.toLowerCase(Locale.ROOT))) {
+            return getFactory(plugins.get(0).getFileFormatClass()).create(file);
+        }
+
+        for (PluginDescriptor plugin : plugins) {
+            try {
+                return getFactory(plugin.getFileFormatClass()).create(file);
+            } catch (CancellationException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                Logger.getLogger(PluginManager.class.getName()).log(Level.FINE, String.format(
+                        "The file does not match plug-in %s. file = %s", plugin.getClass().getName(), file.getPath()), ex);
+            }
+        }
+        return getFactory(DefaultFileFormat.class).create(file);
+    }
+
+    /**
+     * Get the number of leading file bytes needed to check the magic
+     * signatures of all plug-ins.
+     *
+     * @return Number of bytes
+     */
+    public static int getSignatureLength() {
+        return SIGNATURES.getMaxEnd();
+    }
+
+    /**
+     * Get the factory of the {@link FileFormat} class which handles
+     * {@code file}. The factory does not fall back to another plug-in when it
+     * fails to parse the file, see {@link #create(File)}.
+     *
+     * @param file The file
+     * @return The factory
+     * @see #getFileFormatClass(File)
+     */
+    public static FileFormatFactory getFactory(final File file) {
+        return getFactory(getFileFormatClass(file));
+    }
+
+    /**
+     * Get the factory of {@code fileFormatClass}. The constructor of the
+     * class is resolved only once.
+     *
+     * @param fileFormatClass The {@link FileFormat} class
+     * @return The factory
+     * @throws IllegalArgumentException The class has no public
+     * <code>(File)</code> constructor
+     */
+    public static FileFormatFactory getFactory(final Class<? extends FileFormat> fileFormatClass) {
+        return FACTORIES.computeIfAbsent(fileFormatClass, FileFormatFactory::new);
+    }
+
+    public static FileFormat getFile(final File file) throws FileFormatException, Throwable {
+        try {
+            return create(file);
+        } catch (ExecutionException ex) {
+            Logger.getLogger(PluginManager.class.getName()).log(Level.SEVERE, null, ex);
+            throw ex.getCause();
+        } catch (Exception | Error ex) {
+            Logger.getLogger(PluginManager.class.getName()).log(Level.SEVERE, null, ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Return the loaded {@link #PLUGINS}.
+     * 
+     * @return Loaded plug-ins
+     */
+    public static Map<String, PluginDescriptor> getPlugins(){
+        return PLUGINS;
+    }
+}
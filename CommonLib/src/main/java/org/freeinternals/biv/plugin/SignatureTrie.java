@@ -0,0 +1,132 @@
+/*
+ * SignatureTrie.java    Oct 16, 2026, 21:50
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.biv.plugin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Byte trie of the {@link MagicSignature}s of all plug-ins, so that the
+ * leading bytes of a file are matched against every signature in one pass.
+ *
+ * <p>
+ * There is one trie for each signature offset. Matching walks each trie once
+ * with the file bytes, so the cost depends on the signature length, not on
+ * the number of plug-ins.
+ * </p>
+ *
+ * @author Amos Shi
+ * @param <T> Type of the value of a signature
+ */
+final class SignatureTrie<T> {
+
+    /**
+     * Root node of the trie for each offset.
+     */
+    private final Map<Integer, Node> roots = new TreeMap<>();
+    /**
+     * Number of leading file bytes needed to check all signatures.
+     */
+    private int maxEnd = 0;
+
+    /**
+     * Add a signature. If the same signature is added again with another
+     * value, both values are kept, in the added order.
+     *
+     * @param signature The signature
+     * @param value Value of the signature
+     */
+    void add(final MagicSignature signature, final T value) {
+        Node node = this.roots.computeIfAbsent(signature.offset, (k) -> new Node());
+        for (int i = 0; i < signature.length(); i++) {
+            final int b = signature.byteAt(i) & 0xFF;
+            if (node.next == null) {
+                node.next = new Node[256];
+            }
+            if (node.next[b] == null) {
+                node.next[b] = new Node();
+            }
+            node = node.next[b];
+        }
+        if (node.values == null) {
+            node.values = new ArrayList<>(1);
+        }
+        if (!node.values.contains(value)) {
+            node.values.add(value);
+        }
+        this.maxEnd = Math.max(this.maxEnd, signature.end());
+    }
+
+    /**
+     * Get the number of leading file bytes needed by {@link #match}.
+     *
+     * @return Number of bytes
+     */
+    int getMaxEnd() {
+        return this.maxEnd;
+    }
+
+    /**
+     * Find the values of all signatures matching the file content.
+     *
+     * @param head Leading bytes of the file
+     * @param length Number of valid bytes in {@code head}
+     * @return The values, the ones of the longest signature first; the values
+     * of the same signature length are in the added order
+     */
+    List<T> match(final byte[] head, final int length) {
+        final List<T> values = new ArrayList<>(2);
+        final List<Integer> depths = new ArrayList<>(2);
+
+        for (Map.Entry<Integer, Node> entry : this.roots.entrySet()) {
+            Node node = entry.getValue();
+            for (int pos = entry.getKey(); pos < length && node.next != null; pos++) {
+                node = node.next[head[pos] & 0xFF];
+                if (node == null) {
+                    break;
+                }
+                if (node.values != null) {
+                    // Insertion sort by signature length, descending
+                    final int depth = pos - entry.getKey() + 1;
+                    int i = 0;
+                    while (i < depths.size() && depths.get(i) >= depth) {
+                        i++;
+                    }
+                    for (Object value : node.values) {
+                        values.add(i, this.value(value));
+                        depths.add(i, depth);
+                        i++;
+                    }
+                }
+            }
+        }
+
+        return values;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T value(final Object value) {
+        return (T) value;
+    }
+
+    /**
+     * Node of the trie.
+     */
+    private static final class Node {
+
+        /**
+         * Child nodes indexed by the next byte, {@code null} for a leaf.
+         */
+        private Node[] next;
+        /**
+         * Values of the signature ending at this node, or {@code null}.
+         */
+        private List<Object> values;
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * ByteArraySlice.java    Oct 16, 2026, 14:05
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.commonlib.core;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Read-only view of a part of a byte array.
+ *
+ * <p>
+ * A slice only keeps the offset and length over the shared backing array, so
+ * creating a slice, or a slice of a slice, costs <code>O(1)</code> memory
+ * regardless of its length. Use {@link #toByteArray()} only when a separate
+ * copy is really needed.
+ * </p>
+ *
+ * @author Amos Shi
+ */
+public final class ByteArraySlice {
+
+    /**
+     * The shared backing array.
+     */
+    private final byte[] buf;
+    /**
+     * Index in {@link #buf} of the first byte of the slice.
+     */
+    private final int start;
+    /**
+     * Length of the slice.
+     */
+    private final int length;
+
+    /**
+     * Creates a slice over the whole {@code buf}.
+     *
+     * @param buf The backing array
+     */
+    public ByteArraySlice(final byte[] buf) {
+        this(buf, 0, buf.length);
+    }
+
+    /**
+     * Creates a slice over {@code buf}, starting from {@code start} with
+     * {@code length} bytes.
+     *
+     * @param buf The backing array
+     * @param start Index of the first byte in {@code buf}
+     * @param length Length of the slice
+     */
+    public ByteArraySlice(final byte[] buf, final int start, final int length) {
+        if (buf == null) {
+            throw new IllegalArgumentException("Parameter 'buf' is null.");
+        }
+        if (start < 0 || length < 0 || start + length > buf.length) {
+            throw new ArrayIndexOutOfBoundsException(String.format(
+                    "Slice out of array. start = %d, length = %d, array length = %d", start, length, buf.length));
+        }
+
+        this.buf = buf;
+        this.start = start;
+        this.length = length;
+    }
+
+    /**
+     * Get the length of the slice.
+     *
+     * @return Length of the slice
+     */
+    public int length() {
+        return this.length;
+    }
+
+    /**
+     * Get the byte at {@code index} of the slice.
+     *
+     * @param index 0-based index in the slice
+     * @return The byte value
+     */
+    public byte get(final int index) {
+        if (index < 0 || index >= this.length) {
+            throw new ArrayIndexOutOfBoundsException("index = " + index + ", slice length = " + this.length);
+        }
+        return this.buf[this.start + index];
+    }
+
+    /**
+     * Get a part of current slice, without copying.
+     *
+     * @param index 0-based start index in current slice
+     * @param len Length of the new slice
+     * @return The new slice
+     */
+    public ByteArraySlice slice(final int index, final int len) {
+        if (index < 0 || len < 0 || index + len > this.length) {
+            throw new ArrayIndexOutOfBoundsException(String.format(
+                    "Slice out of range. index = %d, len = %d, slice length = %d", index, len, this.length));
+        }
+        return new ByteArraySlice(this.buf, this.start + index, len);
+    }
+
+    /**
+     * Copy {@code len} bytes starting from {@code index} to {@code dst}.
+     *
+     * @param index 0-based start index in current slice
+     * @param dst Destination array
+     * @param dstIndex Start index in {@code dst}
+     * @param len Number of bytes to copy
+     */
+    public void copyTo(final int index, final byte[] dst, final int dstIndex, final int len) {
+        if (index < 0 || len < 0 || index + len > this.length) {
+            throw new ArrayIndexOutOfBoundsException(String.format(
+                    "Copy out of range. index = %d, len = %d, slice length = %d", index, len, this.length));
+        }
+        System.arraycopy(this.buf, this.start + index, dst, dstIndex, len);
+    }
+
+    /**
+     * Get a copy of the bytes of the slice.
+     *
+     * @return A new byte array
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOfRange(this.buf, this.start, this.start + this.length);
+    }
+
+    /**
+     * Get the hash code of the bytes of the slice, the same as
+     * {@link Arrays#hashCode(byte[])} of {@link #toByteArray()}, without
+     * copying.
+     *
+     * @return Hash code of the content
+     */
+    public int contentHashCode() {
+        int h = 1;
+        for (int i = this.start; i < this.start + this.length; i++) {
+            h = 31 * h + this.buf[i];
+        }
+        return h;
+    }
+
+    /**
+     * Compare the bytes of the slice with a byte array, without copying.
+     *
+     * @param bytes The byte array to compare with
+     * @return true if the slice has the same bytes as {@code bytes}
+     */
+    public boolean contentEquals(final byte[] bytes) {
+        if (bytes.length != this.length) {
+            return false;
+        }
+        for (int i = 0; i < this.length; i++) {
+            if (this.buf[this.start + i] != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the slice as a read-only {@link ByteBuffer}, without copying.
+     *
+     * @return A read-only buffer whose position 0 is the first byte of the slice
+     */
+    public ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(this.buf, this.start, this.length).slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Get a stream to read the slice, without copying.
+     *
+     * @param offset Absolute position of the first byte of the slice
+     * @return Stream of the slice
+     */
+    public PosDataInputStream getStream(final int offset) {
+        return new PosDataInputStream(this, offset);
+    }
+
+    /**
+     * Get the shared backing array. It must not be modified.
+     *
+     * @return The backing array
+     */
+    byte[] array() {
+        return this.buf;
+    }
+
+    /**
+     * Get the index in the backing array of the first byte of the slice.
+     *
+     * @return Index of the first byte
+     */
+    int arrayOffset() {
+        return this.start;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * ByteSource.java    Oct 16, 2026, 09:10
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.commonlib.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Random access, read-only source of the bytes of a file.
+ *
+ * <p>
+ * All positions are {@code long} based, so that a source can be bigger than
+ * the {@code 2 GB} limit of a Java array. Reading from a source does not
+ * change any state of the source, so a parser can seek and read freely
+ * without materializing the whole file.
+ * </p>
+ *
+ * @author Amos Shi
+ * @see HeapByteSource
+ * @see MappedByteSource
+ */
+public interface ByteSource extends Closeable {
+
+    /**
+     * Get the length of the source in bytes.
+     *
+     * @return Length of the source
+     */
+    long length();
+
+    /**
+     * Get the byte at position {@code pos}.
+     *
+     * @param pos 0-based position in the source
+     * @return The byte at {@code pos}
+     * @throws IndexOutOfBoundsException if {@code pos} is outside the source
+     */
+    byte get(long pos);
+
+    /**
+     * Read up to {@code len} bytes starting at position {@code pos} into
+     * {@code dst}.
+     *
+     * @param pos 0-based position in the source
+     * @param dst Destination array
+     * @param off Start offset in {@code dst}
+     * @param len Max number of bytes to read
+     * @return Number of bytes read, or {@code -1} if {@code pos} is at or
+     * beyond the end of the source
+     */
+    int read(long pos, byte[] dst, int off, int len);
+
+    /**
+     * Get {@code len} bytes starting at position {@code pos} as a new array.
+     *
+     * @param pos 0-based position in the source
+     * @param len Number of bytes to get
+     * @return The bytes
+     * @throws IndexOutOfBoundsException if the range is outside the source
+     */
+    default byte[] getBytes(final long pos, final int len) {
+        if (pos < 0 || len < 0 || pos + len > this.length()) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "Range out of source. pos = %d, len = %d, source length = %d", pos, len, this.length()));
+        }
+
+        final byte[] bytes = new byte[len];
+        int done = 0;
+        while (done < len) {
+            done += this.read(pos + done, bytes, done, len - done);
+        }
+        return bytes;
+    }
+
+    /**
+     * Release the resources of the source. The default implementation does
+     * nothing.
+     *
+     * @throws IOException Error happened when closing the source
+     */
+    @Override
+    default void close() throws IOException {
+    }
+}
@@ -35,16 +35,30 @@ public final class BytesTool {
         if (data == null) {
             return "";
         }
-        if (data.length < 1) {
+
+        return getByteDataHexView(new ByteArraySlice(data));
+    }
+
+    /**
+     * Get a string for the {@code hex} view of the bytes {@code data}.
+     *
+     * @param data Bytes
+     * @return A string representing the {@code hex} version of {@code data}
+     */
+    public static String getByteDataHexView(final ByteArraySlice data) {
+        if (data == null) {
+            return "";
+        }
+        if (data.length() < 1) {
             return "";
         }
 
-        final StringBuilder sb = new StringBuilder(data.length * 5);
-        final int length = data.length;
+        final StringBuilder sb = new StringBuilder(data.length() * 5);
+        final int length = data.length();
         int i;
         int lineBreakCounter = 0;
         for (i = 0; i < length; i++) {
-            sb.append(String.format(" %02X", data[i]));
+            sb.append(String.format(" %02X", data.get(i)));
             lineBreakCounter++;
             if (lineBreakCounter == 16) {
                 sb.append('\n');
@@ -25,26 +25,135 @@ public abstract class FileFormat {
      */
     public final String fileName;
     /**
-     * Raw byte array of the file.
+     * Raw byte array of the file. It is {@code null} when the file is opened
+     * as a {@link MappedByteSource}, use {@link #getByteSource()} instead.
      */
     public final byte[] fileByteArray;
-    
+
+    /**
+     * Byte source of the file.
+     */
+    private final ByteSource fileSource;
+
+    /**
+     * Files not bigger than this size are always read onto the heap, even if
+     * the sub-class does not require {@link #fileByteArray}.
+     */
+    public static final long HEAP_SIZE_LIMIT = 16 * 1024 * 1024;
+
     /**
      * The parsed file components.
      */
     protected final SortedMap<Long, FileComponent> components = new TreeMap<>();
 
 
+    /**
+     * Read the whole {@code file} onto the heap as {@link #fileByteArray}.
+     * The BMP, JPEG, PNG, PDF, ZIP and DEX formats use it, because they parse
+     * {@link #fileByteArray} through a {@link PosDataInputStream}; a big file
+     * of these formats is therefore limited by the heap size. The formats
+     * which do not read {@link #fileByteArray}, like APK, ELF and PE, use
+     * {@link #FileFormat(File, boolean)} instead.
+     *
+     * @param file The file
+     * @throws IOException Error happened when reading the file
+     * @throws FileFormatException The file is empty
+     */
     public FileFormat(final File file) throws IOException, FileFormatException {
+        this(file, true);
+    }
+
+    /**
+     * Open the {@code file}. When {@code heapRequired} is {@code false} and the
+     * file is bigger than {@link #HEAP_SIZE_LIMIT}, the file is memory-mapped
+     * instead of being read onto the heap, and {@link #fileByteArray} will be
+     * {@code null}.
+     *
+     * @param file The file
+     * @param heapRequired Whether the sub-class requires {@link #fileByteArray}
+     * @throws IOException Error happened when reading the file
+     * @throws FileFormatException The file is empty
+     */
+    protected FileFormat(final File file, final boolean heapRequired) throws IOException, FileFormatException {
         this.fileName = file.getName();
 
         if (file.length() == 0) {
             throw new FileFormatException(
                     String.format("The file content is empty. name = %s", file.getPath()));
         }
-        this.fileByteArray = BytesTool.readFileAsBytes(file);
+
+        if (heapRequired || file.length() <= HEAP_SIZE_LIMIT) {
+            this.fileByteArray = BytesTool.readFileAsBytes(file);
+            if (this.fileByteArray == null) {
+                throw new IOException(String.format("Failed to read the file. name = %s", file.getPath()));
+            }
+            this.fileSource = new HeapByteSource(this.fileByteArray);
+        } else {
+            this.fileByteArray = null;
+            this.fileSource = new MappedByteSource(file);
+        }
+    }
+
+    /**
+     * Use the {@code bytes} already in memory as {@link #fileByteArray}, like
+     * an entry read from an archive. The array is not copied.
+     *
+     * @param fileName Name of the file
+     * @param bytes Content of the file
+     * @throws FileFormatException The content is empty
+     */
+    protected FileFormat(final String fileName, final byte[] bytes) throws FileFormatException {
+        this.fileName = fileName;
+
+        if (bytes == null || bytes.length == 0) {
+            throw new FileFormatException(
+                    String.format("The file content is empty. name = %s", fileName));
+        }
+
+        this.fileByteArray = bytes;
+        this.fileSource = new HeapByteSource(bytes);
+    }
+
+    /**
+     * Get the byte source of the file.
+     *
+     * @return The byte source
+     */
+    public ByteSource getByteSource() {
+        return this.fileSource;
+    }
+
+    /**
+     * Get the file length in bytes.
+     *
+     * @return The file length
+     */
+    public long getFileLength() {
+        return this.fileSource.length();
+    }
+
+    /**
+     * Release the resources of the file, like the mapped file channel.
+     *
+     * @throws IOException Error happened when closing the file
+     */
+    public void close() throws IOException {
+        this.fileSource.close();
     }
     
+    /**
+     * Report the parsing progress of the file to the {@link ParseMonitor} of
+     * the current thread. Sub-classes call it in their parsing loop.
+     *
+     * @param pos Position in the file parsed so far
+     * @throws java.util.concurrent.CancellationException The parsing is
+     * cancelled
+     * @see ParseContext#tick(long, long)
+     */
+    protected final void reportProgress(final long pos) {
+        ParseContext.tick(pos, this.getFileLength());
+    }
+
     /**
      * Add the <code>comp</code> to the {@link #components}.
      * 
@@ -82,16 +191,28 @@ public abstract class FileFormat {
         if ((startIndex < 0) || (length < 1)) {
             throw new IllegalArgumentException("startIndex or length is not valid. startIndex = " + startIndex + ", length = " + length);
         }
-        if (startIndex + length - 1 > this.fileByteArray.length) {
+        if (startIndex + length > this.fileSource.length()) {
             throw new ArrayIndexOutOfBoundsException("The last item index is bigger than class byte array size.");
         }
 
-        byte[] data = new byte[length];
-        for (int i = 0; i < length; i++) {
-            data[i] = this.fileByteArray[startIndex + i];
-        }
+        return this.fileSource.getBytes(startIndex, length);
+    }
 
-        return data;
+    /**
+     * Get part of the file as a read-only slice. When the file is on the heap
+     * the slice shares {@link #fileByteArray} without copying; otherwise the
+     * bytes are read from the {@link #getByteSource() byte source}.
+     *
+     * @param startIndex The start index
+     * @param length The length of the slice
+     * @return Part of the file
+     */
+    public ByteArraySlice getFileSlice(final int startIndex, final int length) {
+        if (this.fileByteArray != null) {
+            return new ByteArraySlice(this.fileByteArray, startIndex, length);
+        } else {
+            return new ByteArraySlice(this.getFileByteArray(startIndex, length));
+        }
     }
 
     /**
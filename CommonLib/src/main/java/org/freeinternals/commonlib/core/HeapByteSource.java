@@ -0,0 +1,85 @@
+/*
+ * HeapByteSource.java    Oct 16, 2026, 09:25
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.commonlib.core;
+
+/**
+ * {@link ByteSource} backed by a byte array on the heap. Used for small files
+ * and for data which is already in memory, like a zip entry.
+ *
+ * <p>
+ * The array is shared, not copied.
+ * </p>
+ *
+ * @author Amos Shi
+ */
+public final class HeapByteSource implements ByteSource {
+
+    /**
+     * The backing array.
+     */
+    private final byte[] buf;
+
+    /**
+     * Creates a source over the whole {@code buf}.
+     *
+     * @param buf The backing array
+     */
+    public HeapByteSource(final byte[] buf) {
+        if (buf == null) {
+            throw new IllegalArgumentException("Parameter 'buf' is null.");
+        }
+        this.buf = buf;
+    }
+
+    /**
+     * Get the backing array.
+     *
+     * @return The backing array, not a copy
+     */
+    public byte[] array() {
+        return this.buf;
+    }
+
+    @Override
+    public long length() {
+        return this.buf.length;
+    }
+
+    @Override
+    public byte get(final long pos) {
+        if (pos < 0 || pos >= this.buf.length) {
+            throw new IndexOutOfBoundsException("pos = " + pos + ", source length = " + this.buf.length);
+        }
+        return this.buf[(int) pos];
+    }
+
+    @Override
+    public int read(final long pos, final byte[] dst, final int off, final int len) {
+        if (pos >= this.buf.length) {
+            return -1;
+        }
+        if (pos < 0) {
+            throw new IndexOutOfBoundsException("pos = " + pos);
+        }
+
+        final int n = (int) Math.min(len, this.buf.length - pos);
+        System.arraycopy(this.buf, (int) pos, dst, off, n);
+        return n;
+    }
+
+    @Override
+    public byte[] getBytes(final long pos, final int len) {
+        if (pos < 0 || len < 0 || pos + len > this.buf.length) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "Range out of source. pos = %d, len = %d, source length = %d", pos, len, this.buf.length));
+        }
+
+        final byte[] bytes = new byte[len];
+        System.arraycopy(this.buf, (int) pos, bytes, 0, len);
+        return bytes;
+    }
+}
@@ -0,0 +1,331 @@
+/*
+ * IntervalIndex.java    Oct 16, 2026, 16:20
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.commonlib.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Index from file offset to the values, like {@link FileComponent} or tree
+ * nodes, whose byte range <code>[start, start + length)</code> covers the
+ * offset.
+ *
+ * <p>
+ * Values are added in any order. The index is a static interval tree:
+ * intervals sorted by start position, as an implicit balanced binary tree,
+ * and each sub-tree knows its max end position. The values added after it is
+ * built are kept in a pending buffer which is scanned by the queries, and
+ * merged into the tree when it grows over {@link #MIN_PENDING} and over
+ * <code>1/64</code> of the tree; only the pending values are sorted, then
+ * merged in linear time. A query takes <code>O(log n + m + k)</code> time,
+ * where <code>m</code> is the number of pending values and <code>k</code> the
+ * number of intervals found.
+ * </p>
+ *
+ * @author Amos Shi
+ * @param <T> Type of the indexed value
+ */
+public final class IntervalIndex<T> {
+
+    /**
+     * Pending values not more than this are not merged into the tree.
+     */
+    static final int MIN_PENDING = 256;
+    /**
+     * Runs not longer than this are sorted by insertion.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    /**
+     * Start positions, sorted in <code>[0, built)</code>.
+     */
+    private long[] starts = new long[16];
+    /**
+     * End positions (exclusive).
+     */
+    private long[] ends = new long[16];
+    /**
+     * Order the values were added, to keep the nested order for same ranges.
+     */
+    private int[] orders = new int[16];
+    /**
+     * The indexed values.
+     */
+    private Object[] values = new Object[16];
+    /**
+     * Max end position of the sub-tree rooted at each index of
+     * <code>[0, built)</code>.
+     */
+    private long[] maxEnds = new long[0];
+    /**
+     * Number of intervals in the tree; the ones in
+     * <code>[built, size)</code> are pending, in the added order.
+     */
+    private int built = 0;
+    /**
+     * Number of intervals.
+     */
+    private int size = 0;
+
+    /**
+     * Add a value for range <code>[start, start + length)</code>. Empty ranges
+     * are ignored.
+     *
+     * @param start Start position
+     * @param length Length of the range
+     * @param value The value
+     */
+    public void add(final long start, final long length, final T value) {
+        if (length <= 0) {
+            return;
+        }
+
+        if (this.size == this.starts.length) {
+            final int capacity = this.size * 2;
+            this.starts = Arrays.copyOf(this.starts, capacity);
+            this.ends = Arrays.copyOf(this.ends, capacity);
+            this.orders = Arrays.copyOf(this.orders, capacity);
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+        this.starts[this.size] = start;
+        this.ends[this.size] = start + length;
+        this.orders[this.size] = this.size;
+        this.values[this.size] = value;
+        this.size++;
+    }
+
+    /**
+     * Get the number of the indexed values.
+     *
+     * @return Number of values
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Find all values covering {@code offset}, from the outer-most to the
+     * inner-most one.
+     *
+     * @param offset File offset
+     * @return The values covering {@code offset}, or empty list
+     */
+    public List<T> findCovering(final long offset) {
+        if (this.size == 0) {
+            return Collections.emptyList();
+        }
+        this.build();
+
+        final List<Integer> found = new ArrayList<>();
+        this.collect(0, this.built, offset, found);
+        for (int i = this.built; i < this.size; i++) {
+            if (this.starts[i] <= offset && offset < this.ends[i]) {
+                found.add(i);
+            }
+        }
+        // Sort nested ones by start position, then by length descending
+        found.sort((a, b) -> {
+            if (this.starts[a] != this.starts[b]) {
+                return Long.compare(this.starts[a], this.starts[b]);
+            }
+            if (this.ends[a] != this.ends[b]) {
+                return Long.compare(this.ends[b], this.ends[a]);
+            }
+            return Integer.compare(this.orders[a], this.orders[b]);
+        });
+
+        final List<T> result = new ArrayList<>(found.size());
+        for (Integer i : found) {
+            result.add(this.value(i));
+        }
+        return result;
+    }
+
+    /**
+     * Find the inner-most value covering {@code offset}, which is the one with
+     * the shortest range. For the same range, the last added one is returned.
+     *
+     * @param offset File offset
+     * @return The inner-most value, or {@code null} if not found
+     */
+    public T findInnermost(final long offset) {
+        if (this.size == 0) {
+            return null;
+        }
+        this.build();
+
+        int best = this.innermost(0, this.built, offset, -1);
+        for (int i = this.built; i < this.size; i++) {
+            if (this.starts[i] <= offset && offset < this.ends[i]) {
+                best = this.inner(i, best);
+            }
+        }
+        return (best == -1) ? null : this.value(best);
+    }
+
+    /**
+     * Get the inner one of two intervals covering the same offset.
+     *
+     * @param i An interval
+     * @param best The inner-most interval so far, or <code>-1</code>
+     */
+    private int inner(final int i, final int best) {
+        if (best == -1) {
+            return i;
+        }
+        final long len = this.ends[i] - this.starts[i];
+        final long bestLen = this.ends[best] - this.starts[best];
+        return (len < bestLen || (len == bestLen && this.orders[i] > this.orders[best])) ? i : best;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T value(final int i) {
+        return (T) this.values[i];
+    }
+
+    /**
+     * Collect the intervals covering {@code offset} in the sub-tree of range
+     * <code>[lo, hi)</code>.
+     */
+    private void collect(final int lo, final int hi, final long offset, final List<Integer> found) {
+        if (lo >= hi) {
+            return;
+        }
+        final int mid = (lo + hi) >>> 1;
+        if (this.maxEnds[mid] <= offset) {
+            return;                                                             // Nothing in this sub-tree reaches offset
+        }
+
+        this.collect(lo, mid, offset, found);
+        if (this.starts[mid] <= offset) {
+            if (offset < this.ends[mid]) {
+                found.add(mid);
+            }
+            this.collect(mid + 1, hi, offset, found);
+        }
+    }
+
+    /**
+     * Find the inner-most interval covering {@code offset} in the sub-tree of
+     * range <code>[lo, hi)</code>.
+     */
+    private int innermost(final int lo, final int hi, final long offset, final int best) {
+        if (lo >= hi) {
+            return best;
+        }
+        final int mid = (lo + hi) >>> 1;
+        if (this.maxEnds[mid] <= offset) {
+            return best;                                                        // Nothing in this sub-tree reaches offset
+        }
+
+        int result = this.innermost(lo, mid, offset, best);
+        if (this.starts[mid] <= offset) {
+            if (offset < this.ends[mid]) {
+                result = this.inner(mid, result);
+            }
+            result = this.innermost(mid + 1, hi, offset, result);
+        }
+        return result;
+    }
+
+    /**
+     * Merge the pending intervals into the tree when there are too many of
+     * them, and calculate the max end positions.
+     */
+    private void build() {
+        final int pending = this.size - this.built;
+        if (pending == 0 || (this.built > 0 && (pending <= MIN_PENDING || pending <= this.built >>> 6))) {
+            return;
+        }
+
+        // Sort the pending ones by start position; the sort is stable, so the
+        // added order is kept for the same start position
+        final int[] idx = new int[pending];
+        for (int i = 0; i < pending; i++) {
+            idx[i] = this.built + i;
+        }
+        this.sort(idx, new int[pending], 0, pending);
+
+        // Merge with the tree, which is sorted already
+        final int capacity = this.starts.length;
+        final long[] s = new long[capacity];
+        final long[] e = new long[capacity];
+        final int[] o = new int[capacity];
+        final Object[] v = new Object[capacity];
+        int a = 0;
+        int b = 0;
+        for (int i = 0; i < this.size; i++) {
+            final int from;
+            if (b == pending || (a < this.built && this.starts[a] <= this.starts[idx[b]])) {
+                from = a++;
+            } else {
+                from = idx[b++];
+            }
+            s[i] = this.starts[from];
+            e[i] = this.ends[from];
+            o[i] = this.orders[from];
+            v[i] = this.values[from];
+        }
+        this.starts = s;
+        this.ends = e;
+        this.orders = o;
+        this.values = v;
+        this.built = this.size;
+
+        this.maxEnds = new long[this.size];
+        this.calcMaxEnd(0, this.size);
+    }
+
+    /**
+     * Stable merge sort of the interval indexes <code>idx[lo, hi)</code> by
+     * start position.
+     */
+    private void sort(final int[] idx, final int[] tmp, final int lo, final int hi) {
+        if (hi - lo <= INSERTION_SORT_THRESHOLD) {
+            for (int i = lo + 1; i < hi; i++) {
+                final int x = idx[i];
+                int j = i - 1;
+                while (j >= lo && this.starts[idx[j]] > this.starts[x]) {
+                    idx[j + 1] = idx[j];
+                    j--;
+                }
+                idx[j + 1] = x;
+            }
+            return;
+        }
+
+        final int mid = (lo + hi) >>> 1;
+        this.sort(idx, tmp, lo, mid);
+        this.sort(idx, tmp, mid, hi);
+        if (this.starts[idx[mid - 1]] <= this.starts[idx[mid]]) {
+            return;                                                             // Already in order, like the children of a node
+        }
+        System.arraycopy(idx, lo, tmp, lo, hi - lo);
+        int a = lo;
+        int b = mid;
+        for (int i = lo; i < hi; i++) {
+            if (b == hi || (a < mid && this.starts[tmp[a]] <= this.starts[tmp[b]])) {
+                idx[i] = tmp[a++];
+            } else {
+                idx[i] = tmp[b++];
+            }
+        }
+    }
+
+    private long calcMaxEnd(final int lo, final int hi) {
+        if (lo >= hi) {
+            return Long.MIN_VALUE;
+        }
+        final int mid = (lo + hi) >>> 1;
+        final long max = Math.max(this.ends[mid],
+                Math.max(this.calcMaxEnd(lo, mid), this.calcMaxEnd(mid + 1, hi)));
+        this.maxEnds[mid] = max;
+        return max;
+    }
+}
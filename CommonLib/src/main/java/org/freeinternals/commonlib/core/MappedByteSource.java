@@ -0,0 +1,148 @@
+/*
+ * MappedByteSource.java    Oct 16, 2026, 09:40
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.commonlib.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * {@link ByteSource} backed by memory-mapped windows of a file.
+ *
+ * <p>
+ * The file is split into windows of {@link #WINDOW_SIZE} bytes (the last one
+ * may be shorter). A window is mapped by {@link FileChannel#map} the first
+ * time it is touched, so opening a multi-GB file costs neither heap nor read
+ * time until the bytes are actually needed. The operating system pages the
+ * mapped content in and out.
+ * </p>
+ *
+ * <p>
+ * Reads are thread-safe.
+ * </p>
+ *
+ * @author Amos Shi
+ */
+public final class MappedByteSource implements ByteSource {
+
+    /**
+     * Bit count of the {@link #WINDOW_SIZE}.
+     */
+    private static final int WINDOW_BITS = 26;
+    /**
+     * Size of one mapped window, {@code 64 MB}.
+     */
+    public static final int WINDOW_SIZE = 1 << WINDOW_BITS;
+    /**
+     * Mask for the position inside a window.
+     */
+    private static final long WINDOW_MASK = WINDOW_SIZE - 1;
+
+    /**
+     * The channel of the file.
+     */
+    private final FileChannel channel;
+    /**
+     * Length of the file.
+     */
+    private final long length;
+    /**
+     * Mapped windows, {@code null} means not mapped yet.
+     */
+    private final AtomicReferenceArray<MappedByteBuffer> windows;
+
+    /**
+     * Map the {@code file} for read.
+     *
+     * @param file The file to be mapped
+     * @throws IOException Error happened when opening the file
+     */
+    public MappedByteSource(final File file) throws IOException {
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        this.length = this.channel.size();
+        this.windows = new AtomicReferenceArray<>((int) ((this.length + WINDOW_MASK) >>> WINDOW_BITS));
+    }
+
+    @Override
+    public long length() {
+        return this.length;
+    }
+
+    @Override
+    public byte get(final long pos) {
+        if (pos < 0 || pos >= this.length) {
+            throw new IndexOutOfBoundsException("pos = " + pos + ", source length = " + this.length);
+        }
+        return this.window((int) (pos >>> WINDOW_BITS)).get((int) (pos & WINDOW_MASK));
+    }
+
+    @Override
+    public int read(final long pos, final byte[] dst, final int off, final int len) {
+        if (pos >= this.length) {
+            return -1;
+        }
+        if (pos < 0) {
+            throw new IndexOutOfBoundsException("pos = " + pos);
+        }
+
+        final int total = (int) Math.min(len, this.length - pos);
+        int done = 0;
+        while (done < total) {
+            final long p = pos + done;
+            final int inWindow = (int) (p & WINDOW_MASK);
+            final int n = Math.min(total - done, WINDOW_SIZE - inWindow);
+
+            // Use a duplicate so that concurrent readers do not share the buffer position
+            final ByteBuffer view = this.window((int) (p >>> WINDOW_BITS)).duplicate();
+            ((Buffer) view).position(inWindow);
+            view.get(dst, off + done, n);
+            done += n;
+        }
+        return total;
+    }
+
+    /**
+     * Get the mapped window of index {@code index}, map it if not yet.
+     *
+     * @param index Index of the window
+     * @return The mapped window
+     */
+    private MappedByteBuffer window(final int index) {
+        MappedByteBuffer w = this.windows.get(index);
+        if (w == null) {
+            synchronized (this.windows) {
+                w = this.windows.get(index);
+                if (w == null) {
+                    final long start = ((long) index) << WINDOW_BITS;
+                    try {
+                        w = this.channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_SIZE, this.length - start));
+                    } catch (IOException ex) {
+                        throw new IllegalStateException(String.format("Failed to map the file window at %d", start), ex);
+                    }
+                    this.windows.set(index, w);
+                }
+            }
+        }
+        return w;
+    }
+
+    /**
+     * Close the file channel. The mapped windows are released by the garbage
+     * collector.
+     *
+     * @throws IOException Error happened when closing the channel
+     */
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+}
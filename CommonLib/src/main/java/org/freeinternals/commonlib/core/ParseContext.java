@@ -0,0 +1,86 @@
+/*
+ * ParseContext.java    Oct 16, 2026, 20:15
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.commonlib.core;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+
+/**
+ * The {@link ParseMonitor} of the current thread.
+ *
+ * <p>
+ * File formats are created by their {@code (File)} constructor, so the
+ * monitor is bound to the parsing thread instead of being passed as a
+ * parameter. Parsers call {@link #tick(long, long)} in their main loop; it
+ * reports the progress, and stops the parsing by a
+ * {@link CancellationException} when the monitor is cancelled. Without a
+ * bound monitor, {@link #tick(long, long)} costs nearly nothing.
+ * </p>
+ *
+ * @author Amos Shi
+ */
+public final class ParseContext {
+
+    /**
+     * Monitor of the current thread.
+     */
+    private static final ThreadLocal<ParseMonitor> MONITOR = new ThreadLocal<>();
+
+    private ParseContext() {
+    }
+
+    /**
+     * Run {@code task} on the current thread with {@code monitor} bound.
+     *
+     * @param <T> Result type of the task
+     * @param monitor Monitor for the task
+     * @param task The task, usually creates a {@link FileFormat}
+     * @return Result of the task
+     * @throws Exception Error thrown by the task
+     */
+    public static <T> T call(final ParseMonitor monitor, final Callable<T> task) throws Exception {
+        final ParseMonitor previous = MONITOR.get();
+        MONITOR.set(monitor);
+        try {
+            return task.call();
+        } finally {
+            if (previous == null) {
+                MONITOR.remove();
+            } else {
+                MONITOR.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Get the monitor of the current thread.
+     *
+     * @return The monitor, or {@link ParseMonitor#NONE} if none is bound
+     */
+    public static ParseMonitor getMonitor() {
+        final ParseMonitor monitor = MONITOR.get();
+        return (monitor != null) ? monitor : ParseMonitor.NONE;
+    }
+
+    /**
+     * Report the progress to the monitor of the current thread.
+     *
+     * @param done Amount of work done, like the parsed bytes
+     * @param total Total amount of work, like the file length
+     * @throws CancellationException The monitor is cancelled
+     */
+    public static void tick(final long done, final long total) {
+        final ParseMonitor monitor = MONITOR.get();
+        if (monitor == null) {
+            return;
+        }
+        if (monitor.isCancelled()) {
+            throw new CancellationException("Parsing is cancelled.");
+        }
+        monitor.progress(done, total);
+    }
+}
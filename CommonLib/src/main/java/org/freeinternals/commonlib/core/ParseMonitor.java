@@ -0,0 +1,54 @@
+/*
+ * ParseMonitor.java    Oct 16, 2026, 20:10
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.commonlib.core;
+
+/**
+ * Listener of the parsing progress, which can also ask the parsing to stop.
+ *
+ * <p>
+ * A parser does not get the monitor directly, it calls
+ * {@link ParseContext#tick(long, long)} or
+ * {@link FileFormat#reportProgress(long)} from time to time, which reach the
+ * monitor of the current thread.
+ * </p>
+ *
+ * @author Amos Shi
+ * @see ParseContext
+ */
+public interface ParseMonitor {
+
+    /**
+     * The monitor used when nobody is listening, it is never cancelled.
+     */
+    ParseMonitor NONE = new ParseMonitor() {
+
+        @Override
+        public void progress(final long done, final long total) {
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+    };
+
+    /**
+     * The parsing has made progress. It is called on the parsing thread, so
+     * it should return quickly.
+     *
+     * @param done Amount of work done, like the parsed bytes
+     * @param total Total amount of work, like the file length
+     */
+    void progress(long done, long total);
+
+    /**
+     * Indicates whether the parsing should stop.
+     *
+     * @return true if the parsing is cancelled, else false
+     */
+    boolean isCancelled();
+}
@@ -6,16 +6,39 @@
  */
 package org.freeinternals.commonlib.core;
 
+import java.io.DataInput;
 import java.io.DataInputStream;
 import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigInteger;
+import java.util.Arrays;
 
 /**
+ * Cursor style reader over a byte array, with both {@code big-endian} and
+ * {@code little-endian} readers.
+ *
+ * <p>
+ * All reads work on the array directly by index arithmetic: there is no
+ * synchronization and no allocation per read, unlike
+ * {@link DataInputStream} over a {@link java.io.ByteArrayInputStream}. The
+ * {@link PosByteArrayInputStream} given to the constructor only provides the
+ * array and the initial position, it is not read from.
+ * </p>
+ *
+ * <p>
+ * A stream may cover only a window of the array, see
+ * {@link #PosDataInputStream(ByteArraySlice, int)}. Partial streams share the
+ * array of their parent stream instead of copying it.
+ * </p>
+ *
+ * <p>
+ * This class is not thread-safe.
+ * </p>
  *
  * @author Amos Shi
  */
-public class PosDataInputStream extends DataInputStream implements DataInputEx {
+public class PosDataInputStream extends InputStream implements DataInput, DataInputEx {
     
     /**
      * Shift Operators, offset with 8.
@@ -34,48 +57,51 @@ public class PosDataInputStream extends DataInputStream implements DataInputEx {
      */
     private static final int SHIFT_32 = 32;
     /**
-     * Shift Operators, offset with 40.
+     * Short length: 2.
      */
-    private static final int SHIFT_40 = 40;
+    private static final int SHORT_LENGTH = 2;
     /**
-     * Shift Operators, offset with 48.
+     * Int length: 4.
      */
-    private static final int SHIFT_48 = 48;
+    private static final int INT_LENGTH = 4;
     /**
-     * Shift Operators, offset with 56.
+     * Long length: 8.
      */
-    private static final int SHIFT_56 = 56;
+    private static final int LONG_LENGTH = 8;
+    /**
+     * Byte max value: 255.
+     */
+    private static final int BYTE_MAX_255 = 255;
     /**
-     * Half Byte length: 4.
+     * Mask for unsigned int.
      */
-    private static final int BYTE_LENGTH_4 = 4;
+    private static final long UINT_MASK = 0xFFFFFFFFL;
     /**
-     * Full Byte length: 8.
+     * 2<sup>64</sup>, to convert a negative {@code long} to unsigned value.
      */
-    private static final int BYTE_LENGTH_8 = 8;
+    private static final BigInteger ULONG_MODULUS = BigInteger.ONE.shiftLeft(64);
 
-    /** Byte offset 0. */
-    private static final int BYTE_OFFSET_0 = 0;
-    /** Byte offset 1. */
-    private static final int BYTE_OFFSET_1 = 1;
-    /** Byte offset 2. */
-    private static final int BYTE_OFFSET_2 = 2;
-    /** Byte offset 3. */
-    private static final int BYTE_OFFSET_3 = 3;
-    /** Byte offset 4. */
-    private static final int BYTE_OFFSET_4 = 4;
-    /** Byte offset 5. */
-    private static final int BYTE_OFFSET_5 = 5;
-    /** Byte offset 6. */
-    private static final int BYTE_OFFSET_6 = 6;
-    /** Byte offset 7. */
-    private static final int BYTE_OFFSET_7 = 7;
     /**
-     * Byte max value: 255.
+     * The byte array to read from.
      */
-    private static final int BYTE_MAX_255 = 255;
-    
-    
+    private final byte[] buf;
+    /**
+     * Index in {@link #buf} of the first byte of this stream.
+     */
+    private final int start;
+    /**
+     * Index in {@link #buf} after the last byte of this stream.
+     */
+    private final int limit;
+    /**
+     * Index of the next byte to read in {@link #buf}.
+     */
+    private int pos;
+    /**
+     * Marked position, see {@link #mark(int)}.
+     */
+    private int mark;
+
     /**
      * Offset of the 1st byte.
      */
@@ -87,7 +113,11 @@ public class PosDataInputStream extends DataInputStream implements DataInputEx {
      * @param in Binary data input stream
      */
     public PosDataInputStream(final PosByteArrayInputStream in) {
-        super(in);
+        this.buf = in.getBuf();
+        this.start = 0;
+        this.limit = this.buf.length;
+        this.pos = in.getPos();
+        this.mark = 0;
     }
 
     /**
@@ -98,7 +128,24 @@ public class PosDataInputStream extends DataInputStream implements DataInputEx {
      * @param offset Offset of the stream
      */
     public PosDataInputStream(final PosByteArrayInputStream in, int offset) {
-        super(in);
+        this(in);
+        this.offset = offset;
+    }
+
+    /**
+     * Create a {@link PosDataInputStream} over the {@code slice}, without
+     * copying the bytes. The first byte of the {@code slice} is at absolute
+     * position <code>offset</code>.
+     *
+     * @param slice Bytes of the stream
+     * @param offset Offset of the stream
+     */
+    public PosDataInputStream(final ByteArraySlice slice, int offset) {
+        this.buf = slice.array();
+        this.start = slice.arrayOffset();
+        this.limit = this.start + slice.length();
+        this.pos = this.start;
+        this.mark = this.start;
         this.offset = offset;
     }
 
@@ -112,9 +159,7 @@ public class PosDataInputStream extends DataInputStream implements DataInputEx {
      * @return A partial {@link PosDataInputStream} object
      */
     public PosDataInputStream getPartialStream(final int startPos, final int length) {
-        return new PosDataInputStream(
-                new PosByteArrayInputStream(this.getBuf(startPos, length)),
-                startPos);
+        return new PosDataInputStream(this.getSlice(startPos, length), startPos);
     }
 
     /**
@@ -130,29 +175,26 @@ public class PosDataInputStream extends DataInputStream implements DataInputEx {
      * Get current absolute position of the file.
      *
      * @return The index of the next character to read from the input stream
-     * buffer, or <code>-1</code> if there is internal error, the input stream
-     * is not <code>PosByteArrayInputStream</code>.
+     * buffer
      */
     public int getPos() {
-        int pos = -1;
-        if (this.in instanceof PosByteArrayInputStream) {
-            pos = ((PosByteArrayInputStream) this.in).getPos() + this.offset;
-        }
-
-        return pos;
+        return this.pos - this.start + this.offset;
     }
 
     /**
      * Get the byte array buffer of the input stream.
      *
+     * <p>
+     * When the stream covers only a window of a shared array, a copy of the
+     * window is returned; use {@link #getSlice()} to avoid the copy.
+     * </p>
+     *
      * @return the byte array
      */
     public byte[] getBuf() {
-        if (this.in instanceof PosByteArrayInputStream) {
-            return ((PosByteArrayInputStream) this.in).getBuf();
-        } else {
-            return null;
-        }
+        return (this.start == 0 && this.limit == this.buf.length)
+                ? this.buf
+                : Arrays.copyOfRange(this.buf, this.start, this.limit);
     }
 
     /**
@@ -161,112 +203,269 @@ public class PosDataInputStream extends DataInputStream implements DataInputEx {
      * @param startPos Start Position of the original byte array
      * @param length Length of data to be read
      * @return the partial byte array
+     * @see #getSlice(int, int)
      */
     public byte[] getBuf(final int startPos, final int length) {
-        if ((startPos < 0) || (length < 1)) {
+        return this.getSlice(startPos, length).toByteArray();
+    }
+
+    /**
+     * Get all bytes of the stream as a read-only slice, without copying.
+     *
+     * @return Bytes of the stream
+     */
+    public ByteArraySlice getSlice() {
+        return new ByteArraySlice(this.buf, this.start, this.limit - this.start);
+    }
+
+    /**
+     * Get a part of the bytes of the stream as a read-only slice, without
+     * copying.
+     *
+     * @param startPos Start Position of the original byte array
+     * @param length Length of the slice
+     * @return the partial bytes
+     */
+    public ByteArraySlice getSlice(final int startPos, final int length) {
+        if ((startPos < 0) || (length < 0)) {
             throw new IllegalArgumentException("startIndex or length is not valid. startIndex = " + startPos + ", length = " + length);
         }
-
-        byte[] bufFull = this.getBuf();
-        if (startPos + length - 1 > bufFull.length) {
+        if (startPos + length > this.limit - this.start) {
             throw new ArrayIndexOutOfBoundsException("The last item index is bigger than class byte array size.");
         }
 
-        final byte[] bufPart = new byte[length];
-        System.arraycopy(bufFull, startPos, bufPart, 0, length);
-        return bufPart;
+        return new ByteArraySlice(this.buf, this.start + startPos, length);
+    }
+
+    /**
+     * Read the next {@code length} bytes as a read-only slice, without
+     * copying.
+     *
+     * @param length Number of bytes to read
+     * @return The bytes read
+     * @throws EOFException Not enough bytes left
+     */
+    public ByteArraySlice readSlice(final int length) throws EOFException {
+        if (length < 0) {
+            throw new IllegalArgumentException("length is not valid. length = " + length);
+        }
+        return new ByteArraySlice(this.buf, this.advance(length), length);
+    }
+
+    /**
+     * Make sure there are {@code n} bytes left to read, and move the cursor
+     * forward by {@code n}.
+     *
+     * @param n Number of bytes to be read
+     * @return Index of the first byte to read
+     * @throws EOFException Not enough bytes left
+     */
+    private int advance(final int n) throws EOFException {
+        final int p = this.pos;
+        if (p + n > this.limit) {
+            this.pos = this.limit;
+            throw new EOFException();
+        }
+        this.pos = p + n;
+        return p;
     }
 
     ///////////////////////////////////////////////////////////////////////////
-    // Interface Methods
+    // InputStream Methods
     @Override
-    public short readShortInLittleEndian() throws IOException {
-        int ch1 = this.in.read();
-        int ch2 = this.in.read();
-        if ((ch1 | ch2) < 0) {
-            throw new EOFException();
+    public int read() {
+        return (this.pos < this.limit) ? (this.buf[this.pos++] & BYTE_MAX_255) : -1;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) {
+        if (len == 0) {
+            return 0;
         }
-        return (short) ((ch2 << SHIFT_8) + (ch1));
+        if (this.pos >= this.limit) {
+            return -1;
+        }
+
+        final int n = Math.min(len, this.limit - this.pos);
+        System.arraycopy(this.buf, this.pos, b, off, n);
+        this.pos += n;
+        return n;
     }
 
     @Override
-    public int readUnsignedShortInLittleEndian() throws IOException {
-        int ch1 = this.in.read();
-        int ch2 = this.in.read();
-        if ((ch1 | ch2) < 0) {
-            throw new EOFException();
+    public long skip(final long n) {
+        final long k = (n < 0) ? 0 : Math.min(n, this.limit - this.pos);
+        this.pos += (int) k;
+        return k;
+    }
+
+    @Override
+    public int available() {
+        return Math.max(this.limit - this.pos, 0);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public void mark(final int readAheadLimit) {
+        this.mark = this.pos;
+    }
+
+    @Override
+    public void reset() {
+        this.pos = this.mark;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // DataInput Methods
+    @Override
+    public void readFully(final byte[] b) throws IOException {
+        this.readFully(b, 0, b.length);
+    }
+
+    @Override
+    public void readFully(final byte[] b, final int off, final int len) throws IOException {
+        if (len < 0) {
+            throw new IndexOutOfBoundsException("len = " + len);
         }
-        return (ch2 << SHIFT_8) + (ch1);
+        System.arraycopy(this.buf, this.advance(len), b, off, len);
     }
 
     @Override
-    public int readIntInLittleEndian() throws IOException {
-        int ch1 = this.in.read();
-        int ch2 = this.in.read();
-        int ch3 = this.in.read();
-        int ch4 = this.in.read();
-        if ((ch1 | ch2 | ch3 | ch4) < 0) {
-            throw new EOFException();
+    public int skipBytes(final int n) {
+        return (int) this.skip(n);
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return this.buf[this.advance(1)] != 0;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        return this.buf[this.advance(1)];
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return this.buf[this.advance(1)] & BYTE_MAX_255;
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        return (short) this.readUnsignedShort();
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException {
+        final int p = this.advance(SHORT_LENGTH);
+        return ((this.buf[p] & BYTE_MAX_255) << SHIFT_8)
+                | (this.buf[p + 1] & BYTE_MAX_255);
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        return (char) this.readUnsignedShort();
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        final int p = this.advance(INT_LENGTH);
+        return ((this.buf[p] & BYTE_MAX_255) << SHIFT_24)
+                | ((this.buf[p + 1] & BYTE_MAX_255) << SHIFT_16)
+                | ((this.buf[p + 2] & BYTE_MAX_255) << SHIFT_8)
+                | (this.buf[p + 3] & BYTE_MAX_255);
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        final long high = this.readInt();
+        return (high << SHIFT_32) | (this.readInt() & UINT_MASK);
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        return Float.intBitsToFloat(this.readInt());
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        return Double.longBitsToDouble(this.readLong());
+    }
+
+    /**
+     * Reads the next line of text, in the same way as
+     * {@link DataInputStream#readLine()}.
+     *
+     * @return the next line of text, or {@code null} if the end is reached
+     */
+    @Override
+    public String readLine() {
+        if (this.pos >= this.limit) {
+            return null;
+        }
+
+        final StringBuilder sb = new StringBuilder();
+        while (this.pos < this.limit) {
+            final int c = this.buf[this.pos++] & BYTE_MAX_255;
+            if (c == NEWLINE.LF) {
+                break;
+            } else if (c == NEWLINE.CR) {
+                if (this.pos < this.limit && this.buf[this.pos] == NEWLINE.LF) {
+                    this.pos++;
+                }
+                break;
+            }
+            sb.append((char) c);
         }
-        return (int) (((ch4 << SHIFT_24) + (ch3 << SHIFT_16) + (ch2 << SHIFT_8) + (ch1)));
+        return sb.toString();
     }
 
     @Override
-    public long readUnsignedInt() throws IOException {
-        final byte readBuffer[] = new byte[BYTE_LENGTH_8];
+    public String readUTF() throws IOException {
+        return DataInputStream.readUTF(this);
+    }
 
-        super.readFully(readBuffer, BYTE_LENGTH_4, BYTE_LENGTH_4);
-        readBuffer[BYTE_OFFSET_0] = 0;
-        readBuffer[BYTE_OFFSET_1] = 0;
-        readBuffer[BYTE_OFFSET_2] = 0;
-        readBuffer[BYTE_OFFSET_3] = 0;
+    ///////////////////////////////////////////////////////////////////////////
+    // Interface Methods
+    @Override
+    public short readShortInLittleEndian() throws IOException {
+        return (short) this.readUnsignedShortInLittleEndian();
+    }
 
-        return (((long) readBuffer[BYTE_OFFSET_0] << SHIFT_56)
-                + ((long) (readBuffer[BYTE_OFFSET_1] & BYTE_MAX_255) << SHIFT_48)
-                + ((long) (readBuffer[BYTE_OFFSET_2] & BYTE_MAX_255) << SHIFT_40)
-                + ((long) (readBuffer[BYTE_OFFSET_3] & BYTE_MAX_255) << SHIFT_32)
-                + ((long) (readBuffer[BYTE_OFFSET_4] & BYTE_MAX_255) << SHIFT_24)
-                + ((readBuffer[BYTE_OFFSET_5] & BYTE_MAX_255) << SHIFT_16)
-                + ((readBuffer[BYTE_OFFSET_6] & BYTE_MAX_255) << SHIFT_8)
-                + ((readBuffer[BYTE_OFFSET_7] & BYTE_MAX_255)));
+    @Override
+    public int readUnsignedShortInLittleEndian() throws IOException {
+        final int p = this.advance(SHORT_LENGTH);
+        return ((this.buf[p + 1] & BYTE_MAX_255) << SHIFT_8)
+                | (this.buf[p] & BYTE_MAX_255);
     }
 
     @Override
-    public long readUnsignedIntInLittleEndian() throws IOException {
-        final byte readBuffer[] = new byte[BYTE_LENGTH_8];
+    public int readIntInLittleEndian() throws IOException {
+        final int p = this.advance(INT_LENGTH);
+        return ((this.buf[p + 3] & BYTE_MAX_255) << SHIFT_24)
+                | ((this.buf[p + 2] & BYTE_MAX_255) << SHIFT_16)
+                | ((this.buf[p + 1] & BYTE_MAX_255) << SHIFT_8)
+                | (this.buf[p] & BYTE_MAX_255);
+    }
 
-        super.readFully(readBuffer, 0, BYTE_LENGTH_4);
-        readBuffer[BYTE_OFFSET_7] = readBuffer[BYTE_OFFSET_0];
-        readBuffer[BYTE_OFFSET_6] = readBuffer[BYTE_OFFSET_1];
-        readBuffer[BYTE_OFFSET_5] = readBuffer[BYTE_OFFSET_2];
-        readBuffer[BYTE_OFFSET_4] = readBuffer[BYTE_OFFSET_3];
-        readBuffer[BYTE_OFFSET_0] = 0;
-        readBuffer[BYTE_OFFSET_1] = 0;
-        readBuffer[BYTE_OFFSET_2] = 0;
-        readBuffer[BYTE_OFFSET_3] = 0;
+    @Override
+    public long readUnsignedInt() throws IOException {
+        return this.readInt() & UINT_MASK;
+    }
 
-        return (((long) readBuffer[BYTE_OFFSET_0] << SHIFT_56)
-                + ((long) (readBuffer[BYTE_OFFSET_1] & BYTE_MAX_255) << SHIFT_48)
-                + ((long) (readBuffer[BYTE_OFFSET_2] & BYTE_MAX_255) << SHIFT_40)
-                + ((long) (readBuffer[BYTE_OFFSET_3] & BYTE_MAX_255) << SHIFT_32)
-                + ((long) (readBuffer[BYTE_OFFSET_4] & BYTE_MAX_255) << SHIFT_24)
-                + ((readBuffer[BYTE_OFFSET_5] & BYTE_MAX_255) << SHIFT_16)
-                + ((readBuffer[BYTE_OFFSET_6] & BYTE_MAX_255) << SHIFT_8)
-                + ((readBuffer[BYTE_OFFSET_7] & BYTE_MAX_255)));
+    @Override
+    public long readUnsignedIntInLittleEndian() throws IOException {
+        return this.readIntInLittleEndian() & UINT_MASK;
     }
 
     @Override
     public long readLongInLittleEndian() throws IOException {
-        final byte readBuffer[] = new byte[BYTE_LENGTH_8];
-        super.readFully(readBuffer, 0, 8);
-        return (((long) readBuffer[BYTE_OFFSET_7] << SHIFT_56)
-                + ((long) (readBuffer[BYTE_OFFSET_6] & BYTE_MAX_255) << SHIFT_48)
-                + ((long) (readBuffer[BYTE_OFFSET_5] & BYTE_MAX_255) << SHIFT_40)
-                + ((long) (readBuffer[BYTE_OFFSET_4] & BYTE_MAX_255) << SHIFT_32)
-                + ((long) (readBuffer[BYTE_OFFSET_3] & BYTE_MAX_255) << SHIFT_24)
-                + ((readBuffer[BYTE_OFFSET_2] & BYTE_MAX_255) << SHIFT_16)
-                + ((readBuffer[BYTE_OFFSET_1] & BYTE_MAX_255) << SHIFT_8)
-                + ((readBuffer[BYTE_OFFSET_0] & BYTE_MAX_255)));
+        final long low = this.readIntInLittleEndian() & UINT_MASK;
+        return (((long) this.readIntInLittleEndian()) << SHIFT_32) | low;
     }
 
     /**
@@ -276,21 +475,24 @@ public class PosDataInputStream extends DataInputStream implements DataInputEx {
      */
     @Override
     public BigInteger readUnsignedLong() throws IOException {
-        final byte readBuffer[] = new byte[BYTE_LENGTH_8];
-        super.readFully(readBuffer, 0, BYTE_LENGTH_8);
-        return new BigInteger(1, readBuffer);
+        return toUnsignedBigInteger(this.readLong());
     }
 
     @Override
     public BigInteger readUnsignedLongInLittleEndian() throws IOException {
-        final byte readBuffer[] = new byte[BYTE_LENGTH_8];
-        final byte readBufferLE[] = new byte[BYTE_LENGTH_8];
-        super.readFully(readBuffer, 0, BYTE_LENGTH_8);
-        for (int i = 0; i < BYTE_LENGTH_8; i++) {
-            readBufferLE[i] = readBuffer[BYTE_LENGTH_8 - 1 - i];
-        }
+        return toUnsignedBigInteger(this.readLongInLittleEndian());
+    }
 
-        return new BigInteger(1, readBufferLE);
+    /**
+     * Convert the {@code value}, as an unsigned 64-bit value, to
+     * {@link BigInteger}.
+     *
+     * @param value The value
+     * @return The unsigned value
+     */
+    private static BigInteger toUnsignedBigInteger(final long value) {
+        final BigInteger big = BigInteger.valueOf(value);
+        return (value < 0) ? big.add(ULONG_MODULUS) : big;
     }
 
     @Override
@@ -300,11 +502,12 @@ public class PosDataInputStream extends DataInputStream implements DataInputEx {
                     String.format("Parameter length should be greater than 0. (length = %d)", length));
         }
 
-        StringBuilder sb = new StringBuilder(length + 1);
+        final int p = this.advance(length);
+        final char[] chars = new char[length];
         for (int i = 0; i < length; i++) {
-            sb.append((char) this.readByte());
+            chars[i] = (char) this.buf[p + i];
         }
-        return sb.toString();
+        return new String(chars);
     }
 
     @Override
@@ -321,20 +524,15 @@ public class PosDataInputStream extends DataInputStream implements DataInputEx {
      */
     @Override
     public String readASCIIUntil(final byte end) throws IOException {
-        byte b;
         StringBuilder sb = new StringBuilder();
 
-        do {
-            try {
-                b = this.readByte();
-                if (b == end) {
-                    break;
-                }
-                sb.append((char) b);
-            } catch (EOFException eof) {
+        while (this.pos < this.limit) {
+            final byte b = this.buf[this.pos++];
+            if (b == end) {
                 break;
             }
-        } while (true);
+            sb.append((char) b);
+        }
 
         return sb.toString();
     }
@@ -352,20 +550,15 @@ public class PosDataInputStream extends DataInputStream implements DataInputEx {
             throw new IllegalArgumentException("Inalid parameter 'end'.");
         }
 
-        byte b;
         StringBuilder sb = new StringBuilder(100);
 
-        do {
-            try {
-                b = this.readByte();
-                if (this._contains(b, end)) {
-                    break;
-                }
-                sb.append((char) b);
-            } catch (EOFException eof) {
+        while (this.pos < this.limit) {
+            final byte b = this.buf[this.pos++];
+            if (this._contains(b, end)) {
                 break;
             }
-        } while (true);
+            sb.append((char) b);
+        }
 
         return sb.toString();
     }
@@ -405,27 +598,16 @@ public class PosDataInputStream extends DataInputStream implements DataInputEx {
 
     @Override
     public byte[] readBinary() throws IOException {
-        int size = this.getBuf().length - this.getPos() + this.offset + 1;
-        byte[] big = new byte[size];
-        int big_counter = 0;
-        byte b;
-
-        do {
-            try {
-                b = this.readByte();
-                if (b == 0) {
-                    break;
-                }
-                big[big_counter] = b;
-                big_counter++;
-            } catch (EOFException eof) {
-                break;
-            }
-        } while (true);
+        final int first = this.pos;
+        int end = first;
+        while (end < this.limit && this.buf[end] != 0) {
+            end++;
+        }
+        this.pos = (end < this.limit) ? end + 1 : end;
 
-        if (big_counter > 0) {
-            byte[] result = new byte[big_counter];
-            System.arraycopy(big, 0, result, 0, big_counter);
+        if (end > first) {
+            byte[] result = new byte[end - first];
+            System.arraycopy(this.buf, first, result, 0, result.length);
             return result;
         } else {
             return null;
@@ -435,51 +617,33 @@ public class PosDataInputStream extends DataInputStream implements DataInputEx {
     /**
      * Set the current position back for <code>i</code> positions.
      *
-     * This method supports {@link PosByteArrayInputStream} only, nothing will
-     * do for other input stream types.
-     *
-     * @see PosByteArrayInputStream
+     * @return the new position
      */
     @Override
     public int backward(final int i) {
-        int result = -1;
-
-        if (this.in instanceof PosByteArrayInputStream) {
-            PosByteArrayInputStream posIn = ((PosByteArrayInputStream) this.in);
-            int currentPos = posIn.getPos();
-            ((PosByteArrayInputStream) this.in).setPos(
-                    result = ((currentPos - i) > 0) ? (currentPos - i) : 0);
-        }
-
-        return result;
+        this.pos = ((this.pos - i) > this.start) ? (this.pos - i) : this.start;
+        return this.pos - this.start;
     }
 
     /**
      * Backward current position until the byte value <code>b</code>.
      *
-     * This method supports {@link PosByteArrayInputStream} only as input stream
-     * only, otherwise <code>-1</code> is returned.
-     *
-     * @see PosByteArrayInputStream
      * @return the new position, or -1 if <code>b</code> not found
      */
     @Override
     public int backwardTo(final byte b) {
         int result = -1;
 
-        if (this.in instanceof PosByteArrayInputStream) {
-            PosByteArrayInputStream posIn = ((PosByteArrayInputStream) this.in);
-            byte[] buf = posIn.getBuf();
-            for (int i = posIn.getPos(); i > -1; i--) {
-                if (buf[i] == b) {
-                    result = i;
-                    break;
-                }
+        for (int i = Math.min(this.pos, this.limit - 1); i >= this.start; i--) {
+            if (this.buf[i] == b) {
+                result = i;
+                break;
             }
+        }
 
-            if (result != -1) {
-                posIn.setPos(result);
-            }
+        if (result != -1) {
+            this.pos = result;
+            result -= this.start;
         }
 
         return result;
@@ -488,29 +652,22 @@ public class PosDataInputStream extends DataInputStream implements DataInputEx {
     /**
      * Forward current position until the byte value <code>b</code>.
      *
-     * This method supports {@link PosByteArrayInputStream} only as input stream
-     * only, otherwise <code>-1</code> is returned.
-     *
      * @param b
-     * @see PosByteArrayInputStream
      * @return the new position, or -1 if <code>b</code> not found
      */
     public int forwardTo(final byte b) {
         int result = -1;
 
-        if (this.in instanceof PosByteArrayInputStream) {
-            PosByteArrayInputStream posIn = ((PosByteArrayInputStream) this.in);
-            byte[] buf = posIn.getBuf();
-            for (int i = posIn.getPos(); i < buf.length; i++) {
-                if (buf[i] == b) {
-                    result = i;
-                    break;
-                }
+        for (int i = this.pos; i < this.limit; i++) {
+            if (this.buf[i] == b) {
+                result = i;
+                break;
             }
+        }
 
-            if (result != -1) {
-                posIn.setPos(result);
-            }
+        if (result != -1) {
+            this.pos = result;
+            result -= this.start;
         }
 
         return result;
@@ -519,10 +676,7 @@ public class PosDataInputStream extends DataInputStream implements DataInputEx {
     /**
      * Backward current position until the byte array value <code>b</code>.
      *
-     * This method supports {@link PosByteArrayInputStream} only as input stream
-     * only, otherwise <code>-1</code> is returned.
-     *
-     * @see PosByteArrayInputStream
+     * @return the new position, or -1 if <code>b</code> not found
      */
     @Override
     public int backwardTo(final byte[] b) {
@@ -532,52 +686,33 @@ public class PosDataInputStream extends DataInputStream implements DataInputEx {
             throw new IllegalArgumentException("Parameter b is null or empty.");
         }
 
-        if (this.in instanceof PosByteArrayInputStream) {
-            PosByteArrayInputStream posIn = ((PosByteArrayInputStream) this.in);
-            byte[] buf = posIn.getBuf();
-            for (int i = posIn.getPos() - b.length; i > -1; i--) {
-                if (BytesTool.isByteArraySame(b, buf, i)) {
-                    result = i;
-                    break;
-                }
+        for (int i = this.pos - b.length; i >= this.start; i--) {
+            if (BytesTool.isByteArraySame(b, this.buf, i)) {
+                result = i;
+                break;
             }
+        }
 
-            if (result != -1) {
-                posIn.setPos(result);
-            }
+        if (result != -1) {
+            this.pos = result;
+            result -= this.start;
         }
 
         return result;
     }
 
-    /**
-     * This method supports {@link PosByteArrayInputStream} only, nothing will
-     * do for other input stream types.
-     *
-     * @see PosByteArrayInputStream
-     */
     @Override
-    public void skipToEnd() throws IOException {
-        if (this.in instanceof PosByteArrayInputStream) {
-            PosByteArrayInputStream posIn = ((PosByteArrayInputStream) this.in);
-            posIn.setPos(0);
-            posIn.skip(posIn.getBuf().length);
-        }
+    public void skipToEnd() {
+        this.pos = this.limit;
     }
 
     /**
-     * Fly to the specific <code>position</code>.
-     *
-     * This method supports {@link PosByteArrayInputStream} only, nothing will
-     * do for other input stream types.
-     *
-     * @see PosByteArrayInputStream
+     * Fly to the specific <code>position</code>, which is relative to the
+     * start of the buffer, not including the {@link #offset}.
      */
     @Override
     public void flyTo(final int position) {
-        if (this.in instanceof PosByteArrayInputStream) {
-            ((PosByteArrayInputStream) this.in).setPos(position);
-        }
+        this.pos = this.start + position;
     }
 
     /**
@@ -587,7 +722,7 @@ public class PosDataInputStream extends DataInputStream implements DataInputEx {
      * the end
      */
     public boolean hasNext() {
-        return this.getPos() - this.offset <= (this.getBuf().length - 1);
+        return this.pos < this.limit;
     }
 
     /**
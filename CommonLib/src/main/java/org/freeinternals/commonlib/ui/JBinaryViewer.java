@@ -14,14 +14,17 @@ import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.awt.event.MouseWheelEvent;
 import java.awt.event.MouseWheelListener;
+import java.util.ArrayList;
+import java.util.List;
 import javax.swing.JPanel;
 import javax.swing.JScrollBar;
-import javax.swing.SpringLayout;
-import org.freeinternals.commonlib.ui.binviewer.JAsciiDataViewer;
-import org.freeinternals.commonlib.ui.binviewer.JRawDataViewer;
-import org.freeinternals.commonlib.ui.binviewer.JRowViewer;
+import org.freeinternals.commonlib.core.ByteSource;
+import org.freeinternals.commonlib.core.HeapByteSource;
+import org.freeinternals.commonlib.ui.binviewer.JHexView;
 
 /**
  * Viewer for binary data. It contains three columns: row numbers, data in HEX,
@@ -59,29 +62,14 @@ public final class JBinaryViewer extends JPanel {
     private static final int ROW_EMPTYROW_COUNT = 10;
 
     /**
-     * Constant value for <code>-4</code>.
+     * Viewer of the rows, the data in HEX and in ASCII.
      */
-    private static final int MINUS_4 = -4;
-
-    /**
-     * Column 1: row viewer.
-     */
-    private final JRowViewer rowViewer;
-
-    /**
-     * Column 2: Data viewer in HEX format.
-     */
-    private final JRawDataViewer rawViewer;
-
-    /**
-     * Column 3: Data viewer in ASCII format.
-     */
-    private final JAsciiDataViewer asciiViewer;
+    private final JHexView hexView;
 
     /**
      * Binary data to be shown.
      */
-    private byte[] data = null;
+    private ByteSource data = null;
 
     /**
      * Vertical scroll bar for paging.
@@ -94,18 +82,9 @@ public final class JBinaryViewer extends JPanel {
     private int rowMax;
 
     /**
-     * Start index to be high-lighted.
-     *
-     * @see org.freeinternals.commonlib.ui.binviewer.DataViewer#selectedStartIndex
-     */
-    private int selectedStartIndex = 0;
-
-    /**
-     * Length to be high-lighted.
-     *
-     * @see org.freeinternals.commonlib.ui.binviewer.DataViewer#selectedLength
+     * Listeners to be notified when a byte is clicked.
      */
-    private int selectedLength = 0;
+    private final List<ByteClickListener> byteClickListeners = new ArrayList<>();
 
     /**
      * Constructor.
@@ -129,44 +108,11 @@ public final class JBinaryViewer extends JPanel {
 
         this.add(this.vBar, BorderLayout.EAST);
 
-        // Content Panel
-        final JPanel panel = new JPanel();
-        final SpringLayout panelLayout = new SpringLayout();
-        int left;
-        int right;
-
-        panel.setLayout(panelLayout);
-
-        this.rowViewer = new JRowViewer();
-        this.rawViewer = new JRawDataViewer();
-        this.rawViewer.addKeyListener(new KeyboardAdapter());
-        this.asciiViewer = new JAsciiDataViewer();
-        this.asciiViewer.addKeyListener(new KeyboardAdapter());
-
-        panel.add(this.rowViewer);
-        panel.add(this.rawViewer);
-        panel.add(this.asciiViewer);
-
-        panelLayout.putConstraint(SpringLayout.WEST, this.rowViewer, 2, SpringLayout.WEST, panel);
-        panelLayout.putConstraint(SpringLayout.NORTH, this.rowViewer, 2, SpringLayout.NORTH, panel);
-        panelLayout.putConstraint(SpringLayout.SOUTH, this.rowViewer, MINUS_4, SpringLayout.SOUTH, panel);
-        panelLayout.putConstraint(SpringLayout.EAST, this.rowViewer, JRowViewer.WIDTH_VALUE, SpringLayout.WEST, panel);
-
-        left = 2 + JRowViewer.WIDTH_VALUE + 2;
-        right = left + JRawDataViewer.WIDTH_VALUE;
-        panelLayout.putConstraint(SpringLayout.WEST, this.rawViewer, left, SpringLayout.WEST, panel);
-        panelLayout.putConstraint(SpringLayout.NORTH, this.rawViewer, 2, SpringLayout.NORTH, panel);
-        panelLayout.putConstraint(SpringLayout.SOUTH, this.rawViewer, MINUS_4, SpringLayout.SOUTH, panel);
-        panelLayout.putConstraint(SpringLayout.EAST, this.rawViewer, right, SpringLayout.WEST, panel);
-
-        left = right + 2;
-        right = left + JAsciiDataViewer.WIDTH_VALUE;
-        panelLayout.putConstraint(SpringLayout.WEST, this.asciiViewer, left, SpringLayout.WEST, panel);
-        panelLayout.putConstraint(SpringLayout.NORTH, this.asciiViewer, 2, SpringLayout.NORTH, panel);
-        panelLayout.putConstraint(SpringLayout.SOUTH, this.asciiViewer, MINUS_4, SpringLayout.SOUTH, panel);
-        panelLayout.putConstraint(SpringLayout.EAST, this.asciiViewer, right, SpringLayout.WEST, panel);
-
-        this.add(panel, BorderLayout.CENTER);
+        // Content
+        this.hexView = new JHexView();
+        this.hexView.addKeyListener(new KeyboardAdapter());
+        this.hexView.addMouseListener(new ByteClickAdapter());
+        this.add(this.hexView, BorderLayout.CENTER);
     }
 
     /**
@@ -179,7 +125,22 @@ public final class JBinaryViewer extends JPanel {
             return;
         }
 
-        this.data = bytes.clone();
+        this.setData(new HeapByteSource(bytes.clone()));
+    }
+
+    /**
+     * Set the binary data to be displayed. Only the visible part of the
+     * {@code source} is read.
+     *
+     * @param source Binary data to be displayed
+     */
+    public void setData(final ByteSource source) {
+        if (source == null) {
+            return;
+        }
+
+        this.data = source;
+        this.hexView.setData(source);
 
         // Calc the max row count
         this.rowMax = this.getRowMax();
@@ -191,7 +152,7 @@ public final class JBinaryViewer extends JPanel {
 
     private int getRowMax() {
         return (this.data != null)
-                ? this.getRowCount(this.data.length)
+                ? this.getRowCount(this.data.length())
                 : 0;
     }
 
@@ -201,14 +162,10 @@ public final class JBinaryViewer extends JPanel {
      * @param number to explain
      * @return 1-based row number
      */
-    private int getRowCount(final int number) {
-        int count = 0;
-        int max = number;
-        while (max > 0) {
-            count++;
-            max -= ROW_ITEM_MAX;
-        }
-        return count;
+    private int getRowCount(final long number) {
+        return (number > 0)
+                ? (int) ((number + ROW_ITEM_MAX_INDEX) / ROW_ITEM_MAX)
+                : 0;
     }
 
     private int getExtent() {
@@ -235,26 +192,17 @@ public final class JBinaryViewer extends JPanel {
             this.vBar.setVisible(true);
         }
 
-        // Revise row viewer, raw data viewer, ASCII data viewer
-        this.rowViewer.setData(this.vBar.getValue(), extent, this.rowMax);
-        if (this.data != null && this.data.length > 0) {
-            // Calc the buffer data
-            int startPos = this.vBar.getValue() * JBinaryViewer.ROW_ITEM_MAX;
-            int dataSize = extent * JBinaryViewer.ROW_ITEM_MAX;
-
-            dataSize = Math.min(dataSize, this.data.length - startPos);
-            if (dataSize > 0) {
-                byte[] buf = new byte[dataSize];
-                System.arraycopy(this.data, startPos, buf, 0, dataSize);
-
-                // Set the buffer
-                this.rawViewer.setData(buf);
-                this.asciiViewer.setData(buf);
-            }
-        }
+        // Only the visible rows are painted
+        this.hexView.setFirstRow(this.vBar.getValue());
+    }
 
-        // Revise selection
-        this.updateSelection();
+    /**
+     * Add a listener to be notified when a byte is clicked.
+     *
+     * @param listener The listener
+     */
+    public void addByteClickListener(final ByteClickListener listener) {
+        this.byteClickListeners.add(listener);
     }
 
     /**
@@ -263,38 +211,16 @@ public final class JBinaryViewer extends JPanel {
      * @param selectionStart the start position of the bytes
      * @param length the length of the bytes
      */
-    public void setSelection(final int selectionStart, final int length) {
+    public void setSelection(final long selectionStart, final long length) {
         if ((this.data == null) || (selectionStart < 0)) {
             return;
         }
-        if (this.data.length < (selectionStart + length - 1)) {
+        if (this.data.length() < (selectionStart + length - 1)) {
             return;
         }
 
-        this.selectedStartIndex = selectionStart;
-        this.selectedLength = length;
-
         this.ensureVisible(selectionStart);
-        this.updateSelection();
-    }
-
-    private void updateSelection() {
-        final int startPos = this.selectedStartIndex - this.vBar.getValue() * JBinaryViewer.ROW_ITEM_MAX;
-        final int lengtgMax = this.getExtent() * JBinaryViewer.ROW_ITEM_MAX;
-        int length;
-
-        if (startPos > 0) {
-            length = Math.min(this.selectedLength, lengtgMax);                  // Improve Performance
-            this.rawViewer.setSelection(startPos, length);
-            this.asciiViewer.setSelection(startPos, length);
-        } else if ((startPos + this.selectedLength) > 0) {
-            length = Math.min(startPos + this.selectedLength, lengtgMax);       // Improve Performance
-            this.rawViewer.setSelection(0, length);
-            this.asciiViewer.setSelection(0, length);
-        } else {
-            this.rawViewer.setSelection(0, 0);
-            this.asciiViewer.setSelection(0, 0);
-        }
+        this.hexView.setSelection(selectionStart, length);
     }
 
     /**
@@ -302,8 +228,8 @@ public final class JBinaryViewer extends JPanel {
      *
      * @param startPos the start position of the byte(s) to be visible
      */
-    private void ensureVisible(final int startPos) {
-        if ((this.data == null) || (startPos < 0) || (this.data.length < (startPos - 1))) {
+    private void ensureVisible(final long startPos) {
+        if ((this.data == null) || (startPos < 0) || (this.data.length() < (startPos - 1))) {
             return;
         }
 
@@ -315,6 +241,40 @@ public final class JBinaryViewer extends JPanel {
         }
     }
 
+    /**
+     * Listener for clicking on a byte of the {@link JBinaryViewer}.
+     */
+    public interface ByteClickListener {
+
+        /**
+         * A byte is clicked.
+         *
+         * @param offset Offset of the clicked byte in the data
+         */
+        void byteClicked(long offset);
+    }
+
+    @SuppressWarnings("PackageVisibleInnerClass")
+    class ByteClickAdapter extends MouseAdapter {
+
+        @Override
+        public void mousePressed(final MouseEvent e) {
+            JBinaryViewer.this.hexView.requestFocusInWindow();
+        }
+
+        @Override
+        public void mouseClicked(final MouseEvent e) {
+            final long offset = JBinaryViewer.this.hexView.getPositionAt(e.getPoint());
+            if (offset < 0) {
+                return;
+            }
+
+            for (ByteClickListener listener : JBinaryViewer.this.byteClickListeners) {
+                listener.byteClicked(offset);
+            }
+        }
+    }
+
     @SuppressWarnings("PackageVisibleInnerClass")
     class ComponentResizedAdapter extends ComponentAdapter {
 
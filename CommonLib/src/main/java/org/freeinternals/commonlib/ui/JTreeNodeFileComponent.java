@@ -6,6 +6,7 @@
  */
 package org.freeinternals.commonlib.ui;
 
+import java.util.function.Supplier;
 import javax.swing.Icon;
 import javax.swing.JPanel;
 
@@ -25,9 +26,15 @@ public final class JTreeNodeFileComponent {
      */
     private final int length;
     /**
-     * Tree node text.
+     * Tree node text, formatted by {@link #textSupplier} on first use if
+     * {@code null}.
      */
-    private final String text;
+    private String text;
+    /**
+     * Supplier of the tree node text, {@code null} once {@link #text} is
+     * available.
+     */
+    private Supplier<String> textSupplier;
 
     /**
      * Icon for current tree node.
@@ -67,6 +74,33 @@ public final class JTreeNodeFileComponent {
         this.text = nodeText;
     }
 
+    /**
+     * Constructor for a node whose text is formatted only when it is first
+     * needed, usually when the node is rendered. Use it for nodes which are
+     * created in large numbers.
+     *
+     * @param nodeStartPos Value for {@link #startPos}
+     * @param nodeLength Value for {@link #length}
+     * @param nodeText Value for {@link #textSupplier}
+     */
+    public JTreeNodeFileComponent(final int nodeStartPos, final int nodeLength, final Supplier<String> nodeText) {
+        if (nodeStartPos < 0) {
+            throw new IllegalArgumentException("Start position cannot be less than zero; it is '" + nodeStartPos + "'.");
+        }
+
+        if (nodeLength < 0) {
+            throw new IllegalArgumentException("Length cannot be less than zero; it is '" + nodeLength + "'.");
+        }
+
+        if (nodeText == null) {
+            throw new IllegalArgumentException("Text supplier cannot be null.");
+        }
+
+        this.startPos = nodeStartPos;
+        this.length = nodeLength;
+        this.textSupplier = nodeText;
+    }
+
     /**
      * Constructor.
      *
@@ -84,7 +118,7 @@ public final class JTreeNodeFileComponent {
 
     @Override
     public String toString() {
-        return this.text;
+        return this.getText();
     }
 
     /**
@@ -122,6 +156,14 @@ public final class JTreeNodeFileComponent {
      * @return {@link #text} value
      */
     public String getText() {
+        if (this.text == null) {
+            final String t = this.textSupplier.get();
+            if ((t == null) || (t.length() == 0)) {
+                throw new IllegalStateException("Text cannot be null or empty.");
+            }
+            this.text = t;
+            this.textSupplier = null;
+        }
         return this.text;
     }
 
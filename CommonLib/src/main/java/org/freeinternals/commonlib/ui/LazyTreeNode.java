@@ -0,0 +1,107 @@
+/*
+ * LazyTreeNode.java    Oct 16, 2026, 17:10
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.commonlib.ui;
+
+import java.util.Enumeration;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.TreeNode;
+
+/**
+ * Tree node whose children are generated only when they are first needed,
+ * usually when the node is expanded in a {@link javax.swing.JTree}.
+ *
+ * <p>
+ * The children are created by a {@link GenerateTreeNode} provider, so any
+ * existing implementor can be used as it is:
+ * </p>
+ * <pre>
+ * parent.add(new LazyTreeNode(comp, pixelArray));
+ * parent.add(new LazyTreeNode(comp, node -&gt; this.generateRows(node)));
+ * </pre>
+ *
+ * <p>
+ * Before the children are generated, the node is never a leaf, so the tree
+ * shows the expand handle without calling the provider. The node works with
+ * the default {@link javax.swing.tree.DefaultTreeModel}. Like other Swing
+ * tree nodes, it is not thread-safe and should be accessed on the event
+ * dispatch thread once it is in a tree.
+ * </p>
+ *
+ * @author Amos Shi
+ * @see JTreeNodeFileComponent#JTreeNodeFileComponent(int, int,
+ * java.util.function.Supplier)
+ */
+public class LazyTreeNode extends DefaultMutableTreeNode {
+
+    private static final long serialVersionUID = 4876543219876500000L;
+
+    /**
+     * Provider of the children nodes, {@code null} after the children are
+     * generated.
+     */
+    private transient GenerateTreeNode provider;
+
+    /**
+     * Creates a node whose children are generated by {@code provider}.
+     *
+     * @param userObject User object of the node, usually a
+     * {@link JTreeNodeFileComponent}
+     * @param provider Provider of the children nodes
+     */
+    public LazyTreeNode(final Object userObject, final GenerateTreeNode provider) {
+        super(userObject);
+        if (provider == null) {
+            throw new IllegalArgumentException("Parameter 'provider' is null.");
+        }
+        this.provider = provider;
+    }
+
+    /**
+     * Indicates whether the children nodes are generated.
+     *
+     * @return true if the children are generated, else false
+     */
+    public boolean isLoaded() {
+        return this.provider == null;
+    }
+
+    /**
+     * Generate the children nodes if not yet.
+     */
+    public void load() {
+        if (this.provider != null) {
+            // Clear the provider first, because adding a child asks for the child count
+            final GenerateTreeNode p = this.provider;
+            this.provider = null;
+            p.generateTreeNode(this);
+        }
+    }
+
+    @Override
+    public boolean isLeaf() {
+        return this.isLoaded() && super.isLeaf();
+    }
+
+    @Override
+    public int getChildCount() {
+        this.load();
+        return super.getChildCount();
+    }
+
+    @Override
+    public TreeNode getChildAt(final int index) {
+        this.load();
+        return super.getChildAt(index);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Enumeration<TreeNode> children() {
+        this.load();
+        return super.children();
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * TreeNodeIndex.java    Oct 16, 2026, 17:40
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.commonlib.ui;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import javax.swing.JTree;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.TreePath;
+import org.freeinternals.commonlib.core.IntervalIndex;
+
+/**
+ * Index from file offset to the tree nodes which have a
+ * {@link JTreeNodeFileComponent}.
+ *
+ * <p>
+ * The index never generates the children of a {@link LazyTreeNode} by itself.
+ * A lazy node is indexed as a whole, its children are generated and indexed
+ * only when a lookup reaches it, so only the nodes on the path to the found
+ * node are created.
+ * </p>
+ *
+ * @author Amos Shi
+ */
+public final class TreeNodeIndex {
+
+    /**
+     * Index of the tree nodes.
+     */
+    private final IntervalIndex<DefaultMutableTreeNode> index = new IntervalIndex<>();
+    /**
+     * Lazy nodes whose children are already in {@link #index}.
+     */
+    private final Set<LazyTreeNode> indexedLazyNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Build the index for all nodes under {@code root}.
+     *
+     * @param root Root tree node
+     */
+    public TreeNodeIndex(final DefaultMutableTreeNode root) {
+        this.add(root);
+    }
+
+    /**
+     * Add {@code node} and its children to the index, but not the children of
+     * lazy nodes which are not in {@link #indexedLazyNodes}.
+     */
+    private void add(final DefaultMutableTreeNode node) {
+        final Deque<DefaultMutableTreeNode> stack = new ArrayDeque<>();
+        stack.push(node);
+        while (!stack.isEmpty()) {
+            final DefaultMutableTreeNode n = stack.pop();
+            final Object obj = n.getUserObject();
+            if (obj instanceof JTreeNodeFileComponent) {
+                final JTreeNodeFileComponent comp = (JTreeNodeFileComponent) obj;
+                this.index.add(comp.getStartPos(), comp.getLength(), n);
+            }
+
+            if (n instanceof LazyTreeNode && !this.indexedLazyNodes.contains(n)) {
+                continue;
+            }
+            this.addChildren(n, stack);
+        }
+    }
+
+    private void addChildren(final DefaultMutableTreeNode node, final Deque<DefaultMutableTreeNode> stack) {
+        for (int i = node.getChildCount() - 1; i >= 0; i--) {
+            final Object child = node.getChildAt(i);
+            if (child instanceof DefaultMutableTreeNode) {
+                stack.push((DefaultMutableTreeNode) child);
+            }
+        }
+    }
+
+    /**
+     * Find the inner-most tree node covering file {@code offset}. The lazy
+     * nodes on the way are loaded.
+     *
+     * @param offset File offset
+     * @return The inner-most tree node, or {@code null} if not found
+     */
+    public DefaultMutableTreeNode find(final long offset) {
+        DefaultMutableTreeNode node = this.index.findInnermost(offset);
+        while (node instanceof LazyTreeNode && this.indexedLazyNodes.add((LazyTreeNode) node)) {
+            // Index the children of the lazy node, then search again inside it
+            final Deque<DefaultMutableTreeNode> stack = new ArrayDeque<>();
+            this.addChildren(node, stack);
+            while (!stack.isEmpty()) {
+                this.add(stack.pop());
+            }
+            node = this.index.findInnermost(offset);
+        }
+        return node;
+    }
+
+    /**
+     * Select and show the inner-most tree node covering file {@code offset}.
+     *
+     * @param tree The tree
+     * @param offset File offset
+     */
+    public void select(final JTree tree, final long offset) {
+        final DefaultMutableTreeNode node = this.find(offset);
+        if (node != null) {
+            final TreePath path = new TreePath(node.getPath());
+            tree.setSelectionPath(path);
+            tree.scrollPathToVisible(path);
+        }
+    }
+}
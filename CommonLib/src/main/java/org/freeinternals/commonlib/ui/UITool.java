@@ -13,6 +13,7 @@ import javax.swing.Icon;
 import javax.swing.JDialog;
 import javax.swing.JFrame;
 import javax.swing.JPanel;
+import javax.swing.JTree;
 import javax.swing.UIManager;
 import javax.swing.tree.DefaultMutableTreeNode;
 import org.freeinternals.commonlib.core.BytesTool;
@@ -28,6 +29,10 @@ public final class UITool {
      * Size ratio of the pop-up window and its parent.
      */
     private static final float POPUP_RATIO = 0.8f;
+    /**
+     * Size of the default tree node icons.
+     */
+    private static final int TREE_ICON_SIZE = 16;
 
     private UITool() {
     }
@@ -75,6 +80,21 @@ public final class UITool {
                 diffStr)));
     }
 
+    /**
+     * Let {@code tree} lay out only the visible rows, by a fixed row height
+     * and the large model. Then the text of a tree node, like a lazy one of
+     * {@link JTreeNodeFileComponent}, is formatted only when the node is
+     * shown, and expanding a node with many children does not measure every
+     * child.
+     *
+     * @param tree The tree
+     */
+    public static void setFixedRowHeight(final JTree tree) {
+        final int fontHeight = tree.getFontMetrics(tree.getFont()).getHeight();
+        tree.setRowHeight(Math.max(fontHeight, TREE_ICON_SIZE) + 2);
+        tree.setLargeModel(true);
+    }
+
     /**
      * Get Java system default icon for shortcut.
      *
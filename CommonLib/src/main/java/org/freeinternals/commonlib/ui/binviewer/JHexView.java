@@ -0,0 +1,315 @@
+/*
+ * JHexView.java    Oct 16, 2026, 19:05
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.commonlib.ui.binviewer;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.Toolkit;
+import java.util.Map;
+import javax.swing.JComponent;
+import javax.swing.UIManager;
+import org.freeinternals.commonlib.core.ByteSource;
+import org.freeinternals.commonlib.ui.JBinaryViewer;
+
+/**
+ * Display binary data in three columns: row offsets, data in HEX, data in
+ * ASCII.
+ *
+ * <p>
+ * The view has no document model. Each paint reads only the bytes of the
+ * visible rows from the {@link ByteSource}, and draws them with glyph tables
+ * which are calculated once. The selection is painted as an overlay behind
+ * the text. So painting costs the same for any file size, and the memory used
+ * is proportional to the visible area.
+ * </p>
+ *
+ * @author Amos Shi
+ */
+public final class JHexView extends JComponent {
+
+    private static final long serialVersionUID = 4876543219876500000L;
+
+    /**
+     * Number of bytes in one row.
+     */
+    private static final int ROW_BYTES = JBinaryViewer.ROW_ITEM_MAX;
+    /**
+     * HEX digits.
+     */
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    /**
+     * HEX glyphs of all byte values, 2 chars for each value.
+     */
+    private static final char[] HEX_GLYPHS = new char[256 * 2];
+    /**
+     * ASCII glyph of all byte values, '.' for the invisible ones.
+     */
+    private static final char[] ASCII_GLYPHS = new char[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            HEX_GLYPHS[i * 2] = HEX_DIGITS[i >>> 4];
+            HEX_GLYPHS[i * 2 + 1] = HEX_DIGITS[i & 0x0F];
+            ASCII_GLYPHS[i] = ((i > 32 && i < 127) || (i > 160)) ? (char) i : '.';
+        }
+    }
+
+    /**
+     * Chars of one byte in the HEX column, 2 HEX digits and a space.
+     */
+    private static final int HEX_CELL_CHARS = 3;
+    /**
+     * Chars between two columns.
+     */
+    private static final int GAP_CHARS = 2;
+    /**
+     * Min number of HEX digits of the row offsets.
+     */
+    private static final int ROW_DIGITS_MIN = 8;
+    /**
+     * Space in pixel on the left side.
+     */
+    private static final int MARGIN = 4;
+    /**
+     * Selection color of the HEX column.
+     */
+    private static final Color HEX_SELECTION_COLOR = new Color(0xFF, 0xA5, 0x00);
+    /**
+     * Selection color of the ASCII column.
+     */
+    private static final Color ASCII_SELECTION_COLOR = Color.YELLOW;
+    /**
+     * Color of the row offsets.
+     */
+    private static final Color ROW_COLOR = Color.GRAY;
+
+    /**
+     * Binary data to be shown.
+     */
+    private ByteSource data = null;
+    /**
+     * 0-based index of the first visible row.
+     */
+    private long firstRow = 0;
+    /**
+     * Start position of the selection.
+     */
+    private long selectedStart = 0;
+    /**
+     * Length of the selection.
+     */
+    private long selectedLength = 0;
+    /**
+     * Number of HEX digits of the row offsets.
+     */
+    private int rowDigits = ROW_DIGITS_MIN;
+    /**
+     * Bytes of the visible rows, reused between paints.
+     */
+    private byte[] visibleBytes = new byte[0];
+    /**
+     * Chars of one row, reused between paints.
+     */
+    private final char[] line = new char[Math.max(ROW_BYTES * HEX_CELL_CHARS, Long.SIZE / 4 + 1)];
+
+    /**
+     * Constructor.
+     */
+    public JHexView() {
+        this.setFont(JBinaryViewer.FONT);
+        this.setOpaque(true);
+        final Color bg = UIManager.getColor("TextPane.background");
+        this.setBackground((bg != null) ? bg : Color.WHITE);
+        final Color fg = UIManager.getColor("TextPane.foreground");
+        this.setForeground((fg != null) ? fg : Color.BLACK);
+        this.setFocusable(true);
+    }
+
+    /**
+     * Set the binary data to be displayed.
+     *
+     * @param source Binary data, or {@code null} to clear the view
+     */
+    public void setData(final ByteSource source) {
+        this.data = source;
+        this.firstRow = 0;
+
+        final long lastPos = (source != null) ? Math.max(source.length() - 1, 0) : 0;
+        final int bits = Long.SIZE - Long.numberOfLeadingZeros(lastPos);
+        this.rowDigits = Math.max(ROW_DIGITS_MIN, (bits + 3) / 4);
+
+        this.revalidate();
+        this.repaint();
+    }
+
+    /**
+     * Set the first visible row.
+     *
+     * @param row 0-based row index
+     */
+    public void setFirstRow(final long row) {
+        if (this.firstRow != row) {
+            this.firstRow = row;
+            this.repaint();
+        }
+    }
+
+    /**
+     * Set the bytes to be high-lighted.
+     *
+     * @param start Start position
+     * @param length Length to be high-lighted
+     */
+    public void setSelection(final long start, final long length) {
+        this.selectedStart = start;
+        this.selectedLength = length;
+        this.repaint();
+    }
+
+    /**
+     * Get the position of the byte displayed at point {@code p}, in the HEX
+     * or the ASCII column.
+     *
+     * @param p Point in this view
+     * @return Position of the byte, or <code>-1</code> if there is no byte at
+     * {@code p}
+     */
+    public long getPositionAt(final Point p) {
+        if (this.data == null || p.y < 0) {
+            return -1;
+        }
+
+        final int charWidth = this.charWidth();
+        final int x = p.x - MARGIN;
+        final int hexX = this.hexColumn() * charWidth;
+        final int asciiX = this.asciiColumn() * charWidth;
+
+        final int index;
+        if (x >= hexX && x < hexX + ROW_BYTES * HEX_CELL_CHARS * charWidth) {
+            index = (x - hexX) / (HEX_CELL_CHARS * charWidth);
+        } else if (x >= asciiX && x < asciiX + ROW_BYTES * charWidth) {
+            index = (x - asciiX) / charWidth;
+        } else {
+            return -1;
+        }
+
+        final long pos = (this.firstRow + p.y / JBinaryViewer.ITEM_HEIGHT) * ROW_BYTES + index;
+        return (pos < this.data.length()) ? pos : -1;
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        return new Dimension(
+                MARGIN * 2 + (this.asciiColumn() + ROW_BYTES) * this.charWidth(),
+                JBinaryViewer.ITEM_HEIGHT);
+    }
+
+    private int charWidth() {
+        return this.getFontMetrics(this.getFont()).charWidth('0');
+    }
+
+    /**
+     * Char index of the HEX column.
+     */
+    private int hexColumn() {
+        return this.rowDigits + 1 + GAP_CHARS;
+    }
+
+    /**
+     * Char index of the ASCII column.
+     */
+    private int asciiColumn() {
+        return this.hexColumn() + ROW_BYTES * HEX_CELL_CHARS - 1 + GAP_CHARS;
+    }
+
+    @Override
+    protected void paintComponent(final Graphics g) {
+        final Rectangle clip = g.getClipBounds();
+        g.setColor(this.getBackground());
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+        if (this.data == null) {
+            return;
+        }
+
+        final Map<?, ?> hints = (Map<?, ?>) Toolkit.getDefaultToolkit().getDesktopProperty("awt.font.desktophints");
+        if (hints != null && g instanceof Graphics2D) {
+            ((Graphics2D) g).addRenderingHints(hints);
+        }
+        g.setFont(this.getFont());
+        final FontMetrics fm = g.getFontMetrics();
+        final int charWidth = fm.charWidth('0');
+        final int baseline = (JBinaryViewer.ITEM_HEIGHT + fm.getAscent() - fm.getDescent()) / 2;
+        final int rowX = MARGIN;
+        final int hexX = MARGIN + this.hexColumn() * charWidth;
+        final int asciiX = MARGIN + this.asciiColumn() * charWidth;
+
+        // Rows inside the clip area
+        final int rowFrom = Math.max(clip.y / JBinaryViewer.ITEM_HEIGHT, 0);
+        final int rowTo = (clip.y + clip.height + JBinaryViewer.ITEM_HEIGHT - 1) / JBinaryViewer.ITEM_HEIGHT;
+        final long length = this.data.length();
+        final long startPos = (this.firstRow + rowFrom) * ROW_BYTES;
+        if (rowTo <= rowFrom || startPos >= length) {
+            return;
+        }
+
+        // Read the visible bytes only
+        final int size = (int) Math.min((long) (rowTo - rowFrom) * ROW_BYTES, length - startPos);
+        if (this.visibleBytes.length < size) {
+            this.visibleBytes = new byte[size];
+        }
+        final int read = this.data.read(startPos, this.visibleBytes, 0, size);
+
+        final long selectedEnd = this.selectedStart + this.selectedLength;
+        for (int r = rowFrom, offset = 0; r < rowTo && offset < read; r++, offset += ROW_BYTES) {
+            final int y = r * JBinaryViewer.ITEM_HEIGHT;
+            final long rowPos = startPos + offset;
+            final int count = Math.min(ROW_BYTES, read - offset);
+
+            // Selection overlay
+            if (this.selectedLength > 0 && this.selectedStart < rowPos + count && selectedEnd > rowPos) {
+                final int from = (int) Math.max(this.selectedStart - rowPos, 0);
+                final int to = (int) Math.min(selectedEnd - rowPos, count);
+                g.setColor(HEX_SELECTION_COLOR);
+                g.fillRect(hexX + from * HEX_CELL_CHARS * charWidth, y,
+                        ((to - from) * HEX_CELL_CHARS - 1) * charWidth, JBinaryViewer.ITEM_HEIGHT);
+                g.setColor(ASCII_SELECTION_COLOR);
+                g.fillRect(asciiX + from * charWidth, y, (to - from) * charWidth, JBinaryViewer.ITEM_HEIGHT);
+            }
+
+            // Row offset
+            long value = rowPos;
+            for (int i = this.rowDigits - 1; i >= 0; i--) {
+                this.line[i] = HEX_DIGITS[(int) (value & 0x0F)];
+                value >>>= 4;
+            }
+            this.line[this.rowDigits] = 'h';
+            g.setColor(ROW_COLOR);
+            g.drawChars(this.line, 0, this.rowDigits + 1, rowX, y + baseline);
+
+            // HEX
+            for (int i = 0; i < count; i++) {
+                final int b = (this.visibleBytes[offset + i] & 0xFF) << 1;
+                this.line[i * HEX_CELL_CHARS] = HEX_GLYPHS[b];
+                this.line[i * HEX_CELL_CHARS + 1] = HEX_GLYPHS[b + 1];
+                this.line[i * HEX_CELL_CHARS + 2] = ' ';
+            }
+            g.setColor(this.getForeground());
+            g.drawChars(this.line, 0, count * HEX_CELL_CHARS - 1, hexX, y + baseline);
+
+            // ASCII
+            for (int i = 0; i < count; i++) {
+                this.line[i] = ASCII_GLYPHS[this.visibleBytes[offset + i] & 0xFF];
+            }
+            g.drawChars(this.line, 0, count, asciiX, y + baseline);
+        }
+    }
+}
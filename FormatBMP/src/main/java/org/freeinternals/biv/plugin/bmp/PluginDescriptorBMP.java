@@ -7,6 +7,7 @@
 
 package org.freeinternals.biv.plugin.bmp;
 
+import org.freeinternals.biv.plugin.MagicSignature;
 import org.freeinternals.biv.plugin.PluginDescriptor;
 import org.freeinternals.commonlib.core.FileFormat;
 import org.freeinternals.format.bmp.BMPFile;
@@ -32,4 +33,9 @@ public class PluginDescriptorBMP implements PluginDescriptor{
         return BMPFile.class;
     }
 
+    @Override
+    public MagicSignature[] getMagicSignatures() {
+        return new MagicSignature[]{MagicSignature.ascii("BM")};
+    }
+
 }
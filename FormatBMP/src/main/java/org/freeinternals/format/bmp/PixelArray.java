@@ -7,10 +7,12 @@
 package org.freeinternals.format.bmp;
 
 import java.io.IOException;
+import java.util.function.Supplier;
 import javax.swing.tree.DefaultMutableTreeNode;
 import org.freeinternals.commonlib.core.FileComponent;
 import org.freeinternals.commonlib.ui.GenerateTreeNode;
 import org.freeinternals.commonlib.ui.JTreeNodeFileComponent;
+import org.freeinternals.commonlib.ui.LazyTreeNode;
 import org.freeinternals.format.bmp.DIBHeader.CompressionMethod;
 
 /**
@@ -29,15 +31,18 @@ public class PixelArray extends FileComponent implements GenerateTreeNode {
 
     public void generateTreeNode(DefaultMutableTreeNode parentNode) {
         JTreeNodeFileComponent comp;
-        DefaultMutableTreeNode node;
 
         comp = new JTreeNodeFileComponent(
                 this.startPos,
                 this.length,
                 String.format("Pixel Array [0x%08X, %d]", this.startPos, this.length));
         comp.setDescription("The pixel format is defined by the DIB Header. <br/>Each row in the Pixel Array is padded to a multiple of 4 bytes in size.");
-        parentNode.add(node = new DefaultMutableTreeNode(comp));
+        // One node per row, generate them when expanded
+        parentNode.add(new LazyTreeNode(comp, this::generateTreeNodeRows));
+    }
 
+    /** Generate tree nodes for the rows, or the compressed data. */
+    private void generateTreeNodeRows(DefaultMutableTreeNode node) {
         if (this.bmpFile.dibHeader.getCompressionMethod() == CompressionMethod.BI_RGB.value) {
             switch (this.bmpFile.dibHeader.getBitCount()) {
                 case 1:
@@ -75,7 +80,7 @@ public class PixelArray extends FileComponent implements GenerateTreeNode {
             parentNode.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
                     this.startPos + rowSize * i,
                     rowSize,
-                    String.format("row [%d]", i))));
+                    rowText(i))));
         }
     }
 
@@ -86,7 +91,7 @@ public class PixelArray extends FileComponent implements GenerateTreeNode {
             parentNode.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
                     this.startPos + rowSize * i,
                     rowSize,
-                    String.format("row [%d]", i))));
+                    rowText(i))));
         }
     }
 
@@ -97,7 +102,7 @@ public class PixelArray extends FileComponent implements GenerateTreeNode {
             parentNode.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
                     this.startPos + rowSize * i,
                     rowSize,
-                    String.format("row [%d]", i))));
+                    rowText(i))));
         }
     }
 
@@ -108,7 +113,7 @@ public class PixelArray extends FileComponent implements GenerateTreeNode {
             parentNode.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
                     this.startPos + rowSize * i,
                     rowSize,
-                    String.format("row [%d]", i))));
+                    rowText(i))));
         }
     }
 
@@ -119,7 +124,7 @@ public class PixelArray extends FileComponent implements GenerateTreeNode {
             parentNode.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
                     this.startPos + rowSize * i,
                     rowSize,
-                    String.format("row [%d]", i))));
+                    rowText(i))));
         }
     }
 
@@ -130,7 +135,12 @@ public class PixelArray extends FileComponent implements GenerateTreeNode {
             parentNode.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
                     this.startPos + rowSize * i,
                     rowSize,
-                    String.format("row [%d]", i))));
+                    rowText(i))));
         }
     }
+
+    /** Text of row {@code i}, formatted when the row node is rendered. */
+    private static Supplier<String> rowText(final int i) {
+        return () -> String.format("row [%d]", i);
+    }
 }
@@ -6,16 +6,22 @@
  */
 package org.freeinternals.format.classfile;
 
+import org.freeinternals.commonlib.core.ByteArraySlice;
 import org.freeinternals.commonlib.core.FileFormatException;
 import org.freeinternals.commonlib.core.PosByteArrayInputStream;
 import org.freeinternals.commonlib.core.PosDataInputStream;
 import org.freeinternals.format.classfile.attribute.AttributeInfo;
+import org.freeinternals.format.classfile.attribute.AttributeRegistry;
 import org.freeinternals.format.classfile.constant.CPInfo;
 import org.freeinternals.format.classfile.constant.CPInfo.ConstantType;
 import org.freeinternals.format.classfile.constant.ConstantClassInfo;
 import org.freeinternals.format.classfile.constant.ConstantUtf8Info;
+import org.freeinternals.format.classfile.constant.SymbolTable;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * Represents a {@code class} file. A {@code class} file structure has the
@@ -211,6 +217,23 @@ public class ClassFile {
     public final U2ClassComponent attributes_count;
     public final AttributeInfo[] attributes;
 
+    /**
+     * Names of the attributes skipped by {@link ParseOption#SKIP_DEBUG}.
+     */
+    private static final String[] DEBUG_ATTRIBUTES = {
+        AttributeInfo.AttributeTypes.SourceFile.name(),
+        AttributeInfo.AttributeTypes.SourceDebugExtension.name(),
+        AttributeInfo.AttributeTypes.LineNumberTable.name(),
+        AttributeInfo.AttributeTypes.LocalVariableTable.name(),
+        AttributeInfo.AttributeTypes.LocalVariableTypeTable.name(),
+        AttributeInfo.AttributeTypes.MethodParameters.name()
+    };
+
+    /**
+     * Options used to parse the class file.
+     */
+    private final Set<ParseOption> parseOptions;
+
     /**
      * Creates a new instance of ClassFile from byte array.
      *
@@ -219,7 +242,37 @@ public class ClassFile {
      * @throws FileFormatException Invalid class file format
      */
     public ClassFile(final byte[] classByteArray) throws IOException, FileFormatException {
+        this(classByteArray, new ParseOption[0]);
+    }
+
+    /**
+     * Creates a new instance of ClassFile from byte array, parsing only the
+     * parts not excluded by {@code options}.
+     *
+     * @param classByteArray Byte array of a class file
+     * @param options Parse options
+     * @throws IOException Error happened when reading the byte array
+     * @throws FileFormatException Invalid class file format
+     */
+    public ClassFile(final byte[] classByteArray, final ParseOption... options) throws IOException, FileFormatException {
+        this(classByteArray, null, options);
+    }
+
+    /**
+     * Creates a new instance of ClassFile from byte array, resolving the
+     * {@code CONSTANT_Utf8} items into a symbol table shared with other class
+     * files.
+     *
+     * @param classByteArray Byte array of a class file
+     * @param symbols The shared symbol table, or <code>null</code>
+     * @param options Parse options
+     * @throws IOException Error happened when reading the byte array
+     * @throws FileFormatException Invalid class file format
+     */
+    public ClassFile(final byte[] classByteArray, final SymbolTable symbols, final ParseOption... options) throws IOException, FileFormatException {
         this.classByteArray = classByteArray.clone();
+        this.parseOptions = EnumSet.noneOf(ParseOption.class);
+        Collections.addAll(this.parseOptions, options);
 
         //
         // Parse the Classfile byte by byte
@@ -242,7 +295,7 @@ public class ClassFile {
         for (int i = 1; i < this.constant_pool_count.value; i++) {
             short tag = (short) posDataInputStream.readUnsignedByte();
 
-            this.constant_pool[i] = ConstantType.parse(tag, posDataInputStream);
+            this.constant_pool[i] = ConstantType.parse(tag, posDataInputStream, symbols);
             if (tag == CPInfo.ConstantType.CONSTANT_Long.tag || tag == CPInfo.ConstantType.CONSTANT_Double.tag) {
                 // Long/Double type occupies two Constant Pool index
                 i++;
@@ -263,13 +316,32 @@ public class ClassFile {
             this.interfaces = null;
         }
 
+        if (this.parseOptions.contains(ParseOption.HEADER_ONLY)) {
+            this.fields_count = null;
+            this.fields = null;
+            this.methods_count = null;
+            this.methods = null;
+            this.attributes_count = null;
+            this.attributes = null;
+            return;
+        }
+
+        // Attribute parsers of this class
+        final AttributeRegistry attributeRegistry = new AttributeRegistry(this.constant_pool);
+        if (this.parseOptions.contains(ParseOption.SKIP_CODE)) {
+            attributeRegistry.skip(AttributeInfo.AttributeTypes.Code.name());
+        }
+        if (this.parseOptions.contains(ParseOption.SKIP_DEBUG)) {
+            attributeRegistry.skip(DEBUG_ATTRIBUTES);
+        }
+
         // Fields
         this.fields_count = new U2ClassComponent(posDataInputStream);
         final int fieldCount = this.fields_count.getValue();
         if (fieldCount > 0) {
             this.fields = new FieldInfo[fieldCount];
             for (int i = 0; i < fieldCount; i++) {
-                this.fields[i] = new FieldInfo(posDataInputStream, this.constant_pool);
+                this.fields[i] = new FieldInfo(posDataInputStream, attributeRegistry);
             }
         } else {
             this.fields = null;
@@ -282,7 +354,7 @@ public class ClassFile {
         if (methodCount > 0) {
             this.methods = new MethodInfo[methodCount];
             for (int i = 0; i < methodCount; i++) {
-                this.methods[i] = new MethodInfo(posDataInputStream, this.constant_pool);
+                this.methods[i] = new MethodInfo(posDataInputStream, attributeRegistry);
             }
         } else {
             this.methods = null;
@@ -294,7 +366,7 @@ public class ClassFile {
         if (attributeCount > 0) {
             this.attributes = new AttributeInfo[attributeCount];
             for (int i = 0; i < attributeCount; i++) {
-                this.attributes[i] = AttributeInfo.parse(posDataInputStream, this.constant_pool);
+                this.attributes[i] = attributeRegistry.parse(posDataInputStream);
             }
         } else {
             this.attributes = null;
@@ -305,50 +377,105 @@ public class ClassFile {
         this.analysisDeclarations();
     }
 
+    /**
+     * Check the member names and descriptors, the declarations are generated
+     * on first use.
+     */
     private void analysisDeclarations()
             throws FileFormatException {
 
-        // Analysis field declarations
-        if (this.fields_count.getValue() > 0) {
+        if (this.fields != null) {
+            for (FieldInfo field : this.fields) {
+                this.getConstantUtf8Value(field.name_index.value);
+                this.getConstantUtf8Value(field.descriptor_index.value);
+                field.setClassFile(this);
+            }
+        }
+
+        if (this.methods != null) {
+            for (MethodInfo method : this.methods) {
+                this.getConstantUtf8Value(method.name_index.value);
+                this.getConstantUtf8Value(method.descriptor_index.value);
+                method.setClassFile(this);
+            }
+        }
+    }
+
+    /**
+     * Generate the declaration of a field.
+     *
+     * @param field Field of this class
+     * @return Human readable declaration string
+     */
+    String getDeclaration(final FieldInfo field) {
+        try {
             String type;
-            for (FieldInfo field : fields) {
-                try {
-                    type = SignatureConvertor.FieldDescriptorExtractor(this.getConstantUtf8Value(field.descriptor_index.value)).toString();
-                } catch (FileFormatException se) {
-                    type = "[Unexpected signature type]: " + this.getConstantUtf8Value(field.descriptor_index.value);
-                }
-                field.setDeclaration(String.format("%s %s %s",
-                        field.getModifiers(),
-                        type,
-                        this.getConstantUtf8Value(field.name_index.value)));
+            try {
+                type = SignatureConvertor.FieldDescriptorExtractor(this.getConstantUtf8Value(field.descriptor_index.value)).toString();
+            } catch (FileFormatException se) {
+                type = "[Unexpected signature type]: " + this.getConstantUtf8Value(field.descriptor_index.value);
             }
+            return String.format("%s %s %s",
+                    field.getModifiers(),
+                    type,
+                    this.getConstantUtf8Value(field.name_index.value));
+        } catch (FileFormatException ex) {
+            return String.format("[Unexpected field: %s]", ex.getMessage());
         }
+    }
 
-        // Analysis method declarations
-        if (this.methods_count.getValue() > 0) {
+    /**
+     * Generate the declaration of a method.
+     *
+     * @param method Method of this class
+     * @return Human readable declaration string
+     */
+    String getDeclaration(final MethodInfo method) {
+        try {
             String mtdReturnType;
             String mtdParameters;
-            for (MethodInfo method : methods) {
-                try {
-                    mtdReturnType = SignatureConvertor.MethodReturnTypeExtractor(this.getConstantUtf8Value(method.descriptor_index.value)).toString();
-                } catch (FileFormatException se) {
-                    mtdReturnType = String.format("[Unexpected method return type: %s]", this.getConstantUtf8Value(method.descriptor_index.value));
-                }
-                try {
-                    mtdParameters = SignatureConvertor.MethodParameters2Readable(this.getConstantUtf8Value(method.descriptor_index.value));
-                } catch (FileFormatException se) {
-                    mtdParameters = String.format("[Unexpected method parameters: %s]", this.getConstantUtf8Value(method.descriptor_index.value));
-                }
-
-                method.setDeclaration(String.format("%s %s %s %s",
-                        method.getModifiers(),
-                        mtdReturnType,
-                        this.getConstantUtf8Value(method.name_index.value),
-                        mtdParameters));
+            try {
+                mtdReturnType = SignatureConvertor.MethodReturnTypeExtractor(this.getConstantUtf8Value(method.descriptor_index.value)).toString();
+            } catch (FileFormatException se) {
+                mtdReturnType = String.format("[Unexpected method return type: %s]", this.getConstantUtf8Value(method.descriptor_index.value));
+            }
+            try {
+                mtdParameters = SignatureConvertor.MethodParameters2Readable(this.getConstantUtf8Value(method.descriptor_index.value));
+            } catch (FileFormatException se) {
+                mtdParameters = String.format("[Unexpected method parameters: %s]", this.getConstantUtf8Value(method.descriptor_index.value));
             }
+
+            return String.format("%s %s %s %s",
+                    method.getModifiers(),
+                    mtdReturnType,
+                    this.getConstantUtf8Value(method.name_index.value),
+                    mtdParameters);
+        } catch (FileFormatException ex) {
+            return String.format("[Unexpected method: %s]", ex.getMessage());
         }
     }
 
+    /**
+     * Get the options used to parse the class file.
+     *
+     * @return The parse options
+     */
+    public Set<ParseOption> getParseOptions() {
+        return Collections.unmodifiableSet(this.parseOptions);
+    }
+
+    /**
+     * Indicates whether the class file is parsed with
+     * {@link ParseOption#HEADER_ONLY}. If so, {@link #fields_count},
+     * {@link #methods_count} and {@link #attributes_count} and their items
+     * are <code>null</code>.
+     *
+     * @return true if only the header is parsed, else false
+     */
+    public boolean isHeaderOnly() {
+        return this.parseOptions.contains(ParseOption.HEADER_ONLY);
+    }
+
     /**
      * Get the text of {@link #this_class}, which is the class name.
      *
@@ -442,18 +569,28 @@ public class ClassFile {
      * @param startIndex The start index
      * @param length The length of the array
      * @return Part of the class byte array
+     * @see #getClassSlice(int, int)
      */
     public byte[] getClassByteArray(final int startIndex, final int length) {
+        return this.getClassSlice(startIndex, length).toByteArray();
+    }
+
+    /**
+     * Get part of the class byte array as a read-only slice, without copying.
+     *
+     * @param startIndex The start index
+     * @param length The length of the slice
+     * @return Part of the class byte array
+     */
+    public ByteArraySlice getClassSlice(final int startIndex, final int length) {
         if ((startIndex < 0) || (length < 1)) {
             throw new IllegalArgumentException("startIndex or length is not valid. startIndex = " + startIndex + ", length = " + length);
         }
-        if (startIndex + length - 1 > this.classByteArray.length) {
+        if (startIndex + length > this.classByteArray.length) {
             throw new ArrayIndexOutOfBoundsException("The last item index is bigger than class byte array size.");
         }
 
-        byte[] data = new byte[length];
-        System.arraycopy(this.classByteArray, startIndex, data, 0, length);
-        return data;
+        return new ByteArraySlice(this.classByteArray, startIndex, length);
     }
 
     /**
@@ -496,11 +633,39 @@ public class ClassFile {
 
     @Override
     public String toString() {
+        if (this.isHeaderOnly()) {
+            return "Class header";
+        }
         return "Class contains "
                 + this.fields_count.value.value + " field(s) and "
                 + this.methods_count.value.value + " method(s)";
     }
 
+    /**
+     * Options to parse only part of a class file. The skipped attributes are
+     * kept as {@link org.freeinternals.format.classfile.attribute.AttributeSkipped},
+     * whose bodies can be parsed later.
+     */
+    public enum ParseOption {
+
+        /**
+         * Skip the {@code Code} attribute of the methods.
+         */
+        SKIP_CODE,
+        /**
+         * Skip the debug attributes: {@code SourceFile},
+         * {@code SourceDebugExtension}, {@code LineNumberTable},
+         * {@code LocalVariableTable}, {@code LocalVariableTypeTable} and
+         * {@code MethodParameters}.
+         */
+        SKIP_DEBUG,
+        /**
+         * Parse up to the {@link ClassFile#interfaces} only. The fields,
+         * methods and attributes, and their counts, are <code>null</code>.
+         */
+        HEADER_ONLY
+    }
+
     /**
      * Version numbers of a class file. Together, a major and a minor version
      * number determine the version of the class file format. If a class file
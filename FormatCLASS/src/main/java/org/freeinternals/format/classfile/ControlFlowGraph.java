@@ -0,0 +1,609 @@
+/*
+ * ControlFlowGraph.java    Oct 17, 2026, 01:40
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.format.classfile;
+
+import java.util.Arrays;
+import org.freeinternals.format.classfile.attribute.AttributeCode;
+
+/**
+ * Basic blocks, edges and dominators of the instructions of a {@code Code}
+ * attribute.
+ *
+ * <p>
+ * A basic block starts at the first instruction, at a branch or switch
+ * target, after a branch, switch, return, {@link Opcode.Instruction#athrow}
+ * or {@link Opcode.Instruction#ret}, and at the {@code start_pc},
+ * {@code end_pc} and {@code handler_pc} of each exception handler. A block
+ * covered by an exception handler has an exception edge to the handler.
+ * {@link Opcode.Instruction#jsr} and {@link Opcode.Instruction#jsr_w} have
+ * edges to both the subroutine and the next instruction, and
+ * {@link Opcode.Instruction#ret} has no successor. Branch targets which are
+ * not the offset of an instruction are ignored.
+ * </p>
+ *
+ * <p>
+ * Blocks are identified by <code>int</code> ids in the order of their
+ * offsets, block <code>0</code> is the entry. Successors and predecessors are
+ * kept in compressed arrays: the edges of block <code>b</code> are in
+ * <code>[start[b], start[b + 1])</code> of one <code>int[]</code>; the
+ * normal successors come first, followed by the exception successors.
+ * Building the blocks and edges is linear in the size of the code and the
+ * exception table; the dominators are computed by the iterative algorithm of
+ * Cooper, Harvey and Kennedy in reverse post order, which converges in a few
+ * passes for the code generated by compilers.
+ * </p>
+ *
+ * @author Amos Shi
+ * @see AttributeCode#getControlFlowGraph()
+ */
+public final class ControlFlowGraph {
+
+    /**
+     * The instructions.
+     */
+    private final InstructionStream code;
+    /**
+     * Number of blocks.
+     */
+    private final int blockCount;
+    /**
+     * First instruction of each block, followed by the number of
+     * instructions.
+     */
+    private final int[] blockStarts;
+    /**
+     * Block of each instruction.
+     */
+    private final int[] blockOf;
+    /**
+     * Start of the successors of each block in {@link #successors}, followed
+     * by the number of edges.
+     */
+    private final int[] successorStarts;
+    /**
+     * Start of the exception successors of each block in
+     * {@link #successors}.
+     */
+    private final int[] exceptionStarts;
+    /**
+     * Successors of all blocks.
+     */
+    private final int[] successors;
+    /**
+     * Start of the predecessors of each block in {@link #predecessors},
+     * followed by the number of edges.
+     */
+    private final int[] predecessorStarts;
+    /**
+     * Predecessors of all blocks.
+     */
+    private final int[] predecessors;
+    /**
+     * Immediate dominator of each block; <code>-1</code> for the entry block
+     * and the unreachable blocks.
+     */
+    private final int[] idoms;
+    /**
+     * Reverse post order number of each block; <code>-1</code> for the
+     * unreachable blocks.
+     */
+    private final int[] rpoNumbers;
+
+    /**
+     * Build the graph of a method.
+     *
+     * @param code The instructions
+     * @param exceptionTable The exception table, or <code>null</code>
+     */
+    public ControlFlowGraph(final InstructionStream code, final AttributeCode.ExceptionTable[] exceptionTable) {
+        this.code = code;
+        final int n = code.size();
+        final AttributeCode.ExceptionTable[] handlers = (exceptionTable == null) ? new AttributeCode.ExceptionTable[0] : exceptionTable;
+
+        // Instruction index by offset; the end of the code maps to n
+        final int codeLength = (n == 0) ? 0 : code.getOffset(n - 1) + code.getLength(n - 1);
+        final int[] indexAt = new int[codeLength + 1];
+        Arrays.fill(indexAt, -1);
+        for (int i = 0; i < n; i++) {
+            indexAt[code.getOffset(i)] = i;
+        }
+        indexAt[codeLength] = n;
+
+        // Leaders
+        final boolean[] leaders = new boolean[n + 1];
+        if (n > 0) {
+            leaders[0] = true;
+        }
+        for (int i = 0; i < n; i++) {
+            if (code.isBranch(i)) {
+                mark(leaders, indexAt, code.getBranchTarget(i));
+                leaders[i + 1] = true;
+            } else if (code.isSwitch(i)) {
+                final int offset = code.getOffset(i);
+                mark(leaders, indexAt, offset + code.getSwitchDefault(i));
+                for (int c = 0; c < code.getSwitchCaseCount(i); c++) {
+                    mark(leaders, indexAt, offset + code.getSwitchOffset(i, c));
+                }
+                leaders[i + 1] = true;
+            } else if (isExit(code, i)) {
+                leaders[i + 1] = true;
+            }
+        }
+        for (AttributeCode.ExceptionTable handler : handlers) {
+            mark(leaders, indexAt, handler.start_pc.value);
+            mark(leaders, indexAt, handler.end_pc.value);
+            mark(leaders, indexAt, handler.handler_pc.value);
+        }
+
+        // Blocks
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (leaders[i]) {
+                count++;
+            }
+        }
+        this.blockCount = count;
+        this.blockStarts = new int[count + 1];
+        this.blockOf = new int[n];
+        int b = -1;
+        for (int i = 0; i < n; i++) {
+            if (leaders[i]) {
+                this.blockStarts[++b] = i;
+            }
+            this.blockOf[i] = b;
+        }
+        this.blockStarts[count] = n;
+
+        // Exception handlers covering each block; start_pc and end_pc are
+        // leaders, so a block is either fully covered or not covered
+        final int[] coverStarts = new int[count + 1];
+        for (AttributeCode.ExceptionTable handler : handlers) {
+            final int first = this.blockAt(indexAt, handler.start_pc.value);
+            final int last = this.blockAt(indexAt, handler.end_pc.value);
+            final int target = this.blockAt(indexAt, handler.handler_pc.value);
+            if (first >= 0 && last > first && target >= 0 && target < count) {
+                for (int k = first; k < last; k++) {
+                    coverStarts[k + 1]++;
+                }
+            }
+        }
+        for (int k = 0; k < count; k++) {
+            coverStarts[k + 1] += coverStarts[k];
+        }
+        final int[] covers = new int[coverStarts[count]];
+        final int[] coverFill = Arrays.copyOf(coverStarts, count);
+        for (AttributeCode.ExceptionTable handler : handlers) {
+            final int first = this.blockAt(indexAt, handler.start_pc.value);
+            final int last = this.blockAt(indexAt, handler.end_pc.value);
+            final int target = this.blockAt(indexAt, handler.handler_pc.value);
+            if (first >= 0 && last > first && target >= 0 && target < count) {
+                for (int k = first; k < last; k++) {
+                    covers[coverFill[k]++] = target;
+                }
+            }
+        }
+
+        // Successors, appended block by block; a target is added once per
+        // block and kind
+        this.successorStarts = new int[count + 1];
+        this.exceptionStarts = new int[count];
+        final int[] seen = new int[count];
+        Arrays.fill(seen, -1);
+        final EdgeList edges = new EdgeList(count * 2 + covers.length);
+        for (b = 0; b < count; b++) {
+            this.successorStarts[b] = edges.size;
+            final int last = this.blockStarts[b + 1] - 1;
+            final int next = (this.blockStarts[b + 1] < n) ? b + 1 : -1;
+            final int stamp = b * 2;
+            if (code.isBranch(last)) {
+                edges.add(this.blockAt(indexAt, code.getBranchTarget(last)), seen, stamp);
+                if (!isGoto(code.getOpcode(last))) {
+                    edges.add(next, seen, stamp);
+                }
+            } else if (code.isSwitch(last)) {
+                final int offset = code.getOffset(last);
+                edges.add(this.blockAt(indexAt, offset + code.getSwitchDefault(last)), seen, stamp);
+                for (int c = 0; c < code.getSwitchCaseCount(last); c++) {
+                    edges.add(this.blockAt(indexAt, offset + code.getSwitchOffset(last, c)), seen, stamp);
+                }
+            } else if (!isExit(code, last)) {
+                edges.add(next, seen, stamp);
+            }
+            this.exceptionStarts[b] = edges.size;
+            for (int k = coverStarts[b]; k < coverStarts[b + 1]; k++) {
+                edges.add(covers[k], seen, stamp + 1);
+            }
+        }
+        this.successorStarts[count] = edges.size;
+        this.successors = Arrays.copyOf(edges.targets, edges.size);
+
+        // Predecessors
+        this.predecessorStarts = new int[count + 1];
+        for (int e = 0; e < this.successors.length; e++) {
+            this.predecessorStarts[this.successors[e] + 1]++;
+        }
+        for (int k = 0; k < count; k++) {
+            this.predecessorStarts[k + 1] += this.predecessorStarts[k];
+        }
+        this.predecessors = new int[this.successors.length];
+        final int[] predecessorFill = Arrays.copyOf(this.predecessorStarts, count);
+        for (b = 0; b < count; b++) {
+            for (int e = this.successorStarts[b]; e < this.successorStarts[b + 1]; e++) {
+                this.predecessors[predecessorFill[this.successors[e]]++] = b;
+            }
+        }
+
+        // Dominators
+        this.rpoNumbers = new int[count];
+        this.idoms = new int[count];
+        this.computeDominators();
+    }
+
+    private static void mark(final boolean[] leaders, final int[] indexAt, final int offset) {
+        if (offset >= 0 && offset < indexAt.length && indexAt[offset] >= 0) {
+            leaders[indexAt[offset]] = true;
+        }
+    }
+
+    /**
+     * Get the block starting at an offset.
+     *
+     * @return The block, <code>blockCount</code> for the end of the code, or
+     * <code>-1</code> if no block starts at {@code offset}
+     */
+    private int blockAt(final int[] indexAt, final int offset) {
+        if (offset < 0 || offset >= indexAt.length || indexAt[offset] < 0) {
+            return -1;
+        }
+        final int index = indexAt[offset];
+        if (index == this.blockOf.length) {
+            return this.blockCount;
+        }
+        return (this.blockStarts[this.blockOf[index]] == index) ? this.blockOf[index] : -1;
+    }
+
+    private static boolean isGoto(final int opcode) {
+        return opcode == Opcode.Instruction.goto_.code || opcode == Opcode.Instruction.goto_w.code;
+    }
+
+    /**
+     * Check whether an instruction never continues to the next one, not
+     * counting the branches and switches.
+     */
+    private static boolean isExit(final InstructionStream code, final int index) {
+        final int opcode = code.getOpcode(index);
+        return (opcode >= Opcode.Instruction.ireturn.code && opcode <= Opcode.Instruction.return_.code)
+                || opcode == Opcode.Instruction.athrow.code
+                || opcode == Opcode.Instruction.ret.code
+                || (opcode == Opcode.Instruction.wide.code && code.getWideOpcode(index) == Opcode.Instruction.ret.code);
+    }
+
+    /**
+     * Compute {@link #rpoNumbers} by an iterative depth first search, then the
+     * {@link #idoms}.
+     */
+    private void computeDominators() {
+        final int count = this.blockCount;
+        Arrays.fill(this.rpoNumbers, -1);
+        Arrays.fill(this.idoms, -1);
+        if (count == 0) {
+            return;
+        }
+
+        final int[] order = new int[count];
+        final int[] stack = new int[count];
+        final int[] cursor = new int[count];
+        final boolean[] visited = new boolean[count];
+        int reachable = 0;
+        int top = 0;
+        stack[0] = 0;
+        visited[0] = true;
+        cursor[0] = this.successorStarts[0];
+        while (top >= 0) {
+            final int b = stack[top];
+            if (cursor[b] < this.successorStarts[b + 1]) {
+                final int s = this.successors[cursor[b]++];
+                if (!visited[s]) {
+                    visited[s] = true;
+                    cursor[s] = this.successorStarts[s];
+                    stack[++top] = s;
+                }
+            } else {
+                order[reachable++] = b;
+                top--;
+            }
+        }
+        // order holds the post order, reverse it
+        for (int i = 0; i < reachable / 2; i++) {
+            final int t = order[i];
+            order[i] = order[reachable - 1 - i];
+            order[reachable - 1 - i] = t;
+        }
+        for (int i = 0; i < reachable; i++) {
+            this.rpoNumbers[order[i]] = i;
+        }
+
+        this.idoms[0] = 0;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 1; i < reachable; i++) {
+                final int b = order[i];
+                int idom = -1;
+                for (int e = this.predecessorStarts[b]; e < this.predecessorStarts[b + 1]; e++) {
+                    final int p = this.predecessors[e];
+                    if (this.idoms[p] < 0) {
+                        continue;
+                    }
+                    idom = (idom < 0) ? p : this.intersect(p, idom);
+                }
+                if (this.idoms[b] != idom) {
+                    this.idoms[b] = idom;
+                    changed = true;
+                }
+            }
+        }
+        this.idoms[0] = -1;
+    }
+
+    private int intersect(final int b1, final int b2) {
+        int finger1 = b1;
+        int finger2 = b2;
+        while (finger1 != finger2) {
+            while (this.rpoNumbers[finger1] > this.rpoNumbers[finger2]) {
+                finger1 = this.idoms[finger1];
+            }
+            while (this.rpoNumbers[finger2] > this.rpoNumbers[finger1]) {
+                finger2 = this.idoms[finger2];
+            }
+        }
+        return finger1;
+    }
+
+    /**
+     * Get the instructions of the graph.
+     *
+     * @return The instructions
+     */
+    public InstructionStream getInstructions() {
+        return this.code;
+    }
+
+    /**
+     * Get the number of basic blocks.
+     *
+     * @return Number of blocks
+     */
+    public int getBlockCount() {
+        return this.blockCount;
+    }
+
+    /**
+     * Get the first instruction of a block.
+     *
+     * @param block The block
+     * @return Index of the instruction in {@link #getInstructions()}
+     */
+    public int getBlockStart(final int block) {
+        return this.blockStarts[this.check(block)];
+    }
+
+    /**
+     * Get the end of a block.
+     *
+     * @param block The block
+     * @return Index of the instruction after the last one of the block
+     */
+    public int getBlockEnd(final int block) {
+        return this.blockStarts[this.check(block) + 1];
+    }
+
+    /**
+     * Get the offset of a block in the {@code code} byte array.
+     *
+     * @param block The block
+     * @return Offset of the first instruction of the block
+     */
+    public int getBlockOffset(final int block) {
+        return this.code.getOffset(this.getBlockStart(block));
+    }
+
+    /**
+     * Get the block of an instruction.
+     *
+     * @param index Index of the instruction in {@link #getInstructions()}
+     * @return The block
+     */
+    public int getBlockOf(final int index) {
+        return this.blockOf[index];
+    }
+
+    /**
+     * Get the number of edges.
+     *
+     * @return Number of edges, including the exception edges
+     */
+    public int getEdgeCount() {
+        return this.successors.length;
+    }
+
+    /**
+     * Get the number of successors of a block, including the exception
+     * handlers.
+     *
+     * @param block The block
+     * @return Number of successors
+     */
+    public int getSuccessorCount(final int block) {
+        return this.successorStarts[this.check(block) + 1] - this.successorStarts[block];
+    }
+
+    /**
+     * Get a successor of a block. The normal successors come first, followed
+     * by the exception handlers.
+     *
+     * @param block The block
+     * @param k Index of the successor
+     * @return The successor block
+     */
+    public int getSuccessor(final int block, final int k) {
+        return this.successors[this.edge(this.successorStarts, block, k)];
+    }
+
+    /**
+     * Check whether a successor of a block is an exception handler.
+     *
+     * @param block The block
+     * @param k Index of the successor
+     * @return true if it is an exception edge, else false
+     */
+    public boolean isExceptionEdge(final int block, final int k) {
+        return this.edge(this.successorStarts, block, k) >= this.exceptionStarts[block];
+    }
+
+    /**
+     * Get the number of predecessors of a block.
+     *
+     * @param block The block
+     * @return Number of predecessors
+     */
+    public int getPredecessorCount(final int block) {
+        return this.predecessorStarts[this.check(block) + 1] - this.predecessorStarts[block];
+    }
+
+    /**
+     * Get a predecessor of a block.
+     *
+     * @param block The block
+     * @param k Index of the predecessor
+     * @return The predecessor block
+     */
+    public int getPredecessor(final int block, final int k) {
+        return this.predecessors[this.edge(this.predecessorStarts, block, k)];
+    }
+
+    /**
+     * Check whether a block is reachable from the entry block, including by
+     * exception edges.
+     *
+     * @param block The block
+     * @return true if it is reachable, else false
+     */
+    public boolean isReachable(final int block) {
+        return this.rpoNumbers[this.check(block)] >= 0;
+    }
+
+    /**
+     * Get the immediate dominator of a block.
+     *
+     * @param block The block
+     * @return The immediate dominator, or <code>-1</code> for the entry block
+     * and the unreachable blocks
+     */
+    public int getImmediateDominator(final int block) {
+        return this.idoms[this.check(block)];
+    }
+
+    /**
+     * Check whether a block dominates another one. A reachable block dominates
+     * itself.
+     *
+     * @param dominator The dominating block
+     * @param block The dominated block
+     * @return true if every path from the entry to {@code block} goes through
+     * {@code dominator}, else false
+     */
+    public boolean dominates(final int dominator, final int block) {
+        if (!this.isReachable(dominator) || !this.isReachable(block)) {
+            return false;
+        }
+        int b = block;
+        while (b >= 0 && this.rpoNumbers[b] > this.rpoNumbers[dominator]) {
+            b = this.idoms[b];
+        }
+        return b == dominator;
+    }
+
+    private int edge(final int[] starts, final int block, final int k) {
+        final int start = starts[this.check(block)];
+        if (k < 0 || k >= starts[block + 1] - start) {
+            throw new IndexOutOfBoundsException(String.format("k = %d, edges = %d", k, starts[block + 1] - start));
+        }
+        return start + k;
+    }
+
+    private int check(final int block) {
+        if (block < 0 || block >= this.blockCount) {
+            throw new IndexOutOfBoundsException(String.format("block = %d, blocks = %d", block, this.blockCount));
+        }
+        return block;
+    }
+
+    /**
+     * Get the text of a block: its offsets, edges and immediate dominator.
+     *
+     * @param block The block
+     * @return Text of the block
+     */
+    public String toString(final int block) {
+        final StringBuilder sb = new StringBuilder(64);
+        final int last = this.getBlockEnd(block) - 1;
+        sb.append(String.format("B%d [%d, %d)", block, this.getBlockOffset(block),
+                this.code.getOffset(last) + this.code.getLength(last)));
+        sb.append(" ->");
+        for (int k = 0; k < this.getSuccessorCount(block); k++) {
+            sb.append(this.isExceptionEdge(block, k) ? " !B" : " B").append(this.getSuccessor(block, k));
+        }
+        sb.append(" <-");
+        for (int k = 0; k < this.getPredecessorCount(block); k++) {
+            sb.append(" B").append(this.getPredecessor(block, k));
+        }
+        if (this.idoms[block] >= 0) {
+            sb.append(" idom B").append(this.idoms[block]);
+        } else if (!this.isReachable(block)) {
+            sb.append(" unreachable");
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder(this.blockCount * 32);
+        for (int b = 0; b < this.blockCount; b++) {
+            sb.append(this.toString(b)).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Growable list of edge targets.
+     */
+    private static final class EdgeList {
+
+        private int[] targets;
+        private int size;
+
+        EdgeList(final int capacity) {
+            this.targets = new int[Math.max(capacity, 4)];
+        }
+
+        /**
+         * Add an edge to a target, unless the target is invalid or already
+         * added with the same stamp.
+         */
+        void add(final int target, final int[] seen, final int stamp) {
+            if (target < 0 || target >= seen.length || seen[target] == stamp) {
+                return;
+            }
+            seen[target] = stamp;
+            if (this.size == this.targets.length) {
+                this.targets = Arrays.copyOf(this.targets, this.size * 2);
+            }
+            this.targets[this.size++] = target;
+        }
+    }
+}
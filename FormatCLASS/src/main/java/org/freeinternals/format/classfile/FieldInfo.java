@@ -11,7 +11,7 @@ import org.freeinternals.commonlib.core.FileComponent;
 import org.freeinternals.commonlib.core.PosDataInputStream;
 import org.freeinternals.commonlib.core.FileFormatException;
 import org.freeinternals.format.classfile.attribute.AttributeInfo;
-import org.freeinternals.format.classfile.constant.CPInfo;
+import org.freeinternals.format.classfile.attribute.AttributeRegistry;
 
 /**
  * {@code Field} of a class or interface. The {@code Field} structure has the
@@ -40,9 +40,16 @@ public class FieldInfo extends FileComponent {
     public transient final u2 descriptor_index;
     public transient final u2 attributes_count;
     public transient final AttributeInfo[] attributes;
+    /**
+     * Declaration of the member, generated on first use.
+     */
     private String declaration;
+    /**
+     * The class file containing this member.
+     */
+    private transient ClassFile classFile;
 
-    FieldInfo(final PosDataInputStream posDataInputStream, final CPInfo[] cp) throws IOException, FileFormatException {
+    FieldInfo(final PosDataInputStream posDataInputStream, final AttributeRegistry registry) throws IOException, FileFormatException {
         this.startPos = posDataInputStream.getPos();
         this.length = -1;
 
@@ -55,7 +62,7 @@ public class FieldInfo extends FileComponent {
         if (attrCount > 0) {
             this.attributes = new AttributeInfo[attrCount];
             for (int i = 0; i < attrCount; i++) {
-                this.attributes[i] = AttributeInfo.parse(posDataInputStream, cp);
+                this.attributes[i] = registry.parse(posDataInputStream);
             }
         } else {
             this.attributes = null;
@@ -100,12 +107,12 @@ public class FieldInfo extends FileComponent {
     }
 
     /**
-     * Set the declaration string.
+     * Set the class file containing this member.
      *
-     * @param declaration Human readable declaration string
+     * @param classFile The class file
      */
-    final void setDeclaration(final String declaration) {
-        this.declaration = declaration;
+    final void setClassFile(final ClassFile classFile) {
+        this.classFile = classFile;
     }
 
     /**
@@ -115,6 +122,9 @@ public class FieldInfo extends FileComponent {
      * @return {@code Field} declaration
      */
     public String getDeclaration() {
+        if (this.declaration == null && this.classFile != null) {
+            this.declaration = this.classFile.getDeclaration(this);
+        }
         return this.declaration;
     }
 }
@@ -8,6 +8,7 @@
 package org.freeinternals.format.classfile;
 
 import javax.swing.tree.DefaultMutableTreeNode;
+import org.freeinternals.commonlib.ui.GenerateTreeNode;
 
 /**
  *
@@ -17,4 +18,16 @@ public interface GenerateClassfileTreeNode {
 
     void generateTreeNode(final DefaultMutableTreeNode parentNode, ClassFile classFile);
 
+    /**
+     * Adapt current object to a {@link GenerateTreeNode} for
+     * {@code classFile}, so that it can be the children provider of a
+     * {@link org.freeinternals.commonlib.ui.LazyTreeNode}.
+     *
+     * @param classFile The class file
+     * @return Children nodes provider
+     */
+    default GenerateTreeNode asGenerateTreeNode(final ClassFile classFile) {
+        return (parentNode) -> this.generateTreeNode(parentNode, classFile);
+    }
+
 }
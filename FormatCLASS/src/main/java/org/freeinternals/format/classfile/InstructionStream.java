@@ -0,0 +1,780 @@
+/*
+ * InstructionStream.java    Oct 16, 2026, 23:40
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.format.classfile;
+
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.freeinternals.commonlib.core.ByteArraySlice;
+
+/**
+ * Decoded instructions of a {@code code} byte array, kept in primitive arrays.
+ *
+ * <p>
+ * Each instruction has an offset, an opcode and two operand slots; the jump
+ * tables of {@link Opcode.Instruction#tableswitch} and
+ * {@link Opcode.Instruction#lookupswitch} are kept in one shared
+ * <code>int</code> array. No object is created per instruction, the text of
+ * an instruction is created only by {@link #getText(int)} and
+ * {@link #toString(int)}.
+ * </p>
+ *
+ * <p>
+ * The operand slots depend on the instruction:
+ * </p>
+ * <ul>
+ * <li>Constant pool index in slot <code>0</code>; the {@code count} of
+ * {@link Opcode.Instruction#invokeinterface} and the {@code dimensions} of
+ * {@link Opcode.Instruction#multianewarray} in slot <code>1</code></li>
+ * <li>Local variable index in slot <code>0</code>; the {@code const} of
+ * {@link Opcode.Instruction#iinc} in slot <code>1</code></li>
+ * <li>Immediate value of {@link Opcode.Instruction#bipush},
+ * {@link Opcode.Instruction#sipush} and {@link Opcode.Instruction#newarray}
+ * in slot <code>0</code></li>
+ * <li>Relative branch offset in slot <code>0</code></li>
+ * <li>Start of the jump table in slot <code>0</code>, number of cases in
+ * slot <code>1</code></li>
+ * </ul>
+ *
+ * @author Amos Shi
+ * @see Opcode#decode(ByteArraySlice)
+ */
+public final class InstructionStream {
+
+    private static final Logger LOG = Logger.getLogger(InstructionStream.class.getName());
+
+    /**
+     * Number of operand slots of each instruction.
+     */
+    public static final int OPERAND_SLOTS = 2;
+
+    /**
+     * Operand format: no operand.
+     */
+    private static final byte F_NONE = 0;
+    /**
+     * Operand format: unsigned byte local variable index.
+     */
+    private static final byte F_LOCAL = 1;
+    /**
+     * Operand format: signed byte immediate value.
+     */
+    private static final byte F_BYTE = 2;
+    /**
+     * Operand format: signed short immediate value.
+     */
+    private static final byte F_SHORT = 3;
+    /**
+     * Operand format: unsigned byte constant pool index.
+     */
+    private static final byte F_CP1 = 4;
+    /**
+     * Operand format: unsigned short constant pool index.
+     */
+    private static final byte F_CP2 = 5;
+    /**
+     * Operand format: unsigned byte local variable index, signed byte const.
+     */
+    private static final byte F_IINC = 6;
+    /**
+     * Operand format: signed short branch offset.
+     */
+    private static final byte F_BRANCH2 = 7;
+    /**
+     * Operand format: signed int branch offset.
+     */
+    private static final byte F_BRANCH4 = 8;
+    /**
+     * Operand format: {@link Opcode.Instruction#tableswitch}.
+     */
+    private static final byte F_TABLESWITCH = 9;
+    /**
+     * Operand format: {@link Opcode.Instruction#lookupswitch}.
+     */
+    private static final byte F_LOOKUPSWITCH = 10;
+    /**
+     * Operand format: {@link Opcode.Instruction#invokeinterface}.
+     */
+    private static final byte F_INVOKEINTERFACE = 11;
+    /**
+     * Operand format: {@link Opcode.Instruction#invokedynamic}.
+     */
+    private static final byte F_INVOKEDYNAMIC = 12;
+    /**
+     * Operand format: unsigned byte array type.
+     */
+    private static final byte F_NEWARRAY = 13;
+    /**
+     * Operand format: {@link Opcode.Instruction#multianewarray}.
+     */
+    private static final byte F_MULTIANEWARRAY = 14;
+    /**
+     * Operand format: {@link Opcode.Instruction#wide}.
+     */
+    private static final byte F_WIDE = 15;
+
+    /**
+     * Operand format by opcode.
+     */
+    private static final byte[] FORMATS = new byte[256];
+
+    static {
+        final Opcode.Instruction[][] groups = {
+            {Opcode.Instruction.iload, Opcode.Instruction.lload, Opcode.Instruction.fload, Opcode.Instruction.dload, Opcode.Instruction.aload,
+                Opcode.Instruction.istore, Opcode.Instruction.lstore, Opcode.Instruction.fstore, Opcode.Instruction.dstore, Opcode.Instruction.astore,
+                Opcode.Instruction.ret},
+            {Opcode.Instruction.bipush},
+            {Opcode.Instruction.sipush},
+            {Opcode.Instruction.ldc},
+            {Opcode.Instruction.ldc_w, Opcode.Instruction.ldc2_w,
+                Opcode.Instruction.getstatic, Opcode.Instruction.putstatic, Opcode.Instruction.getfield, Opcode.Instruction.putfield,
+                Opcode.Instruction.invokevirtual, Opcode.Instruction.invokespecial, Opcode.Instruction.invokestatic,
+                Opcode.Instruction.new_, Opcode.Instruction.anewarray, Opcode.Instruction.checkcast, Opcode.Instruction.instanceof_},
+            {Opcode.Instruction.iinc},
+            {Opcode.Instruction.ifeq, Opcode.Instruction.ifne, Opcode.Instruction.iflt, Opcode.Instruction.ifge, Opcode.Instruction.ifgt, Opcode.Instruction.ifle,
+                Opcode.Instruction.if_icmpeq, Opcode.Instruction.if_icmpne, Opcode.Instruction.if_icmplt, Opcode.Instruction.if_icmpge,
+                Opcode.Instruction.if_icmpgt, Opcode.Instruction.if_icmple, Opcode.Instruction.if_acmpeq, Opcode.Instruction.if_acmpne,
+                Opcode.Instruction.goto_, Opcode.Instruction.jsr, Opcode.Instruction.ifnull, Opcode.Instruction.ifnonnull},
+            {Opcode.Instruction.goto_w, Opcode.Instruction.jsr_w},
+            {Opcode.Instruction.tableswitch},
+            {Opcode.Instruction.lookupswitch},
+            {Opcode.Instruction.invokeinterface},
+            {Opcode.Instruction.invokedynamic},
+            {Opcode.Instruction.newarray},
+            {Opcode.Instruction.multianewarray},
+            {Opcode.Instruction.wide}
+        };
+        final byte[] formats = {F_LOCAL, F_BYTE, F_SHORT, F_CP1, F_CP2, F_IINC, F_BRANCH2, F_BRANCH4,
+            F_TABLESWITCH, F_LOOKUPSWITCH, F_INVOKEINTERFACE, F_INVOKEDYNAMIC, F_NEWARRAY, F_MULTIANEWARRAY, F_WIDE};
+        for (int i = 0; i < groups.length; i++) {
+            for (Opcode.Instruction instruction : groups[i]) {
+                FORMATS[instruction.code] = formats[i];
+            }
+        }
+    }
+
+    /**
+     * Number of instructions.
+     */
+    private int count = 0;
+    /**
+     * Offset of each instruction, followed by the offset after the last
+     * instruction.
+     */
+    private int[] offsets;
+    /**
+     * Opcode of each instruction. For {@link Opcode.Instruction#wide}, the
+     * modified opcode is kept in bits 8 - 15.
+     */
+    private int[] opcodes;
+    /**
+     * {@link #OPERAND_SLOTS} operands of each instruction.
+     */
+    private int[] operands;
+    /**
+     * Jump tables of the switch instructions. For each switch, the default
+     * offset followed by a <code>(match, offset)</code> pair for each case.
+     */
+    private int[] switches;
+    /**
+     * Used length of {@link #switches}.
+     */
+    private int switchesLength = 0;
+
+    /**
+     * Decode all instructions of {@code code}. Decoding stops at an
+     * incomplete instruction.
+     *
+     * @param code Bytes of the method code
+     */
+    InstructionStream(final ByteArraySlice code) {
+        final int length = code.length();
+        // Most instructions take 1 - 3 bytes
+        final int capacity = Math.max(4, length / 2);
+        this.offsets = new int[capacity + 1];
+        this.opcodes = new int[capacity];
+        this.operands = new int[capacity * OPERAND_SLOTS];
+        this.switches = new int[0];
+
+        int pos = 0;
+        while (pos < length) {
+            final int next = this.decode(code, pos, length);
+            if (next < 0) {
+                LOG.log(Level.FINE, "Incomplete instruction at {0} with code length - {1}", new Object[]{pos, length});
+                break;
+            }
+            pos = next;
+        }
+        this.offsets[this.count] = pos;
+    }
+
+    /**
+     * Decode the instruction at {@code pos}.
+     *
+     * @return Offset of the next instruction, or <code>-1</code> if the
+     * instruction is incomplete
+     */
+    private int decode(final ByteArraySlice code, final int pos, final int length) {
+        if (this.count == this.opcodes.length) {
+            this.grow();
+        }
+
+        final int i = this.count;
+        final int slot = i * OPERAND_SLOTS;
+        final int opcode = code.get(pos) & 0xFF;
+        int opcodeValue = opcode;
+        int operand0 = 0;
+        int operand1 = 0;
+        int next;
+
+        switch (FORMATS[opcode]) {
+            case F_LOCAL:
+            case F_CP1:
+            case F_NEWARRAY:
+                next = pos + 2;
+                if (next > length) {
+                    return -1;
+                }
+                operand0 = code.get(pos + 1) & 0xFF;
+                break;
+            case F_BYTE:
+                next = pos + 2;
+                if (next > length) {
+                    return -1;
+                }
+                operand0 = code.get(pos + 1);
+                break;
+            case F_SHORT:
+            case F_BRANCH2:
+                next = pos + 3;
+                if (next > length) {
+                    return -1;
+                }
+                operand0 = (short) readU2(code, pos + 1);
+                break;
+            case F_CP2:
+                next = pos + 3;
+                if (next > length) {
+                    return -1;
+                }
+                operand0 = readU2(code, pos + 1);
+                break;
+            case F_IINC:
+                next = pos + 3;
+                if (next > length) {
+                    return -1;
+                }
+                operand0 = code.get(pos + 1) & 0xFF;
+                operand1 = code.get(pos + 2);
+                break;
+            case F_BRANCH4:
+                next = pos + 5;
+                if (next > length) {
+                    return -1;
+                }
+                operand0 = readS4(code, pos + 1);
+                break;
+            case F_INVOKEINTERFACE:
+            case F_MULTIANEWARRAY:
+                next = (opcode == Opcode.Instruction.invokeinterface.code) ? pos + 5 : pos + 4;
+                if (next > length) {
+                    return -1;
+                }
+                operand0 = readU2(code, pos + 1);
+                operand1 = code.get(pos + 3) & 0xFF;
+                break;
+            case F_INVOKEDYNAMIC:
+                next = pos + 5;
+                if (next > length) {
+                    return -1;
+                }
+                operand0 = readU2(code, pos + 1);
+                break;
+            case F_TABLESWITCH:
+            case F_LOOKUPSWITCH:
+                next = this.decodeSwitch(code, opcode, pos, length, slot);
+                if (next < 0) {
+                    return -1;
+                }
+                operand0 = this.operands[slot];
+                operand1 = this.operands[slot + 1];
+                break;
+            case F_WIDE:
+                next = pos + 2;
+                if (next > length) {
+                    return -1;
+                }
+                final int modified = code.get(pos + 1) & 0xFF;
+                opcodeValue |= modified << 8;
+                if (modified == Opcode.Instruction.iinc.code) {
+                    next = pos + 6;
+                    if (next > length) {
+                        return -1;
+                    }
+                    operand0 = readU2(code, pos + 2);
+                    operand1 = (short) readU2(code, pos + 4);
+                } else if (FORMATS[modified] == F_LOCAL) {
+                    next = pos + 4;
+                    if (next > length) {
+                        return -1;
+                    }
+                    operand0 = readU2(code, pos + 2);
+                }
+                break;
+            default:
+                next = pos + 1;
+                break;
+        }
+
+        this.offsets[i] = pos;
+        this.opcodes[i] = opcodeValue;
+        this.operands[slot] = operand0;
+        this.operands[slot + 1] = operand1;
+        this.count++;
+        return next;
+    }
+
+    /**
+     * Decode a switch instruction, its table is appended to
+     * {@link #switches}.
+     */
+    private int decodeSwitch(final ByteArraySlice code, final int opcode, final int pos, final int length, final int slot) {
+        // 0-3 byte pad, the table starts at a multiple of 4
+        int p = (pos + 4) & ~3;
+        if (p + 12 > length) {
+            return -1;
+        }
+
+        final int defaultOffset = readS4(code, p);
+        final int cases;
+        final boolean table = (opcode == Opcode.Instruction.tableswitch.code);
+        final int low;
+        if (table) {
+            low = readS4(code, p + 4);
+            final long n = (long) readS4(code, p + 8) - low + 1;
+            p += 12;
+            if (n < 0 || p + n * 4 > length) {
+                return -1;
+            }
+            cases = (int) n;
+        } else {
+            low = 0;
+            final int n = readS4(code, p + 4);
+            p += 8;
+            if (n < 0 || p + (long) n * 8 > length) {
+                return -1;
+            }
+            cases = n;
+        }
+
+        final int start = this.switchesLength;
+        final int needed = start + 1 + cases * 2;
+        if (needed > this.switches.length) {
+            this.switches = Arrays.copyOf(this.switches, Math.max(needed, this.switches.length * 2 + 16));
+        }
+        this.switches[start] = defaultOffset;
+        for (int c = 0; c < cases; c++) {
+            final int at = start + 1 + c * 2;
+            if (table) {
+                this.switches[at] = low + c;
+                this.switches[at + 1] = readS4(code, p);
+                p += 4;
+            } else {
+                this.switches[at] = readS4(code, p);
+                this.switches[at + 1] = readS4(code, p + 4);
+                p += 8;
+            }
+        }
+        this.switchesLength = needed;
+
+        this.operands[slot] = start;
+        this.operands[slot + 1] = cases;
+        return p;
+    }
+
+    private void grow() {
+        final int capacity = this.opcodes.length * 2;
+        this.offsets = Arrays.copyOf(this.offsets, capacity + 1);
+        this.opcodes = Arrays.copyOf(this.opcodes, capacity);
+        this.operands = Arrays.copyOf(this.operands, capacity * OPERAND_SLOTS);
+    }
+
+    private static int readU2(final ByteArraySlice code, final int pos) {
+        return ((code.get(pos) & 0xFF) << 8) | (code.get(pos + 1) & 0xFF);
+    }
+
+    private static int readS4(final ByteArraySlice code, final int pos) {
+        return (code.get(pos) << 24) | ((code.get(pos + 1) & 0xFF) << 16)
+                | ((code.get(pos + 2) & 0xFF) << 8) | (code.get(pos + 3) & 0xFF);
+    }
+
+    /**
+     * Get the number of instructions.
+     *
+     * @return Number of instructions
+     */
+    public int size() {
+        return this.count;
+    }
+
+    /**
+     * Get the offset of an instruction in the {@code code} byte array.
+     *
+     * @param index Index of the instruction
+     * @return Offset of the instruction
+     */
+    public int getOffset(final int index) {
+        return this.offsets[this.check(index)];
+    }
+
+    /**
+     * Get the length in bytes of an instruction, including its operands and
+     * padding.
+     *
+     * @param index Index of the instruction
+     * @return Length of the instruction
+     */
+    public int getLength(final int index) {
+        return this.offsets[this.check(index) + 1] - this.offsets[index];
+    }
+
+    /**
+     * Find the instruction at an offset.
+     *
+     * @param offset Offset in the {@code code} byte array
+     * @return Index of the instruction, or <code>-1</code> if no instruction
+     * starts at {@code offset}
+     */
+    public int indexOf(final int offset) {
+        final int index = Arrays.binarySearch(this.offsets, 0, this.count, offset);
+        return (index >= 0) ? index : -1;
+    }
+
+    /**
+     * Get the opcode of an instruction.
+     *
+     * @param index Index of the instruction
+     * @return Opcode, from <code>0</code> to <code>255</code>
+     */
+    public int getOpcode(final int index) {
+        return this.opcodes[this.check(index)] & 0xFF;
+    }
+
+    /**
+     * Get the opcode modified by a {@link Opcode.Instruction#wide}
+     * instruction.
+     *
+     * @param index Index of the instruction
+     * @return The modified opcode, or <code>-1</code> if the instruction is
+     * not {@link Opcode.Instruction#wide}
+     */
+    public int getWideOpcode(final int index) {
+        final int opcode = this.opcodes[this.check(index)];
+        return ((opcode & 0xFF) == Opcode.Instruction.wide.code) ? opcode >>> 8 : -1;
+    }
+
+    /**
+     * Get the {@link Opcode.Instruction} of an instruction.
+     *
+     * @param index Index of the instruction
+     * @return The instruction, {@link Opcode.Instruction#UNKNOWN} for an
+     * undefined opcode
+     */
+    public Opcode.Instruction getInstruction(final int index) {
+        return Opcode.Instruction.valueOf(this.getOpcode(index));
+    }
+
+    /**
+     * Get an operand slot of an instruction.
+     *
+     * @param index Index of the instruction
+     * @param slot Slot number, <code>0</code> or <code>1</code>
+     * @return Value of the slot
+     */
+    public int getOperand(final int index, final int slot) {
+        if (slot < 0 || slot >= OPERAND_SLOTS) {
+            throw new IllegalArgumentException(String.format("Invalid operand slot. slot = %d", slot));
+        }
+        return this.operands[this.check(index) * OPERAND_SLOTS + slot];
+    }
+
+    /**
+     * Get the {@link ClassFile#constant_pool} index referenced by an
+     * instruction.
+     *
+     * @param index Index of the instruction
+     * @return Constant pool index, or <code>-1</code> if the instruction does
+     * not reference the constant pool
+     */
+    public int getCpIndex(final int index) {
+        switch (FORMATS[this.getOpcode(index)]) {
+            case F_CP1:
+            case F_CP2:
+            case F_INVOKEINTERFACE:
+            case F_INVOKEDYNAMIC:
+            case F_MULTIANEWARRAY:
+                return this.operands[index * OPERAND_SLOTS];
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Get the local variable index used by an instruction, including the
+     * ones modified by {@link Opcode.Instruction#wide}.
+     *
+     * @param index Index of the instruction
+     * @return Local variable index, or <code>-1</code> if the instruction
+     * does not use a local variable by index
+     */
+    public int getLocalIndex(final int index) {
+        final int opcode = this.getOpcode(index);
+        final byte format = FORMATS[opcode];
+        if (format == F_LOCAL || format == F_IINC
+                || (format == F_WIDE && (this.opcodes[index] >>> 8) == Opcode.Instruction.iinc.code)
+                || (format == F_WIDE && FORMATS[this.opcodes[index] >>> 8] == F_LOCAL)) {
+            return this.operands[index * OPERAND_SLOTS];
+        }
+        return -1;
+    }
+
+    /**
+     * Check whether an instruction is a branch with one target, like
+     * {@link Opcode.Instruction#ifeq} or {@link Opcode.Instruction#goto_w}.
+     *
+     * @param index Index of the instruction
+     * @return true if it is a branch, else false
+     */
+    public boolean isBranch(final int index) {
+        final byte format = FORMATS[this.getOpcode(index)];
+        return format == F_BRANCH2 || format == F_BRANCH4;
+    }
+
+    /**
+     * Get the relative offset of a branch instruction.
+     *
+     * @param index Index of the instruction
+     * @return Offset relative to the instruction
+     * @see #isBranch(int)
+     */
+    public int getBranchOffset(final int index) {
+        if (!this.isBranch(index)) {
+            throw new IllegalArgumentException(String.format("The instruction is not a branch. index = %d", index));
+        }
+        return this.operands[index * OPERAND_SLOTS];
+    }
+
+    /**
+     * Get the absolute target offset of a branch instruction.
+     *
+     * @param index Index of the instruction
+     * @return Target offset in the {@code code} byte array
+     * @see #isBranch(int)
+     */
+    public int getBranchTarget(final int index) {
+        return this.offsets[index] + this.getBranchOffset(index);
+    }
+
+    /**
+     * Check whether an instruction is {@link Opcode.Instruction#tableswitch}
+     * or {@link Opcode.Instruction#lookupswitch}.
+     *
+     * @param index Index of the instruction
+     * @return true if it is a switch, else false
+     */
+    public boolean isSwitch(final int index) {
+        final byte format = FORMATS[this.getOpcode(index)];
+        return format == F_TABLESWITCH || format == F_LOOKUPSWITCH;
+    }
+
+    /**
+     * Get the number of cases of a switch instruction, not including the
+     * default.
+     *
+     * @param index Index of the instruction
+     * @return Number of cases
+     * @see #isSwitch(int)
+     */
+    public int getSwitchCaseCount(final int index) {
+        return this.operands[this.checkSwitch(index) + 1];
+    }
+
+    /**
+     * Get the relative default offset of a switch instruction.
+     *
+     * @param index Index of the instruction
+     * @return Offset relative to the instruction
+     */
+    public int getSwitchDefault(final int index) {
+        return this.switches[this.operands[this.checkSwitch(index)]];
+    }
+
+    /**
+     * Get the match value of a case of a switch instruction.
+     *
+     * @param index Index of the instruction
+     * @param c Index of the case
+     * @return The match value
+     */
+    public int getSwitchMatch(final int index, final int c) {
+        return this.switches[this.caseAt(index, c)];
+    }
+
+    /**
+     * Get the relative offset of a case of a switch instruction.
+     *
+     * @param index Index of the instruction
+     * @param c Index of the case
+     * @return Offset relative to the instruction
+     */
+    public int getSwitchOffset(final int index, final int c) {
+        return this.switches[this.caseAt(index, c) + 1];
+    }
+
+    private int caseAt(final int index, final int c) {
+        final int slot = this.checkSwitch(index);
+        if (c < 0 || c >= this.operands[slot + 1]) {
+            throw new IndexOutOfBoundsException(String.format("case = %d, cases = %d", c, this.operands[slot + 1]));
+        }
+        return this.operands[slot] + 1 + c * 2;
+    }
+
+    private int checkSwitch(final int index) {
+        if (!this.isSwitch(index)) {
+            throw new IllegalArgumentException(String.format("The instruction is not a switch. index = %d", index));
+        }
+        return index * OPERAND_SLOTS;
+    }
+
+    private int check(final int index) {
+        if (index < 0 || index >= this.count) {
+            throw new IndexOutOfBoundsException(String.format("index = %d, size = %d", index, this.count));
+        }
+        return index;
+    }
+
+    /**
+     * Get the text of an instruction, without the offset and the branch
+     * target.
+     *
+     * @param index Index of the instruction
+     * @return Text of the instruction
+     */
+    public String getText(final int index) {
+        final int opcode = this.getOpcode(index);
+        final Opcode.Instruction instruction = Opcode.Instruction.valueOf(opcode);
+        final String name = instruction.getText();
+        final int operand0 = this.operands[index * OPERAND_SLOTS];
+        final int operand1 = this.operands[index * OPERAND_SLOTS + 1];
+
+        switch (FORMATS[opcode]) {
+            case F_LOCAL:
+            case F_BYTE:
+            case F_SHORT:
+                return String.format(Opcode.FORMAT_OPCODE_NUMBER, name, operand0);
+            case F_IINC:
+                return String.format(Opcode.FORMAT_OPCODE_LOCAL_IINC, name, operand0, operand1);
+            case F_INVOKEINTERFACE:
+                return String.format("%s interface=%d, nargs=%d", name, operand0, operand1);
+            case F_MULTIANEWARRAY:
+                return String.format("%s type=%d dimensions=%d", name, operand0, operand1);
+            case F_NEWARRAY:
+                return String.format("%s %s", name, Opcode.NewarrayType.getName(operand0));
+            case F_TABLESWITCH:
+                return String.format("%s %s", name, this.getTableSwitch(index).toString(this.offsets[index]));
+            case F_LOOKUPSWITCH:
+                return String.format("%s %s", name, this.getLookupSwitch(index).toString(this.offsets[index]));
+            case F_WIDE:
+                final int modified = this.opcodes[index] >>> 8;
+                if (modified == Opcode.Instruction.iinc.code) {
+                    return String.format(Opcode.FORMAT_OPCODE_LOCAL_IINC, Opcode.Instruction.getWideName(Opcode.Instruction.iinc.name()), operand0, operand1);
+                } else if (FORMATS[modified] == F_LOCAL) {
+                    return String.format(Opcode.FORMAT_OPCODE_NUMBER, Opcode.Instruction.getWideName(Opcode.Instruction.valueOf(modified).name()), operand0);
+                } else {
+                    return String.format("%s [Unknown opcode]", name);
+                }
+            default:
+                return name;
+        }
+    }
+
+    /**
+     * Get the text of an instruction with its offset, and the branch target
+     * if any.
+     *
+     * @param index Index of the instruction
+     * @return Text of the instruction
+     */
+    public String toString(final int index) {
+        String s = String.format("%04d: %s", this.getOffset(index), this.getText(index));
+        if (this.isBranch(index)) {
+            s += String.format(" %d (branch byte offset = %d)", this.getBranchTarget(index), this.getBranchOffset(index));
+        }
+        return s;
+    }
+
+    /**
+     * Get the text of an instruction with the description of the referenced
+     * {@link ClassFile#constant_pool} item.
+     *
+     * @param index Index of the instruction
+     * @param cf The {@link ClassFile}
+     * @return Text of the instruction
+     */
+    public String toString(final int index, final ClassFile cf) {
+        String s = this.toString(index);
+        final int cpIndex = this.getCpIndex(index);
+        if (cpIndex >= 0) {
+            String cpDesc = cf.getCPDescription(cpIndex);
+            // Avoid too long description
+            if (cpDesc.length() > 1000) {
+                cpDesc = cpDesc.substring(1, 1000);
+            }
+            s = s + "  " + cpDesc;
+        }
+        return s;
+    }
+
+    /**
+     * Get the jump table of a {@link Opcode.Instruction#tableswitch}.
+     *
+     * @param index Index of the instruction
+     * @return The jump table, or <code>null</code> if the instruction is not
+     * {@link Opcode.Instruction#tableswitch}
+     */
+    Opcode.TableSwitch getTableSwitch(final int index) {
+        if (this.getOpcode(index) != Opcode.Instruction.tableswitch.code) {
+            return null;
+        }
+        final int cases = this.getSwitchCaseCount(index);
+        final int low = (cases > 0) ? this.getSwitchMatch(index, 0) : 0;
+        final Opcode.TableSwitch ts = new Opcode.TableSwitch(this.getSwitchDefault(index), low, low + cases - 1);
+        for (int c = 0; c < cases; c++) {
+            ts.jumpoffsets.put(this.getSwitchMatch(index, c), this.getSwitchOffset(index, c));
+        }
+        return ts;
+    }
+
+    /**
+     * Get the match-offset pairs of a {@link Opcode.Instruction#lookupswitch}.
+     *
+     * @param index Index of the instruction
+     * @return The pairs, or <code>null</code> if the instruction is not
+     * {@link Opcode.Instruction#lookupswitch}
+     */
+    Opcode.LookupSwitch getLookupSwitch(final int index) {
+        if (this.getOpcode(index) != Opcode.Instruction.lookupswitch.code) {
+            return null;
+        }
+        final int cases = this.getSwitchCaseCount(index);
+        final Opcode.LookupSwitch ls = new Opcode.LookupSwitch(this.getSwitchDefault(index), cases);
+        for (int c = 0; c < cases; c++) {
+            ls.mapoffsets.put(this.getSwitchMatch(index, c), this.getSwitchOffset(index, c));
+        }
+        return ls;
+    }
+}
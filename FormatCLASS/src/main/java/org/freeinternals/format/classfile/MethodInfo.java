@@ -6,8 +6,8 @@
  */
 package org.freeinternals.format.classfile;
 
-import org.freeinternals.format.classfile.constant.CPInfo;
 import org.freeinternals.format.classfile.attribute.AttributeInfo;
+import org.freeinternals.format.classfile.attribute.AttributeRegistry;
 import java.io.IOException;
 import org.freeinternals.commonlib.core.FileComponent;
 import org.freeinternals.commonlib.core.PosDataInputStream;
@@ -40,9 +40,16 @@ public class MethodInfo extends FileComponent {
     public transient final u2 descriptor_index;
     public transient final u2 attributes_count;
     public transient final AttributeInfo[] attributes;
+    /**
+     * Declaration of the member, generated on first use.
+     */
     private String declaration;
+    /**
+     * The class file containing this member.
+     */
+    private transient ClassFile classFile;
 
-    MethodInfo(final PosDataInputStream posDataInputStream, final CPInfo[] cp) throws IOException, FileFormatException {
+    MethodInfo(final PosDataInputStream posDataInputStream, final AttributeRegistry registry) throws IOException, FileFormatException {
         this.startPos = posDataInputStream.getPos();
         this.length = -1;
 
@@ -55,7 +62,7 @@ public class MethodInfo extends FileComponent {
         if (attrCount > 0) {
             this.attributes = new AttributeInfo[attrCount];
             for (int i = 0; i < attrCount; i++) {
-                this.attributes[i] = AttributeInfo.parse(posDataInputStream, cp);
+                this.attributes[i] = registry.parse(posDataInputStream);
             }
         } else {
             this.attributes = null;
@@ -101,12 +108,12 @@ public class MethodInfo extends FileComponent {
     }
 
     /**
-     * Set the declaration string.
+     * Set the class file containing this member.
      *
-     * @param declaration Human readable declaration string
+     * @param classFile The class file
      */
-    final void setDeclaration(final String declaration) {
-        this.declaration = declaration;
+    final void setClassFile(final ClassFile classFile) {
+        this.classFile = classFile;
     }
 
     /**
@@ -116,6 +123,9 @@ public class MethodInfo extends FileComponent {
      * @return {@code Method} declaration
      */
     public String getDeclaration() {
+        if (this.declaration == null && this.classFile != null) {
+            this.declaration = this.classFile.getDeclaration(this);
+        }
         return this.declaration;
     }
 }
@@ -6,15 +6,10 @@
  */
 package org.freeinternals.format.classfile;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-import org.freeinternals.commonlib.core.BytesTool;
-import org.freeinternals.commonlib.core.PosByteArrayInputStream;
-import org.freeinternals.commonlib.core.PosDataInputStream;
+import org.freeinternals.commonlib.core.ByteArraySlice;
 
 /**
  * Opcode parser to interpret the Java {@code code} byte array into human
@@ -27,15 +22,13 @@ import org.freeinternals.commonlib.core.PosDataInputStream;
  */
 public final class Opcode {
 
-    private static final Logger LOG = Logger.getLogger(Opcode.class.getName());
-
     /**
      * Opcode and non {@link ClassFile#constant_pool} index value. Example:
      * <code>bipush + immediate vlaue</code>,
      * <code>lload + local frame vlaue</code>
      */
-    private static final String FORMAT_OPCODE_NUMBER = "%s %d";
-    private static final String FORMAT_OPCODE_LOCAL_IINC = "%s index = %d const = %d";
+    static final String FORMAT_OPCODE_NUMBER = "%s %d";
+    static final String FORMAT_OPCODE_LOCAL_IINC = "%s index = %d const = %d";
 
     /**
      * The Java Virtual Machine Instruction Set.
@@ -133,16 +126,7 @@ public final class Opcode {
          * The immediate byte is sign-extended to an int value. That value is
          * pushed onto the operand stack.
          */
-        bipush(16) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                int intermediateByteValue = pdis.readUnsignedByte();
-
-                InstructionParsed parsed = new InstructionParsed(curPos, this.code);
-                parsed.opCodeText = String.format(FORMAT_OPCODE_NUMBER, this.name(), intermediateByteValue);
-                return parsed;
-            }
-        },
+        bipush(16),
         /**
          * Push the immediate short value.
          *
@@ -152,31 +136,14 @@ public final class Opcode {
          * The intermediate value is then sign-extended to an int value. That
          * value is pushed onto the operand stack.
          */
-        sipush(17) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                int intermediateShortValue = pdis.readUnsignedShort();
-
-                InstructionParsed parsed = new InstructionParsed(curPos, this.code);
-                parsed.opCodeText = String.format(FORMAT_OPCODE_NUMBER, this.name(), intermediateShortValue);
-                return parsed;
-            }
-        },
+        sipush(17),
         /**
          * Push item from runtime constant pool.
          *
          * The index is an unsigned byte that must be a valid index into the
          * runtime constant pool of the current class.
          */
-        ldc(18) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                InstructionParsed parsed = new InstructionParsed(curPos, this.code);
-                parsed.cpIndex = pdis.readUnsignedByte();
-                parsed.opCodeText = this.name();
-                return parsed;
-            }
-        },
+        ldc(18),
         /**
          * Push item from run-time constant pool (wide index).
          *
@@ -185,30 +152,14 @@ public final class Opcode {
          * The index must be a valid index into the run-time constant pool of
          * the current class.
          */
-        ldc_w(19) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                InstructionParsed parsed = new InstructionParsed(curPos, this.code);
-                parsed.cpIndex = pdis.readUnsignedShort();
-                parsed.opCodeText = this.name();
-                return parsed;
-            }
-        },
+        ldc_w(19),
         /**
          * Push long or double from runtime constant pool (wide index).
          *
          * The unsigned indexbyte1 and indexbyte2 are assembled into an unsigned
          * 16-bit index into the run-time constant pool of the current class.
          */
-        ldc2_w(20) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                InstructionParsed parsed = new InstructionParsed(curPos, this.code);
-                parsed.cpIndex = pdis.readUnsignedShort();
-                parsed.opCodeText = this.name();
-                return parsed;
-            }
-        },
+        ldc2_w(20),
         /**
          * Load int from local variable at <code>index</code>.
          *
@@ -217,12 +168,7 @@ public final class Opcode {
          * index must contain an int. The value of the local variable at index
          * is pushed onto the operand stack.
          */
-        iload(21) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Lvindex_UnsignedByte(curPos, pdis);
-            }
-        },
+        iload(21),
         /**
          * Load long from local variable at <code>index</code>.
          *
@@ -231,12 +177,7 @@ public final class Opcode {
          * The local variable at index must contain a long. The value of the
          * local variable at index is pushed onto the operand stack.
          */
-        lload(22) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Lvindex_UnsignedByte(curPos, pdis);
-            }
-        },
+        lload(22),
         /**
          * Load float from local variable at <code>index</code>.
          *
@@ -245,12 +186,7 @@ public final class Opcode {
          * index must contain a float. The value of the local variable at index
          * is pushed onto the operand stack.
          */
-        fload(23) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Lvindex_UnsignedByte(curPos, pdis);
-            }
-        },
+        fload(23),
         /**
          * Load double from local variable at <code>index</code>.
          *
@@ -259,12 +195,7 @@ public final class Opcode {
          * The local variable at index must contain a double. The value of the
          * local variable at index is pushed onto the operand stack.
          */
-        dload(24) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Lvindex_UnsignedByte(curPos, pdis);
-            }
-        },
+        dload(24),
         /**
          * Load reference from local variable at <code>index</code>.
          *
@@ -273,12 +204,7 @@ public final class Opcode {
          * index must contain a reference. The objectref in the local variable
          * at index is pushed onto the operand stack.
          */
-        aload(25) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Lvindex_UnsignedByte(curPos, pdis);
-            }
-        },
+        aload(25),
         /**
          * Load int from local variable at index 0.
          *
@@ -524,12 +450,7 @@ public final class Opcode {
          * operand stack, and the value of the local variable at index is set to
          * value.
          */
-        istore(54) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Lvindex_UnsignedByte(curPos, pdis);
-            }
-        },
+        istore(54),
         /**
          * Store long into local variable at <code>index</code>.
          *
@@ -540,12 +461,7 @@ public final class Opcode {
          * local variables at <code>index</code> and <code>index+1</code> are
          * set to value.
          */
-        lstore(55) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Lvindex_UnsignedByte(curPos, pdis);
-            }
-        },
+        lstore(55),
         /**
          * Store float into local variable at <code>index</code>.
          *
@@ -555,12 +471,7 @@ public final class Opcode {
          * operand stack and undergoes value set conversion, resulting in value.
          * The value of the local variable at index is set to value.
          */
-        fstore(56) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Lvindex_UnsignedByte(curPos, pdis);
-            }
-        },
+        fstore(56),
         /**
          * Store double into local variable at <code>index</code>.
          *
@@ -572,12 +483,7 @@ public final class Opcode {
          * variables at <code>index</code> and <code>index+1</code> are set to
          * value.
          */
-        dstore(57) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Lvindex_UnsignedByte(curPos, pdis);
-            }
-        },
+        dstore(57),
         /**
          * Store reference into local variable at <code>index</code>.
          *
@@ -587,12 +493,7 @@ public final class Opcode {
          * reference. It is popped from the operand stack, and the value of the
          * local variable at <code>index</code> is set to objectref.
          */
-        astore(58) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Lvindex_UnsignedByte(curPos, pdis);
-            }
-        },
+        astore(58),
         /**
          * Store int into local variable at index 0.
          *
@@ -1152,16 +1053,7 @@ public final class Opcode {
          * const is first sign-extended to an int, and then the local variable
          * at index is incremented by that amount.
          */
-        iinc(132) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                InstructionParsed parsed = new InstructionParsed(curPos, this.code);
-                parsed.lvIndex = pdis.readUnsignedByte();
-                int immediateSignedByteValue = pdis.readByte();
-                parsed.opCodeText = String.format(FORMAT_OPCODE_LOCAL_IINC, this.name(), parsed.lvIndex, immediateSignedByteValue);
-                return parsed;
-            }
-        },
+        iinc(132),
         /**
          * Convert int to long, in current Operand Stack
          * <code>..., value</code>.
@@ -1311,90 +1203,20 @@ public final class Opcode {
          *
          * ifeq succeeds if and only if value = 0.
          */
-        ifeq(153) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Branchbyte_Short(curPos, pdis);
-            }
-        },
-        ifne(154) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Branchbyte_Short(curPos, pdis);
-            }
-        },
-        iflt(155) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Branchbyte_Short(curPos, pdis);
-            }
-        },
-        ifge(156) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Branchbyte_Short(curPos, pdis);
-            }
-        },
-        ifgt(157) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Branchbyte_Short(curPos, pdis);
-            }
-        },
-        ifle(158) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Branchbyte_Short(curPos, pdis);
-            }
-        },
-        if_icmpeq(159) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Branchbyte_Short(curPos, pdis);
-            }
-        },
-        if_icmpne(160) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Branchbyte_Short(curPos, pdis);
-            }
-        },
-        if_icmplt(161) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Branchbyte_Short(curPos, pdis);
-            }
-        },
-        if_icmpge(162) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Branchbyte_Short(curPos, pdis);
-            }
-        },
-        if_icmpgt(163) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Branchbyte_Short(curPos, pdis);
-            }
-        },
-        if_icmple(164) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Branchbyte_Short(curPos, pdis);
-            }
-        },
-        if_acmpeq(165) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Branchbyte_Short(curPos, pdis);
-            }
-        },
-        if_acmpne(166) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Branchbyte_Short(curPos, pdis);
-            }
-        },
+        ifeq(153),
+        ifne(154),
+        iflt(155),
+        ifge(156),
+        ifgt(157),
+        ifle(158),
+        if_icmpeq(159),
+        if_icmpne(160),
+        if_icmplt(161),
+        if_icmpge(162),
+        if_icmpgt(163),
+        if_icmple(164),
+        if_acmpeq(165),
+        if_acmpne(166),
         /**
          * Branch always.
          *
@@ -1403,24 +1225,11 @@ public final class Opcode {
          *
          * @see #getName()
          */
-        goto_(167) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                InstructionParsed parsed = new InstructionParsed(curPos, this.code);
-                parsed.branchbyte = Integer.valueOf(pdis.readShort());
-                parsed.opCodeText = this.getName();
-                return parsed;
-            }
-        },
+        goto_(167),
         /**
          * Jump subroutine.
          */
-        jsr(168) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Branchbyte_Short(curPos, pdis);
-            }
-        },
+        jsr(168),
         /**
          * Return from subroutine.
          *
@@ -1430,52 +1239,15 @@ public final class Opcode {
          * the Java Virtual Machine's pc register, and execution continues
          * there.
          */
-        ret(169) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Lvindex_UnsignedByte(curPos, pdis);
-            }
-        },
+        ret(169),
         /**
          * Access jump table by index and jump.
          */
-        tableswitch(170) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                // 0-3 byte pad, when needed
-                super.skipPad(pdis);
-
-                InstructionParsed parsed = new InstructionParsed(curPos, this.code);
-
-                parsed.tableSwitch = new TableSwitch(pdis.readInt(), pdis.readInt(), pdis.readInt());
-                for (int i = parsed.tableSwitch.lowbyte; i <= parsed.tableSwitch.highbyte; i++) {
-                    parsed.tableSwitch.jumpoffsets.put(i, pdis.readInt());
-                }
-
-                parsed.opCodeText = String.format("%s %s", this.name(), parsed.tableSwitch.toString(curPos));
-                return parsed;
-            }
-        },
+        tableswitch(170),
         /**
          * Access jump table by key match and jump.
          */
-        lookupswitch(171) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                // 0-3 byte pad, when needed
-                super.skipPad(pdis);
-
-                InstructionParsed parsed = new InstructionParsed(curPos, this.code);
-
-                parsed.lookupSwitch = new LookupSwitch(pdis.readInt(), pdis.readInt());
-                for (int i = 0; i < parsed.lookupSwitch.npairs; i++) {
-                    parsed.lookupSwitch.mapoffsets.put(pdis.readInt(), pdis.readInt());
-                }
-
-                parsed.opCodeText = String.format("%s %s", this.name(), parsed.lookupSwitch.toString(curPos));
-                return parsed;
-            }
-        },
+        lookupswitch(171),
         /**
          * Return int from method.
          *
@@ -1537,26 +1309,14 @@ public final class Opcode {
          * @see #ireturn
          * @see #getName()
          */
-        return_(177) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                InstructionParsed parsed = new InstructionParsed(curPos, this.code);
-                parsed.opCodeText = this.getName();
-                return parsed;
-            }
-        },
+        return_(177),
         /**
          * Get static field from class.
          *
          * The value of the class or interface field is fetched and pushed onto
          * the operand stack.
          */
-        getstatic(178) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Cpindex_UnsignedShort(curPos, pdis);
-            }
-        },
+        getstatic(178),
         /**
          * Set static field in class.
          *
@@ -1564,88 +1324,36 @@ public final class Opcode {
          * declared the resolved field is initialized if that class or interface
          * has not already been initialized.
          */
-        putstatic(179) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Cpindex_UnsignedShort(curPos, pdis);
-            }
-        },
+        putstatic(179),
         /**
          * Fetch field from object.
          */
-        getfield(180) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Cpindex_UnsignedShort(curPos, pdis);
-            }
-        },
+        getfield(180),
         /**
          * Set field in object.
          */
-        putfield(181) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Cpindex_UnsignedShort(curPos, pdis);
-            }
-        },
+        putfield(181),
         /**
          * Invoke instance method; dispatch based on class.
          */
-        invokevirtual(182) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Cpindex_UnsignedShort(curPos, pdis);
-            }
-        },
+        invokevirtual(182),
         /**
          * Invoke instance method; direct invocation of instance initialization
          * methods and methods of the current class and its super types.
          */
-        invokespecial(183) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Cpindex_UnsignedShort(curPos, pdis);
-            }
-        },
+        invokespecial(183),
         /**
          * Invoke a class (static) method.
          */
-        invokestatic(184) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Cpindex_UnsignedShort(curPos, pdis);
-            }
-        },
+        invokestatic(184),
         /**
          * Invoke interface method.
          */
-        invokeinterface(185) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                InstructionParsed parsed = new InstructionParsed(curPos, this.code);
-                parsed.cpIndex = pdis.readUnsignedShort();
-                int nArgs = pdis.readUnsignedByte();
-                BytesTool.skipBytes(pdis, 1);
-
-                parsed.opCodeText = String.format("%s interface=%d, nargs=%d", this.name(), parsed.cpIndex, nArgs);
-                return parsed;
-            }
-        },
+        invokeinterface(185),
         /**
          * Invoke a dynamically-computed call site.
          */
-        invokedynamic(186) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                InstructionParsed parsed = new InstructionParsed(curPos, this.code);
-                parsed.cpIndex = pdis.readUnsignedShort();
-                
-                // Skip 2 zero bytes
-                BytesTool.skipBytes(pdis, 2);
-                parsed.opCodeText = this.name();
-                return parsed;
-            }
-        },
+        invokedynamic(186),
         /**
          * Create new object.
          *
@@ -1654,15 +1362,7 @@ public final class Opcode {
          *
          * @see #getName()
          */
-        new_(187) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                InstructionParsed parsed = new InstructionParsed(curPos, this.code);
-                parsed.cpIndex = pdis.readUnsignedShort();
-                parsed.opCodeText = this.getName();
-                return parsed;
-            }
-        },
+        new_(187),
         /**
          * Create new array.
          *
@@ -1670,16 +1370,7 @@ public final class Opcode {
          * must take one of the following values in {@link NewarrayType}.
          *
          */
-        newarray(188) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                InstructionParsed parsed = new InstructionParsed(curPos, this.code);
-
-                int arrayType = pdis.readUnsignedByte();
-                parsed.opCodeText = String.format("%s %s", Opcode.Instruction.newarray.name(), NewarrayType.getName(arrayType));
-                return parsed;
-            }
-        },
+        newarray(188),
         /**
          * Create new array of reference.
          *
@@ -1687,12 +1378,7 @@ public final class Opcode {
          * dimension of an array of object references or part of a
          * multidimensional array.
          */
-        anewarray(189) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Cpindex_UnsignedShort(curPos, pdis);
-            }
-        },
+        anewarray(189),
         /**
          * Get length of array.
          */
@@ -1704,12 +1390,7 @@ public final class Opcode {
         /**
          * Check whether object is of given type.
          */
-        checkcast(192) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                return super.parse_Cpindex_UnsignedShort(curPos, pdis);
-            }
-        },
+        checkcast(192),
         /**
          * Determine if object is of given type.
          *
@@ -1718,15 +1399,7 @@ public final class Opcode {
          *
          * @see #getName()
          */
-        instanceof_(193) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                InstructionParsed parsed = new InstructionParsed(curPos, this.code);
-                parsed.cpIndex = pdis.readUnsignedShort();
-                parsed.opCodeText = this.getName();
-                return parsed;
-            }
-        },
+        instanceof_(193),
         /**
          * Enter monitor for object.
          *
@@ -1752,127 +1425,27 @@ public final class Opcode {
          *
          * TODO - Refactor this method
          */
-        wide(196) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                InstructionParsed parsed = new InstructionParsed(curPos, this.code);
-                parsed.opCodeText = this.getText_wide(pdis);
-                return parsed;
-            }
-
-            private String getText_wide(final PosDataInputStream pdis) throws IOException {
-                final int opcode = pdis.readUnsignedByte();
-                String opCodeText;
-
-                int shortValue;
-                int shortValue2;
-
-                if (opcode == Opcode.Instruction.iload.code) {
-                    shortValue = pdis.readUnsignedShort();
-                    opCodeText = String.format(FORMAT_OPCODE_NUMBER, Instruction.getWideName(Opcode.Instruction.iload.name()), shortValue);
-                } else if (opcode == Opcode.Instruction.lload.code) {
-                    shortValue = pdis.readUnsignedShort();
-                    opCodeText = String.format(FORMAT_OPCODE_NUMBER, Instruction.getWideName(Opcode.Instruction.lload.name()), shortValue);
-                } else if (opcode == Opcode.Instruction.fload.code) {
-                    shortValue = pdis.readUnsignedShort();
-                    opCodeText = String.format(FORMAT_OPCODE_NUMBER, Instruction.getWideName(Opcode.Instruction.fload.name()), shortValue);
-                } else if (opcode == Opcode.Instruction.dload.code) {
-                    shortValue = pdis.readUnsignedShort();
-                    opCodeText = String.format(FORMAT_OPCODE_NUMBER, Instruction.getWideName(Opcode.Instruction.dload.name()), shortValue);
-                } else if (opcode == Opcode.Instruction.aload.code) {
-                    shortValue = pdis.readUnsignedShort();
-                    opCodeText = String.format(FORMAT_OPCODE_NUMBER, Instruction.getWideName(Opcode.Instruction.aload.name()), shortValue);
-                } else if (opcode == Opcode.Instruction.istore.code) {
-                    shortValue = pdis.readUnsignedShort();
-                    opCodeText = String.format(FORMAT_OPCODE_NUMBER, Instruction.getWideName(Opcode.Instruction.istore.name()), shortValue);
-                } else if (opcode == Opcode.Instruction.lstore.code) {
-                    shortValue = pdis.readUnsignedShort();
-                    opCodeText = String.format(FORMAT_OPCODE_NUMBER, Instruction.getWideName(Opcode.Instruction.lstore.name()), shortValue);
-                } else if (opcode == Opcode.Instruction.fstore.code) {
-                    shortValue = pdis.readUnsignedShort();
-                    opCodeText = String.format(FORMAT_OPCODE_NUMBER, Instruction.getWideName(Opcode.Instruction.fstore.name()), shortValue);
-                } else if (opcode == Opcode.Instruction.dstore.code) {
-                    shortValue = pdis.readUnsignedShort();
-                    opCodeText = String.format(FORMAT_OPCODE_NUMBER, Instruction.getWideName(Opcode.Instruction.dstore.name()), shortValue);
-                } else if (opcode == Opcode.Instruction.astore.code) {
-                    shortValue = pdis.readUnsignedShort();
-                    opCodeText = String.format(FORMAT_OPCODE_NUMBER, Instruction.getWideName(Opcode.Instruction.astore.name()), shortValue);
-                } else if (opcode == Opcode.Instruction.iinc.code) {
-                    shortValue = pdis.readUnsignedShort();
-                    shortValue2 = pdis.readUnsignedShort();
-                    opCodeText = String.format(FORMAT_OPCODE_LOCAL_IINC, Instruction.getWideName(Opcode.Instruction.iinc.name()), shortValue, shortValue2);
-                } else if (opcode == Opcode.Instruction.ret.code) {
-                    shortValue = pdis.readUnsignedShort();
-                    opCodeText = String.format(FORMAT_OPCODE_NUMBER, Instruction.getWideName(Opcode.Instruction.ret.name()), shortValue);
-                } else {
-                    opCodeText = String.format("%s [Unknown opcode]", Opcode.Instruction.wide.name());
-                }
-
-                return opCodeText;
-            }
-
-        },
+        wide(196),
         /**
          * Create new multidimensional array.
          */
-        multianewarray(197) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                InstructionParsed parsed = new InstructionParsed(curPos, this.code);
-                parsed.cpIndex = pdis.readUnsignedShort();
-                int dimensions = pdis.readUnsignedByte();
-                parsed.opCodeText = String.format("%s type=%d dimensions=%d", this.name(), parsed.cpIndex, dimensions);
-                return parsed;
-            }
-        },
+        multianewarray(197),
         /**
          * Branch if reference is null.
          */
-        ifnull(198) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                InstructionParsed parsed = new InstructionParsed(curPos, this.code);
-                parsed.branchbyte = pdis.readUnsignedShort();
-                parsed.opCodeText = this.name();
-                return parsed;
-            }
-        },
+        ifnull(198),
         /**
          * Branch if reference not null.
          */
-        ifnonnull(199) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                InstructionParsed parsed = new InstructionParsed(curPos, this.code);
-                parsed.branchbyte = pdis.readUnsignedShort();
-                parsed.opCodeText = this.name();
-                return parsed;
-            }
-        },
+        ifnonnull(199),
         /**
          * Branch always (wide index).
          */
-        goto_w(200) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                InstructionParsed parsed = new InstructionParsed(curPos, this.code);
-                parsed.branchbyte = pdis.readInt();
-                parsed.opCodeText = this.name();
-                return parsed;
-            }
-        },
+        goto_w(200),
         /**
          * Jump subroutine (wide index).
          */
-        jsr_w(201) {
-            @Override
-            protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-                InstructionParsed parsed = new InstructionParsed(curPos, this.code);
-                parsed.branchbyte = pdis.readInt();
-                parsed.opCodeText = this.name();
-                return parsed;
-            }
-        },
+        jsr_w(201),
         /**
          * Reserved opcode <code>breakpoint</code>.
          */
@@ -1892,6 +1465,37 @@ public final class Opcode {
 
         public static final String OPCODE_NAME_RESERVED_PREFIX = "[Reserved] ";
 
+        /**
+         * Instructions indexed by {@link #code}, {@link #UNKNOWN} for the
+         * undefined opcodes.
+         */
+        private static final Instruction[] BY_CODE = new Instruction[256];
+        /**
+         * Value of {@link #getName()} indexed by {@link #code}.
+         */
+        private static final String[] NAMES = new String[256];
+        /**
+         * Value of {@link #getText()} indexed by {@link #code}.
+         */
+        private static final String[] TEXTS = new String[256];
+
+        static {
+            java.util.Arrays.fill(BY_CODE, UNKNOWN);
+            for (Instruction i : Instruction.values()) {
+                if (i.code >= 0) {
+                    BY_CODE[i.code] = i;
+                }
+            }
+            for (int code = 0; code < BY_CODE.length; code++) {
+                String text = BY_CODE[code].name();
+                if (text.endsWith("_")) {
+                    text = text.substring(0, text.length() - 1);
+                }
+                TEXTS[code] = text;
+                NAMES[code] = BY_CODE[code].reserved ? Instruction.OPCODE_NAME_RESERVED_PREFIX + text : text;
+            }
+        }
+
         /**
          * Internal code for an Instruction.
          */
@@ -1922,16 +1526,17 @@ public final class Opcode {
          * @see #reserved
          */
         String getName() {
-            String name = super.name();
-
-            if (name.endsWith("_")) {
-                name = name.substring(0, name.length() - 1);
-            }
-            if (this.reserved) {
-                name = Instruction.OPCODE_NAME_RESERVED_PREFIX + name;
-            }
+            return (this == UNKNOWN) ? OPCODE_NAME_RESERVED_PREFIX + this.name() : NAMES[this.code];
+        }
 
-            return name;
+        /**
+         * Get the name used in the instruction text, which is
+         * {@link #getName()} without the {@link #OPCODE_NAME_RESERVED_PREFIX}.
+         *
+         * @return Name in the instruction text
+         */
+        String getText() {
+            return (this == UNKNOWN) ? this.name() : TEXTS[this.code];
         }
 
         /**
@@ -1950,58 +1555,7 @@ public final class Opcode {
          * @return Opcode name
          */
         public static Instruction valueOf(int opcode) {
-            Instruction result = Instruction.UNKNOWN;
-            for (Instruction i : Instruction.values()) {
-                if (i.code == opcode) {
-                    result = i;
-                    break;
-                }
-            }
-
-            return result;
-        }
-
-        protected InstructionParsed parse(final int curPos, final PosDataInputStream pdis) throws IOException {
-            InstructionParsed parsed = new InstructionParsed(curPos, this.code);
-            parsed.opCodeText = this.name();
-            return parsed;
-
-        }
-
-        private InstructionParsed parse_Branchbyte_Short(final int curPos, final PosDataInputStream pdis) throws IOException {
-            InstructionParsed parsed = new InstructionParsed(curPos, this.code);
-            parsed.branchbyte = Integer.valueOf(pdis.readShort());
-            parsed.opCodeText = this.name();
-            return parsed;
-        }
-
-        private InstructionParsed parse_Cpindex_UnsignedShort(final int curPos, final PosDataInputStream pdis) throws IOException {
-            InstructionParsed parsed = new InstructionParsed(curPos, this.code);
-            parsed.cpIndex = pdis.readUnsignedShort();
-            parsed.opCodeText = this.name();
-            return parsed;
-        }
-
-        private InstructionParsed parse_Lvindex_UnsignedByte(final int curPos, final PosDataInputStream pdis) throws IOException {
-            InstructionParsed parsed = new InstructionParsed(curPos, this.code);
-            parsed.lvIndex = pdis.readUnsignedByte();
-            parsed.opCodeText = String.format(FORMAT_OPCODE_NUMBER, this.name(), parsed.lvIndex);
-            return parsed;
-        }
-
-        /**
-         * Skip 0-3 byte pad when needed, for {@link #tableswitch} and
-         * {@link #lookupswitch}.
-         *
-         * @see #tableswitch
-         * @see #lookupswitch
-         */
-        private void skipPad(final PosDataInputStream pdis) throws IOException {
-            int skip = pdis.getPos() % 4;
-            skip = (skip > 0) ? 4 - skip : skip;
-            if (skip > 0) {
-                BytesTool.skipBytes(pdis, skip);
-            }
+            return (opcode >= 0 && opcode < BY_CODE.length) ? BY_CODE[opcode] : Instruction.UNKNOWN;
         }
 
     }
@@ -2049,6 +1603,16 @@ public final class Opcode {
         }
     }
 
+    /**
+     * Decode the java byte code in a method.
+     *
+     * @param code Bytes of method source code, without copying
+     * @return Decoded instructions
+     */
+    public static InstructionStream decode(final ByteArraySlice code) {
+        return new InstructionStream((code != null) ? code : new ByteArraySlice(new byte[0]));
+    }
+
     /**
      * Parse the java byte code in a method as a string.
      *
@@ -2060,22 +1624,25 @@ public final class Opcode {
             return new ArrayList<>();
         }
 
-        List<InstructionParsed> codeResult = new ArrayList<>();
-        final PosDataInputStream pdis = new PosDataInputStream(new PosByteArrayInputStream(code));
-        while (pdis.getPos() < code.length) {
-            try {
-                final int curPos = pdis.getPos();
-                final int opcode = pdis.read();
+        return parseCode(new ByteArraySlice(code));
+    }
 
-                codeResult.add(Instruction.valueOf(opcode).parse(curPos, pdis));
-            } catch (IOException ioe) {
-                LOG.log(Level.SEVERE, "parseCode() with code length - {0}", code.length);
-                LOG.log(Level.SEVERE, ioe.toString(), ioe);
-                // We keep the System.err here, in case there is no logger settings exist
-                System.err.println("parseCode() with code length - " + code.length);
-                System.err.println(ioe.toString());
-                break;
-            }
+    /**
+     * Parse the java byte code in a method as a string.
+     *
+     * @param code Bytes of method source code, without copying
+     * @return Readable string of the method source code
+     * @see #decode(ByteArraySlice)
+     */
+    public static List<InstructionParsed> parseCode(final ByteArraySlice code) {
+        if ((code == null) || (code.length() < 1)) {
+            return new ArrayList<>();
+        }
+
+        final InstructionStream stream = decode(code);
+        final List<InstructionParsed> codeResult = new ArrayList<>(stream.size());
+        for (int i = 0; i < stream.size(); i++) {
+            codeResult.add(new InstructionParsed(stream, i));
         }
 
         return codeResult;
@@ -2174,10 +1741,21 @@ public final class Opcode {
         /**
          * Text of the {@link #opCode}. In case {@link #opCode} is
          * {@link Instruction#wide}, the {@link #opCodeText} contains the
-         * following opCode after <code>wide</code> also.
+         * following opCode after <code>wide</code> also. It is created on first
+         * use.
          */
         protected String opCodeText;
 
+        /**
+         * The decoded instructions.
+         */
+        private final InstructionStream stream;
+
+        /**
+         * Index of this instruction in {@link #stream}.
+         */
+        private final int index;
+
         /**
          * Referenced {@link ClassFile#constant_pool} object index if exist. It
          * will be <code>null</code> if the {@link Instruction} did not
@@ -2252,10 +1830,27 @@ public final class Opcode {
          */
         protected TableSwitch tableSwitch = null;
 
-        InstructionParsed(int curPos, int opcode) {
-            this.offset = curPos;
-            this.opCode = opcode;
-            this.opCodeName = Instruction.valueOf(opcode).getName();
+        InstructionParsed(final InstructionStream stream, final int index) {
+            final Instruction instruction = stream.getInstruction(index);
+            this.offset = stream.getOffset(index);
+            this.opCode = instruction.code;
+            this.opCodeName = instruction.getName();
+            this.stream = stream;
+            this.index = index;
+
+            final int cp = stream.getCpIndex(index);
+            if (cp >= 0) {
+                this.cpIndex = cp;
+            }
+            if (stream.isBranch(index)) {
+                this.branchbyte = stream.getBranchOffset(index);
+            }
+            if (instruction != Instruction.wide) {
+                final int lv = stream.getLocalIndex(index);
+                if (lv >= 0) {
+                    this.lvIndex = lv;
+                }
+            }
         }
 
         /**
@@ -2276,6 +1871,9 @@ public final class Opcode {
          * @return {@link #opCodeText} value
          */
         public String getOpcodeText() {
+            if (this.opCodeText == null) {
+                this.opCodeText = this.stream.getText(this.index);
+            }
             return this.opCodeText;
         }
 
@@ -2296,6 +1894,9 @@ public final class Opcode {
          * instruction is not {@link Instruction#lookupswitch}
          */
         public LookupSwitch getLookupSwitch() {
+            if (this.lookupSwitch == null) {
+                this.lookupSwitch = this.stream.getLookupSwitch(this.index);
+            }
             return this.lookupSwitch;
         }
 
@@ -2306,12 +1907,15 @@ public final class Opcode {
          * instruction is not {@link Instruction#tableswitch}
          */
         public TableSwitch getTableSwitch() {
+            if (this.tableSwitch == null) {
+                this.tableSwitch = this.stream.getTableSwitch(this.index);
+            }
             return this.tableSwitch;
         }
 
         @Override
         public String toString() {
-            String s = String.format("%04d: %s", this.offset, this.opCodeText);
+            String s = String.format("%04d: %s", this.offset, this.getOpcodeText());
 
             if (this.branchbyte != null) {
                 String branch = String.format(" %d (branch byte offset = %d)", this.getAbsoluteBranchByte(), this.branchbyte);
@@ -8,7 +8,10 @@ package org.freeinternals.format.classfile;
 
 import org.freeinternals.format.classfile.attribute.AttributeSignature;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.freeinternals.commonlib.core.FileFormatException;
 import org.freeinternals.format.classfile.attribute.AttributeSignature.ReferenceType;
 
@@ -16,6 +19,17 @@ import org.freeinternals.format.classfile.attribute.AttributeSignature.Reference
  * Convert the Internal Form of Names into java language specification type
  * names.
  *
+ * <p>
+ * Descriptors and signatures are parsed once into immutable
+ * {@link SignatureResult}, {@link MethodDescriptor} and
+ * {@link GenericSignature} objects, which are kept in bounded caches keyed by
+ * the descriptor string. The same descriptors repeat in almost every class of
+ * a code base, like <code>()V</code> or <code>Ljava/lang/String;</code>, so
+ * most calls return a cached object without parsing. The caches are
+ * thread-safe and hold at most twice their capacity; the entries not used for
+ * a while are dropped first.
+ * </p>
+ *
  * @author Amos Shi
  * @see
  * <a href="https://docs.oracle.com/javase/specs/jvms/se12/html/jvms-4.html#jvms-4.2">
@@ -53,6 +67,24 @@ final public class SignatureConvertor {
      */
     public static final char METHODDESCRIPTOR_RIGHT = ')';
 
+    /**
+     * Count of entries each cache keeps before its older entries are dropped.
+     */
+    static final int CACHE_CAPACITY = 32768;
+
+    /**
+     * Parsed field descriptors.
+     */
+    private static final Cache<SignatureResult> FIELD_DESCRIPTORS = new Cache<>(CACHE_CAPACITY);
+    /**
+     * Parsed method descriptors.
+     */
+    private static final Cache<MethodDescriptor> METHOD_DESCRIPTORS = new Cache<>(CACHE_CAPACITY);
+    /**
+     * Parsed generic signatures.
+     */
+    private static final Cache<GenericSignature> GENERIC_SIGNATURES = new Cache<>(CACHE_CAPACITY);
+
     /**
      * Get return type from method descriptor
      * {@link MethodInfo#descriptor_index}.
@@ -69,6 +101,21 @@ final public class SignatureConvertor {
         if (signature == null) {
             throw new IllegalArgumentException("'signature' should not be null.");
         }
+
+        final MethodDescriptor cached = METHOD_DESCRIPTORS.get(signature);
+        if (cached != null) {
+            return cached.ReturnType;
+        }
+        try {
+            return MethodDescriptorExtractor(signature).ReturnType;
+        } catch (IllegalArgumentException | FileFormatException ex) {
+            // The parameters may be invalid while the return type is not
+            return parseMethodReturnType(signature);
+        }
+    }
+
+    private static SignatureResult parseMethodReturnType(final String signature)
+            throws FileFormatException {
         if (signature.length() < 3) {
             throw new IllegalArgumentException("'signature' should be more than 2 characters.");
         }
@@ -103,31 +150,44 @@ final public class SignatureConvertor {
      */
     public static String MethodParameters2Readable(final String signature)
             throws FileFormatException {
-        List<SignatureResult> paramters = MethodParametersSplit(signature);
-        StringBuilder result = new StringBuilder();
-
-        result.append(METHODDESCRIPTOR_LEFT);
-        int size = paramters.size();
-        if (size > 0) {
-            for (int i = 0; i < size; i++) {
-                result.append(paramters.get(i).toString());
-                if (i != size - 1) {
-                    result.append(',');
-                }
-            }
-        }
-        result.append(METHODDESCRIPTOR_RIGHT);
-
-        return result.toString();
+        return MethodDescriptorExtractor(signature).ParametersReadable;
     }
 
     // (com/sun/java/accessibility/AccessBridge;Ljavax/accessibility/AccessibleContext;)V
     public static List<SignatureResult> MethodParametersSplit(final String signature)
             throws FileFormatException {
-        // check parameter
+        return new ArrayList<>(MethodDescriptorExtractor(signature).Parameters);
+    }
+
+    /**
+     * Parse a method descriptor {@link MethodInfo#descriptor_index}. The
+     * result is shared by all callers with the same descriptor.
+     *
+     * @param signature JVM internal format of method signature
+     * @return Parsed method descriptor
+     * @throws FileFormatException Invalid signature string found
+     * @see
+     * <a href="https://docs.oracle.com/javase/specs/jvms/se12/html/jvms-4.html#jvms-4.3.3">
+     * VM Spec: Method Descriptors
+     * </a>
+     */
+    public static MethodDescriptor MethodDescriptorExtractor(final String signature)
+            throws FileFormatException {
         if (signature == null) {
             throw new IllegalArgumentException("'signature' should not be null.");
         }
+
+        MethodDescriptor descriptor = METHOD_DESCRIPTORS.get(signature);
+        if (descriptor == null) {
+            descriptor = new MethodDescriptor(parseMethodParameters(signature), parseMethodReturnType(signature));
+            METHOD_DESCRIPTORS.put(signature, descriptor);
+        }
+        return descriptor;
+    }
+
+    private static List<SignatureResult> parseMethodParameters(final String signature)
+            throws FileFormatException {
+        // check parameter
         if (signature.length() < 3) {
             throw new IllegalArgumentException("'signature' should be more than 2 characters.");
         }
@@ -141,39 +201,29 @@ final public class SignatureConvertor {
         //   '[': omited
         //   Primitive type; end
         //   'L': find the next ';', parse it; then end
-        StringBuilder sbParameter = new StringBuilder();
-        List<String> parameters = new ArrayList<>();
         List<SignatureResult> parametersResult = new ArrayList<>();
 
-        String rawParameters = signature.substring(1, bracketEnd + 1);  // com/sun/java/accessibility/AccessBridge;Ljavax/accessibility/AccessibleContext;)
-        while (rawParameters.charAt(0) != METHODDESCRIPTOR_RIGHT) {  // ')'
-            if (rawParameters.charAt(0) == '[') {
-                sbParameter.append(rawParameters.charAt(0));
-                rawParameters = rawParameters.substring(1);
-            } else if (AttributeSignature.BaseType.isPrimitiveType(rawParameters.charAt(0))) {
-                sbParameter.append(rawParameters.charAt(0));
-                rawParameters = rawParameters.substring(1);
-                // Add one parameter
-                parameters.add(sbParameter.toString());
-                sbParameter.setLength(0);
-                sbParameter.trimToSize();
-            } else if (rawParameters.charAt(0) == ReferenceType.ClassTypeSignature.signature) {     // 'L'
-                int commaIndex = rawParameters.indexOf(';');
-                sbParameter.append(rawParameters.substring(0, commaIndex + 1));
-                rawParameters = rawParameters.substring(commaIndex + 1);
-                // Add one parameter
-                parameters.add(sbParameter.toString());
-                sbParameter.setLength(0);
-                sbParameter.trimToSize();
+        int pos = 1;
+        int start = pos;
+        while (signature.charAt(pos) != METHODDESCRIPTOR_RIGHT) {  // ')'
+            final char c = signature.charAt(pos);
+            if (c == ReferenceType.ArrayTypeSignature.signature) {    // '['
+                pos++;
+                continue;
+            } else if (AttributeSignature.BaseType.isPrimitiveType(c)) {
+                pos++;
+            } else if (c == ReferenceType.ClassTypeSignature.signature) {     // 'L'
+                final int commaIndex = signature.indexOf(';', pos);
+                if (commaIndex == -1 || commaIndex > bracketEnd) {
+                    throw new FileFormatException("Un-recognized method descriptor: " + signature);
+                }
+                pos = commaIndex + 1;
             } else {
                 throw new FileFormatException("Un-recognized method descriptor: " + signature);
             }
-        }
-
-        if (parameters.size() > 0) {
-            for (String s : parameters) {
-                parametersResult.add(FieldDescriptorExtractor(s));
-            }
+            // Add one parameter
+            parametersResult.add(FieldDescriptorExtractor(signature.substring(start, pos)));
+            start = pos;
         }
 
         return parametersResult;
@@ -203,6 +253,15 @@ final public class SignatureConvertor {
             throw new IllegalArgumentException("'signature' should not be null or empty.");
         }
 
+        SignatureResult result = FIELD_DESCRIPTORS.get(signature);
+        if (result == null) {
+            result = parseFieldDescriptor(signature);
+            FIELD_DESCRIPTORS.put(signature, result);
+        }
+        return result;
+    }
+
+    private static SignatureResult parseFieldDescriptor(final String signature) {
         String sig = signature;
         int arrayCount = 0;
         while (sig.charAt(0) == ReferenceType.ArrayTypeSignature.signature) {  // '['
@@ -227,6 +286,33 @@ final public class SignatureConvertor {
         return new SignatureResult(arrayCount, sig, sigJls);
     }
 
+    /**
+     * Parse a generic signature of a {@code Signature} attribute, which
+     * can be a class signature, a method signature or a field signature. The
+     * result is shared by all callers with the same signature.
+     *
+     * @param signature JVM internal format of generic signature
+     * @return Parsed generic signature
+     * @throws FileFormatException Invalid signature string found
+     * @see
+     * <a href="https://docs.oracle.com/javase/specs/jvms/se12/html/jvms-4.html#jvms-4.7.9.1">
+     * VM Spec: Signatures
+     * </a>
+     */
+    public static GenericSignature GenericSignatureExtractor(final String signature)
+            throws FileFormatException {
+        if ((signature == null) || signature.isEmpty()) {
+            throw new IllegalArgumentException("'signature' should not be null or empty.");
+        }
+
+        GenericSignature result = GENERIC_SIGNATURES.get(signature);
+        if (result == null) {
+            result = new SignatureParser(signature).parse();
+            GENERIC_SIGNATURES.put(signature, result);
+        }
+        return result;
+    }
+
     /**
      * Convert class signature from JVM internal format to Java programming
      * language format.
@@ -286,11 +372,23 @@ final public class SignatureConvertor {
          */
         public final String TypePackage;
 
+        /**
+         * Readable format of the signature.
+         */
+        private final String readable;
+
         SignatureResult(int count, String bin, String jls) {
             this.ArrayDimension = count;
             this.TypeBinaryName = bin;
             this.TypeJLSName = jls;
             this.TypePackage = ParsePackage(bin);
+
+            final StringBuilder sb = new StringBuilder(jls);
+            while (count > 0) {
+                sb.append("[]");
+                count--;
+            }
+            this.readable = sb.toString();
         }
 
         /**
@@ -300,15 +398,370 @@ final public class SignatureConvertor {
          */
         @Override
         public String toString() {
+            return this.readable;
+        }
+    }
+
+    /**
+     * Parsed method descriptor.
+     *
+     * @see SignatureConvertor#MethodDescriptorExtractor(java.lang.String)
+     */
+    public static final class MethodDescriptor {
+
+        /**
+         * Types of the parameters, the list is unmodifiable.
+         */
+        public final List<SignatureResult> Parameters;
+        /**
+         * Return type; it is <code>void</code> when the method returns no
+         * value.
+         */
+        public final SignatureResult ReturnType;
+        /**
+         * Readable format of the parameters, like
+         * <code>(int,java.lang.String)</code>.
+         */
+        public final String ParametersReadable;
+
+        MethodDescriptor(final List<SignatureResult> parameters, final SignatureResult returnType) {
+            this.Parameters = Collections.unmodifiableList(parameters);
+            this.ReturnType = returnType;
+
             final StringBuilder sb = new StringBuilder();
-            int count = this.ArrayDimension;
-            sb.append(this.TypeJLSName);
-            while (count > 0) {
-                sb.append("[]");
-                count--;
+            sb.append(METHODDESCRIPTOR_LEFT);
+            for (int i = 0; i < parameters.size(); i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append(parameters.get(i).toString());
+            }
+            sb.append(METHODDESCRIPTOR_RIGHT);
+            this.ParametersReadable = sb.toString();
+        }
+
+        /**
+         * Get the readable format of the descriptor.
+         *
+         * @return Readable format of the descriptor
+         */
+        @Override
+        public String toString() {
+            return this.ParametersReadable + " : " + this.ReturnType.toString();
+        }
+    }
+
+    /**
+     * Parsed generic signature of a class, a method or a field. The types
+     * are in Java programming language format, like
+     * <code>java.util.List&lt;? extends T&gt;</code>.
+     *
+     * @see SignatureConvertor#GenericSignatureExtractor(java.lang.String)
+     */
+    public static final class GenericSignature {
+
+        /**
+         * Kind of a generic signature.
+         */
+        public enum Kind {
+
+            /**
+             * Class signature with its super class and interfaces.
+             */
+            CLASS,
+            /**
+             * Method signature.
+             */
+            METHOD,
+            /**
+             * A single reference type. It is a field signature, or a class
+             * signature having only a super class.
+             */
+            TYPE
+        }
+
+        /**
+         * Kind of the signature.
+         */
+        public final Kind SignatureKind;
+        /**
+         * Type parameters with their bounds, like
+         * <code>T extends java.lang.Comparable&lt;T&gt;</code>.
+         */
+        public final List<String> TypeParameters;
+        /**
+         * Super class followed by the super interfaces of a
+         * {@link Kind#CLASS}, or the type of a {@link Kind#TYPE}.
+         */
+        public final List<String> SuperTypes;
+        /**
+         * Parameter types of a {@link Kind#METHOD}.
+         */
+        public final List<String> Parameters;
+        /**
+         * Return type of a {@link Kind#METHOD}, <code>null</code> for the
+         * other kinds.
+         */
+        public final String ReturnType;
+        /**
+         * Thrown types of a {@link Kind#METHOD}.
+         */
+        public final List<String> Exceptions;
+
+        /**
+         * Readable format of the signature.
+         */
+        private final String readable;
+
+        GenericSignature(final Kind kind, final List<String> typeParameters, final List<String> superTypes,
+                final List<String> parameters, final String returnType, final List<String> exceptions) {
+            this.SignatureKind = kind;
+            this.TypeParameters = Collections.unmodifiableList(typeParameters);
+            this.SuperTypes = Collections.unmodifiableList(superTypes);
+            this.Parameters = Collections.unmodifiableList(parameters);
+            this.ReturnType = returnType;
+            this.Exceptions = Collections.unmodifiableList(exceptions);
+
+            final StringBuilder sb = new StringBuilder();
+            if (!typeParameters.isEmpty()) {
+                sb.append('<').append(String.join(", ", typeParameters)).append("> ");
+            }
+            switch (kind) {
+                case CLASS:
+                    sb.append("extends ").append(superTypes.get(0));
+                    if (superTypes.size() > 1) {
+                        sb.append(" implements ").append(String.join(", ", superTypes.subList(1, superTypes.size())));
+                    }
+                    break;
+                case METHOD:
+                    sb.append(returnType).append(' ').append(METHODDESCRIPTOR_LEFT)
+                            .append(String.join(",", parameters)).append(METHODDESCRIPTOR_RIGHT);
+                    if (!exceptions.isEmpty()) {
+                        sb.append(" throws ").append(String.join(", ", exceptions));
+                    }
+                    break;
+                default:
+                    sb.append(superTypes.get(0));
+                    break;
+            }
+            this.readable = sb.toString();
+        }
+
+        /**
+         * Get the readable format of the signature.
+         *
+         * @return Readable format of the signature
+         */
+        @Override
+        public String toString() {
+            return this.readable;
+        }
+    }
+
+    /**
+     * Recursive descent parser of a generic signature.
+     */
+    private static final class SignatureParser {
+
+        private final String signature;
+        private int pos = 0;
+
+        SignatureParser(final String signature) {
+            this.signature = signature;
+        }
+
+        GenericSignature parse() throws FileFormatException {
+            try {
+                final List<String> typeParameters = this.parseTypeParameters();
+                final List<String> superTypes = new ArrayList<>();
+                final List<String> parameters = new ArrayList<>();
+                final List<String> exceptions = new ArrayList<>();
+                final GenericSignature.Kind kind;
+                String returnType = null;
+
+                if (this.peek() == METHODDESCRIPTOR_LEFT) {
+                    kind = GenericSignature.Kind.METHOD;
+                    this.pos++;
+                    while (this.peek() != METHODDESCRIPTOR_RIGHT) {
+                        parameters.add(this.parseJavaType());
+                    }
+                    this.pos++;
+                    returnType = (this.peek() == 'V') ? this.voidType() : this.parseJavaType();
+                    while (this.pos < this.signature.length()) {
+                        this.expect('^');
+                        exceptions.add(this.parseReferenceType());
+                    }
+                } else {
+                    do {
+                        superTypes.add(this.parseReferenceType());
+                    } while (this.pos < this.signature.length());
+                    kind = (superTypes.size() > 1 || !typeParameters.isEmpty())
+                            ? GenericSignature.Kind.CLASS
+                            : GenericSignature.Kind.TYPE;
+                }
+                return new GenericSignature(kind, typeParameters, superTypes, parameters, returnType, exceptions);
+            } catch (StringIndexOutOfBoundsException ex) {
+                throw new FileFormatException("Un-recognized signature: " + this.signature);
+            }
+        }
+
+        private char peek() {
+            return this.signature.charAt(this.pos);
+        }
+
+        private void expect(final char c) throws FileFormatException {
+            if (this.signature.charAt(this.pos) != c) {
+                throw new FileFormatException(String.format("Un-recognized signature, '%c' expected at %d: %s", c, this.pos, this.signature));
+            }
+            this.pos++;
+        }
+
+        private String voidType() {
+            this.pos++;
+            return JavaLangSpec.Keyword.VOID;
+        }
+
+        private String identifier() throws FileFormatException {
+            final int start = this.pos;
+            while (this.pos < this.signature.length() && ":;<>.".indexOf(this.peek()) == -1) {
+                this.pos++;
+            }
+            if (this.pos == start) {
+                throw new FileFormatException(String.format("Un-recognized signature, identifier expected at %d: %s", start, this.signature));
+            }
+            return ParseClassSignature(this.signature.substring(start, this.pos));
+        }
+
+        private List<String> parseTypeParameters() throws FileFormatException {
+            final List<String> typeParameters = new ArrayList<>();
+            if (this.peek() != '<') {
+                return typeParameters;
+            }
+            this.pos++;
+            do {
+                final StringBuilder sb = new StringBuilder(this.identifier());
+                this.expect(':');
+                final List<String> bounds = new ArrayList<>();
+                if (this.peek() != ':' && this.peek() != '>') {
+                    bounds.add(this.parseReferenceType());  // class bound
+                }
+                while (this.peek() == ':') {
+                    this.pos++;
+                    bounds.add(this.parseReferenceType());  // interface bound
+                }
+                if (!bounds.isEmpty()) {
+                    sb.append(" extends ").append(String.join(" & ", bounds));
+                }
+                typeParameters.add(sb.toString());
+            } while (this.peek() != '>');
+            this.pos++;
+            return typeParameters;
+        }
+
+        private String parseJavaType() throws FileFormatException {
+            final char c = this.peek();
+            if (AttributeSignature.BaseType.isPrimitiveType(c)) {
+                this.pos++;
+                return AttributeSignature.BaseType.extractPrimitiveType(c);
+            }
+            return this.parseReferenceType();
+        }
+
+        private String parseReferenceType() throws FileFormatException {
+            final char c = this.peek();
+            if (c == ReferenceType.ClassTypeSignature.signature) {            // 'L'
+                return this.parseClassType();
+            } else if (c == ReferenceType.TypeVariableSignature.signature) {  // 'T'
+                this.pos++;
+                final String name = this.identifier();
+                this.expect(';');
+                return name;
+            } else if (c == ReferenceType.ArrayTypeSignature.signature) {     // '['
+                this.pos++;
+                return this.parseJavaType() + "[]";
+            }
+            throw new FileFormatException(String.format("Un-recognized signature, reference type expected at %d: %s", this.pos, this.signature));
+        }
+
+        private String parseClassType() throws FileFormatException {
+            this.expect(ReferenceType.ClassTypeSignature.signature);
+            final StringBuilder sb = new StringBuilder();
+            while (true) {
+                sb.append(this.identifier());
+                if (this.peek() == '<') {
+                    this.pos++;
+                    final List<String> arguments = new ArrayList<>();
+                    do {
+                        arguments.add(this.parseTypeArgument());
+                    } while (this.peek() != '>');
+                    this.pos++;
+                    sb.append('<').append(String.join(", ", arguments)).append('>');
+                }
+                if (this.peek() == JLS_NAME_SEPARATOR) {  // inner class of a parameterized class
+                    this.pos++;
+                    sb.append(JLS_NAME_SEPARATOR);
+                } else {
+                    this.expect(ReferenceType.ClassTypeSignatureSuffix.signature);
+                    return sb.toString();
+                }
+            }
+        }
+
+        private String parseTypeArgument() throws FileFormatException {
+            switch (this.peek()) {
+                case '*':
+                    this.pos++;
+                    return "?";
+                case '+':
+                    this.pos++;
+                    return "? extends " + this.parseReferenceType();
+                case '-':
+                    this.pos++;
+                    return "? super " + this.parseReferenceType();
+                default:
+                    return this.parseReferenceType();
+            }
+        }
+    }
+
+    /**
+     * A bounded concurrent cache keyed by strings. New entries go to the
+     * young generation; when it is full it becomes the old generation and the
+     * previous old generation is dropped, so entries in use are promoted back
+     * to the young generation and the others are released.
+     */
+    private static final class Cache<V> {
+
+        private final int capacity;
+        private volatile Map<String, V> young = new ConcurrentHashMap<>();
+        private volatile Map<String, V> old = new ConcurrentHashMap<>();
+
+        Cache(final int capacity) {
+            this.capacity = capacity;
+        }
+
+        V get(final String key) {
+            V value = this.young.get(key);
+            if (value == null) {
+                value = this.old.get(key);
+                if (value != null) {
+                    this.put(key, value);
+                }
             }
+            return value;
+        }
 
-            return sb.toString();
+        void put(final String key, final V value) {
+            final Map<String, V> y = this.young;
+            y.put(key, value);
+            if (y.size() > this.capacity) {
+                synchronized (this) {
+                    if (this.young == y) {
+                        this.old = y;
+                        this.young = new ConcurrentHashMap<>();
+                    }
+                }
+            }
         }
     }
 }
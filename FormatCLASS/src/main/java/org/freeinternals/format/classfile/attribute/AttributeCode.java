@@ -10,13 +10,15 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import javax.swing.tree.DefaultMutableTreeNode;
+import org.freeinternals.commonlib.core.ByteArraySlice;
 import org.freeinternals.commonlib.core.FileComponent;
 import org.freeinternals.commonlib.core.PosDataInputStream;
 import org.freeinternals.commonlib.ui.JTreeNodeFileComponent;
 import org.freeinternals.commonlib.core.FileFormatException;
 import org.freeinternals.format.classfile.ClassFile;
+import org.freeinternals.format.classfile.ControlFlowGraph;
+import org.freeinternals.format.classfile.InstructionStream;
 import org.freeinternals.format.classfile.JavaSEVersion;
-import org.freeinternals.format.classfile.constant.CPInfo;
 import org.freeinternals.format.classfile.Opcode;
 import org.freeinternals.format.classfile.u2;
 import org.freeinternals.format.classfile.u4;
@@ -61,13 +63,13 @@ public class AttributeCode extends AttributeInfo {
     public transient final u2 max_stack;
     public transient final u2 max_locals;
     public transient final u4 code_length;
-    private transient final byte[] code;
+    private transient final ByteArraySlice code;
     public transient final u2 exception_table_length;
     public transient ExceptionTable[] exceptionTable;
     public transient final u2 attributes_count;
     public transient AttributeInfo[] attributes;
 
-    AttributeCode(final u2 nameIndex, final String type, final PosDataInputStream posDataInputStream, final CPInfo[] cp) throws IOException, FileFormatException {
+    AttributeCode(final u2 nameIndex, final String type, final PosDataInputStream posDataInputStream, final AttributeRegistry registry) throws IOException, FileFormatException {
         super(nameIndex, type, posDataInputStream, ClassFile.Version.Format_45_3, JavaSEVersion.Version_1_0_2);
 
         int i;
@@ -75,11 +77,10 @@ public class AttributeCode extends AttributeInfo {
         this.max_stack = new u2(posDataInputStream);
         this.max_locals = new u2(posDataInputStream);
         this.code_length = new u4(posDataInputStream);
-        this.code = new byte[this.code_length.value];
-        int readBytes = posDataInputStream.read(this.code);
-        if (readBytes != this.code_length.value) {
-            throw new IOException(String.format("Failed to read %d bytes, actual bytes read %d", this.code_length.value, readBytes));
+        if (this.code_length.value > posDataInputStream.available()) {
+            throw new IOException(String.format("Failed to read %d bytes, actual bytes read %d", this.code_length.value, posDataInputStream.available()));
         }
+        this.code = posDataInputStream.readSlice(this.code_length.value);
 
         this.exception_table_length = new u2(posDataInputStream);
         if (this.exception_table_length.value > 0) {
@@ -93,7 +94,7 @@ public class AttributeCode extends AttributeInfo {
         if (this.attributes_count.value > 0) {
             this.attributes = new AttributeInfo[this.attributes_count.value];
             for (i = 0; i < this.attributes_count.value; i++) {
-                this.attributes[i] = AttributeInfo.parse(posDataInputStream, cp);
+                this.attributes[i] = registry.parse(posDataInputStream);
             }
 
         }
@@ -107,7 +108,45 @@ public class AttributeCode extends AttributeInfo {
      * @return The value of {@code code}
      */
     public byte[] getCode() {
-        return this.code.clone();
+        return this.code.toByteArray();
+    }
+
+    /**
+     * Get the value of {@code code} as a read-only slice of the class file
+     * bytes, without copying.
+     *
+     * @return The value of {@code code}
+     */
+    public ByteArraySlice getCodeSlice() {
+        return this.code;
+    }
+
+    /**
+     * Get the start position of {@link #code} in the class file.
+     *
+     * @return Start position of the code
+     */
+    public int getCodeStartPos() {
+        return super.startPos + 14;
+    }
+
+    /**
+     * Decode the {@link #code} into a compact {@link InstructionStream}.
+     *
+     * @return Decoded instructions
+     */
+    public InstructionStream getInstructions() {
+        return Opcode.decode(this.code);
+    }
+
+    /**
+     * Build the {@link ControlFlowGraph} of the {@link #code} and the
+     * {@link #exceptionTable}.
+     *
+     * @return Basic blocks, edges and dominators of the code
+     */
+    public ControlFlowGraph getControlFlowGraph() {
+        return new ControlFlowGraph(this.getInstructions(), this.exceptionTable);
     }
 
     /**
@@ -117,7 +156,7 @@ public class AttributeCode extends AttributeInfo {
      * @return Parsed {@link Opcode} list
      */
     public List<Opcode.InstructionParsed> parseCode() {
-        if (this.code != null && this.code.length > 0) {
+        if (this.code != null && this.code.length() > 0) {
             return Opcode.parseCode(this.code);
         } else {
             return new ArrayList<>();
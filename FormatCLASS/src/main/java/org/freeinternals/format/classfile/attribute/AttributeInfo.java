@@ -7,10 +7,6 @@
 package org.freeinternals.format.classfile.attribute;
 
 import java.io.IOException;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 import javax.swing.tree.DefaultMutableTreeNode;
 import org.freeinternals.commonlib.core.FileComponent;
 import org.freeinternals.commonlib.core.PosDataInputStream;
@@ -20,7 +16,6 @@ import org.freeinternals.format.classfile.ClassFile;
 import org.freeinternals.format.classfile.GenerateClassfileTreeNode;
 import org.freeinternals.format.classfile.JavaSEVersion;
 import org.freeinternals.format.classfile.constant.CPInfo;
-import org.freeinternals.format.classfile.constant.ConstantUtf8Info;
 import org.freeinternals.format.classfile.u2;
 import org.freeinternals.format.classfile.u4;
 
@@ -47,8 +42,6 @@ import org.freeinternals.format.classfile.u4;
  */
 public abstract class AttributeInfo extends FileComponent implements GenerateClassfileTreeNode {
 
-    private static final Logger LOG = Logger.getLogger(AttributeInfo.class.getName());
-
     /**
      * Non-standard attributes. All of the attributes which are not defined in
      * the VM Spec.
@@ -101,8 +94,13 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
     }
 
     /**
-     * Parse one JVM attribute.This method is not 'public' since it is supposed
-     * to be called inside this library only.
+     * Parse one JVM attribute.
+     *
+     * <p>
+     * Parsing all attributes of a class file with one
+     * {@link AttributeRegistry} instance is faster, since it looks up each
+     * attribute name only once.
+     * </p>
      *
      * @param posDataInputStream Input Stream for the class file
      * @param cp Constant Pool item
@@ -110,48 +108,10 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
      * @throws java.io.IOException Input Stream read fail
      * @throws org.freeinternals.commonlib.core.FileFormatException Class file format
      * error
+     * @see AttributeRegistry#parse(PosDataInputStream)
      */
     public static AttributeInfo parse(final PosDataInputStream posDataInputStream, final CPInfo[] cp) throws IOException, FileFormatException {
-        AttributeInfo attr = null;
-
-        final u2 attrNameIndex = new u2(posDataInputStream);
-        if (CPInfo.ConstantType.CONSTANT_Utf8.tag == cp[attrNameIndex.value].tag.value) {
-            final String type = ((ConstantUtf8Info) cp[attrNameIndex.value]).getValue();
-
-            boolean matched = false;
-            for (AttributeTypes attrType : AttributeTypes.values()) {
-                if (attrType.name().equals(type) && attrType.clazz != null) {
-                    // There is only 1 constructor in the JVM Attributes
-                    Constructor cons = attrType.clazz.getDeclaredConstructors()[0];
-
-                    try {
-                        switch (cons.getParameterCount()) {
-                            case 3:
-                                matched = true;
-                                attr = (AttributeInfo) cons.newInstance(attrNameIndex, type, posDataInputStream);
-                                break;
-                            case 4:
-                                matched = true;
-                                attr = (AttributeInfo) cons.newInstance(attrNameIndex, type, posDataInputStream, cp);
-                                break;
-                            default:
-                                LOG.log(Level.SEVERE, "Coding Problem: unrecognized contructor paramter count found = {0} / {1}", new Object[]{attrType.clazz.getName(), cons.getParameterCount()});
-                                break;
-                        }
-                    } catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
-                        LOG.log(Level.SEVERE, "Failed to parse the JVM Attribute {0}, {1}", new Object[]{attrType.clazz.getName(), ex.toString()});
-                    }
-                }
-            }
-            if (matched == false) {
-                LOG.log(Level.WARNING, "Un-recognized Attribute Found !!! Type = {0}", type);
-                attr = new AttributeUnrecognized(attrNameIndex, UNRECOGNIZED + type, posDataInputStream);
-            }
-        } else {
-            throw new FileFormatException(String.format("Attribute name_index is not CONSTANT_Utf8. Constant index = %d, type = %d.", attrNameIndex.value, cp[attrNameIndex.value].tag.value));
-        }
-
-        return attr;
+        return new AttributeRegistry(cp).parse(posDataInputStream);
     }
 
     /**
@@ -226,7 +186,7 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
          * VM Spec: The ConstantValue Attribute
          * </a>
          */
-        ConstantValue(AttributeConstantValue.class),
+        ConstantValue(AttributeConstantValue.class, (i, n, s, r) -> new AttributeConstantValue(i, n, s)),
         /**
          * The name for {@code Code} attribute type.
          *
@@ -235,7 +195,7 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
          * VM Spec: The Code Attribute
          * </a>
          */
-        Code(AttributeCode.class),
+        Code(AttributeCode.class, AttributeCode::new),
         /**
          * The name for {@code StackMapTable} attribute type.
          *
@@ -244,7 +204,7 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
          * VM Spec: The StackMapTable Attribute
          * </a>
          */
-        StackMapTable(AttributeStackMapTable.class),
+        StackMapTable(AttributeStackMapTable.class, (i, n, s, r) -> new AttributeStackMapTable(i, n, s)),
         /**
          * The name for {@code Exceptions} attribute type.
          *
@@ -253,7 +213,7 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
          * VM Spec: The Exceptions Attribute
          * </a>
          */
-        Exceptions(AttributeExceptions.class),
+        Exceptions(AttributeExceptions.class, (i, n, s, r) -> new AttributeExceptions(i, n, s)),
         /**
          * The name for {@code InnerClasses} attribute type.
          *
@@ -262,7 +222,7 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
          * VM Spec: The InnerClasses Attribute
          * </a>
          */
-        InnerClasses(AttributeInnerClasses.class),
+        InnerClasses(AttributeInnerClasses.class, (i, n, s, r) -> new AttributeInnerClasses(i, n, s)),
         /**
          * The name for {@code EnclosingMethod} attribute type.
          *
@@ -273,7 +233,7 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
          * VM Spec: The EnclosingMethod Attribute
          * </a>
          */
-        EnclosingMethod(AttributeEnclosingMethod.class),
+        EnclosingMethod(AttributeEnclosingMethod.class, (i, n, s, r) -> new AttributeEnclosingMethod(i, n, s)),
         /**
          * The name for {@code Synthetic} attribute type.
          *
@@ -282,7 +242,7 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
          * VM Spec: The Synthetic Attribute
          * </a>
          */
-        Synthetic(AttributeSynthetic.class),
+        Synthetic(AttributeSynthetic.class, (i, n, s, r) -> new AttributeSynthetic(i, n, s)),
         /**
          * The name for {@code Signature} attribute type.
          *
@@ -291,7 +251,7 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
          * VM Spec: The Signature Attribute
          * </a>
          */
-        Signature(AttributeSignature.class),
+        Signature(AttributeSignature.class, (i, n, s, r) -> new AttributeSignature(i, n, s, r.getConstantPool())),
         /**
          * The name for {@code SourceFile} attribute type.
          *
@@ -300,7 +260,7 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
          * VM Spec: The SourceFile Attribute
          * </a>
          */
-        SourceFile(AttributeSourceFile.class),
+        SourceFile(AttributeSourceFile.class, (i, n, s, r) -> new AttributeSourceFile(i, n, s)),
         /**
          * The name for {@code SourceDebugExtension} attribute type.
          *
@@ -311,7 +271,7 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
          * VM Spec: The SourceDebugExtension Attribute
          * </a>
          */
-        SourceDebugExtension(AttributeSourceDebugExtension.class),
+        SourceDebugExtension(AttributeSourceDebugExtension.class, (i, n, s, r) -> new AttributeSourceDebugExtension(i, n, s)),
         /**
          * The name for {@code LineNumberTable} attribute type.
          *
@@ -320,7 +280,7 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
          * VM Spec: The LineNumberTable Attribute
          * </a>
          */
-        LineNumberTable(AttributeLineNumberTable.class),
+        LineNumberTable(AttributeLineNumberTable.class, (i, n, s, r) -> new AttributeLineNumberTable(i, n, s)),
         /**
          * The name for {@code LocalVariableTable} attribute type.
          *
@@ -329,7 +289,7 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
          * VM Spec: The LocalVariableTable Attribute
          * </a>
          */
-        LocalVariableTable(AttributeLocalVariableTable.class),
+        LocalVariableTable(AttributeLocalVariableTable.class, (i, n, s, r) -> new AttributeLocalVariableTable(i, n, s)),
         /**
          * The name for {@code LocalVariableTypeTable} attribute type.
          *
@@ -338,7 +298,7 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
          * VM Spec: The LocalVariableTypeTable Attribute
          * </a>
          */
-        LocalVariableTypeTable(AttributeLocalVariableTypeTable.class),
+        LocalVariableTypeTable(AttributeLocalVariableTypeTable.class, (i, n, s, r) -> new AttributeLocalVariableTypeTable(i, n, s)),
         /**
          * The name for {@code Deprecated} attribute type.
          *
@@ -347,7 +307,7 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
          * VM Spec: The Deprecated Attribute
          * </a>
          */
-        Deprecated(AttributeDeprecated.class),
+        Deprecated(AttributeDeprecated.class, (i, n, s, r) -> new AttributeDeprecated(i, n, s)),
         /**
          * The name for {@code RuntimeVisibleAnnotations } attribute type.
          *
@@ -356,7 +316,7 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
          * VM Spec: The RuntimeVisibleAnnotations Attribute
          * </a>
          */
-        RuntimeVisibleAnnotations(AttributeRuntimeVisibleAnnotations.class),
+        RuntimeVisibleAnnotations(AttributeRuntimeVisibleAnnotations.class, (i, n, s, r) -> new AttributeRuntimeVisibleAnnotations(i, n, s)),
         /**
          * The name for {@code RuntimeInvisibleAnnotations } attribute type.
          *
@@ -365,7 +325,7 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
          * VM Spec: The RuntimeInvisibleAnnotations Attribute
          * </a>
          */
-        RuntimeInvisibleAnnotations(AttributeRuntimeInvisibleAnnotations.class),
+        RuntimeInvisibleAnnotations(AttributeRuntimeInvisibleAnnotations.class, (i, n, s, r) -> new AttributeRuntimeInvisibleAnnotations(i, n, s)),
         /**
          * The name for {@code RuntimeVisibleParameterAnnotations } attribute
          * type.
@@ -375,7 +335,7 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
          * VM Spec: The RuntimeVisibleParameterAnnotations Attribute
          * </a>
          */
-        RuntimeVisibleParameterAnnotations(AttributeRuntimeVisibleParameterAnnotations.class),
+        RuntimeVisibleParameterAnnotations(AttributeRuntimeVisibleParameterAnnotations.class, (i, n, s, r) -> new AttributeRuntimeVisibleParameterAnnotations(i, n, s)),
         /**
          * The name for {@code RuntimeInvisibleParameterAnnotations} attribute
          * type.
@@ -385,7 +345,7 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
          * VM Spec: The RuntimeInvisibleParameterAnnotations Attribute
          * </a>
          */
-        RuntimeInvisibleParameterAnnotations(AttributeRuntimeInvisibleParameterAnnotations.class),
+        RuntimeInvisibleParameterAnnotations(AttributeRuntimeInvisibleParameterAnnotations.class, (i, n, s, r) -> new AttributeRuntimeInvisibleParameterAnnotations(i, n, s)),
         /**
          * The name for {@code RuntimeVisibleTypeAnnotations} attribute type.
          *
@@ -394,7 +354,7 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
          * VM Spec: The RuntimeVisibleTypeAnnotations Attribute
          * </a>
          */
-        RuntimeVisibleTypeAnnotations(AttributeRuntimeVisibleTypeAnnotations.class),
+        RuntimeVisibleTypeAnnotations(AttributeRuntimeVisibleTypeAnnotations.class, (i, n, s, r) -> new AttributeRuntimeVisibleTypeAnnotations(i, n, s)),
         /**
          * The name for {@code RuntimeInvisibleTypeAnnotations} attribute type.
          *
@@ -403,7 +363,7 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
          * VM Spec: The RuntimeInvisibleTypeAnnotations Attribute
          * </a>
          */
-        RuntimeInvisibleTypeAnnotations(AttributeRuntimeInvisibleTypeAnnotations.class),
+        RuntimeInvisibleTypeAnnotations(AttributeRuntimeInvisibleTypeAnnotations.class, (i, n, s, r) -> new AttributeRuntimeInvisibleTypeAnnotations(i, n, s)),
         /**
          * The name for {@code AnnotationDefault} attribute type.
          *
@@ -412,7 +372,7 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
          * VM Spec: The AnnotationDefault Attribute
          * </a>
          */
-        AnnotationDefault(AttributeAnnotationDefault.class),
+        AnnotationDefault(AttributeAnnotationDefault.class, (i, n, s, r) -> new AttributeAnnotationDefault(i, n, s)),
         /**
          * The name for {@code BootstrapMethods} attribute type.
          *
@@ -421,7 +381,7 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
          * VM Spec: The BootstrapMethods Attribute
          * </a>
          */
-        BootstrapMethods(AttributeBootstrapMethods.class),
+        BootstrapMethods(AttributeBootstrapMethods.class, (i, n, s, r) -> new AttributeBootstrapMethods(i, n, s)),
         /**
          * The name for {@code MethodParameters} attribute type.
          *
@@ -430,7 +390,7 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
          * VM Spec: The MethodParameters Attribute
          * </a>
          */
-        MethodParameters(AttributeMethodParameters.class),
+        MethodParameters(AttributeMethodParameters.class, (i, n, s, r) -> new AttributeMethodParameters(i, n, s)),
         /**
          * The name for {@code Module} attribute type.
          *
@@ -439,7 +399,7 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
          * VM Spec: The Module Attribute
          * </a>
          */
-        Module(AttributeModule.class),
+        Module(AttributeModule.class, (i, n, s, r) -> new AttributeModule(i, n, s)),
         /**
          * The name for {@code ModulePackages} attribute type.
          *
@@ -448,7 +408,7 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
          * VM Spec: The ModuModulePackages Attribute
          * </a>
          */
-        ModulePackages(AttributeModulePackages.class),
+        ModulePackages(AttributeModulePackages.class, (i, n, s, r) -> new AttributeModulePackages(i, n, s)),
         /**
          * The name for {@code ModuleMainClass} attribute type.
          *
@@ -457,7 +417,7 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
          * VM Spec: The ModuleMainClass Attribute
          * </a>
          */
-        ModuleMainClass(AttributeModuleMainClass.class),
+        ModuleMainClass(AttributeModuleMainClass.class, (i, n, s, r) -> new AttributeModuleMainClass(i, n, s)),
         /**
          * The name for {@code ModuleHashes} attribute type. This is a OpenJDK
          * specific attribute and do not exist in Oracle JDK.
@@ -466,7 +426,7 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
          * <a href="http://mail.openjdk.java.net/pipermail/jigsaw-dev/2017-February/011262.html">
          * OpenJDK specific attribute specifications</a>
          */
-        ModuleHashes(AttributeModuleHashes.class),
+        ModuleHashes(AttributeModuleHashes.class, (i, n, s, r) -> new AttributeModuleHashes(i, n, s)),
         /**
          * The name for {@code ModuleTarget} attribute type. This is a OpenJDK
          * specific attribute and do not exist in Oracle JDK.
@@ -475,7 +435,7 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
          * <a href="https://openjdk.java.net/jeps/261"> JEP 261: Module
          * System</a>
          */
-        ModuleTarget(AttributeModuleTarget.class),
+        ModuleTarget(AttributeModuleTarget.class, (i, n, s, r) -> new AttributeModuleTarget(i, n, s)),
         /**
          * The name for {@code NestHost} attribute type.
          *
@@ -484,7 +444,7 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
          * VM Spec: The NestHost Attribute
          * </a>
          */
-        NestHost(AttributeNestHost.class),
+        NestHost(AttributeNestHost.class, (i, n, s, r) -> new AttributeNestHost(i, n, s)),
         /**
          * The name for {@code NestMembers} attribute type.
          *
@@ -493,7 +453,7 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
          * VM Spec: The NestMembers Attribute
          * </a>
          */
-        NestMembers(AttributeNestMembers.class);
+        NestMembers(AttributeNestMembers.class, (i, n, s, r) -> new AttributeNestMembers(i, n, s));
 
         /**
          * The Java class representing to the attributes.
@@ -501,9 +461,14 @@ public abstract class AttributeInfo extends FileComponent implements GenerateCla
          * If {@link #clazz} is null, which means it is not implemented yet.
          */
         final Class<?> clazz;
+        /**
+         * Parser of the attribute, the constructor of {@link #clazz}.
+         */
+        final AttributeParser parser;
 
-        AttributeTypes(Class clazz) {
+        AttributeTypes(Class clazz, AttributeParser parser) {
             this.clazz = clazz;
+            this.parser = parser;
         }
 
         /**
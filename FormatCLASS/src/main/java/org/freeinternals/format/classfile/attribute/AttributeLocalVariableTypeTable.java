@@ -112,10 +112,16 @@ public class AttributeLocalVariableTypeTable extends AttributeInfo {
                         2,
                         "length: " + item.lvtt_length.value
                 )));
-                lvtt_node.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
+                final DefaultMutableTreeNode sigNode = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
                         item_startPos + 4,
                         2,
                         "signature_index: " + item.signature_index.value + " - " + classFile.getCPDescription(item.signature_index.value)
+                ));
+                lvtt_node.add(sigNode);
+                sigNode.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
+                        item_startPos + 4,
+                        2,
+                        "signature: " + AttributeSignature.getSignatureDescription(classFile, item.signature_index.value)
                 )));
                 lvtt_node.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
                         item_startPos + 6,
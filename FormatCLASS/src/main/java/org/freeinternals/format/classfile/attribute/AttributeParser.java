@@ -0,0 +1,39 @@
+/*
+ * AttributeParser.java    Oct 16, 2026, 23:10
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.format.classfile.attribute;
+
+import java.io.IOException;
+import org.freeinternals.commonlib.core.FileFormatException;
+import org.freeinternals.commonlib.core.PosDataInputStream;
+import org.freeinternals.format.classfile.u2;
+
+/**
+ * Parser of one kind of attribute, registered by the attribute name in the
+ * {@link AttributeRegistry}.
+ *
+ * @author Amos Shi
+ * @see AttributeRegistry#register(String, AttributeParser)
+ */
+@FunctionalInterface
+public interface AttributeParser {
+
+    /**
+     * Parse the attribute after its {@code attribute_name_index}, the stream
+     * is at the {@code attribute_length} item.
+     *
+     * @param nameIndex The {@code attribute_name_index} already read
+     * @param name Name of the attribute
+     * @param posDataInputStream Input Stream for the class file
+     * @param registry Registry of the class file, which gives the constant
+     * pool and parses nested attributes
+     * @return Parsed result
+     * @throws IOException Input Stream read fail
+     * @throws FileFormatException Class file format error
+     */
+    AttributeInfo parse(u2 nameIndex, String name, PosDataInputStream posDataInputStream, AttributeRegistry registry)
+            throws IOException, FileFormatException;
+}
@@ -0,0 +1,180 @@
+/*
+ * AttributeRegistry.java    Oct 16, 2026, 23:10
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.format.classfile.attribute;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.freeinternals.commonlib.core.FileFormatException;
+import org.freeinternals.commonlib.core.PosDataInputStream;
+import org.freeinternals.format.classfile.constant.CPInfo;
+import org.freeinternals.format.classfile.constant.ConstantUtf8Info;
+import org.freeinternals.format.classfile.u2;
+
+/**
+ * Registry of the {@link AttributeParser}s by attribute name.
+ *
+ * <p>
+ * The parsers of all {@link AttributeInfo.AttributeTypes} are registered
+ * by default; other projects may add parsers of their own attributes with
+ * {@link #register(String, AttributeParser)}.
+ * </p>
+ *
+ * <p>
+ * An instance of the registry serves one class file. It remembers the parser
+ * of each {@code attribute_name_index} of the constant pool, so the name of
+ * a repeated attribute, like {@code Code} or {@code LineNumberTable}, is
+ * looked up only once per class. Attributes may be skipped by name, their
+ * bodies are then jumped over by {@code attribute_length}. An instance is not
+ * thread-safe.
+ * </p>
+ *
+ * @author Amos Shi
+ */
+public final class AttributeRegistry {
+
+    private static final Logger LOG = Logger.getLogger(AttributeRegistry.class.getName());
+
+    /**
+     * Parsers by attribute name.
+     */
+    private static final Map<String, AttributeParser> PARSERS = new ConcurrentHashMap<>();
+
+    static {
+        for (AttributeInfo.AttributeTypes type : AttributeInfo.AttributeTypes.values()) {
+            PARSERS.put(type.name(), type.parser);
+        }
+    }
+
+    /**
+     * Parser of the attributes not in {@link #PARSERS}.
+     */
+    private static final AttributeParser UNRECOGNIZED = (nameIndex, name, stream, registry) -> {
+        LOG.log(Level.WARNING, "Un-recognized Attribute Found !!! Type = {0}", name);
+        return new AttributeUnrecognized(nameIndex, AttributeInfo.UNRECOGNIZED + name, stream);
+    };
+
+    /**
+     * Parser of the skipped attributes.
+     */
+    private static final AttributeParser SKIPPED = (nameIndex, name, stream, registry) -> new AttributeSkipped(nameIndex, name, stream);
+
+    /**
+     * Constant pool of the class file.
+     */
+    private final CPInfo[] constantPool;
+    /**
+     * Parsers indexed by {@code attribute_name_index}, filled on first use.
+     */
+    private final AttributeParser[] byNameIndex;
+    /**
+     * Names of the attributes to skip, or {@code null}.
+     */
+    private Set<String> skipped;
+
+    /**
+     * Creates the registry of one class file.
+     *
+     * @param constantPool Constant pool of the class file
+     */
+    public AttributeRegistry(final CPInfo[] constantPool) {
+        this.constantPool = constantPool;
+        this.byNameIndex = new AttributeParser[constantPool.length];
+    }
+
+    /**
+     * Register the parser of an attribute. It replaces the current parser of
+     * the attribute, if any; class files already being parsed may keep using
+     * the old one.
+     *
+     * @param name Name of the attribute
+     * @param parser Parser of the attribute
+     * @return The replaced parser, or {@code null}
+     */
+    public static AttributeParser register(final String name, final AttributeParser parser) {
+        if (name == null || name.isEmpty() || parser == null) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid attribute parser. name = %s, parser = %s", name, parser));
+        }
+        return PARSERS.put(name, parser);
+    }
+
+    /**
+     * Get the registered parser of an attribute.
+     *
+     * @param name Name of the attribute
+     * @return The parser, or {@code null} if the attribute is unknown
+     */
+    public static AttributeParser getParser(final String name) {
+        return PARSERS.get(name);
+    }
+
+    /**
+     * Skip attributes by name. It must be called before parsing any attribute
+     * of the class file.
+     *
+     * @param names Names of the attributes to skip
+     * @see AttributeSkipped
+     */
+    public void skip(final String... names) {
+        if (this.skipped == null) {
+            this.skipped = new HashSet<>();
+        }
+        for (String name : names) {
+            this.skipped.add(name);
+        }
+    }
+
+    /**
+     * Get the constant pool of the class file.
+     *
+     * @return The constant pool
+     */
+    public CPInfo[] getConstantPool() {
+        return this.constantPool;
+    }
+
+    /**
+     * Parse one attribute of the class file.
+     *
+     * @param posDataInputStream Input Stream for the class file
+     * @return Parsed result
+     * @throws IOException Input Stream read fail
+     * @throws FileFormatException Class file format error
+     */
+    public AttributeInfo parse(final PosDataInputStream posDataInputStream) throws IOException, FileFormatException {
+        return this.parse(new u2(posDataInputStream), posDataInputStream);
+    }
+
+    /**
+     * Parse one attribute whose {@code attribute_name_index} is already read.
+     *
+     * @param attrNameIndex The {@code attribute_name_index}
+     * @param posDataInputStream Input Stream at the {@code attribute_length}
+     * @return Parsed result
+     */
+    AttributeInfo parse(final u2 attrNameIndex, final PosDataInputStream posDataInputStream) throws IOException, FileFormatException {
+        final int index = attrNameIndex.value;
+        if (index >= this.constantPool.length || this.constantPool[index] == null
+                || CPInfo.ConstantType.CONSTANT_Utf8.tag != this.constantPool[index].tag.value) {
+            throw new FileFormatException(String.format("Attribute name_index is not CONSTANT_Utf8. Constant index = %d, type = %d.",
+                    index, (index < this.constantPool.length && this.constantPool[index] != null) ? this.constantPool[index].tag.value : -1));
+        }
+
+        final String name = ((ConstantUtf8Info) this.constantPool[index]).getValue();
+        AttributeParser parser = this.byNameIndex[index];
+        if (parser == null) {
+            parser = (this.skipped != null && this.skipped.contains(name)) ? SKIPPED : PARSERS.getOrDefault(name, UNRECOGNIZED);
+            this.byNameIndex[index] = parser;
+        }
+        return parser.parse(attrNameIndex, name, posDataInputStream, this);
+    }
+}
@@ -14,6 +14,7 @@ import org.freeinternals.format.classfile.ClassFile;
 import org.freeinternals.format.classfile.constant.CPInfo;
 import org.freeinternals.format.classfile.JavaLangSpec;
 import org.freeinternals.format.classfile.JavaSEVersion;
+import org.freeinternals.format.classfile.SignatureConvertor;
 import org.freeinternals.format.classfile.u2;
 
 /**
@@ -41,13 +42,34 @@ public class AttributeSignature extends AttributeInfo {
     public void generateTreeNode(DefaultMutableTreeNode parentNode, ClassFile classFile) {
         final int sigIndex = this.signature_index.value;
 
-        parentNode.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
+        final DefaultMutableTreeNode sigNode = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
                 super.startPos + 6,
                 2,
                 "signature_index: " + sigIndex + " - " + classFile.getCPDescription(sigIndex)
+        ));
+        parentNode.add(sigNode);
+        sigNode.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
+                super.startPos + 6,
+                2,
+                "signature: " + getSignatureDescription(classFile, sigIndex)
         )));
     }
 
+    /**
+     * Get the readable format of a generic signature in the constant pool.
+     *
+     * @param classFile The class file
+     * @param sigIndex Constant pool index of the signature
+     * @return Readable format of the signature
+     */
+    static String getSignatureDescription(final ClassFile classFile, final int sigIndex) {
+        try {
+            return SignatureConvertor.GenericSignatureExtractor(classFile.getConstantUtf8Value(sigIndex)).toString();
+        } catch (FileFormatException | IllegalArgumentException ex) {
+            return "[Unexpected signature]: " + ex.getMessage();
+        }
+    }
+
     /**
      * A primitive type of the Java programming language.
      *
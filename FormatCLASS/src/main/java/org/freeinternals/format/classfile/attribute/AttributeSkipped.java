@@ -0,0 +1,60 @@
+/*
+ * AttributeSkipped.java    Oct 16, 2026, 23:55
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.format.classfile.attribute;
+
+import java.io.IOException;
+import javax.swing.tree.DefaultMutableTreeNode;
+import org.freeinternals.commonlib.core.FileFormatException;
+import org.freeinternals.commonlib.core.PosDataInputStream;
+import org.freeinternals.commonlib.ui.JTreeNodeFileComponent;
+import org.freeinternals.format.classfile.ClassFile;
+import org.freeinternals.format.classfile.JavaSEVersion;
+import org.freeinternals.format.classfile.u2;
+
+/**
+ * An attribute whose {@code info} is not parsed, because it is skipped by the
+ * {@link ClassFile.ParseOption}s. Its body is jumped over by
+ * {@code attribute_length}, and can be parsed later by
+ * {@link #parse(ClassFile)}.
+ *
+ * @author Amos Shi
+ * @see AttributeRegistry#skip(String...)
+ */
+public class AttributeSkipped extends AttributeInfo {
+
+    AttributeSkipped(final u2 nameIndex, final String type, final PosDataInputStream posDataInputStream) throws IOException, FileFormatException {
+        super(nameIndex, type, posDataInputStream, ClassFile.Version.Format_45_3, JavaSEVersion.Version_1_0_2);
+
+        posDataInputStream.readSlice(this.attribute_length.value);
+        super.checkSize(posDataInputStream.getPos());
+    }
+
+    /**
+     * Parse the skipped attribute.
+     *
+     * @param classFile The class file containing this attribute
+     * @return The parsed attribute
+     * @throws IOException Input Stream read fail
+     * @throws FileFormatException Class file format error
+     */
+    public AttributeInfo parse(final ClassFile classFile) throws IOException, FileFormatException {
+        final int start = this.getStartPos() + u2.LENGTH;
+        final PosDataInputStream stream = classFile.getClassSlice(start, this.getLength() - u2.LENGTH).getStream(start);
+        return new AttributeRegistry(classFile.constant_pool).parse(this.attribute_name_index, stream);
+    }
+
+    @Override
+    public void generateTreeNode(DefaultMutableTreeNode parentNode, ClassFile classFile) {
+        if (this.attribute_length.value > 0) {
+            parentNode.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
+                    this.getStartPos() + 6,
+                    this.attribute_length.value,
+                    "info (not parsed)"
+            )));
+        }
+    }
+}
@@ -6,10 +6,7 @@
  */
 package org.freeinternals.format.classfile.constant;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.io.IOException;
 import org.freeinternals.commonlib.core.FileComponent;
 import org.freeinternals.commonlib.core.PosDataInputStream;
 import org.freeinternals.commonlib.core.FileFormatException;
@@ -122,7 +119,7 @@ public abstract class CPInfo extends FileComponent implements GenerateClassfileT
          * VM Spec: The CONSTANT_Utf8_info Structure
          * </a>
          */
-        CONSTANT_Utf8(1, ConstantUtf8Info.class),
+        CONSTANT_Utf8(1, ConstantUtf8Info.class, ConstantUtf8Info::new),
         /**
          * The value for constant type {@code CONSTANT_Integer}.
          *
@@ -131,7 +128,7 @@ public abstract class CPInfo extends FileComponent implements GenerateClassfileT
          * VM Spec: The CONSTANT_Integer_info and CONSTANT_Float_info Structures
          * </a>
          */
-        CONSTANT_Integer(3, ConstantIntegerInfo.class),
+        CONSTANT_Integer(3, ConstantIntegerInfo.class, ConstantIntegerInfo::new),
         /**
          * The value for constant type {@code CONSTANT_Float}.
          *
@@ -140,7 +137,7 @@ public abstract class CPInfo extends FileComponent implements GenerateClassfileT
          * VM Spec: The CONSTANT_Integer_info and CONSTANT_Float_info Structures
          * </a>
          */
-        CONSTANT_Float(4, ConstantFloatInfo.class),
+        CONSTANT_Float(4, ConstantFloatInfo.class, ConstantFloatInfo::new),
         /**
          * The value for constant type {@code CONSTANT_Long}.
          *
@@ -149,7 +146,7 @@ public abstract class CPInfo extends FileComponent implements GenerateClassfileT
          * VM Spec: The CONSTANT_Long_info and CONSTANT_Double_info Structures
          * </a>
          */
-        CONSTANT_Long(5, ConstantLongInfo.class),
+        CONSTANT_Long(5, ConstantLongInfo.class, ConstantLongInfo::new),
         /**
          * The value for constant type {@code CONSTANT_Double}.
          *
@@ -158,7 +155,7 @@ public abstract class CPInfo extends FileComponent implements GenerateClassfileT
          * VM Spec: The CONSTANT_Long_info and CONSTANT_Double_info Structures
          * </a>
          */
-        CONSTANT_Double(6, ConstantDoubleInfo.class),
+        CONSTANT_Double(6, ConstantDoubleInfo.class, ConstantDoubleInfo::new),
         /**
          * The value for constant type {@code CONSTANT_Class}.
          *
@@ -167,7 +164,7 @@ public abstract class CPInfo extends FileComponent implements GenerateClassfileT
          * VM Spec: The CONSTANT_Class_info Structure
          * </a>
          */
-        CONSTANT_Class(7, ConstantClassInfo.class),
+        CONSTANT_Class(7, ConstantClassInfo.class, ConstantClassInfo::new),
         /**
          * The value for constant type {@code CONSTANT_String}.
          *
@@ -176,7 +173,7 @@ public abstract class CPInfo extends FileComponent implements GenerateClassfileT
          * VM Spec: The CONSTANT_String_info Structure
          * </a>
          */
-        CONSTANT_String(8, ConstantStringInfo.class),
+        CONSTANT_String(8, ConstantStringInfo.class, ConstantStringInfo::new),
         /**
          * The value for constant type {@code CONSTANT_Fieldref}.
          *
@@ -186,7 +183,7 @@ public abstract class CPInfo extends FileComponent implements GenerateClassfileT
          * CONSTANT_InterfaceMethodref_info Structures
          * </a>
          */
-        CONSTANT_Fieldref(9, ConstantFieldrefInfo.class),
+        CONSTANT_Fieldref(9, ConstantFieldrefInfo.class, ConstantFieldrefInfo::new),
         /**
          * The value for constant type {@code CONSTANT_Methodref}.
          *
@@ -196,7 +193,7 @@ public abstract class CPInfo extends FileComponent implements GenerateClassfileT
          * CONSTANT_InterfaceMethodref_info Structures
          * </a>
          */
-        CONSTANT_Methodref(10, ConstantMethodrefInfo.class),
+        CONSTANT_Methodref(10, ConstantMethodrefInfo.class, ConstantMethodrefInfo::new),
         /**
          * The value for constant type {@code CONSTANT_InterfaceMethodref}.
          *
@@ -206,7 +203,7 @@ public abstract class CPInfo extends FileComponent implements GenerateClassfileT
          * CONSTANT_InterfaceMethodref_info Structures
          * </a>
          */
-        CONSTANT_InterfaceMethodref(11, ConstantInterfaceMethodrefInfo.class),
+        CONSTANT_InterfaceMethodref(11, ConstantInterfaceMethodrefInfo.class, ConstantInterfaceMethodrefInfo::new),
         /**
          * The value for constant type {@code CONSTANT_NameAndType}.
          *
@@ -215,7 +212,7 @@ public abstract class CPInfo extends FileComponent implements GenerateClassfileT
          * VM Spec: The CONSTANT_NameAndType_info Structure
          * </a>
          */
-        CONSTANT_NameAndType(12, ConstantNameAndTypeInfo.class),
+        CONSTANT_NameAndType(12, ConstantNameAndTypeInfo.class, ConstantNameAndTypeInfo::new),
         /**
          * The value for constant type {@code CONSTANT_MethodHandle}.
          *
@@ -224,7 +221,7 @@ public abstract class CPInfo extends FileComponent implements GenerateClassfileT
          * VM Spec: The CONSTANT_MethodHandle_info Structure
          * </a>
          */
-        CONSTANT_MethodHandle(15, ConstantMethodHandleInfo.class),
+        CONSTANT_MethodHandle(15, ConstantMethodHandleInfo.class, ConstantMethodHandleInfo::new),
         /**
          * The value for constant type {@code CONSTANT_MethodType}.
          *
@@ -233,7 +230,7 @@ public abstract class CPInfo extends FileComponent implements GenerateClassfileT
          * VM Spec: The CONSTANT_MethodType_info Structure
          * </a>
          */
-        CONSTANT_MethodType(16, ConstantMethodTypeInfo.class),
+        CONSTANT_MethodType(16, ConstantMethodTypeInfo.class, ConstantMethodTypeInfo::new),
         /**
          * The value for constant type {@code CONSTANT_Dynamic}.
          *
@@ -243,7 +240,7 @@ public abstract class CPInfo extends FileComponent implements GenerateClassfileT
          * Structures
          * </a>
          */
-        CONSTANT_Dynamic(17, ConstantDynamicInfo.class),
+        CONSTANT_Dynamic(17, ConstantDynamicInfo.class, ConstantDynamicInfo::new),
         /**
          * The value for constant type {@code CONSTANT_InvokeDynamic}.
          *
@@ -252,7 +249,7 @@ public abstract class CPInfo extends FileComponent implements GenerateClassfileT
          * VM Spec: The CONSTANT_InvokeDynamic Structure
          * </a>
          */
-        CONSTANT_InvokeDynamic(18, ConstantInvokeDynamicInfo.class),
+        CONSTANT_InvokeDynamic(18, ConstantInvokeDynamicInfo.class, ConstantInvokeDynamicInfo::new),
         /**
          * The CONSTANT_Module_info structure is used to represent a module.
          *
@@ -261,7 +258,7 @@ public abstract class CPInfo extends FileComponent implements GenerateClassfileT
          * VM Spec: The CONSTANT_Module_info Structure
          * </a>
          */
-        CONSTANT_Module(19, ConstantModuleInfo.class),
+        CONSTANT_Module(19, ConstantModuleInfo.class, ConstantModuleInfo::new),
         /**
          * The CONSTANT_Package_info structure is used to represent a package
          * exported or opened by a module.
@@ -271,9 +268,19 @@ public abstract class CPInfo extends FileComponent implements GenerateClassfileT
          * VM Spec: The CONSTANT_Package_info Structure
          * </a>
          */
-        CONSTANT_Package(20, ConstantPackageInfo.class);
+        CONSTANT_Package(20, ConstantPackageInfo.class, ConstantPackageInfo::new);
 
-        private static final Logger Log = Logger.getLogger(ConstantType.class.getName());
+        /**
+         * Constant types indexed by {@link #tag}; a <code>u1</code> tag has
+         * 256 values.
+         */
+        private static final ConstantType[] BY_TAG = new ConstantType[256];
+
+        static {
+            for (ConstantType item : ConstantType.values()) {
+                BY_TAG[item.tag] = item;
+            }
+        }
 
         /**
          * Value of tag.
@@ -285,9 +292,15 @@ public abstract class CPInfo extends FileComponent implements GenerateClassfileT
          */
         final Class<?> clazz;
 
-        private ConstantType(int tag, Class<?> clz) {
+        /**
+         * Parser of the constant pool item, the constructor of {@link #clazz}.
+         */
+        private final Parser parser;
+
+        private ConstantType(int tag, Class<?> clz, Parser parser) {
             this.tag = (short) tag;
             this.clazz = clz;
+            this.parser = parser;
         }
 
         /**
@@ -298,13 +311,11 @@ public abstract class CPInfo extends FileComponent implements GenerateClassfileT
          * @return Corresponding {@link ConstantType}
          */
         public static ConstantType valueOf(int tag) {
-            for (ConstantType item : ConstantType.values()) {
-                if (item.tag == tag) {
-                    return item;
-                }
+            final ConstantType item = (tag >= 0 && tag < BY_TAG.length) ? BY_TAG[tag] : null;
+            if (item == null) {
+                throw new IllegalArgumentException("Invalid tag value: " + tag);
             }
-
-            throw new IllegalArgumentException("Invalid tag value: " + tag);
+            return item;
         }
 
         /**
@@ -313,29 +324,55 @@ public abstract class CPInfo extends FileComponent implements GenerateClassfileT
          * @param tag Constant pool item tag, indicating the type of the item
          * @param posDataInputStream Class file byte stream
          * @return Parsed constant pool info
+         * @throws IOException Error happened when reading the byte stream
          * @throws org.freeinternals.commonlib.core.FileFormatException An invalid class
          * file format encountered
          */
-        public static CPInfo parse(int tag, final PosDataInputStream posDataInputStream) throws FileFormatException {
-            CPInfo cpInfo = null;
+        public static CPInfo parse(int tag, final PosDataInputStream posDataInputStream) throws IOException, FileFormatException {
+            return parse(tag, posDataInputStream, null);
+        }
 
-            for (ConstantType item : ConstantType.values()) {
-                if (item.tag == tag) {
-                    // There is only 1 constructor in the JVM Attributes
-                    Constructor cons = item.clazz.getDeclaredConstructors()[0];
-                    try {
-                        cpInfo = (CPInfo) cons.newInstance(posDataInputStream);
-                    } catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
-                        Log.log(Level.SEVERE, "Failed to parse the JVM Constant Tag at position {0}, {1}", new Object[]{posDataInputStream.getPos() - 1, ex.toString()});
-                    }
-                }
+        /**
+         * Parse a constant pool item, resolving the {@code CONSTANT_Utf8}
+         * items into a shared {@link SymbolTable}.
+         *
+         * @param tag Constant pool item tag, indicating the type of the item
+         * @param posDataInputStream Class file byte stream
+         * @param symbols The shared symbol table, or <code>null</code>
+         * @return Parsed constant pool info
+         * @throws IOException Error happened when reading the byte stream
+         * @throws org.freeinternals.commonlib.core.FileFormatException An invalid class
+         * file format encountered
+         */
+        public static CPInfo parse(int tag, final PosDataInputStream posDataInputStream, final SymbolTable symbols) throws IOException, FileFormatException {
+            final ConstantType item = (tag >= 0 && tag < BY_TAG.length) ? BY_TAG[tag] : null;
+            if (item == null) {
+                throw new FileFormatException(String.format("Unreconizable constant pool type found. Constant pool tag: [%d]; class file offset: [%d].", tag, posDataInputStream.getPos() - 1));
             }
 
-            if (cpInfo == null) {
-                throw new FileFormatException(String.format("Unreconizable constant pool type found. Constant pool tag: [%d]; class file offset: [%d].", tag, posDataInputStream.getPos() - 1));
-            } else {
-                return cpInfo;
+            if (symbols != null && item == CONSTANT_Utf8) {
+                return new ConstantUtf8Info(posDataInputStream, symbols);
             }
+            return item.parser.parse(posDataInputStream);
+        }
+
+        /**
+         * Parser of a constant pool item, which reads the item after its
+         * {@link #tag}.
+         */
+        @FunctionalInterface
+        interface Parser {
+
+            /**
+             * Parse the constant pool item.
+             *
+             * @param posDataInputStream Class file byte stream
+             * @return Parsed constant pool info
+             * @throws IOException Error happened when reading the byte stream
+             * @throws FileFormatException An invalid class file format
+             * encountered
+             */
+            CPInfo parse(PosDataInputStream posDataInputStream) throws IOException, FileFormatException;
         }
     }
 }
@@ -6,6 +6,7 @@
  */
 package org.freeinternals.format.classfile.constant;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import javax.swing.tree.DefaultMutableTreeNode;
@@ -38,22 +39,46 @@ import org.freeinternals.format.classfile.u2;
 public class ConstantUtf8Info extends CPInfo {
 
     public final u2 length_utf8;
+    /**
+     * The raw bytes. When the item is resolved into a {@link SymbolTable},
+     * the array is shared by all the items with the same content.
+     */
     public final byte[] bytes;
-    
+
+    /**
+     * The shared symbol, or <code>null</code> if no {@link SymbolTable} is
+     * used.
+     */
+    private final SymbolTable.Symbol symbol;
+
     /**
      * Buffer for {@link #getValue()}.
      */
     private String value = null;
 
     ConstantUtf8Info(final PosDataInputStream posDataInputStream) throws IOException, FileFormatException {
+        this(posDataInputStream, null);
+    }
+
+    ConstantUtf8Info(final PosDataInputStream posDataInputStream, final SymbolTable symbols) throws IOException, FileFormatException {
         super(CPInfo.ConstantType.CONSTANT_Utf8.tag, false, ClassFile.Version.Format_45_3, JavaSEVersion.Version_1_0_2);
         super.startPos = posDataInputStream.getPos() - 1;
 
         this.length_utf8 = new u2(posDataInputStream);
-        this.bytes = new byte[this.length_utf8.value];
-        final int bytesRead = posDataInputStream.read(this.bytes);
-        if (bytesRead != this.length_utf8.value) {
-            throw new FileFormatException("Read bytes for CONSTANT_Utf8 error.");
+        if (symbols == null) {
+            this.symbol = null;
+            this.bytes = new byte[this.length_utf8.value];
+            final int bytesRead = posDataInputStream.read(this.bytes);
+            if (bytesRead != this.length_utf8.value) {
+                throw new FileFormatException("Read bytes for CONSTANT_Utf8 error.");
+            }
+        } else {
+            try {
+                this.symbol = symbols.intern(posDataInputStream.readSlice(this.length_utf8.value));
+            } catch (EOFException ex) {
+                throw new FileFormatException("Read bytes for CONSTANT_Utf8 error.");
+            }
+            this.bytes = this.symbol.bytes;
         }
 
         super.length = this.length_utf8.value + 1 + 2;
@@ -77,7 +102,7 @@ public class ConstantUtf8Info extends CPInfo {
      */
     public String getValue() {
         if (this.value == null) {
-            this.value = new String(this.bytes, StandardCharsets.UTF_8);
+            this.value = (this.symbol != null) ? this.symbol.getValue() : new String(this.bytes, StandardCharsets.UTF_8);
         }
         
         return this.value;
@@ -0,0 +1,151 @@
+/*
+ * SymbolTable.java    Oct 17, 2026, 02:10
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.format.classfile.constant;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.freeinternals.commonlib.core.ByteArraySlice;
+
+/**
+ * Symbol table shared by the {@link ConstantUtf8Info} items of many class
+ * files, so that the same name, like <code>java/lang/Object</code>,
+ * <code>()V</code> or <code>Code</code>, is kept only once in memory.
+ *
+ * <p>
+ * Symbols are keyed by a hash over the raw modified UTF-8 bytes. A lookup
+ * compares the bytes in place in the class file, nothing is copied or decoded
+ * unless the symbol is new; the {@link String} value of a symbol is decoded
+ * once, on first use, and shared by all the constants resolving to it.
+ * </p>
+ *
+ * <p>
+ * The table is thread-safe, class files may be parsed into it concurrently.
+ * It grows with the distinct symbols and is never cleared; a table is meant
+ * to serve one set of class files, like the jar files of a class path, and
+ * be dropped with them.
+ * </p>
+ *
+ * @author Amos Shi
+ * @see org.freeinternals.format.classfile.ClassFile#ClassFile(byte[],
+ * SymbolTable, org.freeinternals.format.classfile.ClassFile.ParseOption...)
+ */
+public final class SymbolTable {
+
+    /**
+     * Canonical symbols, each mapped to itself.
+     */
+    private final Map<Symbol, Symbol> symbols = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an empty table.
+     */
+    public SymbolTable() {
+    }
+
+    /**
+     * Get the canonical symbol of some bytes, adding it if it is new.
+     *
+     * @param data Raw bytes of a {@code CONSTANT_Utf8_info}
+     * @return The canonical symbol
+     */
+    Symbol intern(final ByteArraySlice data) {
+        final Symbol probe = new Symbol(data);
+        final Symbol symbol = this.symbols.get(probe);
+        if (symbol != null) {
+            return symbol;
+        }
+        final Symbol created = new Symbol(data.toByteArray(), probe.hash);
+        final Symbol existing = this.symbols.putIfAbsent(created, created);
+        return (existing != null) ? existing : created;
+    }
+
+    /**
+     * Get the number of distinct symbols.
+     *
+     * @return Number of symbols
+     */
+    public int size() {
+        return this.symbols.size();
+    }
+
+    /**
+     * A distinct symbol, or a probe over the bytes of a class file.
+     */
+    static final class Symbol {
+
+        /**
+         * Content of a canonical symbol, <code>null</code> for a probe.
+         */
+        final byte[] bytes;
+        /**
+         * Content of a probe, <code>null</code> for a canonical symbol.
+         */
+        private final ByteArraySlice data;
+        /**
+         * Hash of the content.
+         */
+        private final int hash;
+        /**
+         * The decoded value, created on first use.
+         */
+        private String value;
+
+        private Symbol(final ByteArraySlice data) {
+            this.bytes = null;
+            this.data = data;
+            this.hash = data.contentHashCode();
+        }
+
+        private Symbol(final byte[] bytes, final int hash) {
+            this.bytes = bytes;
+            this.data = null;
+            this.hash = hash;
+        }
+
+        /**
+         * Get the value of a canonical symbol.
+         *
+         * @return The decoded value
+         */
+        String getValue() {
+            String v = this.value;
+            if (v == null) {
+                v = new String(this.bytes, StandardCharsets.UTF_8);
+                this.value = v;
+            }
+            return v;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Symbol)) {
+                return false;
+            }
+            final Symbol other = (Symbol) obj;
+            if (this.hash != other.hash) {
+                return false;
+            } else if (this.bytes != null && other.bytes != null) {
+                return Arrays.equals(this.bytes, other.bytes);
+            } else if (this.bytes != null) {
+                return other.data.contentEquals(this.bytes);
+            } else if (other.bytes != null) {
+                return this.data.contentEquals(other.bytes);
+            }
+            return false;
+        }
+    }
+}
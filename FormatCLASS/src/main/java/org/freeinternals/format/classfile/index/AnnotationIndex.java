@@ -0,0 +1,579 @@
+/*
+ * AnnotationIndex.java    Oct 17, 2026, 03:40
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.format.classfile.index;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.freeinternals.commonlib.core.FileFormatException;
+
+/**
+ * Index from annotation types to the classes, fields, methods and method
+ * parameters carrying them, built by {@link ClassIndexer} with the
+ * {@link AnnotationScanner}.
+ *
+ * <p>
+ * The index is kept in one compact binary image, which can be written to a
+ * file with {@link #write(Path)} and memory-mapped back with
+ * {@link #load(Path)}; queries read the image in place, loading checks the
+ * header and each record once. The image, all numbers big-endian:
+ * </p>
+ * <pre>
+ * Header           u4 magic "FIAX", u2 version, u2 reserved,
+ *                  u4 class_count, u4 string_count, u4 annotation_count,
+ *                  u4 target_count, u4 failure_count, u4 string_data_length
+ * String offsets   u4[string_count + 1], into the string data
+ * Annotations      annotation_count * (u4 name, u4 first_target),
+ *                  sorted by the UTF-8 bytes of the name
+ * Targets          target_count * (u1 kind, u1 flags, u2 parameter,
+ *                  u4 owner, u4 name, u4 descriptor), grouped by annotation
+ * Failures         failure_count * (u4 source, u4 message)
+ * String data      UTF-8 bytes of the strings
+ * </pre>
+ * <p>
+ * Strings are referenced by their index in the string offsets, a missing
+ * name or descriptor is <code>0xFFFFFFFF</code>. The index is immutable and
+ * can be queried from any thread.
+ * </p>
+ *
+ * @author Amos Shi
+ */
+public final class AnnotationIndex {
+
+    /**
+     * Magic number of the index file, <code>FIAX</code>.
+     */
+    public static final int MAGIC = 0x46494158;
+    /**
+     * Version of the index file format.
+     */
+    public static final int VERSION = 1;
+
+    private static final int HEADER_LENGTH = 32;
+    private static final int ANNOTATION_LENGTH = 8;
+    private static final int TARGET_LENGTH = 16;
+    private static final int FAILURE_LENGTH = 8;
+    private static final int NONE = -1;
+    private static final int FLAG_VISIBLE = 0x01;
+    private static final int FLAG_TYPE = 0x02;
+
+    /**
+     * The binary image.
+     */
+    private final ByteBuffer image;
+    private final int classCount;
+    private final int stringCount;
+    private final int annotationCount;
+    private final int targetCount;
+    private final int failureCount;
+    private final int stringOffsetsPos;
+    private final int annotationsPos;
+    private final int targetsPos;
+    private final int failuresPos;
+    private final int stringDataPos;
+    /**
+     * Strings already decoded from the image.
+     */
+    private final String[] strings;
+
+    private AnnotationIndex(final ByteBuffer image) throws IOException, FileFormatException {
+        this.image = image;
+        if (image.capacity() < HEADER_LENGTH || image.getInt(0) != MAGIC) {
+            throw new FileFormatException("It is not an annotation index file.");
+        }
+        if ((image.getShort(4) & 0xFFFF) != VERSION) {
+            throw new FileFormatException(String.format("Unsupported annotation index version %d.", image.getShort(4) & 0xFFFF));
+        }
+        this.classCount = image.getInt(8);
+        this.stringCount = image.getInt(12);
+        this.annotationCount = image.getInt(16);
+        this.targetCount = image.getInt(20);
+        this.failureCount = image.getInt(24);
+        final int stringDataLength = image.getInt(28);
+        if (this.classCount < 0 || this.stringCount < 0 || this.annotationCount < 0 || this.targetCount < 0
+                || this.failureCount < 0 || stringDataLength < 0) {
+            throw corrupted(image);
+        }
+
+        // Each section must end inside the image, and the string data at its end
+        try {
+            this.stringOffsetsPos = HEADER_LENGTH;
+            this.annotationsPos = sectionEnd(image, this.stringOffsetsPos, Math.addExact(this.stringCount, 1), 4);
+            this.targetsPos = sectionEnd(image, this.annotationsPos, this.annotationCount, ANNOTATION_LENGTH);
+            this.failuresPos = sectionEnd(image, this.targetsPos, this.targetCount, TARGET_LENGTH);
+            this.stringDataPos = sectionEnd(image, this.failuresPos, this.failureCount, FAILURE_LENGTH);
+            if (sectionEnd(image, this.stringDataPos, stringDataLength, 1) != image.capacity()) {
+                throw corrupted(image);
+            }
+        } catch (ArithmeticException ex) {
+            throw corrupted(image);
+        }
+
+        // The string offsets must be ascending inside the string data
+        int previous = 0;
+        for (int i = 0; i <= this.stringCount; i++) {
+            final int offset = image.getInt(this.stringOffsetsPos + 4 * i);
+            if (offset < previous || offset > stringDataLength) {
+                throw corrupted(image);
+            }
+            previous = offset;
+        }
+        this.checkRecords();
+        this.strings = new String[this.stringCount];
+    }
+
+    /**
+     * Check the string ids, the target ranges and the kinds of all records,
+     * so that the queries can read them unchecked.
+     *
+     * @throws FileFormatException A record is invalid
+     */
+    private void checkRecords() throws FileFormatException {
+        int previous = 0;
+        for (int i = 0; i < this.annotationCount; i++) {
+            final int p = this.annotationsPos + i * ANNOTATION_LENGTH;
+            this.checkString(this.image.getInt(p), false, "annotation name", i);
+            final int first = this.image.getInt(p + 4);
+            if (first < previous || first > this.targetCount) {
+                throw new FileFormatException(String.format(
+                        "The annotation index is corrupted, invalid first target %d of annotation %d.", first, i));
+            }
+            previous = first;
+        }
+
+        final int kinds = AnnotationTarget.Kind.values().length;
+        for (int i = 0; i < this.targetCount; i++) {
+            final int p = this.targetsPos + i * TARGET_LENGTH;
+            final int kind = this.image.get(p) & 0xFF;
+            if (kind >= kinds) {
+                throw new FileFormatException(String.format(
+                        "The annotation index is corrupted, invalid kind %d of target %d.", kind, i));
+            }
+            this.checkString(this.image.getInt(p + 4), false, "target owner", i);
+            this.checkString(this.image.getInt(p + 8), true, "target name", i);
+            this.checkString(this.image.getInt(p + 12), true, "target descriptor", i);
+        }
+
+        for (int i = 0; i < this.failureCount; i++) {
+            final int p = this.failuresPos + i * FAILURE_LENGTH;
+            this.checkString(this.image.getInt(p), false, "failure source", i);
+            this.checkString(this.image.getInt(p + 4), true, "failure message", i);
+        }
+    }
+
+    private void checkString(final int id, final boolean optional, final String field, final int record)
+            throws FileFormatException {
+        if ((id < 0 || id >= this.stringCount) && !(optional && id == NONE)) {
+            throw new FileFormatException(String.format(
+                    "The annotation index is corrupted, invalid string id %d of %s %d.", id, field, record));
+        }
+    }
+
+    /**
+     * Get the end of an image section.
+     *
+     * @throws ArithmeticException The end overflows an <code>int</code>
+     * @throws IOException The end is beyond the image
+     */
+    private static int sectionEnd(final ByteBuffer image, final int start, final int count, final int itemLength)
+            throws IOException {
+        final int end = Math.addExact(start, Math.multiplyExact(count, itemLength));
+        if (end > image.capacity()) {
+            throw corrupted(image);
+        }
+        return end;
+    }
+
+    private static IOException corrupted(final ByteBuffer image) {
+        return new IOException(String.format(
+                "The annotation index is corrupted, its length is %d bytes.", image.capacity()));
+    }
+
+    /**
+     * Memory-map an annotation index file written by {@link #write(Path)}.
+     *
+     * @param file The index file
+     * @return The index
+     * @throws IOException The file can not be read, or the index is
+     * corrupted
+     * @throws FileFormatException The file is not an annotation index, its
+     * version is not supported, or one of its records is invalid
+     */
+    public static AnnotationIndex load(final Path file) throws IOException, FileFormatException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new AnnotationIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Write the index to a file, replacing the existing content.
+     *
+     * @param file The index file
+     * @throws IOException The file can not be written
+     */
+    public void write(final Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            final ByteBuffer buf = this.image.duplicate();
+            buf.clear();
+            while (buf.hasRemaining()) {
+                channel.write(buf);
+            }
+        }
+    }
+
+    /**
+     * Get the internal names of all annotation types in the index.
+     *
+     * @return Sorted internal names of the annotation types
+     */
+    public List<String> getAnnotationNames() {
+        final List<String> result = new ArrayList<>(this.annotationCount);
+        for (int i = 0; i < this.annotationCount; i++) {
+            result.add(this.getString(this.image.getInt(this.annotationsPos + i * ANNOTATION_LENGTH)));
+        }
+        return result;
+    }
+
+    /**
+     * Get the elements carrying an annotation.
+     *
+     * @param annotation Name of the annotation type, in binary or internal
+     * form
+     * @return The annotated elements, sorted by class
+     */
+    public List<AnnotationTarget> getTargets(final String annotation) {
+        final int a = this.findAnnotation(annotation);
+        if (a < 0) {
+            return Collections.emptyList();
+        }
+        final int first = this.getFirstTarget(a);
+        final int last = this.getFirstTarget(a + 1);
+        final List<AnnotationTarget> result = new ArrayList<>(last - first);
+        for (int t = first; t < last; t++) {
+            final int p = this.targetsPos + t * TARGET_LENGTH;
+            final int flags = this.image.get(p + 1);
+            final int parameter = this.image.getShort(p + 2);
+            result.add(new AnnotationTarget(
+                    AnnotationTarget.Kind.valueOf(this.image.get(p) & 0xFF),
+                    this.getString(this.image.getInt(p + 4)),
+                    this.getString(this.image.getInt(p + 8)),
+                    this.getString(this.image.getInt(p + 12)),
+                    parameter,
+                    (flags & FLAG_VISIBLE) != 0,
+                    (flags & FLAG_TYPE) != 0));
+        }
+        return result;
+    }
+
+    /**
+     * Get the classes which carry an annotation on the class itself or on
+     * any of its members.
+     *
+     * @param annotation Name of the annotation type, in binary or internal
+     * form
+     * @return Sorted internal names of the classes
+     */
+    public List<String> getAnnotatedClasses(final String annotation) {
+        final int a = this.findAnnotation(annotation);
+        if (a < 0) {
+            return Collections.emptyList();
+        }
+        final Set<String> result = new TreeSet<>();
+        for (int t = this.getFirstTarget(a), last = this.getFirstTarget(a + 1); t < last; t++) {
+            result.add(this.getString(this.image.getInt(this.targetsPos + t * TARGET_LENGTH + 4)));
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * Get the sources failed to scan.
+     *
+     * @return Error messages by source name
+     */
+    public Map<String, String> getFailures() {
+        final Map<String, String> result = new LinkedHashMap<>();
+        for (int i = 0; i < this.failureCount; i++) {
+            final int p = this.failuresPos + i * FAILURE_LENGTH;
+            result.put(this.getString(this.image.getInt(p)), this.getString(this.image.getInt(p + 4)));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Get the count of scanned classes.
+     *
+     * @return Count of classes
+     */
+    public int size() {
+        return this.classCount;
+    }
+
+    /**
+     * Get the count of annotation types.
+     *
+     * @return Count of annotation types
+     */
+    public int getAnnotationCount() {
+        return this.annotationCount;
+    }
+
+    /**
+     * Get the count of annotations on all elements.
+     *
+     * @return Count of annotated elements
+     */
+    public int getTargetCount() {
+        return this.targetCount;
+    }
+
+    /**
+     * Get the length of the binary image, which is the length of the index
+     * file.
+     *
+     * @return Length in bytes
+     */
+    public int getLength() {
+        return this.image.capacity();
+    }
+
+    private int getFirstTarget(final int annotation) {
+        return (annotation < this.annotationCount)
+                ? this.image.getInt(this.annotationsPos + annotation * ANNOTATION_LENGTH + 4)
+                : this.targetCount;
+    }
+
+    /**
+     * Binary search an annotation type by the UTF-8 bytes of its name.
+     *
+     * @return Index of the annotation type, or <code>-1</code>
+     */
+    private int findAnnotation(final String annotation) {
+        final byte[] key = annotation.replace('.', '/').getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = this.annotationCount - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int cmp = this.compareString(this.image.getInt(this.annotationsPos + mid * ANNOTATION_LENGTH), key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private int compareString(final int id, final byte[] key) {
+        final int start = this.stringDataPos + this.image.getInt(this.stringOffsetsPos + 4 * id);
+        final int length = this.stringDataPos + this.image.getInt(this.stringOffsetsPos + 4 * (id + 1)) - start;
+        final int n = Math.min(length, key.length);
+        for (int i = 0; i < n; i++) {
+            final int cmp = (this.image.get(start + i) & 0xFF) - (key[i] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return length - key.length;
+    }
+
+    private String getString(final int id) {
+        if (id == NONE) {
+            return null;
+        }
+        String value = this.strings[id];
+        if (value == null) {
+            final int start = this.image.getInt(this.stringOffsetsPos + 4 * id);
+            final int end = this.image.getInt(this.stringOffsetsPos + 4 * (id + 1));
+            final byte[] bytes = new byte[end - start];
+            final ByteBuffer buf = this.image.duplicate();
+            buf.position(this.stringDataPos + start);
+            buf.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+            this.strings[id] = value;
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d annotation types on %d elements of %d classes, %d KB%s",
+                this.annotationCount,
+                this.targetCount,
+                this.classCount,
+                this.getLength() / 1024,
+                this.failureCount == 0 ? "" : String.format(", %d failed", this.failureCount));
+    }
+
+    /**
+     * Collects the annotations found by the {@link AnnotationScanner} on the
+     * worker threads, and builds the binary image.
+     */
+    static final class Builder {
+
+        /**
+         * Canonical strings, so a name found in many classes is kept once.
+         */
+        private final Map<String, String> symbols = new HashMap<>();
+        private final Set<String> classes = new HashSet<>();
+        private final Map<String, List<AnnotationTarget>> targets = new HashMap<>();
+        private final Map<String, String> failures = new HashMap<>();
+
+        /**
+         * Add the annotations of a class.
+         *
+         * @param scanner The scanner of the class
+         * @return <code>false</code> if the class is already added
+         */
+        synchronized boolean add(final AnnotationScanner scanner) {
+            if (!this.classes.add(scanner.className)) {
+                return false;
+            }
+            for (int i = 0; i < scanner.targets.size(); i++) {
+                final AnnotationTarget t = scanner.targets.get(i);
+                this.targets.computeIfAbsent(this.symbol(scanner.annotations.get(i)), k -> new ArrayList<>())
+                        .add(new AnnotationTarget(t.kind, this.symbol(t.owner), this.symbol(t.name),
+                                this.symbol(t.descriptor), t.parameter, t.visible, t.typeAnnotation));
+            }
+            return true;
+        }
+
+        synchronized void addFailure(final String source, final String message) {
+            this.failures.put(source, message);
+        }
+
+        private String symbol(final String s) {
+            if (s == null) {
+                return null;
+            }
+            final String existing = this.symbols.putIfAbsent(s, s);
+            return (existing != null) ? existing : s;
+        }
+
+        synchronized AnnotationIndex build() {
+            final Map<String, Integer> ids = new HashMap<>();
+            final List<byte[]> stringData = new ArrayList<>();
+
+            final List<String> names = new ArrayList<>(this.targets.keySet());
+            names.sort(Comparator.comparing((String name) -> name.getBytes(StandardCharsets.UTF_8), Builder::compareBytes));
+
+            final Comparator<AnnotationTarget> order = Comparator
+                    .comparing((AnnotationTarget t) -> t.owner)
+                    .thenComparing(t -> t.kind)
+                    .thenComparing(t -> t.name, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                    .thenComparing(t -> t.descriptor, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                    .thenComparingInt(t -> t.parameter);
+            int targetCount = 0;
+            for (List<AnnotationTarget> list : this.targets.values()) {
+                list.sort(order);
+                targetCount += list.size();
+            }
+
+            // Intern the annotation names first, then the other strings
+            for (String name : names) {
+                id(name, ids, stringData);
+            }
+            final int length = HEADER_LENGTH
+                    + ANNOTATION_LENGTH * names.size()
+                    + TARGET_LENGTH * targetCount
+                    + FAILURE_LENGTH * this.failures.size();
+            final ByteBuffer body = ByteBuffer.allocate(length - HEADER_LENGTH);
+
+            int first = 0;
+            for (String name : names) {
+                body.putInt(ids.get(name));
+                body.putInt(first);
+                first += this.targets.get(name).size();
+            }
+            for (String name : names) {
+                for (AnnotationTarget t : this.targets.get(name)) {
+                    body.put((byte) t.kind.ordinal());
+                    body.put((byte) ((t.visible ? FLAG_VISIBLE : 0) | (t.typeAnnotation ? FLAG_TYPE : 0)));
+                    body.putShort((short) t.parameter);
+                    body.putInt(id(t.owner, ids, stringData));
+                    body.putInt(id(t.name, ids, stringData));
+                    body.putInt(id(t.descriptor, ids, stringData));
+                }
+            }
+            for (Map.Entry<String, String> failure : this.failures.entrySet()) {
+                body.putInt(id(failure.getKey(), ids, stringData));
+                body.putInt(id(failure.getValue(), ids, stringData));
+            }
+
+            int dataLength = 0;
+            for (byte[] s : stringData) {
+                dataLength += s.length;
+            }
+            final ByteBuffer image = ByteBuffer.allocate(length + 4 * (stringData.size() + 1) + dataLength);
+            image.putInt(MAGIC);
+            image.putShort((short) VERSION);
+            image.putShort((short) 0);
+            image.putInt(this.classes.size());
+            image.putInt(stringData.size());
+            image.putInt(names.size());
+            image.putInt(targetCount);
+            image.putInt(this.failures.size());
+            image.putInt(dataLength);
+            int offset = 0;
+            for (byte[] s : stringData) {
+                image.putInt(offset);
+                offset += s.length;
+            }
+            image.putInt(offset);
+            body.flip();
+            image.put(body);
+            for (byte[] s : stringData) {
+                image.put(s);
+            }
+
+            try {
+                return new AnnotationIndex(image);
+            } catch (IOException | FileFormatException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        private static int id(final String s, final Map<String, Integer> ids, final List<byte[]> stringData) {
+            if (s == null) {
+                return NONE;
+            }
+            Integer id = ids.get(s);
+            if (id == null) {
+                id = stringData.size();
+                ids.put(s, id);
+                stringData.add(s.getBytes(StandardCharsets.UTF_8));
+            }
+            return id;
+        }
+
+        private static int compareBytes(final byte[] a, final byte[] b) {
+            final int n = Math.min(a.length, b.length);
+            for (int i = 0; i < n; i++) {
+                final int cmp = (a[i] & 0xFF) - (b[i] & 0xFF);
+                if (cmp != 0) {
+                    return cmp;
+                }
+            }
+            return a.length - b.length;
+        }
+    }
+}
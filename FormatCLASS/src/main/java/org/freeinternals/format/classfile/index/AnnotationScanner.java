@@ -0,0 +1,398 @@
+/*
+ * AnnotationScanner.java    Oct 17, 2026, 03:30
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.format.classfile.index;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.freeinternals.commonlib.core.FileFormatException;
+import org.freeinternals.format.classfile.ClassFile;
+import org.freeinternals.format.classfile.attribute.AttributeInfo;
+import org.freeinternals.format.classfile.constant.CPInfo;
+
+/**
+ * Finds the annotations of a class file without building a
+ * {@link ClassFile}.
+ *
+ * <p>
+ * The scanner reads the raw bytes: it records the offsets of the constant
+ * pool entries, then walks the fields, methods and attributes. Only the
+ * {@code Runtime*Annotations}, {@code Runtime*ParameterAnnotations} and
+ * {@code Runtime*TypeAnnotations} attributes are read; all other attributes,
+ * the {@code Code} attribute included, are skipped by their length. The
+ * <code>CONSTANT_Utf8_info</code> entries are decoded only when they are
+ * used.
+ * </p>
+ *
+ * @author Amos Shi
+ * @see
+ * <a href="https://docs.oracle.com/javase/specs/jvms/se12/html/jvms-4.html#jvms-4.7.16">
+ * VM Spec: The RuntimeVisibleAnnotations Attribute
+ * </a>
+ */
+final class AnnotationScanner {
+
+    /**
+     * Length of the constant pool entries by tag, not including the tag;
+     * <code>0</code> for an invalid tag and <code>-1</code> for
+     * <code>CONSTANT_Utf8_info</code>, whose length is variable.
+     */
+    private static final int[] CP_ENTRY_LENGTH = new int[32];
+
+    static {
+        CP_ENTRY_LENGTH[CPInfo.ConstantType.CONSTANT_Utf8.tag] = -1;
+        for (CPInfo.ConstantType type : new CPInfo.ConstantType[]{
+            CPInfo.ConstantType.CONSTANT_Class,
+            CPInfo.ConstantType.CONSTANT_String,
+            CPInfo.ConstantType.CONSTANT_MethodType,
+            CPInfo.ConstantType.CONSTANT_Module,
+            CPInfo.ConstantType.CONSTANT_Package}) {
+            CP_ENTRY_LENGTH[type.tag] = 2;
+        }
+        CP_ENTRY_LENGTH[CPInfo.ConstantType.CONSTANT_MethodHandle.tag] = 3;
+        for (CPInfo.ConstantType type : new CPInfo.ConstantType[]{
+            CPInfo.ConstantType.CONSTANT_Integer,
+            CPInfo.ConstantType.CONSTANT_Float,
+            CPInfo.ConstantType.CONSTANT_Fieldref,
+            CPInfo.ConstantType.CONSTANT_Methodref,
+            CPInfo.ConstantType.CONSTANT_InterfaceMethodref,
+            CPInfo.ConstantType.CONSTANT_NameAndType,
+            CPInfo.ConstantType.CONSTANT_Dynamic,
+            CPInfo.ConstantType.CONSTANT_InvokeDynamic}) {
+            CP_ENTRY_LENGTH[type.tag] = 4;
+        }
+        CP_ENTRY_LENGTH[CPInfo.ConstantType.CONSTANT_Long.tag] = 8;
+        CP_ENTRY_LENGTH[CPInfo.ConstantType.CONSTANT_Double.tag] = 8;
+    }
+
+    private static final String VISIBLE = AttributeInfo.AttributeTypes.RuntimeVisibleAnnotations.name();
+    private static final String INVISIBLE = AttributeInfo.AttributeTypes.RuntimeInvisibleAnnotations.name();
+    private static final String VISIBLE_PARAMETER = AttributeInfo.AttributeTypes.RuntimeVisibleParameterAnnotations.name();
+    private static final String INVISIBLE_PARAMETER = AttributeInfo.AttributeTypes.RuntimeInvisibleParameterAnnotations.name();
+    private static final String VISIBLE_TYPE = AttributeInfo.AttributeTypes.RuntimeVisibleTypeAnnotations.name();
+    private static final String INVISIBLE_TYPE = AttributeInfo.AttributeTypes.RuntimeInvisibleTypeAnnotations.name();
+    /**
+     * Common prefix of the names of the annotation attributes.
+     */
+    private static final byte[] RUNTIME = "Runtime".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * The {@code target_type} of a type annotation on a formal parameter of
+     * a method.
+     */
+    private static final int TARGET_METHOD_FORMAL_PARAMETER = 0x16;
+
+    private final byte[] bytes;
+    private int pos;
+    /**
+     * Offset of each constant pool entry, pointing to its tag.
+     */
+    private int[] cpOffsets;
+    /**
+     * Decoded <code>CONSTANT_Utf8_info</code> values.
+     */
+    private String[] utf8;
+
+    /**
+     * Internal name of the class.
+     */
+    String className;
+    /**
+     * Internal names of the annotation types found, in the order of
+     * {@link #targets}.
+     */
+    final List<String> annotations = new ArrayList<>();
+    /**
+     * Targets of the annotations found.
+     */
+    final List<AnnotationTarget> targets = new ArrayList<>();
+
+    private AnnotationScanner(final byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * Find the annotations of a class file.
+     *
+     * @param bytes Content of the class file
+     * @return The scanner holding the class name and the annotations
+     * @throws FileFormatException Invalid class file
+     */
+    static AnnotationScanner scan(final byte[] bytes) throws FileFormatException {
+        final AnnotationScanner scanner = new AnnotationScanner(bytes);
+        try {
+            scanner.scanClass();
+        } catch (ArrayIndexOutOfBoundsException ex) {
+            throw new FileFormatException("Unexpected end of the class file at " + scanner.pos);
+        }
+        return scanner;
+    }
+
+    private void scanClass() throws FileFormatException {
+        if (this.u4() != ClassFile.MAGIC) {
+            throw new FileFormatException("The magic number of the byte array is not 0xCAFEBABE");
+        }
+        this.pos += 4;  // minor_version, major_version
+
+        final int cpCount = this.u2();
+        this.cpOffsets = new int[cpCount];
+        this.utf8 = new String[cpCount];
+        for (int i = 1; i < cpCount; i++) {
+            this.cpOffsets[i] = this.pos;
+            final int tag = this.u1();
+            final int length = (tag < CP_ENTRY_LENGTH.length) ? CP_ENTRY_LENGTH[tag] : 0;
+            if (length == 0) {
+                throw new FileFormatException(String.format("Unrecognized constant pool tag %d at index %d.", tag, i));
+            } else if (length == -1) {
+                final int utf8Length = this.u2();
+                this.pos += utf8Length;
+            } else {
+                this.pos += length;
+                if (length == 8) {
+                    i++;  // long and double take two entries
+                }
+            }
+        }
+
+        this.pos += 2;  // access_flags
+        this.className = this.classUtf8(this.u2());
+        this.pos += 2;  // super_class
+        final int interfaceCount = this.u2();
+        this.pos += 2 * interfaceCount;
+
+        final int fieldCount = this.u2();
+        for (int i = 0; i < fieldCount; i++) {
+            this.scanMember(AnnotationTarget.Kind.FIELD);
+        }
+        final int methodCount = this.u2();
+        for (int i = 0; i < methodCount; i++) {
+            this.scanMember(AnnotationTarget.Kind.METHOD);
+        }
+        this.scanAttributes(AnnotationTarget.Kind.CLASS, 0, 0);
+    }
+
+    private void scanMember(final AnnotationTarget.Kind kind) throws FileFormatException {
+        this.pos += 2;  // access_flags
+        final int nameIndex = this.u2();
+        final int descriptorIndex = this.u2();
+        this.scanAttributes(kind, nameIndex, descriptorIndex);
+    }
+
+    private void scanAttributes(final AnnotationTarget.Kind kind, final int nameIndex, final int descriptorIndex) throws FileFormatException {
+        final int count = this.u2();
+        for (int i = 0; i < count; i++) {
+            final int attributeIndex = this.u2();
+            final int length = this.u4();
+            final int end = this.pos + length;
+            if (length < 0 || end > this.bytes.length) {
+                throw new FileFormatException(String.format("Invalid length %d of attribute %s.", length, this.utf8(attributeIndex)));
+            }
+
+            // Only the names of the annotation attributes are decoded
+            final String attribute = this.startsWith(attributeIndex, RUNTIME) ? this.utf8(attributeIndex) : "";
+
+            if (VISIBLE.equals(attribute) || INVISIBLE.equals(attribute)) {
+                this.scanAnnotations(kind, nameIndex, descriptorIndex, -1, VISIBLE.equals(attribute));
+            } else if (kind == AnnotationTarget.Kind.METHOD
+                    && (VISIBLE_PARAMETER.equals(attribute) || INVISIBLE_PARAMETER.equals(attribute))) {
+                final boolean visible = VISIBLE_PARAMETER.equals(attribute);
+                final int parameters = this.u1();
+                for (int p = 0; p < parameters; p++) {
+                    this.scanAnnotations(AnnotationTarget.Kind.PARAMETER, nameIndex, descriptorIndex, p, visible);
+                }
+            } else if (VISIBLE_TYPE.equals(attribute) || INVISIBLE_TYPE.equals(attribute)) {
+                this.scanTypeAnnotations(kind, nameIndex, descriptorIndex, VISIBLE_TYPE.equals(attribute));
+            } else {
+                this.pos = end;
+            }
+
+            if (this.pos != end) {
+                throw new FileFormatException(String.format("Attribute %s has %d bytes, but %d bytes are parsed.", this.utf8(attributeIndex), length, this.pos - end + length));
+            }
+        }
+    }
+
+    private void scanAnnotations(final AnnotationTarget.Kind kind, final int nameIndex, final int descriptorIndex,
+            final int parameter, final boolean visible) throws FileFormatException {
+        final int count = this.u2();
+        for (int i = 0; i < count; i++) {
+            this.add(kind, nameIndex, descriptorIndex, parameter, visible, false);
+            this.skipElementValuePairs();
+        }
+    }
+
+    private void scanTypeAnnotations(final AnnotationTarget.Kind kind, final int nameIndex, final int descriptorIndex,
+            final boolean visible) throws FileFormatException {
+        final int count = this.u2();
+        for (int i = 0; i < count; i++) {
+            final int targetType = this.u1();
+            int parameter = -1;
+            switch (targetType) {
+                case 0x00:  // type_parameter_target
+                case 0x01:
+                    this.pos += 1;
+                    break;
+                case 0x10:  // supertype_target
+                case 0x11:  // type_parameter_bound_target
+                case 0x12:
+                case 0x17:  // throws_target
+                    this.pos += 2;
+                    break;
+                case 0x13:  // empty_target
+                case 0x14:
+                case 0x15:
+                    break;
+                case TARGET_METHOD_FORMAL_PARAMETER:  // formal_parameter_target
+                    parameter = this.u1();
+                    break;
+                default:
+                    // The other targets are in the Code attribute only
+                    throw new FileFormatException(String.format("Unexpected target_type 0x%02X of a type annotation.", targetType));
+            }
+            final int pathLength = this.u1();  // type_path
+            this.pos += 2 * pathLength;
+
+            if (parameter >= 0) {
+                this.add(AnnotationTarget.Kind.PARAMETER, nameIndex, descriptorIndex, parameter, visible, true);
+            } else {
+                this.add(kind, nameIndex, descriptorIndex, -1, visible, true);
+            }
+            this.skipElementValuePairs();
+        }
+    }
+
+    private void add(final AnnotationTarget.Kind kind, final int nameIndex, final int descriptorIndex,
+            final int parameter, final boolean visible, final boolean typeAnnotation) throws FileFormatException {
+        this.annotations.add(toInternalName(this.utf8(this.u2())));  // type_index
+        this.targets.add(new AnnotationTarget(kind, this.className,
+                (nameIndex == 0) ? null : this.utf8(nameIndex),
+                (descriptorIndex == 0) ? null : this.utf8(descriptorIndex),
+                parameter, visible, typeAnnotation));
+    }
+
+    /**
+     * Skip the {@code element_value_pairs} of an annotation.
+     */
+    private void skipElementValuePairs() throws FileFormatException {
+        final int count = this.u2();
+        for (int i = 0; i < count; i++) {
+            this.pos += 2;  // element_name_index
+            this.skipElementValue();
+        }
+    }
+
+    private void skipElementValue() throws FileFormatException {
+        final int tag = this.u1();
+        switch (tag) {
+            case 'B':
+            case 'C':
+            case 'D':
+            case 'F':
+            case 'I':
+            case 'J':
+            case 'S':
+            case 'Z':
+            case 's':
+            case 'c':
+                this.pos += 2;
+                break;
+            case 'e':
+                this.pos += 4;
+                break;
+            case '@':
+                this.pos += 2;  // type_index
+                this.skipElementValuePairs();
+                break;
+            case '[':
+                final int count = this.u2();
+                for (int i = 0; i < count; i++) {
+                    this.skipElementValue();
+                }
+                break;
+            default:
+                throw new FileFormatException(String.format("Unrecognized element_value tag '%c'.", (char) tag));
+        }
+    }
+
+    /**
+     * Convert a field descriptor like <code>Ljava/lang/Deprecated;</code> to
+     * the internal name <code>java/lang/Deprecated</code>.
+     */
+    private static String toInternalName(final String descriptor) {
+        if (descriptor.length() > 2 && descriptor.charAt(0) == 'L' && descriptor.charAt(descriptor.length() - 1) == ';') {
+            return descriptor.substring(1, descriptor.length() - 1);
+        }
+        return descriptor;
+    }
+
+    /**
+     * Get the offset of the {@code length} of a
+     * <code>CONSTANT_Utf8_info</code>.
+     */
+    private int utf8Offset(final int index) throws FileFormatException {
+        if (index < 1 || index >= this.cpOffsets.length || this.bytes[this.cpOffsets[index]] != CPInfo.ConstantType.CONSTANT_Utf8.tag) {
+            throw new FileFormatException(String.format(
+                    "Constant Pool index (value = %d) is out of range, or it is not a CONSTANT_Utf8_info.", index));
+        }
+        return this.cpOffsets[index] + 1;
+    }
+
+    private String utf8(final int index) throws FileFormatException {
+        final int offset = this.utf8Offset(index);
+        String value = this.utf8[index];
+        if (value == null) {
+            final int length = ((this.bytes[offset] & 0xFF) << 8) | (this.bytes[offset + 1] & 0xFF);
+            value = new String(this.bytes, offset + 2, length, StandardCharsets.UTF_8);
+            this.utf8[index] = value;
+        }
+        return value;
+    }
+
+    /**
+     * Check if a <code>CONSTANT_Utf8_info</code> starts with an ASCII prefix,
+     * without decoding it.
+     */
+    private boolean startsWith(final int index, final byte[] prefix) throws FileFormatException {
+        final int offset = this.utf8Offset(index);
+        final int length = ((this.bytes[offset] & 0xFF) << 8) | (this.bytes[offset + 1] & 0xFF);
+        if (length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (this.bytes[offset + 2 + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String classUtf8(final int index) throws FileFormatException {
+        if (index < 1 || index >= this.cpOffsets.length || this.bytes[this.cpOffsets[index]] != CPInfo.ConstantType.CONSTANT_Class.tag) {
+            throw new FileFormatException(String.format(
+                    "Constant Pool index (value = %d) is out of range, or it is not a CONSTANT_Class_info.", index));
+        }
+        final int offset = this.cpOffsets[index] + 1;
+        return this.utf8(((this.bytes[offset] & 0xFF) << 8) | (this.bytes[offset + 1] & 0xFF));
+    }
+
+    private int u1() {
+        return this.bytes[this.pos++] & 0xFF;
+    }
+
+    private int u2() {
+        final int value = ((this.bytes[this.pos] & 0xFF) << 8) | (this.bytes[this.pos + 1] & 0xFF);
+        this.pos += 2;
+        return value;
+    }
+
+    private int u4() {
+        final int value = ((this.bytes[this.pos] & 0xFF) << 24) | ((this.bytes[this.pos + 1] & 0xFF) << 16)
+                | ((this.bytes[this.pos + 2] & 0xFF) << 8) | (this.bytes[this.pos + 3] & 0xFF);
+        this.pos += 4;
+        return value;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * AnnotationTarget.java    Oct 17, 2026, 03:20
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.format.classfile.index;
+
+/**
+ * A class, field, method or method parameter carrying an annotation, found
+ * by the {@link AnnotationIndex}.
+ *
+ * @author Amos Shi
+ */
+public final class AnnotationTarget {
+
+    /**
+     * Kind of an annotated element.
+     */
+    public enum Kind {
+
+        /**
+         * A class or interface.
+         */
+        CLASS,
+        /**
+         * A field.
+         */
+        FIELD,
+        /**
+         * A method.
+         */
+        METHOD,
+        /**
+         * A formal parameter of a method.
+         */
+        PARAMETER;
+
+        private static final Kind[] VALUES = values();
+
+        static Kind valueOf(final int ordinal) {
+            if (ordinal < 0 || ordinal >= VALUES.length) {
+                throw new IllegalArgumentException(String.format("Invalid annotation target kind %d.", ordinal));
+            }
+            return VALUES[ordinal];
+        }
+    }
+
+    /**
+     * Kind of the annotated element.
+     */
+    public final Kind kind;
+    /**
+     * Internal name of the class declaring the element, like
+     * <code>java/lang/String</code>.
+     */
+    public final String owner;
+    /**
+     * Name of the field or method; <code>null</code> for a
+     * {@link Kind#CLASS}.
+     */
+    public final String name;
+    /**
+     * Descriptor of the field or method; <code>null</code> for a
+     * {@link Kind#CLASS}.
+     */
+    public final String descriptor;
+    /**
+     * Index of the parameter for a {@link Kind#PARAMETER}, otherwise
+     * <code>-1</code>.
+     */
+    public final int parameter;
+    /**
+     * <code>true</code> if the annotation is retained at run time, in a
+     * {@code RuntimeVisible*} attribute; <code>false</code> for a
+     * {@code RuntimeInvisible*} attribute.
+     */
+    public final boolean visible;
+    /**
+     * <code>true</code> if the annotation is a type annotation on the type of
+     * the element, in a {@code Runtime*TypeAnnotations} attribute.
+     */
+    public final boolean typeAnnotation;
+
+    AnnotationTarget(final Kind kind, final String owner, final String name, final String descriptor,
+            final int parameter, final boolean visible, final boolean typeAnnotation) {
+        this.kind = kind;
+        this.owner = owner;
+        this.name = name;
+        this.descriptor = descriptor;
+        this.parameter = parameter;
+        this.visible = visible;
+        this.typeAnnotation = typeAnnotation;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder(this.owner);
+        if (this.kind != Kind.CLASS) {
+            sb.append('.').append(this.name).append(':').append(this.descriptor);
+        }
+        if (this.kind == Kind.PARAMETER) {
+            sb.append(" #").append(this.parameter);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * CallSite.java    Oct 17, 2026, 01:10
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.format.classfile.index;
+
+import org.freeinternals.format.classfile.Opcode;
+
+/**
+ * An {@code invoke*} instruction found by the {@link CallSiteIndex}.
+ *
+ * @author Amos Shi
+ */
+public final class CallSite {
+
+    /**
+     * The method containing the instruction.
+     */
+    public final IndexedMember caller;
+    /**
+     * The invoked method. For {@link Opcode.Instruction#invokedynamic} its
+     * owner is {@link CallSiteIndex#INVOKEDYNAMIC}.
+     */
+    public final IndexedMember callee;
+    /**
+     * Offset of the instruction in the {@code code} of the caller.
+     */
+    public final int offset;
+    /**
+     * Op code of the instruction.
+     */
+    public final Opcode.Instruction instruction;
+
+    CallSite(final IndexedMember caller, final IndexedMember callee, final int offset, final Opcode.Instruction instruction) {
+        this.caller = caller;
+        this.callee = callee;
+        this.offset = offset;
+        this.instruction = instruction;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s @%d %s %s", this.caller, this.offset, this.instruction.name(), this.callee);
+    }
+}
@@ -0,0 +1,452 @@
+/*
+ * CallSiteIndex.java    Oct 17, 2026, 01:10
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.format.classfile.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.freeinternals.commonlib.core.FileFormatException;
+import org.freeinternals.format.classfile.ClassFile;
+import org.freeinternals.format.classfile.InstructionStream;
+import org.freeinternals.format.classfile.MethodInfo;
+import org.freeinternals.format.classfile.Opcode;
+import org.freeinternals.format.classfile.attribute.AttributeCode;
+import org.freeinternals.format.classfile.attribute.AttributeInfo;
+import org.freeinternals.format.classfile.constant.CPInfo;
+import org.freeinternals.format.classfile.constant.ConstantInvokeDynamicInfo;
+import org.freeinternals.format.classfile.constant.ConstantRefInfo;
+import org.freeinternals.format.classfile.constant.SymbolTable;
+
+/**
+ * Inverted index from invoked methods to their call sites, the
+ * {@code invokevirtual}, {@code invokespecial}, {@code invokestatic},
+ * {@code invokeinterface} and {@code invokedynamic} instructions, built by
+ * {@link ClassIndexer#indexCallSites}.
+ *
+ * <p>
+ * Each method, invoked or invoking, is interned once to an <code>int</code>
+ * id. The call sites of a method are kept in an <code>int[]</code> indexed by
+ * its id, two <code>int</code>s per call site: the id of the caller, and the
+ * instruction offset shifted left by 8 bits with the op code in the low
+ * bits. The overloads of a method name are chained by id. The ids are found
+ * by key in open addressing tables of <code>String</code> and
+ * <code>int</code> arrays, so no <code>Integer</code> is boxed. Looking up a
+ * method, or all overloads of it, costs one hash lookup plus the size of the
+ * result.
+ * </p>
+ *
+ * <p>
+ * The index is built incrementally: more jar files or directories can be
+ * added to it at any time, and it may be queried in between. A class already
+ * in the index is ignored when it is added again, like the first one wins on
+ * a class path. The class files are decoded by the caller threads, only the
+ * merge into the index is serialized.
+ * </p>
+ *
+ * @author Amos Shi
+ */
+public final class CallSiteIndex {
+
+    /**
+     * Owner of the methods invoked by {@link Opcode.Instruction#invokedynamic},
+     * which are resolved by a bootstrap method instead of a class.
+     */
+    public static final String INVOKEDYNAMIC = "<invokedynamic>";
+    /**
+     * Initial capacity of the member arrays.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+    /**
+     * Bits of the op code in a packed call site.
+     */
+    private static final int OPCODE_BITS = 8;
+    /**
+     * Mask of the op code in a packed call site.
+     */
+    private static final int OPCODE_MASK = 0xFF;
+
+    /**
+     * Member ids by {@link IndexedMember#toString()}.
+     */
+    private final IdTable memberIds = new IdTable();
+    /**
+     * Id of the last interned member of each name, by owner and name.
+     */
+    private final IdTable overloadIds = new IdTable();
+    /**
+     * Members by id.
+     */
+    private IndexedMember[] members = new IndexedMember[INITIAL_CAPACITY];
+    /**
+     * Id of the previous member with the same owner and name, or
+     * <code>-1</code>, by member id.
+     */
+    private int[] overloads = new int[INITIAL_CAPACITY];
+    /**
+     * Packed call sites by the id of the invoked member.
+     */
+    private int[][] sites = new int[INITIAL_CAPACITY][];
+    /**
+     * Length of the used part of {@link #sites}, by member id.
+     */
+    private int[] siteLengths = new int[INITIAL_CAPACITY];
+    /**
+     * Count of interned members.
+     */
+    private int memberCount;
+    /**
+     * Count of call sites.
+     */
+    private long siteCount;
+    /**
+     * Symbols shared by the indexed classes, so the names of the members are
+     * not duplicated per class.
+     */
+    private final SymbolTable symbols = new SymbolTable();
+    /**
+     * Internal names of the indexed classes.
+     */
+    private final Set<String> classes = new HashSet<>();
+    /**
+     * Error messages of the sources failed to parse, by source name.
+     */
+    private final Map<String, String> failures = new ConcurrentHashMap<>();
+    /**
+     * Total length of the indexed class files.
+     */
+    private long bytes;
+    /**
+     * Time used to build the index, in nanoseconds.
+     */
+    private long elapsedNanos;
+
+    /**
+     * Creates an empty index.
+     */
+    public CallSiteIndex() {
+    }
+
+    /**
+     * Add the call sites of a class. The instructions are decoded on the
+     * calling thread, then merged into the index.
+     *
+     * @param cf The class file, including the {@code Code} attributes
+     * @return <code>false</code> if the class is already in the index
+     * @throws FileFormatException Invalid constant pool reference found
+     */
+    boolean add(final ClassFile cf) throws FileFormatException {
+        final String className = cf.getThisClassName();
+        final CPInfo[] cp = cf.constant_pool;
+        final IndexedMember[] callees = new IndexedMember[cp.length];
+        final List<IndexedMember> callers = new ArrayList<>();
+        // (caller, constant pool index, packed offset and op code) triples
+        int[] found = new int[48];
+        int length = 0;
+
+        final MethodInfo[] methods = (cf.methods == null) ? new MethodInfo[0] : cf.methods;
+        for (MethodInfo method : methods) {
+            final AttributeCode code = findCode(method);
+            if (code == null) {
+                continue;
+            }
+            final InstructionStream stream = code.getInstructions();
+            int caller = -1;
+            for (int i = 0; i < stream.size(); i++) {
+                final int opcode = stream.getOpcode(i);
+                if (opcode < Opcode.Instruction.invokevirtual.code || opcode > Opcode.Instruction.invokedynamic.code) {
+                    continue;
+                }
+                final int cpIndex = stream.getCpIndex(i);
+                if (callees[cpIndex] == null) {
+                    callees[cpIndex] = resolve(cf, cpIndex);
+                }
+                if (caller < 0) {
+                    callers.add(new IndexedMember(className,
+                            cf.getConstantUtf8Value(method.name_index.value),
+                            cf.getConstantUtf8Value(method.descriptor_index.value),
+                            method.access_flags.value));
+                    caller = callers.size() - 1;
+                }
+                if (length + 3 > found.length) {
+                    found = Arrays.copyOf(found, found.length * 2);
+                }
+                found[length++] = caller;
+                found[length++] = cpIndex;
+                found[length++] = (stream.getOffset(i) << OPCODE_BITS) | opcode;
+            }
+        }
+
+        synchronized (this) {
+            if (!this.classes.add(className)) {
+                return false;
+            }
+            final int[] callerIds = new int[callers.size()];
+            for (int i = 0; i < callerIds.length; i++) {
+                callerIds[i] = this.intern(callers.get(i));
+            }
+            for (int i = 0; i < length; i += 3) {
+                this.addSite(this.intern(callees[found[i + 1]]), callerIds[found[i]], found[i + 2]);
+            }
+        }
+        return true;
+    }
+
+    private static AttributeCode findCode(final MethodInfo method) {
+        for (int i = 0; i < method.attributes_count.value; i++) {
+            final AttributeInfo attr = method.getAttribute(i);
+            if (attr instanceof AttributeCode) {
+                return (AttributeCode) attr;
+            }
+        }
+        return null;
+    }
+
+    private static IndexedMember resolve(final ClassFile cf, final int cpIndex) throws FileFormatException {
+        final CPInfo item = (cpIndex > 0 && cpIndex < cf.constant_pool.length) ? cf.constant_pool[cpIndex] : null;
+        if (item instanceof ConstantRefInfo) {
+            final ConstantRefInfo ref = (ConstantRefInfo) item;
+            return IndexedMember.reference(cf, cf.getConstantClassInfoName(ref.class_index.value), ref.name_and_type_index.value);
+        } else if (item instanceof ConstantInvokeDynamicInfo) {
+            return IndexedMember.reference(cf, INVOKEDYNAMIC, ((ConstantInvokeDynamicInfo) item).name_and_type_index.value);
+        }
+        throw new FileFormatException(String.format(
+                "Constant Pool index (value = %d) is out of range, or it is not a method reference.", cpIndex));
+    }
+
+    private int intern(final IndexedMember member) {
+        final String key = member.toString();
+        final int id = this.memberIds.get(key);
+        if (id >= 0) {
+            return id;
+        }
+        if (this.memberCount == this.members.length) {
+            final int capacity = this.members.length * 2;
+            this.members = Arrays.copyOf(this.members, capacity);
+            this.overloads = Arrays.copyOf(this.overloads, capacity);
+            this.sites = Arrays.copyOf(this.sites, capacity);
+            this.siteLengths = Arrays.copyOf(this.siteLengths, capacity);
+        }
+        this.members[this.memberCount] = member;
+        this.memberIds.put(key, this.memberCount);
+        this.overloads[this.memberCount] = this.overloadIds.put(member.owner + '.' + member.name, this.memberCount);
+        return this.memberCount++;
+    }
+
+    private void addSite(final int callee, final int caller, final int packed) {
+        int[] list = this.sites[callee];
+        final int length = this.siteLengths[callee];
+        if (list == null) {
+            list = new int[4];
+            this.sites[callee] = list;
+        } else if (length + 2 > list.length) {
+            list = Arrays.copyOf(list, list.length * 2);
+            this.sites[callee] = list;
+        }
+        list[length] = caller;
+        list[length + 1] = packed;
+        this.siteLengths[callee] = length + 2;
+        this.siteCount++;
+    }
+
+    SymbolTable getSymbolTable() {
+        return this.symbols;
+    }
+
+    void addFailure(final String source, final String message) {
+        this.failures.put(source, message);
+    }
+
+    synchronized void addStatistics(final long bytes, final long elapsedNanos) {
+        this.bytes += bytes;
+        this.elapsedNanos += elapsedNanos;
+    }
+
+    /**
+     * Get the call sites of a method.
+     *
+     * @param owner Class name of the method, in binary or internal form, or
+     * {@link #INVOKEDYNAMIC}
+     * @param name Name of the method
+     * @param descriptor Descriptor of the method, or <code>null</code> for
+     * all methods of the name
+     * @return Call sites, in the order they are indexed
+     */
+    public synchronized List<CallSite> getCallSites(final String owner, final String name, final String descriptor) {
+        final String internalOwner = owner.replace('.', '/');
+        if (descriptor != null) {
+            final int id = this.memberIds.get(new IndexedMember(internalOwner, name, descriptor, 0).toString());
+            if (id < 0) {
+                return Collections.emptyList();
+            }
+            final List<CallSite> result = new ArrayList<>(this.siteLengths[id] / 2);
+            this.collect(id, result);
+            return result;
+        }
+
+        final List<CallSite> result = new ArrayList<>();
+        for (int id = this.overloadIds.get(internalOwner + '.' + name); id >= 0; id = this.overloads[id]) {
+            this.collect(id, result);
+        }
+        return result;
+    }
+
+    private void collect(final int callee, final List<CallSite> result) {
+        final int[] list = this.sites[callee];
+        for (int i = 0; i < this.siteLengths[callee]; i += 2) {
+            result.add(new CallSite(
+                    this.members[list[i]],
+                    this.members[callee],
+                    list[i + 1] >>> OPCODE_BITS,
+                    Opcode.Instruction.valueOf(list[i + 1] & OPCODE_MASK)));
+        }
+    }
+
+    /**
+     * Get the count of call sites of a method, without creating the
+     * {@link CallSite} objects.
+     *
+     * @param owner Class name of the method, in binary or internal form, or
+     * {@link #INVOKEDYNAMIC}
+     * @param name Name of the method
+     * @param descriptor Descriptor of the method
+     * @return Count of call sites
+     */
+    public synchronized int getCallSiteCount(final String owner, final String name, final String descriptor) {
+        final int id = this.memberIds.get(new IndexedMember(owner.replace('.', '/'), name, descriptor, 0).toString());
+        return (id < 0) ? 0 : this.siteLengths[id] / 2;
+    }
+
+    /**
+     * Get the sources failed to parse.
+     *
+     * @return Unmodifiable map of the error messages, by source name
+     */
+    public Map<String, String> getFailures() {
+        return Collections.unmodifiableMap(this.failures);
+    }
+
+    /**
+     * Get the count of indexed classes.
+     *
+     * @return Count of classes
+     */
+    public synchronized int getClassCount() {
+        return this.classes.size();
+    }
+
+    /**
+     * Get the count of interned methods, invoked or invoking.
+     *
+     * @return Count of methods
+     */
+    public synchronized int getMemberCount() {
+        return this.memberCount;
+    }
+
+    /**
+     * Get the count of indexed call sites.
+     *
+     * @return Count of call sites
+     */
+    public synchronized long getCallSiteCount() {
+        return this.siteCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%d call sites of %d methods in %d classes (%d KB) indexed in %d ms%s",
+                this.siteCount,
+                this.memberCount,
+                this.classes.size(),
+                this.bytes / 1024,
+                TimeUnit.NANOSECONDS.toMillis(this.elapsedNanos),
+                this.failures.isEmpty() ? "" : String.format(", %d failed", this.failures.size()));
+    }
+
+    /**
+     * Open addressing table from keys to non-negative ids, with linear
+     * probing. It is kept at most half full.
+     */
+    private static final class IdTable {
+
+        private String[] keys = new String[INITIAL_CAPACITY * 2];
+        private int[] ids = new int[INITIAL_CAPACITY * 2];
+        private int size;
+
+        /**
+         * Get the id of a key.
+         *
+         * @return The id, or <code>-1</code> if the key is not in the table
+         */
+        int get(final String key) {
+            final int mask = this.keys.length - 1;
+            for (int i = slot(key, mask);; i = (i + 1) & mask) {
+                final String k = this.keys[i];
+                if (k == null) {
+                    return -1;
+                } else if (k.equals(key)) {
+                    return this.ids[i];
+                }
+            }
+        }
+
+        /**
+         * Set the id of a key.
+         *
+         * @return The previous id of the key, or <code>-1</code> if the key
+         * was not in the table
+         */
+        int put(final String key, final int id) {
+            if ((this.size + 1) * 2 > this.keys.length) {
+                this.resize();
+            }
+            final int mask = this.keys.length - 1;
+            int i = slot(key, mask);
+            for (String k = this.keys[i]; k != null; k = this.keys[i]) {
+                if (k.equals(key)) {
+                    final int previous = this.ids[i];
+                    this.ids[i] = id;
+                    return previous;
+                }
+                i = (i + 1) & mask;
+            }
+            this.keys[i] = key;
+            this.ids[i] = id;
+            this.size++;
+            return -1;
+        }
+
+        private void resize() {
+            final String[] oldKeys = this.keys;
+            final int[] oldIds = this.ids;
+            this.keys = new String[oldKeys.length * 2];
+            this.ids = new int[oldKeys.length * 2];
+            final int mask = this.keys.length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldKeys[j] != null) {
+                    int i = slot(oldKeys[j], mask);
+                    while (this.keys[i] != null) {
+                        i = (i + 1) & mask;
+                    }
+                    this.keys[i] = oldKeys[j];
+                    this.ids[i] = oldIds[j];
+                }
+            }
+        }
+
+        private static int slot(final String key, final int mask) {
+            final int h = key.hashCode() * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & mask;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * ClassIndex.java    Oct 17, 2026, 00:30
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.format.classfile.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory symbol index of all classes in a jar file or a directory, built by
+ * {@link ClassIndexer}. It maps each class to its super class, interfaces,
+ * members and constant pool references, and keeps the reverse
+ * super type relation for the "subclasses of" queries.
+ *
+ * <p>
+ * The index is filled concurrently by the indexer, and can be queried from
+ * any thread once {@link ClassIndexer#index} returns.
+ * </p>
+ *
+ * @author Amos Shi
+ */
+public final class ClassIndex {
+
+    /**
+     * Classes by internal name.
+     */
+    private final Map<String, IndexedClass> classes = new ConcurrentHashMap<>();
+    /**
+     * Direct subclasses and implementors by the internal name of the super
+     * type.
+     */
+    private final Map<String, Set<String>> subclasses = new ConcurrentHashMap<>();
+    /**
+     * Error messages of the sources failed to parse, by source name.
+     */
+    private final Map<String, String> failures = new ConcurrentHashMap<>();
+    /**
+     * Total length of the indexed class files.
+     */
+    private long bytes;
+    /**
+     * Time used to build the index, in nanoseconds.
+     */
+    private long elapsedNanos;
+
+    ClassIndex() {
+    }
+
+    void add(final IndexedClass clazz) {
+        this.classes.put(clazz.name, clazz);
+        if (clazz.superName != null) {
+            this.addSubclass(clazz.superName, clazz.name);
+        }
+        for (String itf : clazz.interfaces) {
+            this.addSubclass(itf, clazz.name);
+        }
+    }
+
+    private void addSubclass(final String superName, final String name) {
+        this.subclasses.computeIfAbsent(superName, k -> ConcurrentHashMap.newKeySet()).add(name);
+    }
+
+    void addFailure(final String source, final String message) {
+        this.failures.put(source, message);
+    }
+
+    void setStatistics(final long bytes, final long elapsedNanos) {
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Convert a class name to the internal form.
+     *
+     * @param name Class name, like <code>java.lang.String</code> or
+     * <code>java/lang/String</code>
+     * @return Internal name, like <code>java/lang/String</code>
+     */
+    private static String toInternalName(final String name) {
+        return name.replace('.', '/');
+    }
+
+    /**
+     * Get an indexed class.
+     *
+     * @param name Class name, in binary or internal form
+     * @return The class, or <code>null</code> if it is not in the index
+     */
+    public IndexedClass getIndexedClass(final String name) {
+        return this.classes.get(toInternalName(name));
+    }
+
+    /**
+     * Get the internal names of all indexed classes.
+     *
+     * @return Unmodifiable set of the class names
+     */
+    public Set<String> getClassNames() {
+        return Collections.unmodifiableSet(this.classes.keySet());
+    }
+
+    /**
+     * Find classes by name, ignoring case. Classes whose simple name starts
+     * with the query come first, then the other classes whose name contains
+     * it; each group is sorted by name.
+     *
+     * @param query Part of the class name, in binary or internal form
+     * @param limit Maximum count of classes to return
+     * @return Internal names of the matched classes
+     */
+    public List<String> findClasses(final String query, final int limit) {
+        final String q = toInternalName(query.trim()).toLowerCase(Locale.ROOT);
+        final List<String> simpleMatches = new ArrayList<>();
+        final List<String> otherMatches = new ArrayList<>();
+        for (String name : this.classes.keySet()) {
+            final String lower = name.toLowerCase(Locale.ROOT);
+            if (!lower.contains(q)) {
+                continue;
+            }
+            if (lower.startsWith(q, lower.lastIndexOf('/') + 1) || lower.equals(q)) {
+                simpleMatches.add(name);
+            } else {
+                otherMatches.add(name);
+            }
+        }
+        Collections.sort(simpleMatches);
+        Collections.sort(otherMatches);
+        simpleMatches.addAll(otherMatches);
+        return simpleMatches.size() > limit ? new ArrayList<>(simpleMatches.subList(0, limit)) : simpleMatches;
+    }
+
+    /**
+     * Get the direct subclasses of a class, or the direct sub-interfaces and
+     * implementors of an interface.
+     *
+     * @param name Class name, in binary or internal form
+     * @return Sorted internal names of the subclasses
+     */
+    public List<String> getDirectSubclasses(final String name) {
+        final Set<String> subs = this.subclasses.get(toInternalName(name));
+        if (subs == null) {
+            return Collections.emptyList();
+        }
+        final List<String> result = new ArrayList<>(subs);
+        Collections.sort(result);
+        return result;
+    }
+
+    /**
+     * Get all direct and indirect subclasses of a class or interface in the
+     * index.
+     *
+     * @param name Class name, in binary or internal form
+     * @return Sorted internal names of the subclasses
+     */
+    public List<String> getAllSubclasses(final String name) {
+        final Set<String> found = new HashSet<>();
+        final Deque<String> pending = new ArrayDeque<>();
+        pending.add(toInternalName(name));
+        while (!pending.isEmpty()) {
+            final Set<String> subs = this.subclasses.get(pending.poll());
+            if (subs != null) {
+                for (String sub : subs) {
+                    if (found.add(sub)) {
+                        pending.add(sub);
+                    }
+                }
+            }
+        }
+        final List<String> result = new ArrayList<>(found);
+        Collections.sort(result);
+        return result;
+    }
+
+    /**
+     * Get the super class chain of a class, as far as it is in the index.
+     *
+     * @param name Class name, in binary or internal form
+     * @return Internal names of the super classes, the nearest first
+     */
+    public List<String> getSuperclasses(final String name) {
+        final List<String> result = new ArrayList<>();
+        IndexedClass clazz = this.classes.get(toInternalName(name));
+        while (clazz != null && clazz.superName != null && !result.contains(clazz.superName)) {
+            result.add(clazz.superName);
+            clazz = this.classes.get(clazz.superName);
+        }
+        return result;
+    }
+
+    /**
+     * Get the sources failed to parse.
+     *
+     * @return Unmodifiable map of the error messages, by source name
+     */
+    public Map<String, String> getFailures() {
+        return Collections.unmodifiableMap(this.failures);
+    }
+
+    /**
+     * Get the count of indexed classes.
+     *
+     * @return Count of classes
+     */
+    public int size() {
+        return this.classes.size();
+    }
+
+    /**
+     * Get the total length of the indexed class files.
+     *
+     * @return Length in bytes
+     */
+    public long getBytes() {
+        return this.bytes;
+    }
+
+    /**
+     * Get the time used to build the index.
+     *
+     * @return Time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * Get the indexing rate.
+     *
+     * @return Indexed classes per second
+     */
+    public double getClassesPerSecond() {
+        return this.elapsedNanos > 0 ? this.size() * (double) TimeUnit.SECONDS.toNanos(1) / this.elapsedNanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d classes (%d KB) indexed in %d ms, %.0f classes/s%s",
+                this.size(),
+                this.bytes / 1024,
+                TimeUnit.NANOSECONDS.toMillis(this.elapsedNanos),
+                this.getClassesPerSecond(),
+                this.failures.isEmpty() ? "" : String.format(", %d failed", this.failures.size()));
+    }
+}
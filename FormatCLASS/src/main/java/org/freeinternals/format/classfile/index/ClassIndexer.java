@@ -0,0 +1,399 @@
+/*
+ * ClassIndexer.java    Oct 17, 2026, 00:40
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.format.classfile.index;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.freeinternals.commonlib.core.BytesTool;
+import org.freeinternals.commonlib.core.FileFormatException;
+import org.freeinternals.commonlib.core.ParseMonitor;
+import org.freeinternals.format.classfile.ClassFile;
+import org.freeinternals.format.classfile.constant.SymbolTable;
+
+/**
+ * Builds the {@link ClassIndex}, the {@link CallSiteIndex} or the
+ * {@link AnnotationIndex} of all {@code .class} files in a jar file or a
+ * directory.
+ *
+ * <p>
+ * The class files are parsed in a dedicated {@link ForkJoinPool}: the list of
+ * class files is split in halves until a task holds at most
+ * {@link #THRESHOLD} files, and idle workers steal the halves not yet
+ * started. For the {@link ClassIndex} each class is parsed with
+ * {@link ClassFile.ParseOption#SKIP_CODE} and
+ * {@link ClassFile.ParseOption#SKIP_DEBUG}, since it needs only the constant
+ * pool and the declarations; for the {@link CallSiteIndex} only the debug
+ * attributes are skipped. The {@link AnnotationIndex} does not parse the
+ * classes at all, the {@link AnnotationScanner} reads only the annotation
+ * attributes. A class failed to parse is recorded in the failures of the
+ * index and does not stop the others.
+ * </p>
+ *
+ * @author Amos Shi
+ */
+public final class ClassIndexer {
+
+    /**
+     * File name extension of the class files.
+     */
+    private static final String EXTENSION = ".class";
+    /**
+     * Maximum count of class files parsed by one task without splitting.
+     */
+    private static final int THRESHOLD = 32;
+
+    /**
+     * Count of worker threads.
+     */
+    private final int parallelism;
+
+    /**
+     * Creates an indexer using one worker thread per processor.
+     */
+    public ClassIndexer() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an indexer.
+     *
+     * @param parallelism Count of worker threads
+     */
+    public ClassIndexer(final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid parallelism. parallelism = %d", parallelism));
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Index all {@code .class} entries of a jar or zip file.
+     *
+     * @param zipFile The jar or zip file
+     * @param monitor Monitor of the indexing; it is called on the worker
+     * threads with the count of indexed classes
+     * @return The index
+     * @throws CancellationException The monitor is cancelled
+     */
+    public ClassIndex index(final ZipFile zipFile, final ParseMonitor monitor) {
+        final ClassIndex index = new ClassIndex();
+        final long start = System.nanoTime();
+        final long bytes = this.run(listEntries(zipFile), ZipEntry::getName, entry -> BytesTool.readZipEntryAsBytes(zipFile, entry), new ClassHandler(index), monitor);
+        index.setStatistics(bytes, System.nanoTime() - start);
+        return index;
+    }
+
+    /**
+     * Index all {@code .class} files in a directory and its sub-directories.
+     *
+     * @param dir The directory
+     * @param monitor Monitor of the indexing; it is called on the worker
+     * threads with the count of indexed classes
+     * @return The index
+     * @throws IOException The directory can not be listed
+     * @throws CancellationException The monitor is cancelled
+     */
+    public ClassIndex index(final Path dir, final ParseMonitor monitor) throws IOException {
+        final ClassIndex index = new ClassIndex();
+        final long start = System.nanoTime();
+        final long bytes = this.run(listFiles(dir), p -> dir.relativize(p).toString(), Files::readAllBytes, new ClassHandler(index), monitor);
+        index.setStatistics(bytes, System.nanoTime() - start);
+        return index;
+    }
+
+    /**
+     * Add the call sites of all {@code .class} entries of a jar or zip file
+     * to a {@link CallSiteIndex}.
+     *
+     * @param zipFile The jar or zip file
+     * @param index The index to add to
+     * @param monitor Monitor of the indexing; it is called on the worker
+     * threads with the count of indexed classes
+     * @throws CancellationException The monitor is cancelled, the classes
+     * already indexed are kept
+     */
+    public void indexCallSites(final ZipFile zipFile, final CallSiteIndex index, final ParseMonitor monitor) {
+        final long start = System.nanoTime();
+        final long bytes = this.run(listEntries(zipFile), ZipEntry::getName, entry -> BytesTool.readZipEntryAsBytes(zipFile, entry), new CallSiteHandler(index), monitor);
+        index.addStatistics(bytes, System.nanoTime() - start);
+    }
+
+    /**
+     * Add the call sites of all {@code .class} files in a directory and its
+     * sub-directories to a {@link CallSiteIndex}.
+     *
+     * @param dir The directory
+     * @param index The index to add to
+     * @param monitor Monitor of the indexing; it is called on the worker
+     * threads with the count of indexed classes
+     * @throws IOException The directory can not be listed
+     * @throws CancellationException The monitor is cancelled, the classes
+     * already indexed are kept
+     */
+    public void indexCallSites(final Path dir, final CallSiteIndex index, final ParseMonitor monitor) throws IOException {
+        final long start = System.nanoTime();
+        final long bytes = this.run(listFiles(dir), p -> dir.relativize(p).toString(), Files::readAllBytes, new CallSiteHandler(index), monitor);
+        index.addStatistics(bytes, System.nanoTime() - start);
+    }
+
+    /**
+     * Index the annotations of all {@code .class} entries of a jar or zip
+     * file.
+     *
+     * @param zipFile The jar or zip file
+     * @param monitor Monitor of the indexing; it is called on the worker
+     * threads with the count of indexed classes
+     * @return The index
+     * @throws CancellationException The monitor is cancelled
+     */
+    public AnnotationIndex indexAnnotations(final ZipFile zipFile, final ParseMonitor monitor) {
+        final AnnotationIndex.Builder builder = new AnnotationIndex.Builder();
+        this.run(listEntries(zipFile), ZipEntry::getName, entry -> BytesTool.readZipEntryAsBytes(zipFile, entry), new AnnotationHandler(builder), monitor);
+        return builder.build();
+    }
+
+    /**
+     * Index the annotations of all {@code .class} files in a directory and
+     * its sub-directories.
+     *
+     * @param dir The directory
+     * @param monitor Monitor of the indexing; it is called on the worker
+     * threads with the count of indexed classes
+     * @return The index
+     * @throws IOException The directory can not be listed
+     * @throws CancellationException The monitor is cancelled
+     */
+    public AnnotationIndex indexAnnotations(final Path dir, final ParseMonitor monitor) throws IOException {
+        final AnnotationIndex.Builder builder = new AnnotationIndex.Builder();
+        this.run(listFiles(dir), p -> dir.relativize(p).toString(), Files::readAllBytes, new AnnotationHandler(builder), monitor);
+        return builder.build();
+    }
+
+    private static List<ZipEntry> listEntries(final ZipFile zipFile) {
+        final List<ZipEntry> entries = new ArrayList<>();
+        final Enumeration<? extends ZipEntry> e = zipFile.entries();
+        while (e.hasMoreElements()) {
+            final ZipEntry entry = e.nextElement();
+            if (!entry.isDirectory() && entry.getName().endsWith(EXTENSION)) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    private static List<Path> listFiles(final Path dir) throws IOException {
+        try (Stream<Path> walk = Files.walk(dir)) {
+            return walk.filter(p -> p.getFileName() != null && p.getFileName().toString().endsWith(EXTENSION) && Files.isRegularFile(p))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Parse the sources in a dedicated {@link ForkJoinPool}.
+     *
+     * @return Total length of the class files read
+     */
+    private <T> long run(final List<T> sources, final Naming<T> naming, final Reader<T> reader, final Handler handler, final ParseMonitor monitor) {
+        final ParseMonitor m = (monitor == null) ? ParseMonitor.NONE : monitor;
+        final ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        final IndexTask<T> task = new IndexTask<>(sources, 0, sources.size(), new Job<>(naming, reader, handler, m, sources.size()));
+        try {
+            pool.invoke(task);
+        } finally {
+            pool.shutdownNow();
+        }
+        if (m.isCancelled()) {
+            throw new CancellationException("Indexing is cancelled.");
+        }
+        return task.job.bytes.get();
+    }
+
+    /**
+     * Gets the name of a class file source.
+     */
+    @FunctionalInterface
+    private interface Naming<T> {
+
+        String getName(T source);
+    }
+
+    /**
+     * Reads the content of a class file source.
+     */
+    @FunctionalInterface
+    private interface Reader<T> {
+
+        byte[] read(T source) throws IOException;
+    }
+
+    /**
+     * Parses one class file into an index. It is called on the worker
+     * threads.
+     */
+    private interface Handler {
+
+        void handle(String source, byte[] bytes) throws IOException, FileFormatException;
+
+        void fail(String source, String message);
+    }
+
+    /**
+     * Adds the classes to a {@link ClassIndex}.
+     */
+    private static final class ClassHandler implements Handler {
+
+        private final ClassIndex index;
+        /**
+         * Symbols shared by the classes, so the names kept by the index are
+         * not duplicated per class.
+         */
+        private final SymbolTable symbols = new SymbolTable();
+
+        ClassHandler(final ClassIndex index) {
+            this.index = index;
+        }
+
+        @Override
+        public void handle(final String source, final byte[] bytes) throws IOException, FileFormatException {
+            this.index.add(new IndexedClass(source, new ClassFile(bytes, this.symbols,
+                    ClassFile.ParseOption.SKIP_CODE, ClassFile.ParseOption.SKIP_DEBUG)));
+        }
+
+        @Override
+        public void fail(final String source, final String message) {
+            this.index.addFailure(source, message);
+        }
+    }
+
+    /**
+     * Adds the call sites of the classes to a {@link CallSiteIndex}.
+     */
+    private static final class CallSiteHandler implements Handler {
+
+        private final CallSiteIndex index;
+
+        CallSiteHandler(final CallSiteIndex index) {
+            this.index = index;
+        }
+
+        @Override
+        public void handle(final String source, final byte[] bytes) throws IOException, FileFormatException {
+            this.index.add(new ClassFile(bytes, this.index.getSymbolTable(), ClassFile.ParseOption.SKIP_DEBUG));
+        }
+
+        @Override
+        public void fail(final String source, final String message) {
+            this.index.addFailure(source, message);
+        }
+    }
+
+    /**
+     * Adds the annotations of the classes to an {@link AnnotationIndex}.
+     */
+    private static final class AnnotationHandler implements Handler {
+
+        private final AnnotationIndex.Builder builder;
+
+        AnnotationHandler(final AnnotationIndex.Builder builder) {
+            this.builder = builder;
+        }
+
+        @Override
+        public void handle(final String source, final byte[] bytes) throws IOException, FileFormatException {
+            this.builder.add(AnnotationScanner.scan(bytes));
+        }
+
+        @Override
+        public void fail(final String source, final String message) {
+            this.builder.addFailure(source, message);
+        }
+    }
+
+    /**
+     * State shared by all tasks of one indexing.
+     */
+    private static final class Job<T> {
+
+        final Naming<T> naming;
+        final Reader<T> reader;
+        final Handler handler;
+        final ParseMonitor monitor;
+        final int total;
+        final AtomicInteger done = new AtomicInteger();
+        final AtomicLong bytes = new AtomicLong();
+
+        Job(final Naming<T> naming, final Reader<T> reader, final Handler handler, final ParseMonitor monitor, final int total) {
+            this.naming = naming;
+            this.reader = reader;
+            this.handler = handler;
+            this.monitor = monitor;
+            this.total = total;
+        }
+
+        void index(final T source) {
+            final String name = this.naming.getName(source);
+            try {
+                final byte[] bytes = this.reader.read(source);
+                this.bytes.addAndGet(bytes.length);
+                this.handler.handle(name, bytes);
+            } catch (IOException | FileFormatException | RuntimeException ex) {
+                this.handler.fail(name, ex.toString());
+            }
+        }
+    }
+
+    /**
+     * Indexes the sources in <code>[from, to)</code>.
+     */
+    private static final class IndexTask<T> extends RecursiveAction {
+
+        private static final long serialVersionUID = 4876543219876500000L;
+
+        private final transient List<T> sources;
+        private final int from;
+        private final int to;
+        private final transient Job<T> job;
+
+        IndexTask(final List<T> sources, final int from, final int to, final Job<T> job) {
+            this.sources = sources;
+            this.from = from;
+            this.to = to;
+            this.job = job;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.job.monitor.isCancelled()) {
+                return;
+            }
+            if (this.to - this.from > THRESHOLD) {
+                final int mid = (this.from + this.to) >>> 1;
+                invokeAll(new IndexTask<>(this.sources, this.from, mid, this.job),
+                        new IndexTask<>(this.sources, mid, this.to, this.job));
+                return;
+            }
+            for (int i = this.from; i < this.to; i++) {
+                this.job.index(this.sources.get(i));
+            }
+            this.job.monitor.progress(this.job.done.addAndGet(this.to - this.from), this.job.total);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * IndexedClass.java    Oct 17, 2026, 00:20
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.format.classfile.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.freeinternals.commonlib.core.FileFormatException;
+import org.freeinternals.format.classfile.AccessFlag;
+import org.freeinternals.format.classfile.ClassFile;
+import org.freeinternals.format.classfile.FieldInfo;
+import org.freeinternals.format.classfile.MethodInfo;
+import org.freeinternals.format.classfile.constant.CPInfo;
+import org.freeinternals.format.classfile.constant.ConstantClassInfo;
+import org.freeinternals.format.classfile.constant.ConstantInterfaceMethodrefInfo;
+import org.freeinternals.format.classfile.constant.ConstantMethodrefInfo;
+import org.freeinternals.format.classfile.constant.ConstantRefInfo;
+
+/**
+ * Symbols of one class in the {@link ClassIndex}. It keeps only names, the
+ * parsed {@link ClassFile} is not referenced.
+ *
+ * @author Amos Shi
+ */
+public final class IndexedClass {
+
+    /**
+     * Empty array of members.
+     */
+    private static final IndexedMember[] NO_MEMBERS = new IndexedMember[0];
+    /**
+     * Empty array of names.
+     */
+    private static final String[] NO_NAMES = new String[0];
+
+    /**
+     * Name of the file or archive entry of the class.
+     */
+    public final String source;
+    /**
+     * Internal name of the class, like <code>java/lang/String</code>.
+     */
+    public final String name;
+    /**
+     * Internal name of the super class, or <code>null</code> for
+     * <code>java/lang/Object</code> and <code>module-info</code>.
+     */
+    public final String superName;
+    /**
+     * The {@code access_flags} of the class.
+     */
+    public final int accessFlags;
+    /**
+     * Internal names of the direct super interfaces.
+     */
+    public final String[] interfaces;
+    /**
+     * Declared fields.
+     */
+    public final IndexedMember[] fields;
+    /**
+     * Declared methods.
+     */
+    public final IndexedMember[] methods;
+    /**
+     * Classes referenced by the <code>CONSTANT_Class_info</code> items of the
+     * constant pool, including array types like
+     * <code>[Ljava/lang/String;</code>.
+     */
+    public final String[] classReferences;
+    /**
+     * Methods referenced by the <code>CONSTANT_Methodref_info</code> and
+     * <code>CONSTANT_InterfaceMethodref_info</code> items of the constant
+     * pool.
+     */
+    public final IndexedMember[] methodReferences;
+
+    /**
+     * Extract the symbols of a parsed class.
+     *
+     * @param source Name of the file or archive entry of the class
+     * @param cf The parsed class, the {@code Code} attributes are not needed
+     * @throws FileFormatException Invalid constant pool reference found
+     */
+    IndexedClass(final String source, final ClassFile cf) throws FileFormatException {
+        this.source = source;
+        this.name = cf.getThisClassName();
+        final String superClass = cf.getSuperClassName();
+        this.superName = superClass.isEmpty() ? null : superClass;
+        this.accessFlags = cf.access_flags.getValue();
+
+        if (cf.interfaces != null) {
+            this.interfaces = new String[cf.interfaces.length];
+            for (int i = 0; i < cf.interfaces.length; i++) {
+                this.interfaces[i] = cf.getConstantClassInfoName(cf.interfaces[i].getValue());
+            }
+        } else {
+            this.interfaces = NO_NAMES;
+        }
+
+        if (cf.fields != null) {
+            this.fields = new IndexedMember[cf.fields.length];
+            for (int i = 0; i < cf.fields.length; i++) {
+                final FieldInfo field = cf.fields[i];
+                this.fields[i] = new IndexedMember(this.name,
+                        cf.getConstantUtf8Value(field.name_index.value),
+                        cf.getConstantUtf8Value(field.descriptor_index.value),
+                        field.access_flags.value);
+            }
+        } else {
+            this.fields = NO_MEMBERS;
+        }
+
+        if (cf.methods != null) {
+            this.methods = new IndexedMember[cf.methods.length];
+            for (int i = 0; i < cf.methods.length; i++) {
+                final MethodInfo method = cf.methods[i];
+                this.methods[i] = new IndexedMember(this.name,
+                        cf.getConstantUtf8Value(method.name_index.value),
+                        cf.getConstantUtf8Value(method.descriptor_index.value),
+                        method.access_flags.value);
+            }
+        } else {
+            this.methods = NO_MEMBERS;
+        }
+
+        final List<String> classRefs = new ArrayList<>();
+        final List<IndexedMember> methodRefs = new ArrayList<>();
+        final CPInfo[] cp = cf.constant_pool;
+        for (int i = 1; i < cp.length; i++) {
+            if (cp[i] instanceof ConstantClassInfo) {
+                classRefs.add(cf.getConstantUtf8Value(((ConstantClassInfo) cp[i]).name_index.value));
+            } else if (cp[i] instanceof ConstantMethodrefInfo || cp[i] instanceof ConstantInterfaceMethodrefInfo) {
+                final ConstantRefInfo ref = (ConstantRefInfo) cp[i];
+                methodRefs.add(IndexedMember.reference(cf,
+                        cf.getConstantClassInfoName(ref.class_index.value),
+                        ref.name_and_type_index.value));
+            }
+        }
+        this.classReferences = classRefs.toArray(NO_NAMES);
+        this.methodReferences = methodRefs.toArray(NO_MEMBERS);
+    }
+
+    /**
+     * Check whether it is an interface.
+     *
+     * @return true if it is an interface, else false
+     */
+    public boolean isInterface() {
+        return (this.accessFlags & AccessFlag.ACC_INTERFACE.value) != 0;
+    }
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * IndexedMember.java    Oct 17, 2026, 00:20
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.format.classfile.index;
+
+import org.freeinternals.commonlib.core.FileFormatException;
+import org.freeinternals.format.classfile.ClassFile;
+import org.freeinternals.format.classfile.constant.CPInfo;
+import org.freeinternals.format.classfile.constant.ConstantNameAndTypeInfo;
+
+/**
+ * A field or method in the {@link ClassIndex}, either declared by a class or
+ * referenced by its constant pool.
+ *
+ * @author Amos Shi
+ */
+public final class IndexedMember {
+
+    /**
+     * Internal name of the class owning the member, like
+     * <code>java/lang/String</code>.
+     */
+    public final String owner;
+    /**
+     * Name of the member.
+     */
+    public final String name;
+    /**
+     * Descriptor of the member, like <code>(I)V</code>.
+     */
+    public final String descriptor;
+    /**
+     * The {@code access_flags} of a declared member; <code>0</code> for a
+     * referenced member.
+     */
+    public final int accessFlags;
+
+    IndexedMember(final String owner, final String name, final String descriptor, final int accessFlags) {
+        this.owner = owner;
+        this.name = name;
+        this.descriptor = descriptor;
+        this.accessFlags = accessFlags;
+    }
+
+    /**
+     * Creates a referenced member from a <code>CONSTANT_NameAndType_info</code>.
+     *
+     * @param cf The class file
+     * @param owner Internal name of the class owning the member
+     * @param nameAndTypeIndex Constant pool index of the
+     * <code>CONSTANT_NameAndType_info</code>
+     * @return The referenced member
+     * @throws FileFormatException Invalid constant pool reference found
+     */
+    static IndexedMember reference(final ClassFile cf, final String owner, final int nameAndTypeIndex) throws FileFormatException {
+        final CPInfo[] cp = cf.constant_pool;
+        if (nameAndTypeIndex >= cp.length || !(cp[nameAndTypeIndex] instanceof ConstantNameAndTypeInfo)) {
+            throw new FileFormatException(String.format(
+                    "Constant Pool index (value = %d) is out of range, or it is not a CONSTANT_NameAndType_info.", nameAndTypeIndex));
+        }
+        final ConstantNameAndTypeInfo nameAndType = (ConstantNameAndTypeInfo) cp[nameAndTypeIndex];
+        return new IndexedMember(owner,
+                cf.getConstantUtf8Value(nameAndType.name_index.value),
+                cf.getConstantUtf8Value(nameAndType.descriptor_index.value),
+                0);
+    }
+
+    @Override
+    public String toString() {
+        return this.owner + '.' + this.name + ':' + this.descriptor;
+    }
+}
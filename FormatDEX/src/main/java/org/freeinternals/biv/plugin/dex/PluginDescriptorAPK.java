@@ -0,0 +1,42 @@
+/*
+ * PluginDescriptorAPK.java    Oct 17, 2026, 16:00
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+
+package org.freeinternals.biv.plugin.dex;
+
+import org.freeinternals.biv.plugin.PluginDescriptor;
+import org.freeinternals.commonlib.core.FileFormat;
+import org.freeinternals.format.dex.ApkFile;
+
+/**
+ * Plug-in of the Android APK and AAB files, see {@link ApkFile}.
+ *
+ * <p>
+ * An APK file is a zip file, so it has no magic signature of its own: it is
+ * chosen by its <code>apk</code> or <code>aab</code> extension only. A zip
+ * file with another extension is opened by the ZIP plug-in.
+ * </p>
+ *
+ * @author Amos Shi
+ */
+public class PluginDescriptorAPK implements PluginDescriptor {
+
+    @Override
+    public String getExtensionDescription() {
+        return "Android APK File (*.apk, *.aab)";
+    }
+
+    @Override
+    public String[] getExtensions() {
+        return new String[]{"apk", "aab"};
+    }
+
+    @Override
+    public Class<? extends FileFormat> getFileFormatClass() {
+        return ApkFile.class;
+    }
+
+}
@@ -7,6 +7,7 @@
 
 package org.freeinternals.biv.plugin.dex;
 
+import org.freeinternals.biv.plugin.MagicSignature;
 import org.freeinternals.biv.plugin.PluginDescriptor;
 import org.freeinternals.commonlib.core.FileFormat;
 import org.freeinternals.format.dex.DexFile;
@@ -33,4 +34,14 @@ public class PluginDescriptorDEX implements PluginDescriptor{
         return DexFile.class;
     }
 
+    @Override
+    public MagicSignature[] getMagicSignatures() {
+        return new MagicSignature[]{
+            MagicSignature.ascii("dex\n035\0"),
+            MagicSignature.ascii("dex\n037\0"),
+            MagicSignature.ascii("dex\n038\0"),
+            MagicSignature.ascii("dex\n039\0")
+        };
+    }
+
 }
@@ -6,23 +6,42 @@
  */
 package org.freeinternals.biv.ui.dex;
 
-import java.util.Map;
+import java.util.ArrayList;
 import javax.swing.tree.DefaultMutableTreeNode;
 import org.freeinternals.commonlib.core.FileComponent;
+import org.freeinternals.commonlib.core.FileFormatException;
+import org.freeinternals.commonlib.ui.GenerateTreeNode;
 import org.freeinternals.commonlib.ui.JTreeNodeFileComponent;
+import org.freeinternals.commonlib.ui.LazyTreeNode;
+import org.freeinternals.format.dex.AnnotationItem;
+import org.freeinternals.format.dex.AnnotationSetList;
+import org.freeinternals.format.dex.AnnotationSetRefList;
+import org.freeinternals.format.dex.AnnotationsDirectoryItem;
+import org.freeinternals.format.dex.ClassDataItem;
 import org.freeinternals.format.dex.ClassDefItem;
+import org.freeinternals.format.dex.CodeItem;
+import org.freeinternals.format.dex.DalvikInstructionStream;
+import org.freeinternals.format.dex.DalvikOpcode;
+import org.freeinternals.format.dex.DebugInfoItem;
 import org.freeinternals.format.dex.DexFile;
 import org.freeinternals.format.dex.Dex_ubyte;
 import org.freeinternals.format.dex.Dex_uint;
+import org.freeinternals.format.dex.Dex_uleb128p1;
 import org.freeinternals.format.dex.Dex_ushort;
+import org.freeinternals.format.dex.EncodedAnnotation;
+import org.freeinternals.format.dex.EncodedArray;
+import org.freeinternals.format.dex.EncodedArrayItem;
+import org.freeinternals.format.dex.EncodedValue;
 import org.freeinternals.format.dex.FieldIdItem;
 import org.freeinternals.format.dex.HeaderItem;
 import org.freeinternals.format.dex.HeaderItem.Endian;
+import org.freeinternals.format.dex.MapList;
 import org.freeinternals.format.dex.MethodIdItem;
 import org.freeinternals.format.dex.ProtoIdItem;
 import org.freeinternals.format.dex.StringDataItem;
 import org.freeinternals.format.dex.StringIdItem;
 import org.freeinternals.format.dex.TypeIdItem;
+import org.freeinternals.format.dex.TypeList;
 
 /**
  *
@@ -42,6 +61,10 @@ public class TreeNodeGenerator {
         this.rootNode = parentNode;
     }
 
+    /**
+     * The sections could have a huge number of items, so their nodes are
+     * {@link LazyTreeNode}, the item nodes are generated when expanded.
+     */
     private void start() {
         this.generateMagic();
         this.generateHeaderItem();
@@ -64,6 +87,42 @@ public class TreeNodeGenerator {
         return node;
     }
 
+    private DefaultMutableTreeNode addNode(DefaultMutableTreeNode parentNode, int startPos, int len, String name, Object value, DataNodeGenerator generator) {
+        DefaultMutableTreeNode node = new LazyTreeNode(new JTreeNodeFileComponent(
+                startPos,
+                len,
+                name + ": " + value.toString()), this.lazy(generator));
+        parentNode.add(node);
+        return node;
+    }
+
+    /**
+     * Wrap a {@link DataNodeGenerator} for a {@link LazyTreeNode}, the items
+     * of the data section are decoded when the node is expanded.
+     */
+    private GenerateTreeNode lazy(DataNodeGenerator generator) {
+        return (DefaultMutableTreeNode parentNode) -> {
+            try {
+                generator.generate(parentNode);
+            } catch (FileFormatException ex) {
+                parentNode.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
+                        0,
+                        0,
+                        "ERROR: " + ex.getMessage())));
+            }
+        };
+    }
+
+    /**
+     * Generator of the nodes for an item of the data section, which is
+     * decoded on demand and may be invalid.
+     */
+    @FunctionalInterface
+    private interface DataNodeGenerator {
+
+        void generate(DefaultMutableTreeNode parentNode) throws FileFormatException;
+    }
+
     private void generateMagic() {
         int startPos = 0;
 
@@ -169,30 +228,38 @@ public class TreeNodeGenerator {
     }
 
     private void generateStringIds() {
-        if (this.dexFile.string_ids == null || this.dexFile.string_ids.length < 1) {
+        if (this.dexFile.ids.string_data_off.length < 1) {
             return;
         }
 
-        int startPos = this.dexFile.header.string_ids_off.intValue();
-        int size = this.dexFile.string_ids.length;
+        int startPos = this.dexFile.ids.string_ids_off;
+        int size = this.dexFile.ids.string_data_off.length;
 
-        DefaultMutableTreeNode node = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
+        this.rootNode.add(new LazyTreeNode(new JTreeNodeFileComponent(
                 startPos,
-                size * Dex_uint.LENGTH,
-                "string_ids"));
-        this.rootNode.add(node);
+                size * StringIdItem.LENGTH,
+                "string_ids"), this::generateStringIdItems));
+    }
+
+    private void generateStringIdItems(DefaultMutableTreeNode node) {
+        int size = this.dexFile.ids.string_data_off.length;
 
         for (int i = 0; i < size; i++) {
-            StringIdItem item = this.dexFile.string_ids[i];
+            StringIdItem item = this.dexFile.getStringIdItem(i);
             DefaultMutableTreeNode itemNode = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
                     item.getStartPos(),
                     item.getLength(),
                     "string_id_item[" + String.format("%,d", i) + "].string_data_off: " + item.string_data_off.toString()));
             node.add(itemNode);
 
-            FileComponent fc = this.dexFile.data.get(item.string_data_off.value);
-            if (fc instanceof StringDataItem) {
-                this.generateData(itemNode, (StringDataItem) fc);
+            StringDataItem stringData;
+            try {
+                stringData = this.dexFile.getStringData(i);
+            } catch (FileFormatException ex) {
+                stringData = null;
+            }
+            if (stringData != null) {
+                this.generateData(itemNode, stringData);
             } else {
                 itemNode.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
                         0,
@@ -203,21 +270,24 @@ public class TreeNodeGenerator {
     }
 
     private void generateTypeIds() {
-        if (this.dexFile.type_ids == null || this.dexFile.type_ids.length < 1) {
+        if (this.dexFile.ids.type_descriptor_idx.length < 1) {
             return;
         }
 
-        int startPos = this.dexFile.header.type_ids_off.intValue();
-        int size = this.dexFile.type_ids.length;
+        int startPos = this.dexFile.ids.type_ids_off;
+        int size = this.dexFile.ids.type_descriptor_idx.length;
 
-        DefaultMutableTreeNode node = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
+        this.rootNode.add(new LazyTreeNode(new JTreeNodeFileComponent(
                 startPos,
-                size * Dex_uint.LENGTH,
-                "type_ids"));
-        this.rootNode.add(node);
+                size * TypeIdItem.LENGTH,
+                "type_ids"), this::generateTypeIdItems));
+    }
+
+    private void generateTypeIdItems(DefaultMutableTreeNode node) {
+        int size = this.dexFile.ids.type_descriptor_idx.length;
 
         for (int i = 0; i < size; i++) {
-            TypeIdItem item = this.dexFile.type_ids[i];
+            TypeIdItem item = this.dexFile.getTypeIdItem(i);
             DefaultMutableTreeNode itemNode = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
                     item.getStartPos(),
                     item.getLength(),
@@ -231,21 +301,24 @@ public class TreeNodeGenerator {
     }
 
     private void generateProtoIds() {
-        if (this.dexFile.proto_ids == null || this.dexFile.proto_ids.length < 1) {
+        if (this.dexFile.ids.proto_shorty_idx.length < 1) {
             return;
         }
 
-        int size = this.dexFile.proto_ids.length;
-        DefaultMutableTreeNode nodeTemp;
+        int size = this.dexFile.ids.proto_shorty_idx.length;
 
-        DefaultMutableTreeNode node = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
-                this.dexFile.header.proto_ids_off.intValue(),
+        this.rootNode.add(new LazyTreeNode(new JTreeNodeFileComponent(
+                this.dexFile.ids.proto_ids_off,
                 size * ProtoIdItem.LENGTH,
-                "proto_ids"));
-        this.rootNode.add(node);
+                "proto_ids"), this::generateProtoIdItems));
+    }
+
+    private void generateProtoIdItems(DefaultMutableTreeNode node) {
+        int size = this.dexFile.ids.proto_shorty_idx.length;
+        DefaultMutableTreeNode nodeTemp;
 
         for (int i = 0; i < size; i++) {
-            ProtoIdItem item = this.dexFile.proto_ids[i];
+            ProtoIdItem item = this.dexFile.getProtoIdItem(i);
             int startPos = item.getStartPos();
             DefaultMutableTreeNode itemNode = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
                     startPos,
@@ -264,21 +337,24 @@ public class TreeNodeGenerator {
     }
 
     private void generateFieldIds() {
-        if (this.dexFile.field_ids == null || this.dexFile.field_ids.length < 1) {
+        if (this.dexFile.ids.field_name_idx.length < 1) {
             return;
         }
 
-        int size = this.dexFile.field_ids.length;
-        DefaultMutableTreeNode nodeTemp;
+        int size = this.dexFile.ids.field_name_idx.length;
 
-        DefaultMutableTreeNode node = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
-                this.dexFile.header.field_ids_off.intValue(),
+        this.rootNode.add(new LazyTreeNode(new JTreeNodeFileComponent(
+                this.dexFile.ids.field_ids_off,
                 size * FieldIdItem.LENGTH,
-                "field_ids"));
-        this.rootNode.add(node);
+                "field_ids"), this::generateFieldIdItems));
+    }
+
+    private void generateFieldIdItems(DefaultMutableTreeNode node) {
+        int size = this.dexFile.ids.field_name_idx.length;
+        DefaultMutableTreeNode nodeTemp;
 
         for (int i = 0; i < size; i++) {
-            FieldIdItem item = this.dexFile.field_ids[i];
+            FieldIdItem item = this.dexFile.getFieldIdItem(i);
             int startPos = item.getStartPos();
             DefaultMutableTreeNode itemNode = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
                     startPos,
@@ -298,21 +374,24 @@ public class TreeNodeGenerator {
     }
 
     private void generateMethodIds() {
-        if (this.dexFile.method_ids == null || this.dexFile.method_ids.length < 1) {
+        if (this.dexFile.ids.method_name_idx.length < 1) {
             return;
         }
 
-        int size = this.dexFile.method_ids.length;
-        DefaultMutableTreeNode nodeTemp;
+        int size = this.dexFile.ids.method_name_idx.length;
 
-        DefaultMutableTreeNode node = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
-                this.dexFile.header.method_ids_off.intValue(),
+        this.rootNode.add(new LazyTreeNode(new JTreeNodeFileComponent(
+                this.dexFile.ids.method_ids_off,
                 size * MethodIdItem.LENGTH,
-                "method_ids"));
-        this.rootNode.add(node);
+                "method_ids"), this::generateMethodIdItems));
+    }
+
+    private void generateMethodIdItems(DefaultMutableTreeNode node) {
+        int size = this.dexFile.ids.method_name_idx.length;
+        DefaultMutableTreeNode nodeTemp;
 
         for (int i = 0; i < size; i++) {
-            MethodIdItem item = this.dexFile.method_ids[i];
+            MethodIdItem item = this.dexFile.getMethodIdItem(i);
             int startPos = item.getStartPos();
             DefaultMutableTreeNode itemNode = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
                     startPos,
@@ -336,13 +415,16 @@ public class TreeNodeGenerator {
         }
 
         int size = this.dexFile.class_defs.length;
-        DefaultMutableTreeNode nodeTemp;
 
-        DefaultMutableTreeNode node = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
-                this.dexFile.header.class_defs_off.intValue(),
+        this.rootNode.add(new LazyTreeNode(new JTreeNodeFileComponent(
+                this.dexFile.class_defs[0].getStartPos(),
                 size * ClassDefItem.LENGTH,
-                "class_defs"));
-        this.rootNode.add(node);
+                "class_defs"), this::generateClassDefItems));
+    }
+
+    private void generateClassDefItems(DefaultMutableTreeNode node) {
+        int size = this.dexFile.class_defs.length;
+        DefaultMutableTreeNode nodeTemp;
 
         for (int i = 0; i < size; i++) {
             ClassDefItem item = this.dexFile.class_defs[i];
@@ -362,35 +444,59 @@ public class TreeNodeGenerator {
             nodeTemp = this.addNode(itemNode, startPos, Dex_uint.LENGTH, "superclass_idx", item.superclass_idx);
             startPos = ((JTreeNodeFileComponent)nodeTemp.getUserObject()).getLastPosPlus1();
 
-            nodeTemp = this.addNode(itemNode, startPos, Dex_uint.LENGTH, "interfaces_off", item.interfaces_off);
+            if (item.interfaces_off.value == 0) {
+                nodeTemp = this.addNode(itemNode, startPos, Dex_uint.LENGTH, "interfaces_off", item.interfaces_off);
+            } else {
+                nodeTemp = this.addNode(itemNode, startPos, Dex_uint.LENGTH, "interfaces_off", item.interfaces_off,
+                        (DefaultMutableTreeNode n) -> this.generateItemNode(n, this.dexFile.getInterfaces(item)));
+            }
             startPos = ((JTreeNodeFileComponent)nodeTemp.getUserObject()).getLastPosPlus1();
 
             nodeTemp = this.addNode(itemNode, startPos, Dex_uint.LENGTH, "source_file_idx", item.source_file_idx);
             startPos = ((JTreeNodeFileComponent)nodeTemp.getUserObject()).getLastPosPlus1();
 
-            nodeTemp = this.addNode(itemNode, startPos, Dex_uint.LENGTH, "annotations_off", item.annotations_off);
+            if (item.annotations_off.value == 0) {
+                nodeTemp = this.addNode(itemNode, startPos, Dex_uint.LENGTH, "annotations_off", item.annotations_off);
+            } else {
+                nodeTemp = this.addNode(itemNode, startPos, Dex_uint.LENGTH, "annotations_off", item.annotations_off,
+                        (DefaultMutableTreeNode n) -> this.generateItemNode(n, this.dexFile.getAnnotationsDirectory(item)));
+            }
             startPos = ((JTreeNodeFileComponent)nodeTemp.getUserObject()).getLastPosPlus1();
 
-            nodeTemp = this.addNode(itemNode, startPos, Dex_uint.LENGTH, "class_data_off", item.class_data_off);
+            if (item.class_data_off.value == 0) {
+                nodeTemp = this.addNode(itemNode, startPos, Dex_uint.LENGTH, "class_data_off", item.class_data_off);
+            } else {
+                nodeTemp = this.addNode(itemNode, startPos, Dex_uint.LENGTH, "class_data_off", item.class_data_off,
+                        (DefaultMutableTreeNode n) -> this.generateItemNode(n, this.dexFile.getClassData(item)));
+            }
             startPos = ((JTreeNodeFileComponent)nodeTemp.getUserObject()).getLastPosPlus1();
 
-            nodeTemp = this.addNode(itemNode, startPos, Dex_uint.LENGTH, "static_values_off", item.static_values_off);
+            if (item.static_values_off.value == 0) {
+                this.addNode(itemNode, startPos, Dex_uint.LENGTH, "static_values_off", item.static_values_off);
+            } else {
+                this.addNode(itemNode, startPos, Dex_uint.LENGTH, "static_values_off", item.static_values_off,
+                        (DefaultMutableTreeNode n) -> this.generateItemNode(n, this.dexFile.getStaticValues(item)));
+            }
         }
     }
 
     private void generateData() {
-        if (this.dexFile.data.size() < 1) {
+        if (this.dexFile.header.data_size.value < 1) {
             return;
         }
 
-        DefaultMutableTreeNode node = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
+        this.rootNode.add(new LazyTreeNode(new JTreeNodeFileComponent(
                 this.dexFile.header.data_off.intValue(),
                 this.dexFile.header.data_size.intValue(),
-                "data"));
-        this.rootNode.add(node);
+                "data"), this::generateDataItems));
+    }
 
-        for (Map.Entry<Long, FileComponent> item : this.dexFile.data.entrySet()) {
-            FileComponent fc = item.getValue();
+    /**
+     * The {@link DexFile#data} contains the items decoded so far, more items
+     * are added when the class nodes are expanded, so iterate over a copy.
+     */
+    private void generateDataItems(DefaultMutableTreeNode node) {
+        for (FileComponent fc : new ArrayList<>(this.dexFile.data.values())) {
             int startPos = fc.getStartPos();
 
             DefaultMutableTreeNode itemNode = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
@@ -398,10 +504,7 @@ public class TreeNodeGenerator {
                     fc.getLength(),
                     Dex_uint.toString(startPos) + " - " + fc.getClass().getSimpleName()));
             node.add(itemNode);
-
-            if (fc instanceof StringDataItem) {
-                this.generateData(itemNode, (StringDataItem) fc);
-            }
+            this.generateItemContent(itemNode, fc);
         }
     }
 
@@ -417,4 +520,477 @@ public class TreeNodeGenerator {
         }
     }
 
+    private void generateData(DefaultMutableTreeNode parentNode, MapList item) {
+        int startPos = item.getStartPos();
+
+        DefaultMutableTreeNode nodeTemp = this.addNode(parentNode, startPos, Dex_uint.LENGTH, "size", item.size);
+        startPos = ((JTreeNodeFileComponent)nodeTemp.getUserObject()).getLastPosPlus1();
+
+        for (int i = 0; i < item.list.length; i++) {
+            MapList.MapItem mapItem = item.list[i];
+            DefaultMutableTreeNode itemNode = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
+                    startPos,
+                    MapList.MapItem.LENGTH,
+                    "map_item[" + String.format("%,d", i) + "]: " + MapList.getTypeName(mapItem.type.value)));
+            parentNode.add(itemNode);
+
+            nodeTemp = this.addNode(itemNode, startPos, Dex_ushort.LENGTH, "type", mapItem.type);
+            startPos = ((JTreeNodeFileComponent)nodeTemp.getUserObject()).getLastPosPlus1();
+            nodeTemp = this.addNode(itemNode, startPos, Dex_ushort.LENGTH, "unused", mapItem.unused);
+            startPos = ((JTreeNodeFileComponent)nodeTemp.getUserObject()).getLastPosPlus1();
+            nodeTemp = this.addNode(itemNode, startPos, Dex_uint.LENGTH, "size", mapItem.size);
+            startPos = ((JTreeNodeFileComponent)nodeTemp.getUserObject()).getLastPosPlus1();
+            nodeTemp = this.addNode(itemNode, startPos, Dex_uint.LENGTH, "offset", mapItem.offset);
+            startPos = ((JTreeNodeFileComponent)nodeTemp.getUserObject()).getLastPosPlus1();
+        }
+    }
+
+    private void generateData(DefaultMutableTreeNode parentNode, TypeList item) {
+        DefaultMutableTreeNode nodeTemp;
+        int startPos = item.getStartPos();
+
+        nodeTemp = this.addNode(parentNode, startPos, Dex_uint.LENGTH, "size", item.size);
+        startPos = ((JTreeNodeFileComponent) nodeTemp.getUserObject()).getLastPosPlus1();
+        for (int i = 0; i < item.list.length; i++) {
+            this.addNode(parentNode, startPos, Dex_ushort.LENGTH, "list[" + i + "]",
+                    this.dexFile.getTypeDescriptor(item.list[i].value));
+            startPos += Dex_ushort.LENGTH;
+        }
+    }
+
+    private void generateData(DefaultMutableTreeNode parentNode, ClassDataItem item) {
+        DefaultMutableTreeNode nodeTemp;
+        int startPos = item.getStartPos();
+
+        nodeTemp = this.addNode(parentNode, startPos, item.static_fields_size.length, "static_fields_size", item.static_fields_size.value);
+        startPos = ((JTreeNodeFileComponent) nodeTemp.getUserObject()).getLastPosPlus1();
+        nodeTemp = this.addNode(parentNode, startPos, item.instance_fields_size.length, "instance_fields_size", item.instance_fields_size.value);
+        startPos = ((JTreeNodeFileComponent) nodeTemp.getUserObject()).getLastPosPlus1();
+        nodeTemp = this.addNode(parentNode, startPos, item.direct_methods_size.length, "direct_methods_size", item.direct_methods_size.value);
+        startPos = ((JTreeNodeFileComponent) nodeTemp.getUserObject()).getLastPosPlus1();
+        this.addNode(parentNode, startPos, item.virtual_methods_size.length, "virtual_methods_size", item.virtual_methods_size.value);
+
+        this.generateData(parentNode, "static_fields", item.static_fields);
+        this.generateData(parentNode, "instance_fields", item.instance_fields);
+        this.generateData(parentNode, "direct_methods", item.direct_methods);
+        this.generateData(parentNode, "virtual_methods", item.virtual_methods);
+    }
+
+    private void generateData(DefaultMutableTreeNode parentNode, String name, ClassDataItem.EncodedField[] fields) {
+        if (fields.length < 1) {
+            return;
+        }
+
+        DefaultMutableTreeNode fieldsNode = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
+                fields[0].getStartPos(),
+                fields[fields.length - 1].getStartPos() + fields[fields.length - 1].getLength() - fields[0].getStartPos(),
+                name));
+        parentNode.add(fieldsNode);
+
+        DefaultMutableTreeNode nodeTemp;
+        for (int i = 0; i < fields.length; i++) {
+            ClassDataItem.EncodedField field = fields[i];
+            int startPos = field.getStartPos();
+            DefaultMutableTreeNode itemNode = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
+                    startPos,
+                    field.getLength(),
+                    "encoded_field[" + String.format("%,d", i) + "]: " + this.dexFile.getFieldName(field.field_idx)));
+            fieldsNode.add(itemNode);
+
+            nodeTemp = this.addNode(itemNode, startPos, field.field_idx_diff.length, "field_idx_diff", field.field_idx_diff.value);
+            startPos = ((JTreeNodeFileComponent) nodeTemp.getUserObject()).getLastPosPlus1();
+            this.addNode(itemNode, startPos, field.access_flags.length, "access_flags", Dex_uint.toString(field.access_flags.value));
+        }
+    }
+
+    private void generateData(DefaultMutableTreeNode parentNode, String name, ClassDataItem.EncodedMethod[] methods) {
+        if (methods.length < 1) {
+            return;
+        }
+
+        DefaultMutableTreeNode methodsNode = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
+                methods[0].getStartPos(),
+                methods[methods.length - 1].getStartPos() + methods[methods.length - 1].getLength() - methods[0].getStartPos(),
+                name));
+        parentNode.add(methodsNode);
+
+        DefaultMutableTreeNode nodeTemp;
+        for (int i = 0; i < methods.length; i++) {
+            ClassDataItem.EncodedMethod method = methods[i];
+            int startPos = method.getStartPos();
+            DefaultMutableTreeNode itemNode = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
+                    startPos,
+                    method.getLength(),
+                    "encoded_method[" + String.format("%,d", i) + "]: " + this.dexFile.getMethodName(method.method_idx)));
+            methodsNode.add(itemNode);
+
+            nodeTemp = this.addNode(itemNode, startPos, method.method_idx_diff.length, "method_idx_diff", method.method_idx_diff.value);
+            startPos = ((JTreeNodeFileComponent) nodeTemp.getUserObject()).getLastPosPlus1();
+            nodeTemp = this.addNode(itemNode, startPos, method.access_flags.length, "access_flags", Dex_uint.toString(method.access_flags.value));
+            startPos = ((JTreeNodeFileComponent) nodeTemp.getUserObject()).getLastPosPlus1();
+            if (method.code_off.value == 0) {
+                this.addNode(itemNode, startPos, method.code_off.length, "code_off", Dex_uint.toString(0));
+            } else {
+                this.addNode(itemNode, startPos, method.code_off.length, "code_off", Dex_uint.toString(method.code_off.value & 0xFFFFFFFFL),
+                        (DefaultMutableTreeNode node) -> this.generateItemNode(node, this.dexFile.getCodeItem(method)));
+            }
+        }
+    }
+
+    private void generateData(DefaultMutableTreeNode parentNode, CodeItem item) {
+        DefaultMutableTreeNode nodeTemp;
+        int startPos = item.getStartPos();
+
+        nodeTemp = this.addNode(parentNode, startPos, Dex_ushort.LENGTH, "registers_size", item.registers_size);
+        startPos = ((JTreeNodeFileComponent) nodeTemp.getUserObject()).getLastPosPlus1();
+        nodeTemp = this.addNode(parentNode, startPos, Dex_ushort.LENGTH, "ins_size", item.ins_size);
+        startPos = ((JTreeNodeFileComponent) nodeTemp.getUserObject()).getLastPosPlus1();
+        nodeTemp = this.addNode(parentNode, startPos, Dex_ushort.LENGTH, "outs_size", item.outs_size);
+        startPos = ((JTreeNodeFileComponent) nodeTemp.getUserObject()).getLastPosPlus1();
+        nodeTemp = this.addNode(parentNode, startPos, Dex_ushort.LENGTH, "tries_size", item.tries_size);
+        startPos = ((JTreeNodeFileComponent) nodeTemp.getUserObject()).getLastPosPlus1();
+        if (item.debug_info_off.value == 0) {
+            nodeTemp = this.addNode(parentNode, startPos, Dex_uint.LENGTH, "debug_info_off", item.debug_info_off);
+        } else {
+            nodeTemp = this.addNode(parentNode, startPos, Dex_uint.LENGTH, "debug_info_off", item.debug_info_off,
+                    (DefaultMutableTreeNode node) -> this.generateItemNode(node, this.dexFile.getDebugInfo(item)));
+        }
+        startPos = ((JTreeNodeFileComponent) nodeTemp.getUserObject()).getLastPosPlus1();
+        nodeTemp = this.addNode(parentNode, startPos, Dex_uint.LENGTH, "insns_size", item.insns_size);
+        startPos = ((JTreeNodeFileComponent) nodeTemp.getUserObject()).getLastPosPlus1();
+        if (item.insns.length > 0) {
+            final int insnsPos = startPos;
+            parentNode.add(new LazyTreeNode(new JTreeNodeFileComponent(
+                    startPos,
+                    item.insns.length * Dex_ushort.LENGTH,
+                    "insns"), (DefaultMutableTreeNode node) -> this.generateInstructions(node, insnsPos, item)));
+            startPos += item.insns.length * Dex_ushort.LENGTH;
+        }
+        if (item.padding != null) {
+            nodeTemp = this.addNode(parentNode, startPos, Dex_ushort.LENGTH, "padding", item.padding);
+        }
+
+        if (item.tries != null) {
+            DefaultMutableTreeNode triesNode = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
+                    item.tries[0].getStartPos(),
+                    item.tries.length * CodeItem.TryItem.LENGTH,
+                    "tries"));
+            parentNode.add(triesNode);
+            for (int i = 0; i < item.tries.length; i++) {
+                CodeItem.TryItem tryItem = item.tries[i];
+                startPos = tryItem.getStartPos();
+                DefaultMutableTreeNode itemNode = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
+                        startPos,
+                        tryItem.getLength(),
+                        "try_item[" + String.format("%,d", i) + "]"));
+                triesNode.add(itemNode);
+
+                nodeTemp = this.addNode(itemNode, startPos, Dex_uint.LENGTH, "start_addr", tryItem.start_addr);
+                startPos = ((JTreeNodeFileComponent) nodeTemp.getUserObject()).getLastPosPlus1();
+                nodeTemp = this.addNode(itemNode, startPos, Dex_ushort.LENGTH, "insn_count", tryItem.insn_count);
+                startPos = ((JTreeNodeFileComponent) nodeTemp.getUserObject()).getLastPosPlus1();
+                this.addNode(itemNode, startPos, Dex_ushort.LENGTH, "handler_off", tryItem.handler_off);
+            }
+        }
+
+        if (item.handlers != null) {
+            this.generateData(parentNode, item.handlers);
+        }
+    }
+
+    /**
+     * The instructions are decoded when the <code>insns</code> node is
+     * expanded.
+     */
+    private void generateInstructions(DefaultMutableTreeNode parentNode, int startPos, CodeItem item) {
+        DalvikInstructionStream stream = DalvikOpcode.decode(item);
+        for (int i = 0; i < stream.size(); i++) {
+            parentNode.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
+                    startPos + stream.getAddress(i) * Dex_ushort.LENGTH,
+                    stream.getUnits(i) * Dex_ushort.LENGTH,
+                    stream.toString(i, this.dexFile))));
+        }
+    }
+
+    private void generateData(DefaultMutableTreeNode parentNode, CodeItem.EncodedCatchHandlerList item) {
+        DefaultMutableTreeNode nodeTemp;
+        DefaultMutableTreeNode listNode = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
+                item.getStartPos(),
+                item.getLength(),
+                "handlers"));
+        parentNode.add(listNode);
+
+        this.addNode(listNode, item.getStartPos(), item.size.length, "size", item.size.value);
+        for (int i = 0; i < item.list.length; i++) {
+            CodeItem.EncodedCatchHandler handler = item.list[i];
+            int startPos = handler.getStartPos();
+            DefaultMutableTreeNode handlerNode = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
+                    startPos,
+                    handler.getLength(),
+                    "encoded_catch_handler[" + String.format("%,d", i) + "]"));
+            listNode.add(handlerNode);
+
+            nodeTemp = this.addNode(handlerNode, startPos, handler.size.length, "size", handler.size.value);
+            startPos = ((JTreeNodeFileComponent) nodeTemp.getUserObject()).getLastPosPlus1();
+            for (int j = 0; j < handler.handlers.length; j++) {
+                CodeItem.EncodedTypeAddrPair pair = handler.handlers[j];
+                DefaultMutableTreeNode pairNode = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
+                        pair.getStartPos(),
+                        pair.getLength(),
+                        "encoded_type_addr_pair[" + j + "]"));
+                handlerNode.add(pairNode);
+
+                nodeTemp = this.addNode(pairNode, pair.getStartPos(), pair.type_idx.length, "type_idx",
+                        pair.type_idx.value + " - " + this.dexFile.getTypeDescriptor(pair.type_idx.value));
+                startPos = ((JTreeNodeFileComponent) nodeTemp.getUserObject()).getLastPosPlus1();
+                nodeTemp = this.addNode(pairNode, startPos, pair.addr.length, "addr", Dex_uint.toString(pair.addr.value));
+                startPos = ((JTreeNodeFileComponent) nodeTemp.getUserObject()).getLastPosPlus1();
+            }
+            if (handler.catch_all_addr != null) {
+                this.addNode(handlerNode, startPos, handler.catch_all_addr.length, "catch_all_addr", Dex_uint.toString(handler.catch_all_addr.value));
+            }
+        }
+    }
+
+    private void generateData(DefaultMutableTreeNode parentNode, DebugInfoItem item) {
+        DefaultMutableTreeNode nodeTemp;
+        int startPos = item.getStartPos();
+
+        nodeTemp = this.addNode(parentNode, startPos, item.line_start.length, "line_start", item.line_start.value);
+        startPos = ((JTreeNodeFileComponent) nodeTemp.getUserObject()).getLastPosPlus1();
+        nodeTemp = this.addNode(parentNode, startPos, item.parameters_size.length, "parameters_size", item.parameters_size.value);
+        startPos = ((JTreeNodeFileComponent) nodeTemp.getUserObject()).getLastPosPlus1();
+        for (int i = 0; i < item.parameter_names.length; i++) {
+            Dex_uleb128p1 name = item.parameter_names[i];
+            nodeTemp = this.addNode(parentNode, startPos, name.length, "parameter_names[" + i + "]",
+                    name.value == -1 ? "NO_INDEX" : this.dexFile.getString(name.value));
+            startPos = ((JTreeNodeFileComponent) nodeTemp.getUserObject()).getLastPosPlus1();
+        }
+
+        DefaultMutableTreeNode bytecodeNode = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
+                startPos,
+                item.getStartPos() + item.getLength() - startPos,
+                "bytecode"));
+        parentNode.add(bytecodeNode);
+        for (DebugInfoItem.Instruction instruction : item.instructions) {
+            StringBuilder sb = new StringBuilder(instruction.getName());
+            if (instruction.isSpecial()) {
+                sb.append(String.format(" 0x%02X", instruction.opcode.value));
+            }
+            if (instruction.addr_diff != null) {
+                sb.append(" addr_diff=").append(instruction.addr_diff.value);
+            }
+            if (instruction.line_diff != null) {
+                sb.append(" line_diff=").append(instruction.line_diff.value);
+            }
+            if (instruction.register_num != null) {
+                sb.append(" v").append(instruction.register_num.value);
+            }
+            if (instruction.name_idx != null && instruction.name_idx.value != -1) {
+                sb.append(" name=").append(this.dexFile.getString(instruction.name_idx.value));
+            }
+            if (instruction.type_idx != null && instruction.type_idx.value != -1) {
+                sb.append(" type=").append(this.dexFile.getTypeDescriptor(instruction.type_idx.value));
+            }
+            if (instruction.sig_idx != null && instruction.sig_idx.value != -1) {
+                sb.append(" signature=").append(this.dexFile.getString(instruction.sig_idx.value));
+            }
+            if (instruction.isSpecial()) {
+                sb.append(" - address=").append(instruction.address).append(", line=").append(instruction.line);
+            }
+            bytecodeNode.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
+                    instruction.getStartPos(),
+                    instruction.getLength(),
+                    sb.toString())));
+        }
+    }
+
+    private void generateData(DefaultMutableTreeNode parentNode, EncodedArrayItem item) {
+        this.generateData(parentNode, item.value);
+    }
+
+    private void generateData(DefaultMutableTreeNode parentNode, EncodedArray item) {
+        int startPos = item.getStartPos();
+
+        this.addNode(parentNode, startPos, item.size.length, "size", item.size.value);
+        for (int i = 0; i < item.values.length; i++) {
+            this.generateData(parentNode, "values[" + i + "]", item.values[i]);
+        }
+    }
+
+    private void generateData(DefaultMutableTreeNode parentNode, String name, EncodedValue item) {
+        DefaultMutableTreeNode valueNode = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
+                item.getStartPos(),
+                item.getLength(),
+                name + ": " + item.getTypeName() + " " + item.toString(this.dexFile)));
+        parentNode.add(valueNode);
+
+        if (item.array != null) {
+            this.generateData(valueNode, item.array);
+        } else if (item.annotation != null) {
+            this.generateData(valueNode, item.annotation);
+        }
+    }
+
+    private void generateData(DefaultMutableTreeNode parentNode, EncodedAnnotation item) {
+        DefaultMutableTreeNode nodeTemp;
+        int startPos = item.getStartPos();
+
+        nodeTemp = this.addNode(parentNode, startPos, item.type_idx.length, "type_idx",
+                item.type_idx.value + " - " + this.dexFile.getTypeDescriptor(item.type_idx.value));
+        startPos = ((JTreeNodeFileComponent) nodeTemp.getUserObject()).getLastPosPlus1();
+        this.addNode(parentNode, startPos, item.size.length, "size", item.size.value);
+        for (EncodedAnnotation.AnnotationElement element : item.elements) {
+            this.generateData(parentNode, this.dexFile.getString(element.name_idx.value), element.value);
+        }
+    }
+
+    private void generateData(DefaultMutableTreeNode parentNode, AnnotationsDirectoryItem item) {
+        DefaultMutableTreeNode nodeTemp;
+        int startPos = item.getStartPos();
+
+        nodeTemp = this.addAnnotationSetNode(parentNode, startPos, "class_annotations_off", item.class_annotations_off);
+        startPos = ((JTreeNodeFileComponent) nodeTemp.getUserObject()).getLastPosPlus1();
+        nodeTemp = this.addNode(parentNode, startPos, Dex_uint.LENGTH, "fields_size", item.fields_size);
+        startPos = ((JTreeNodeFileComponent) nodeTemp.getUserObject()).getLastPosPlus1();
+        nodeTemp = this.addNode(parentNode, startPos, Dex_uint.LENGTH, "annotated_methods_size", item.annotated_methods_size);
+        startPos = ((JTreeNodeFileComponent) nodeTemp.getUserObject()).getLastPosPlus1();
+        this.addNode(parentNode, startPos, Dex_uint.LENGTH, "annotated_parameters_size", item.annotated_parameters_size);
+
+        for (int i = 0; i < item.field_annotations.length; i++) {
+            AnnotationsDirectoryItem.FieldAnnotation annotation = item.field_annotations[i];
+            DefaultMutableTreeNode itemNode = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
+                    annotation.getStartPos(),
+                    annotation.getLength(),
+                    "field_annotation[" + String.format("%,d", i) + "]: " + this.dexFile.getFieldName(annotation.field_idx.intValue())));
+            parentNode.add(itemNode);
+
+            nodeTemp = this.addNode(itemNode, annotation.getStartPos(), Dex_uint.LENGTH, "field_idx", annotation.field_idx);
+            startPos = ((JTreeNodeFileComponent) nodeTemp.getUserObject()).getLastPosPlus1();
+            this.addAnnotationSetNode(itemNode, startPos, "annotations_off", annotation.annotations_off);
+        }
+        for (int i = 0; i < item.method_annotations.length; i++) {
+            AnnotationsDirectoryItem.MethodAnnotation annotation = item.method_annotations[i];
+            DefaultMutableTreeNode itemNode = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
+                    annotation.getStartPos(),
+                    annotation.getLength(),
+                    "method_annotation[" + String.format("%,d", i) + "]: " + this.dexFile.getMethodName(annotation.method_idx.intValue())));
+            parentNode.add(itemNode);
+
+            nodeTemp = this.addNode(itemNode, annotation.getStartPos(), Dex_uint.LENGTH, "method_idx", annotation.method_idx);
+            startPos = ((JTreeNodeFileComponent) nodeTemp.getUserObject()).getLastPosPlus1();
+            this.addAnnotationSetNode(itemNode, startPos, "annotations_off", annotation.annotations_off);
+        }
+        for (int i = 0; i < item.parameter_annotations.length; i++) {
+            AnnotationsDirectoryItem.ParameterAnnotation annotation = item.parameter_annotations[i];
+            DefaultMutableTreeNode itemNode = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
+                    annotation.getStartPos(),
+                    annotation.getLength(),
+                    "parameter_annotation[" + String.format("%,d", i) + "]: " + this.dexFile.getMethodName(annotation.method_idx.intValue())));
+            parentNode.add(itemNode);
+
+            nodeTemp = this.addNode(itemNode, annotation.getStartPos(), Dex_uint.LENGTH, "method_idx", annotation.method_idx);
+            startPos = ((JTreeNodeFileComponent) nodeTemp.getUserObject()).getLastPosPlus1();
+            this.addNode(itemNode, startPos, Dex_uint.LENGTH, "annotations_off", annotation.annotations_off,
+                    (DefaultMutableTreeNode node) -> this.generateItemNode(node, this.dexFile.getAnnotationSetRefList(annotation.annotations_off.value)));
+        }
+    }
+
+    private void generateData(DefaultMutableTreeNode parentNode, AnnotationSetRefList item) {
+        int startPos = item.getStartPos();
+
+        this.addNode(parentNode, startPos, Dex_uint.LENGTH, "size", item.size);
+        for (int i = 0; i < item.list.length; i++) {
+            startPos += Dex_uint.LENGTH;
+            this.addAnnotationSetNode(parentNode, startPos, "list[" + i + "]", item.list[i]);
+        }
+    }
+
+    private void generateData(DefaultMutableTreeNode parentNode, AnnotationSetList item) {
+        int startPos = item.getStartPos();
+
+        this.addNode(parentNode, startPos, Dex_uint.LENGTH, "size", item.size);
+        for (int i = 0; i < item.entries.length; i++) {
+            final Dex_uint annotation_off = item.entries[i];
+            startPos += Dex_uint.LENGTH;
+            this.addNode(parentNode, startPos, Dex_uint.LENGTH, "entries[" + i + "]", annotation_off,
+                    (DefaultMutableTreeNode node) -> this.generateItemNode(node, this.dexFile.getAnnotation(annotation_off.value)));
+        }
+    }
+
+    private void generateData(DefaultMutableTreeNode parentNode, AnnotationItem item) {
+        this.addNode(parentNode, item.getStartPos(), Dex_ubyte.LENGTH, "visibility", item.getVisibilityName());
+        this.generateData(parentNode, item.annotation);
+    }
+
+    private DefaultMutableTreeNode addAnnotationSetNode(DefaultMutableTreeNode parentNode, int startPos, String name, Dex_uint offset) {
+        if (offset.value == 0) {
+            return this.addNode(parentNode, startPos, Dex_uint.LENGTH, name, offset);
+        } else {
+            return this.addNode(parentNode, startPos, Dex_uint.LENGTH, name, offset,
+                    (DefaultMutableTreeNode node) -> this.generateItemNode(node, this.dexFile.getAnnotationSet(offset.value)));
+        }
+    }
+
+    /**
+     * Add the node of a data section item, with the nodes of its content.
+     */
+    private void generateItemNode(DefaultMutableTreeNode parentNode, FileComponent fc) {
+        String name;
+        if (fc instanceof TypeList) {
+            name = "type_list";
+        } else if (fc instanceof ClassDataItem) {
+            name = "class_data_item";
+        } else if (fc instanceof CodeItem) {
+            name = "code_item";
+        } else if (fc instanceof DebugInfoItem) {
+            name = "debug_info_item";
+        } else if (fc instanceof EncodedArrayItem) {
+            name = "encoded_array_item";
+        } else if (fc instanceof AnnotationsDirectoryItem) {
+            name = "annotations_directory_item";
+        } else if (fc instanceof AnnotationSetRefList) {
+            name = "annotation_set_ref_list";
+        } else if (fc instanceof AnnotationSetList) {
+            name = "annotation_set_item";
+        } else if (fc instanceof AnnotationItem) {
+            name = "annotation_item";
+        } else {
+            name = fc.getClass().getSimpleName();
+        }
+
+        DefaultMutableTreeNode itemNode = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
+                fc.getStartPos(),
+                fc.getLength(),
+                name));
+        parentNode.add(itemNode);
+        this.generateItemContent(itemNode, fc);
+    }
+
+    private void generateItemContent(DefaultMutableTreeNode itemNode, FileComponent fc) {
+        if (fc instanceof StringDataItem) {
+            this.generateData(itemNode, (StringDataItem) fc);
+        } else if (fc instanceof TypeList) {
+            this.generateData(itemNode, (TypeList) fc);
+        } else if (fc instanceof ClassDataItem) {
+            this.generateData(itemNode, (ClassDataItem) fc);
+        } else if (fc instanceof CodeItem) {
+            this.generateData(itemNode, (CodeItem) fc);
+        } else if (fc instanceof DebugInfoItem) {
+            this.generateData(itemNode, (DebugInfoItem) fc);
+        } else if (fc instanceof EncodedArrayItem) {
+            this.generateData(itemNode, (EncodedArrayItem) fc);
+        } else if (fc instanceof AnnotationsDirectoryItem) {
+            this.generateData(itemNode, (AnnotationsDirectoryItem) fc);
+        } else if (fc instanceof AnnotationSetRefList) {
+            this.generateData(itemNode, (AnnotationSetRefList) fc);
+        } else if (fc instanceof AnnotationSetList) {
+            this.generateData(itemNode, (AnnotationSetList) fc);
+        } else if (fc instanceof AnnotationItem) {
+            this.generateData(itemNode, (AnnotationItem) fc);
+        } else if (fc instanceof MapList) {
+            this.generateData(itemNode, (MapList) fc);
+        }
+    }
+
 }
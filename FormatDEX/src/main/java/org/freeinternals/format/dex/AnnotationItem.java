@@ -6,12 +6,66 @@
  */
 package org.freeinternals.format.dex;
 
+import java.io.IOException;
 import org.freeinternals.commonlib.core.FileComponent;
+import org.freeinternals.commonlib.core.FileFormatException;
 
 /**
+ * The <code>annotation_item</code>, referenced from
+ * {@link AnnotationSetList#entries}.
  *
  * @author Amos Shi
  */
-public class AnnotationItem extends FileComponent{
-    
+public class AnnotationItem extends FileComponent {
+
+    /**
+     * intended only to be visible at build time (e.g., during compilation of
+     * other code).
+     */
+    public static final int VISIBILITY_BUILD = 0x00;
+    /**
+     * intended to visible at runtime.
+     */
+    public static final int VISIBILITY_RUNTIME = 0x01;
+    /**
+     * intended to visible at runtime, but only to the underlying system (and
+     * not to regular user code).
+     */
+    public static final int VISIBILITY_SYSTEM = 0x02;
+
+    /**
+     * intended visibility of this annotation.
+     */
+    public Dex_ubyte visibility;
+
+    /**
+     * encoded annotation contents, in the format described by
+     * {@link EncodedAnnotation}.
+     */
+    public EncodedAnnotation annotation;
+
+    AnnotationItem(PosDataInputStreamDex stream) throws IOException, FileFormatException {
+        super.startPos = stream.getPos();
+        this.visibility = stream.Dex_ubyte();
+        this.annotation = new EncodedAnnotation(stream);
+        super.length = stream.getPos() - super.startPos;
+    }
+
+    /**
+     * Get the name of the {@link #visibility}.
+     *
+     * @return Name of the visibility
+     */
+    public String getVisibilityName() {
+        switch (this.visibility.value) {
+            case VISIBILITY_BUILD:
+                return "VISIBILITY_BUILD";
+            case VISIBILITY_RUNTIME:
+                return "VISIBILITY_RUNTIME";
+            case VISIBILITY_SYSTEM:
+                return "VISIBILITY_SYSTEM";
+            default:
+                return "Un-recognized";
+        }
+    }
 }
@@ -6,12 +6,37 @@
  */
 package org.freeinternals.format.dex;
 
+import java.io.IOException;
 import org.freeinternals.commonlib.core.FileComponent;
+import org.freeinternals.commonlib.core.FileFormatException;
 
 /**
+ * The <code>annotation_set_item</code>, referenced from
+ * {@link AnnotationsDirectoryItem} and {@link AnnotationSetRefList}.
  *
  * @author Amos Shi
  */
-public class AnnotationSetList extends FileComponent{
-    
+public class AnnotationSetList extends FileComponent {
+
+    /**
+     * size of the set, in entries.
+     */
+    public Dex_uint size;
+
+    /**
+     * elements of the set, as <code>annotation_off_item</code>: offset from
+     * the start of the file to an {@link AnnotationItem}. The elements must
+     * be sorted in increasing order, by type_idx.
+     */
+    public Dex_uint[] entries;
+
+    AnnotationSetList(PosDataInputStreamDex stream) throws IOException, FileFormatException {
+        super.startPos = stream.getPos();
+        this.size = stream.Dex_uint();
+        this.entries = new Dex_uint[stream.checkCount(this.size.value, Dex_uint.LENGTH)];
+        for (int i = 0; i < this.entries.length; i++) {
+            this.entries[i] = stream.Dex_uint();
+        }
+        super.length = stream.getPos() - super.startPos;
+    }
 }
@@ -6,12 +6,38 @@
  */
 package org.freeinternals.format.dex;
 
+import java.io.IOException;
 import org.freeinternals.commonlib.core.FileComponent;
+import org.freeinternals.commonlib.core.FileFormatException;
 
 /**
+ * The <code>annotation_set_ref_list</code>, referenced from
+ * {@link AnnotationsDirectoryItem.ParameterAnnotation#annotations_off}.
  *
  * @author Amos Shi
  */
-public class AnnotationSetRefList extends FileComponent{
-    
+public class AnnotationSetRefList extends FileComponent {
+
+    /**
+     * size of the list, in entries.
+     */
+    public Dex_uint size;
+
+    /**
+     * elements of the list, as <code>annotation_set_ref_item</code>: offset
+     * from the start of the file to the referenced
+     * {@link AnnotationSetList}, or 0 if there are no annotations for this
+     * element.
+     */
+    public Dex_uint[] list;
+
+    AnnotationSetRefList(PosDataInputStreamDex stream) throws IOException, FileFormatException {
+        super.startPos = stream.getPos();
+        this.size = stream.Dex_uint();
+        this.list = new Dex_uint[stream.checkCount(this.size.value, Dex_uint.LENGTH)];
+        for (int i = 0; i < this.list.length; i++) {
+            this.list[i] = stream.Dex_uint();
+        }
+        super.length = stream.getPos() - super.startPos;
+    }
 }
@@ -6,12 +6,170 @@
  */
 package org.freeinternals.format.dex;
 
+import java.io.IOException;
 import org.freeinternals.commonlib.core.FileComponent;
+import org.freeinternals.commonlib.core.FileFormatException;
 
 /**
+ * The <code>annotations_directory_item</code>, referenced from
+ * {@link ClassDefItem#annotations_off}.
  *
  * @author Amos Shi
  */
-public class AnnotationsDirectoryItem extends FileComponent{
-    
+public class AnnotationsDirectoryItem extends FileComponent {
+
+    /**
+     * offset from the start of the file to the annotations made directly on
+     * the class, or 0 if the class has no direct annotations. The data there
+     * should be in the format specified by {@link AnnotationSetList}.
+     */
+    public Dex_uint class_annotations_off;
+
+    /**
+     * count of fields annotated by this item.
+     */
+    public Dex_uint fields_size;
+
+    /**
+     * count of methods annotated by this item.
+     */
+    public Dex_uint annotated_methods_size;
+
+    /**
+     * count of method parameter lists annotated by this item.
+     */
+    public Dex_uint annotated_parameters_size;
+
+    /**
+     * list of associated field annotations. The elements of the list must be
+     * sorted in increasing order, by field_idx.
+     */
+    public FieldAnnotation[] field_annotations;
+
+    /**
+     * list of associated method annotations. The elements of the list must be
+     * sorted in increasing order, by method_idx.
+     */
+    public MethodAnnotation[] method_annotations;
+
+    /**
+     * list of associated method parameter annotations. The elements of the
+     * list must be sorted in increasing order, by method_idx.
+     */
+    public ParameterAnnotation[] parameter_annotations;
+
+    AnnotationsDirectoryItem(PosDataInputStreamDex stream) throws IOException, FileFormatException {
+        super.startPos = stream.getPos();
+        this.class_annotations_off = stream.Dex_uint();
+        this.fields_size = stream.Dex_uint();
+        this.annotated_methods_size = stream.Dex_uint();
+        this.annotated_parameters_size = stream.Dex_uint();
+
+        this.field_annotations = new FieldAnnotation[stream.checkCount(this.fields_size.value, FieldAnnotation.LENGTH)];
+        for (int i = 0; i < this.field_annotations.length; i++) {
+            this.field_annotations[i] = new FieldAnnotation(stream);
+        }
+        this.method_annotations = new MethodAnnotation[stream.checkCount(this.annotated_methods_size.value, MethodAnnotation.LENGTH)];
+        for (int i = 0; i < this.method_annotations.length; i++) {
+            this.method_annotations[i] = new MethodAnnotation(stream);
+        }
+        this.parameter_annotations = new ParameterAnnotation[stream.checkCount(this.annotated_parameters_size.value, ParameterAnnotation.LENGTH)];
+        for (int i = 0; i < this.parameter_annotations.length; i++) {
+            this.parameter_annotations[i] = new ParameterAnnotation(stream);
+        }
+        super.length = stream.getPos() - super.startPos;
+    }
+
+    /**
+     * The <code>field_annotation</code> format.
+     */
+    public static class FieldAnnotation extends FileComponent {
+
+        /**
+         * Item Size In Bytes.
+         */
+        public static final int LENGTH = 8;
+
+        /**
+         * index into the field_ids list for the identity of the field being
+         * annotated.
+         */
+        public Dex_uint field_idx;
+
+        /**
+         * offset from the start of the file to the list of annotations for the
+         * field. The data there should be in the format specified by
+         * {@link AnnotationSetList}.
+         */
+        public Dex_uint annotations_off;
+
+        FieldAnnotation(PosDataInputStreamDex stream) throws IOException {
+            super.startPos = stream.getPos();
+            this.field_idx = stream.Dex_uint();
+            this.annotations_off = stream.Dex_uint();
+            super.length = stream.getPos() - super.startPos;
+        }
+    }
+
+    /**
+     * The <code>method_annotation</code> format.
+     */
+    public static class MethodAnnotation extends FileComponent {
+
+        /**
+         * Item Size In Bytes.
+         */
+        public static final int LENGTH = 8;
+
+        /**
+         * index into the method_ids list for the identity of the method being
+         * annotated.
+         */
+        public Dex_uint method_idx;
+
+        /**
+         * offset from the start of the file to the list of annotations for the
+         * method. The data there should be in the format specified by
+         * {@link AnnotationSetList}.
+         */
+        public Dex_uint annotations_off;
+
+        MethodAnnotation(PosDataInputStreamDex stream) throws IOException {
+            super.startPos = stream.getPos();
+            this.method_idx = stream.Dex_uint();
+            this.annotations_off = stream.Dex_uint();
+            super.length = stream.getPos() - super.startPos;
+        }
+    }
+
+    /**
+     * The <code>parameter_annotation</code> format.
+     */
+    public static class ParameterAnnotation extends FileComponent {
+
+        /**
+         * Item Size In Bytes.
+         */
+        public static final int LENGTH = 8;
+
+        /**
+         * index into the method_ids list for the identity of the method whose
+         * parameters are being annotated.
+         */
+        public Dex_uint method_idx;
+
+        /**
+         * offset from the start of the file to the list of annotations for the
+         * method parameters. The data there should be in the format specified
+         * by {@link AnnotationSetRefList}.
+         */
+        public Dex_uint annotations_off;
+
+        ParameterAnnotation(PosDataInputStreamDex stream) throws IOException {
+            super.startPos = stream.getPos();
+            this.method_idx = stream.Dex_uint();
+            this.annotations_off = stream.Dex_uint();
+            super.length = stream.getPos() - super.startPos;
+        }
+    }
 }
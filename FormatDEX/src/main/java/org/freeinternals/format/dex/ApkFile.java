@@ -0,0 +1,116 @@
+/*
+ * ApkFile.java    Oct 17, 2026, 15:50
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.format.dex;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import javax.swing.tree.DefaultMutableTreeNode;
+import org.freeinternals.commonlib.core.FileFormat;
+import org.freeinternals.commonlib.core.FileFormatException;
+import org.freeinternals.commonlib.core.ParseContext;
+import org.freeinternals.commonlib.ui.JTreeNodeFileComponent;
+import org.freeinternals.commonlib.ui.LazyTreeNode;
+import org.freeinternals.format.dex.index.DexIndex;
+import org.freeinternals.format.dex.index.DexIndexer;
+import org.freeinternals.format.dex.index.IndexedDex;
+import org.freeinternals.format.dex.index.IndexedType;
+
+/**
+ * An Android APK or AAB file, a zip file with one or more DEX files. All
+ * <code>classes*.dex</code> entries are parsed in parallel by
+ * {@link DexIndexer} into one {@link DexIndex}.
+ *
+ * <p>
+ * The archive itself is not read onto the heap; the DEX entries are inflated
+ * and parsed one at a time per worker, and only their counts and types are
+ * kept. The tree nodes are a summary of the DEX files, they are not
+ * positioned in the archive bytes.
+ * </p>
+ *
+ * @author Amos Shi
+ */
+public class ApkFile extends FileFormat {
+
+    /**
+     * The DEX files of the archive and their global type index.
+     */
+    public final DexIndex index;
+
+    public ApkFile(File file) throws IOException, FileFormatException {
+        super(file, false);
+
+        try (ZipFile zipFile = new ZipFile(file)) {
+            this.index = new DexIndexer().index(zipFile, ParseContext.getMonitor());
+        } catch (ZipException ex) {
+            throw new FileFormatException("This is not a valid APK file, because it is not a valid zip file: " + ex.getMessage());
+        }
+
+        if (this.index.getDexCount() == 0) {
+            throw new FileFormatException("This is not a valid APK file, because no classes.dex entry is found.");
+        }
+    }
+
+    @Override
+    public String getContentTabName() {
+        return "Android APK File";
+    }
+
+    @Override
+    public void generateTreeNode(DefaultMutableTreeNode parentNode) {
+        DefaultMutableTreeNode dexNode = addNode(parentNode, "DEX files", this.index.getDexCount());
+        for (int i = 0; i < this.index.getDexCount(); i++) {
+            IndexedDex dex = this.index.getDexFile(i);
+            if (dex == null) {
+                addNode(dexNode, this.index.getDexName(i), "ERROR: " + this.index.getFailures().get(this.index.getDexName(i)));
+                continue;
+            }
+
+            DefaultMutableTreeNode node = addNode(dexNode, dex.name, dex.getSize() + " bytes");
+            addNode(node, "classes", dex.classCount);
+            addNode(node, "methods", dex.methodCount);
+            addNode(node, "fields", dex.fieldCount);
+            addNode(node, "types", dex.typeCount);
+            addNode(node, "protos", dex.protoCount);
+            addNode(node, "strings", dex.stringCount);
+        }
+
+        addNode(parentNode, "classes", this.index.getClassCount());
+        addNode(parentNode, "methods", this.index.getMethodCount());
+        addNode(parentNode, "fields", this.index.getFieldCount());
+        addNode(parentNode, "types", this.index.getTypeCount());
+
+        final List<IndexedType> duplicates = this.index.getDuplicateClasses();
+        if (!duplicates.isEmpty()) {
+            parentNode.add(new LazyTreeNode(new JTreeNodeFileComponent(
+                    0,
+                    0,
+                    "duplicate classes: " + duplicates.size()), (DefaultMutableTreeNode node) -> this.generateDuplicates(node, duplicates)));
+        }
+    }
+
+    private void generateDuplicates(DefaultMutableTreeNode parentNode, List<IndexedType> duplicates) {
+        for (IndexedType type : duplicates) {
+            StringBuilder sb = new StringBuilder(type.descriptor).append(':');
+            for (int dex : type.getDefinitions()) {
+                sb.append(' ').append(this.index.getDexName(dex));
+            }
+            parentNode.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(0, 0, sb.toString())));
+        }
+    }
+
+    private static DefaultMutableTreeNode addNode(DefaultMutableTreeNode parentNode, String name, Object value) {
+        DefaultMutableTreeNode node = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
+                0,
+                0,
+                name + ": " + value.toString()));
+        parentNode.add(node);
+        return node;
+    }
+}
@@ -6,12 +6,173 @@
  */
 package org.freeinternals.format.dex;
 
+import java.io.IOException;
 import org.freeinternals.commonlib.core.FileComponent;
+import org.freeinternals.commonlib.core.FileFormatException;
 
 /**
+ * The <code>class_data_item</code>, referenced from
+ * {@link ClassDefItem#class_data_off}. It is decoded on demand by
+ * {@link DexFile#getClassData(ClassDefItem)}.
  *
  * @author Amos Shi
  */
-public class ClassDataItem extends FileComponent{
-    
+public class ClassDataItem extends FileComponent {
+
+    /**
+     * the number of static fields defined in this item.
+     */
+    public Dex_uleb128 static_fields_size;
+
+    /**
+     * the number of instance fields defined in this item.
+     */
+    public Dex_uleb128 instance_fields_size;
+
+    /**
+     * the number of direct methods defined in this item.
+     */
+    public Dex_uleb128 direct_methods_size;
+
+    /**
+     * the number of virtual methods defined in this item.
+     */
+    public Dex_uleb128 virtual_methods_size;
+
+    /**
+     * the defined static fields, represented as a sequence of encoded
+     * elements. The fields must be sorted by field_idx in increasing order.
+     */
+    public EncodedField[] static_fields;
+
+    /**
+     * the defined instance fields, represented as a sequence of encoded
+     * elements. The fields must be sorted by field_idx in increasing order.
+     */
+    public EncodedField[] instance_fields;
+
+    /**
+     * the defined direct (any of static, private, or constructor) methods,
+     * represented as a sequence of encoded elements. The methods must be
+     * sorted by method_idx in increasing order.
+     */
+    public EncodedMethod[] direct_methods;
+
+    /**
+     * the defined virtual (none of static, private, or constructor) methods,
+     * represented as a sequence of encoded elements. This list should not
+     * include inherited methods unless overridden by the class that this item
+     * represents. The methods must be sorted by method_idx in increasing
+     * order. The method_idx of a virtual method must not be the same as any
+     * direct method.
+     */
+    public EncodedMethod[] virtual_methods;
+
+    ClassDataItem(PosDataInputStreamDex stream) throws IOException, FileFormatException {
+        super.startPos = stream.getPos();
+        this.static_fields_size = stream.Dex_uleb128();
+        this.instance_fields_size = stream.Dex_uleb128();
+        this.direct_methods_size = stream.Dex_uleb128();
+        this.virtual_methods_size = stream.Dex_uleb128();
+        this.static_fields = readFields(stream, this.static_fields_size.value);
+        this.instance_fields = readFields(stream, this.instance_fields_size.value);
+        this.direct_methods = readMethods(stream, this.direct_methods_size.value);
+        this.virtual_methods = readMethods(stream, this.virtual_methods_size.value);
+        super.length = stream.getPos() - super.startPos;
+    }
+
+    private static EncodedField[] readFields(PosDataInputStreamDex stream, int size) throws IOException, FileFormatException {
+        EncodedField[] fields = new EncodedField[stream.checkCount(size, 2)];
+        int field_idx = 0;
+        for (int i = 0; i < size; i++) {
+            fields[i] = new EncodedField(stream, field_idx);
+            field_idx = fields[i].field_idx;
+        }
+        return fields;
+    }
+
+    private static EncodedMethod[] readMethods(PosDataInputStreamDex stream, int size) throws IOException, FileFormatException {
+        EncodedMethod[] methods = new EncodedMethod[stream.checkCount(size, 3)];
+        int method_idx = 0;
+        for (int i = 0; i < size; i++) {
+            methods[i] = new EncodedMethod(stream, method_idx);
+            method_idx = methods[i].method_idx;
+        }
+        return methods;
+    }
+
+    /**
+     * The <code>encoded_field</code> format.
+     */
+    public static class EncodedField extends FileComponent {
+
+        /**
+         * index into the field_ids list for the identity of this field
+         * (includes the name and descriptor), represented as a difference
+         * from the index of previous element in the list. The index of the
+         * first element in a list is represented directly.
+         */
+        public Dex_uleb128 field_idx_diff;
+
+        /**
+         * access flags for the field (public, final, etc.).
+         */
+        public Dex_uleb128 access_flags;
+
+        /**
+         * index into the field_ids list, accumulated from the
+         * {@link #field_idx_diff} of this and the previous elements.
+         */
+        public final int field_idx;
+
+        EncodedField(PosDataInputStreamDex stream, int previous_idx) throws IOException, FileFormatException {
+            super.startPos = stream.getPos();
+            this.field_idx_diff = stream.Dex_uleb128();
+            this.access_flags = stream.Dex_uleb128();
+            this.field_idx = previous_idx + this.field_idx_diff.value;
+            super.length = stream.getPos() - super.startPos;
+        }
+    }
+
+    /**
+     * The <code>encoded_method</code> format.
+     */
+    public static class EncodedMethod extends FileComponent {
+
+        /**
+         * index into the method_ids list for the identity of this method
+         * (includes the name and descriptor), represented as a difference
+         * from the index of previous element in the list. The index of the
+         * first element in a list is represented directly.
+         */
+        public Dex_uleb128 method_idx_diff;
+
+        /**
+         * access flags for the method (public, final, etc.).
+         */
+        public Dex_uleb128 access_flags;
+
+        /**
+         * offset from the start of the file to the code structure for this
+         * method, or 0 if this method is either abstract or native. The offset
+         * should be to a location in the data section. The format of the data
+         * is specified by "code_item" below.
+         */
+        public Dex_uleb128 code_off;
+
+        /**
+         * index into the method_ids list, accumulated from the
+         * {@link #method_idx_diff} of this and the previous elements.
+         */
+        public final int method_idx;
+
+        EncodedMethod(PosDataInputStreamDex stream, int previous_idx) throws IOException, FileFormatException {
+            super.startPos = stream.getPos();
+            this.method_idx_diff = stream.Dex_uleb128();
+            this.access_flags = stream.Dex_uleb128();
+            this.code_off = stream.Dex_uleb128();
+            this.method_idx = previous_idx + this.method_idx_diff.value;
+            super.length = stream.getPos() - super.startPos;
+        }
+    }
 }
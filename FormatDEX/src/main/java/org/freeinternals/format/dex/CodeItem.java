@@ -6,12 +6,259 @@
  */
 package org.freeinternals.format.dex;
 
+import java.io.IOException;
 import org.freeinternals.commonlib.core.FileComponent;
+import org.freeinternals.commonlib.core.FileFormatException;
 
 /**
+ * The <code>code_item</code>, referenced from
+ * {@link ClassDataItem.EncodedMethod#code_off}. It is decoded on demand by
+ * {@link DexFile#getCodeItem(ClassDataItem.EncodedMethod)}.
  *
  * @author Amos Shi
  */
-public class CodeItem extends FileComponent{
-    
+public class CodeItem extends FileComponent {
+
+    /**
+     * the number of registers used by this code.
+     */
+    public Dex_ushort registers_size;
+
+    /**
+     * the number of words of incoming arguments to the method that this code
+     * is for.
+     */
+    public Dex_ushort ins_size;
+
+    /**
+     * the number of words of outgoing argument space required by this code
+     * for method invocation.
+     */
+    public Dex_ushort outs_size;
+
+    /**
+     * the number of try_items for this instance. If non-zero, then these
+     * appear as the tries array just after the insns in this instance.
+     */
+    public Dex_ushort tries_size;
+
+    /**
+     * offset from the start of the file to the debug info (line numbers +
+     * local variable info) sequence for this code, or 0 if there simply is no
+     * information. The offset, if non-zero, should be to a location in the
+     * data section. The format of the data is specified by "debug_info_item"
+     * below.
+     */
+    public Dex_uint debug_info_off;
+
+    /**
+     * size of the instructions list, in 16-bit code units.
+     */
+    public Dex_uint insns_size;
+
+    /**
+     * actual array of bytecode. The format of code in an insns array is
+     * specified by the companion document Dalvik bytecode. Use
+     * <code>&amp; 0xFFFF</code> to get the unsigned code unit.
+     */
+    public short[] insns;
+
+    /**
+     * two bytes of padding to make tries four-byte aligned. This element is
+     * only present if tries_size is non-zero and insns_size is odd, otherwise
+     * it is <code>null</code>.
+     */
+    public Dex_ushort padding;
+
+    /**
+     * array indicating where in the code exceptions are caught and how to
+     * handle them. Elements of the array must be non-overlapping in range and
+     * in order from low to high address. This element is only present if
+     * tries_size is non-zero, otherwise it is <code>null</code>.
+     */
+    public TryItem[] tries;
+
+    /**
+     * bytes representing a list of lists of catch types and associated
+     * handler addresses. Each try_item has a byte-wise offset into this
+     * structure. This element is only present if tries_size is non-zero,
+     * otherwise it is <code>null</code>.
+     */
+    public EncodedCatchHandlerList handlers;
+
+    CodeItem(PosDataInputStreamDex stream) throws IOException, FileFormatException {
+        super.startPos = stream.getPos();
+        this.registers_size = stream.Dex_ushort();
+        this.ins_size = stream.Dex_ushort();
+        this.outs_size = stream.Dex_ushort();
+        this.tries_size = stream.Dex_ushort();
+        this.debug_info_off = stream.Dex_uint();
+        this.insns_size = stream.Dex_uint();
+        this.insns = stream.Dex_ushorts(this.insns_size.intValue());
+
+        if (this.tries_size.value > 0) {
+            if ((this.insns_size.value & 1) == 1) {
+                this.padding = stream.Dex_ushort();
+            }
+            this.tries = new TryItem[stream.checkCount(this.tries_size.value, TryItem.LENGTH)];
+            for (int i = 0; i < this.tries.length; i++) {
+                this.tries[i] = new TryItem(stream);
+            }
+            this.handlers = new EncodedCatchHandlerList(stream);
+        }
+        super.length = stream.getPos() - super.startPos;
+    }
+
+    /**
+     * Get the catch handler of a {@link TryItem} of this code.
+     *
+     * @param tryItem One item of {@link #tries}
+     * @return The catch handler, or <code>null</code> if there is no catch
+     * handler at {@link TryItem#handler_off}
+     */
+    public EncodedCatchHandler getHandler(TryItem tryItem) {
+        if (this.handlers == null) {
+            return null;
+        }
+
+        int pos = this.handlers.getStartPos() + tryItem.handler_off.value;
+        for (EncodedCatchHandler handler : this.handlers.list) {
+            if (handler.getStartPos() == pos) {
+                return handler;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The <code>try_item</code> format.
+     */
+    public static class TryItem extends FileComponent {
+
+        /**
+         * Item Size In Bytes.
+         */
+        public static final int LENGTH = 8;
+
+        /**
+         * start address of the block of code covered by this entry. The
+         * address is a count of 16-bit code units to the start of the first
+         * covered instruction.
+         */
+        public Dex_uint start_addr;
+
+        /**
+         * number of 16-bit code units covered by this entry. The last code
+         * unit covered (inclusive) is start_addr + insn_count - 1.
+         */
+        public Dex_ushort insn_count;
+
+        /**
+         * offset in bytes from the start of the associated
+         * encoded_catch_hander_list to the encoded_catch_handler for this
+         * entry. This must be an offset to the start of an
+         * encoded_catch_handler.
+         */
+        public Dex_ushort handler_off;
+
+        TryItem(PosDataInputStreamDex stream) throws IOException {
+            super.startPos = stream.getPos();
+            this.start_addr = stream.Dex_uint();
+            this.insn_count = stream.Dex_ushort();
+            this.handler_off = stream.Dex_ushort();
+            super.length = stream.getPos() - super.startPos;
+        }
+    }
+
+    /**
+     * The <code>encoded_catch_handler_list</code> format.
+     */
+    public static class EncodedCatchHandlerList extends FileComponent {
+
+        /**
+         * size of this list, in entries.
+         */
+        public Dex_uleb128 size;
+
+        /**
+         * actual list of handler lists, represented directly (not as offsets),
+         * and concatenated sequentially.
+         */
+        public EncodedCatchHandler[] list;
+
+        EncodedCatchHandlerList(PosDataInputStreamDex stream) throws IOException, FileFormatException {
+            super.startPos = stream.getPos();
+            this.size = stream.Dex_uleb128();
+            this.list = new EncodedCatchHandler[stream.checkCount(this.size.value, 1)];
+            for (int i = 0; i < this.list.length; i++) {
+                this.list[i] = new EncodedCatchHandler(stream);
+            }
+            super.length = stream.getPos() - super.startPos;
+        }
+    }
+
+    /**
+     * The <code>encoded_catch_handler</code> format.
+     */
+    public static class EncodedCatchHandler extends FileComponent {
+
+        /**
+         * number of catch types in this list. If non-positive, then this is
+         * the negative of the number of catch types, and the catches are
+         * followed by a catch-all handler. For example: A size of 0 means that
+         * there is a catch-all but no explicitly typed catches. A size of 2
+         * means that there are two explicitly typed catches and no catch-all.
+         * And a size of -1 means that there is one typed catch along with a
+         * catch-all.
+         */
+        public Dex_sleb128 size;
+
+        /**
+         * stream of abs(size) encoded items, one for each caught type, in the
+         * order that the types should be tested.
+         */
+        public EncodedTypeAddrPair[] handlers;
+
+        /**
+         * bytecode address of the catch-all handler. This element is only
+         * present if size is non-positive, otherwise it is <code>null</code>.
+         */
+        public Dex_uleb128 catch_all_addr;
+
+        EncodedCatchHandler(PosDataInputStreamDex stream) throws IOException, FileFormatException {
+            super.startPos = stream.getPos();
+            this.size = stream.Dex_sleb128();
+            this.handlers = new EncodedTypeAddrPair[stream.checkCount(Math.abs((long) this.size.value), 2)];
+            for (int i = 0; i < this.handlers.length; i++) {
+                this.handlers[i] = new EncodedTypeAddrPair(stream);
+            }
+            if (this.size.value <= 0) {
+                this.catch_all_addr = stream.Dex_uleb128();
+            }
+            super.length = stream.getPos() - super.startPos;
+        }
+    }
+
+    /**
+     * The <code>encoded_type_addr_pair</code> format.
+     */
+    public static class EncodedTypeAddrPair extends FileComponent {
+
+        /**
+         * index into the type_ids list for the type of the exception to catch.
+         */
+        public Dex_uleb128 type_idx;
+
+        /**
+         * bytecode address of the associated exception handler.
+         */
+        public Dex_uleb128 addr;
+
+        EncodedTypeAddrPair(PosDataInputStreamDex stream) throws IOException, FileFormatException {
+            super.startPos = stream.getPos();
+            this.type_idx = stream.Dex_uleb128();
+            this.addr = stream.Dex_uleb128();
+            super.length = stream.getPos() - super.startPos;
+        }
+    }
 }
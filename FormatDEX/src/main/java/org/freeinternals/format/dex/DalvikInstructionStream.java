@@ -0,0 +1,923 @@
+/*
+ * DalvikInstructionStream.java    Oct 17, 2026, 14:40
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.format.dex;
+
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Decoded Dalvik instructions of a {@link CodeItem#insns} array, kept in
+ * primitive arrays.
+ *
+ * <p>
+ * Each instruction has an address in 16-bit code units, an opcode and four
+ * operand slots; the cases of the switch payloads are kept in one shared
+ * <code>int</code> array, and the elements of the
+ * <code>fill-array-data-payload</code> are read from the <code>insns</code>
+ * array when asked for. No object is created per instruction, the text of an
+ * instruction is created only by {@link #getText(int, DexFile)} and
+ * {@link #toString(int, DexFile)}.
+ * </p>
+ *
+ * <p>
+ * The operand slots depend on the instruction {@link DalvikOpcode.Format}:
+ * </p>
+ * <ul>
+ * <li>Slot <code>0</code>: register <code>vA</code>; the number of registers
+ * of <code>35c</code>, <code>3rc</code>, <code>45cc</code> and
+ * <code>4rcc</code></li>
+ * <li>Slot <code>1</code>: register <code>vB</code>; the registers
+ * <code>vC</code> - <code>vG</code> of <code>35c</code> and <code>45cc</code>
+ * packed in 4 bits each; the first register of <code>3rc</code> and
+ * <code>4rcc</code></li>
+ * <li>Slot <code>2</code>: register <code>vC</code>; the prototype index of
+ * <code>45cc</code> and <code>4rcc</code>; the high 32 bits of the literal of
+ * <code>51l</code></li>
+ * <li>Slot <code>3</code>: the index, the literal or the branch offset</li>
+ * </ul>
+ * <p>
+ * For the payloads, slot <code>0</code> is the start of the cases in the
+ * shared array, or the element width of <code>fill-array-data-payload</code>,
+ * slot <code>1</code> is the number of cases or elements, and slot
+ * <code>3</code> is the address of the array data.
+ * </p>
+ *
+ * @author Amos Shi
+ * @see DalvikOpcode#decode(CodeItem)
+ */
+public final class DalvikInstructionStream {
+
+    private static final Logger LOG = Logger.getLogger(DalvikInstructionStream.class.getName());
+
+    /**
+     * Number of operand slots of each instruction.
+     */
+    public static final int OPERAND_SLOTS = 4;
+
+    /**
+     * Max number of cases or array elements in the text of a payload.
+     */
+    private static final int MAX_PAYLOAD_TEXT_ITEMS = 16;
+    /**
+     * Max length of a string constant in the text of an instruction.
+     */
+    private static final int MAX_STRING_TEXT_LENGTH = 1000;
+
+    /**
+     * The 16-bit code units.
+     */
+    private final short[] insns;
+    /**
+     * Number of instructions.
+     */
+    private int count = 0;
+    /**
+     * Address of each instruction in code units, followed by the address
+     * after the last instruction.
+     */
+    private int[] addresses;
+    /**
+     * Opcode of each instruction, or a payload pseudo opcode like
+     * {@link DalvikOpcode#PACKED_SWITCH_PAYLOAD}.
+     */
+    private int[] opcodes;
+    /**
+     * {@link #OPERAND_SLOTS} operands of each instruction.
+     */
+    private int[] operands;
+    /**
+     * Cases of the switch payloads, a <code>(key, offset)</code> pair for
+     * each case. The offset is relative to the switch instruction.
+     */
+    private int[] switches;
+    /**
+     * Used length of {@link #switches}.
+     */
+    private int switchesLength = 0;
+
+    /**
+     * Decode all instructions of {@code insns}. Decoding stops at an
+     * incomplete instruction.
+     *
+     * @param insns The 16-bit code units
+     */
+    DalvikInstructionStream(final short[] insns) {
+        this.insns = insns;
+        final int length = insns.length;
+        // Most instructions take 1 - 3 code units
+        final int capacity = Math.max(4, length / 2);
+        this.addresses = new int[capacity + 1];
+        this.opcodes = new int[capacity];
+        this.operands = new int[capacity * OPERAND_SLOTS];
+        this.switches = new int[0];
+
+        int pos = 0;
+        while (pos < length) {
+            final int next = this.decode(pos, length);
+            if (next < 0) {
+                LOG.log(Level.FINE, "Incomplete instruction at {0} with insns size - {1}", new Object[]{pos, length});
+                break;
+            }
+            pos = next;
+        }
+        this.addresses[this.count] = pos;
+    }
+
+    private int unit(final int pos) {
+        return this.insns[pos] & 0xFFFF;
+    }
+
+    private int int32(final int pos) {
+        return this.unit(pos) | (this.unit(pos + 1) << 16);
+    }
+
+    /**
+     * Decode the instruction at {@code pos}.
+     *
+     * @return Address of the next instruction, or <code>-1</code> if the
+     * instruction is incomplete
+     */
+    private int decode(final int pos, final int length) {
+        if (this.count == this.opcodes.length) {
+            this.grow();
+        }
+
+        final int i = this.count;
+        final int slot = i * OPERAND_SLOTS;
+        final int unit = this.unit(pos);
+        int opcode = unit & 0xFF;
+        final DalvikOpcode.Format format;
+        if (opcode == 0 && (unit == DalvikOpcode.PACKED_SWITCH_PAYLOAD
+                || unit == DalvikOpcode.SPARSE_SWITCH_PAYLOAD
+                || unit == DalvikOpcode.FILL_ARRAY_DATA_PAYLOAD)) {
+            opcode = unit;
+            format = DalvikOpcode.Format.PAYLOAD;
+        } else {
+            format = DalvikOpcode.getFormat(opcode);
+        }
+
+        int next = pos + format.units;
+        if (next > length) {
+            return -1;
+        }
+
+        final int aa = unit >>> 8;
+        final int a = aa & 0x0F;
+        final int b = unit >>> 12;
+        int operand0 = 0;
+        int operand1 = 0;
+        int operand2 = 0;
+        int operand3 = 0;
+
+        switch (format) {
+            case F12x:
+                operand0 = a;
+                operand1 = b;
+                break;
+            case F11n:
+                operand0 = a;
+                operand3 = (unit << 16) >> 28;
+                break;
+            case F11x:
+                operand0 = aa;
+                break;
+            case F10t:
+                operand3 = (byte) aa;
+                break;
+            case F20t:
+                operand3 = this.insns[pos + 1];
+                break;
+            case F22x:
+                operand0 = aa;
+                operand1 = this.unit(pos + 1);
+                break;
+            case F21t:
+            case F21s:
+            case F21h:
+                operand0 = aa;
+                operand3 = this.insns[pos + 1];
+                break;
+            case F21c:
+                operand0 = aa;
+                operand3 = this.unit(pos + 1);
+                break;
+            case F23x:
+                operand0 = aa;
+                operand1 = this.unit(pos + 1) & 0xFF;
+                operand2 = this.unit(pos + 1) >>> 8;
+                break;
+            case F22b:
+                operand0 = aa;
+                operand1 = this.unit(pos + 1) & 0xFF;
+                operand3 = this.insns[pos + 1] >> 8;
+                break;
+            case F22t:
+            case F22s:
+                operand0 = a;
+                operand1 = b;
+                operand3 = this.insns[pos + 1];
+                break;
+            case F22c:
+                operand0 = a;
+                operand1 = b;
+                operand3 = this.unit(pos + 1);
+                break;
+            case F30t:
+                operand3 = this.int32(pos + 1);
+                break;
+            case F32x:
+                operand0 = this.unit(pos + 1);
+                operand1 = this.unit(pos + 2);
+                break;
+            case F31i:
+            case F31t:
+            case F31c:
+                operand0 = aa;
+                operand3 = this.int32(pos + 1);
+                break;
+            case F35c:
+            case F45cc:
+                // A|G|op BBBB F|E|D|C (HHHH)
+                operand0 = b;
+                operand1 = this.unit(pos + 2) | (a << 16);
+                operand3 = this.unit(pos + 1);
+                if (format == DalvikOpcode.Format.F45cc) {
+                    operand2 = this.unit(pos + 3);
+                }
+                break;
+            case F3rc:
+            case F4rcc:
+                // AA|op BBBB CCCC (HHHH)
+                operand0 = aa;
+                operand1 = this.unit(pos + 2);
+                operand3 = this.unit(pos + 1);
+                if (format == DalvikOpcode.Format.F4rcc) {
+                    operand2 = this.unit(pos + 3);
+                }
+                break;
+            case F51l:
+                operand0 = aa;
+                operand3 = this.int32(pos + 1);
+                operand2 = this.int32(pos + 3);
+                break;
+            case PAYLOAD:
+                next = this.decodePayload(opcode, pos, length, slot);
+                if (next < 0) {
+                    return -1;
+                }
+                operand0 = this.operands[slot];
+                operand1 = this.operands[slot + 1];
+                operand3 = this.operands[slot + 3];
+                break;
+            default:
+                break;
+        }
+
+        this.addresses[i] = pos;
+        this.opcodes[i] = opcode;
+        this.operands[slot] = operand0;
+        this.operands[slot + 1] = operand1;
+        this.operands[slot + 2] = operand2;
+        this.operands[slot + 3] = operand3;
+        this.count++;
+        return next;
+    }
+
+    /**
+     * Decode a payload pseudo-instruction, the switch cases are appended to
+     * {@link #switches}.
+     */
+    private int decodePayload(final int opcode, final int pos, final int length, final int slot) {
+        if (pos + 2 > length) {
+            return -1;
+        }
+
+        if (opcode == DalvikOpcode.FILL_ARRAY_DATA_PAYLOAD) {
+            // ident, element_width, size (uint), data
+            if (pos + 4 > length) {
+                return -1;
+            }
+            final int width = this.unit(pos + 1);
+            final long size = this.int32(pos + 2) & 0xFFFFFFFFL;
+            final long next = pos + 4 + (size * width + 1) / 2;
+            if (size > Integer.MAX_VALUE || next > length) {
+                return -1;
+            }
+            this.operands[slot] = width;
+            this.operands[slot + 1] = (int) size;
+            this.operands[slot + 3] = pos + 4;
+            return (int) next;
+        }
+
+        final int size = this.unit(pos + 1);
+        final boolean packed = (opcode == DalvikOpcode.PACKED_SWITCH_PAYLOAD);
+        // packed: ident, size, first_key, targets; sparse: ident, size, keys, targets
+        final int next = packed ? pos + 4 + size * 2 : pos + 2 + size * 4;
+        if (next > length) {
+            return -1;
+        }
+
+        final int start = this.switchesLength;
+        final int needed = start + size * 2;
+        if (needed > this.switches.length) {
+            this.switches = Arrays.copyOf(this.switches, Math.max(needed, this.switches.length * 2 + 16));
+        }
+        final int firstKey = packed ? this.int32(pos + 2) : 0;
+        final int targets = packed ? pos + 4 : pos + 2 + size * 2;
+        for (int c = 0; c < size; c++) {
+            final int at = start + c * 2;
+            this.switches[at] = packed ? firstKey + c : this.int32(pos + 2 + c * 2);
+            this.switches[at + 1] = this.int32(targets + c * 2);
+        }
+        this.switchesLength = needed;
+
+        this.operands[slot] = start;
+        this.operands[slot + 1] = size;
+        return next;
+    }
+
+    private void grow() {
+        final int capacity = this.opcodes.length * 2;
+        this.addresses = Arrays.copyOf(this.addresses, capacity + 1);
+        this.opcodes = Arrays.copyOf(this.opcodes, capacity);
+        this.operands = Arrays.copyOf(this.operands, capacity * OPERAND_SLOTS);
+    }
+
+    private int check(final int index) {
+        if (index < 0 || index >= this.count) {
+            throw new IndexOutOfBoundsException(String.format("Invalid instruction index. index = %d, size = %d", index, this.count));
+        }
+        return index;
+    }
+
+    private int operand(final int index, final int slot) {
+        return this.operands[index * OPERAND_SLOTS + slot];
+    }
+
+    /**
+     * Get the number of instructions, including the payloads.
+     *
+     * @return Number of instructions
+     */
+    public int size() {
+        return this.count;
+    }
+
+    /**
+     * Get the address of an instruction, in 16-bit code units from the start
+     * of the {@link CodeItem#insns}.
+     *
+     * @param index Index of the instruction
+     * @return Address of the instruction
+     */
+    public int getAddress(final int index) {
+        return this.addresses[this.check(index)];
+    }
+
+    /**
+     * Get the length of an instruction in 16-bit code units.
+     *
+     * @param index Index of the instruction
+     * @return Length of the instruction
+     */
+    public int getUnits(final int index) {
+        return this.addresses[this.check(index) + 1] - this.addresses[index];
+    }
+
+    /**
+     * Find the instruction at an address.
+     *
+     * @param address Address in 16-bit code units
+     * @return Index of the instruction, or <code>-1</code> if no instruction
+     * starts at {@code address}
+     */
+    public int indexOf(final int address) {
+        final int index = Arrays.binarySearch(this.addresses, 0, this.count, address);
+        return (index >= 0) ? index : -1;
+    }
+
+    /**
+     * Get the opcode of an instruction.
+     *
+     * @param index Index of the instruction
+     * @return Opcode, from <code>0</code> to <code>255</code>, or a payload
+     * pseudo opcode like {@link DalvikOpcode#PACKED_SWITCH_PAYLOAD}
+     */
+    public int getOpcode(final int index) {
+        return this.opcodes[this.check(index)];
+    }
+
+    /**
+     * Get the format of an instruction.
+     *
+     * @param index Index of the instruction
+     * @return Format of the instruction
+     */
+    public DalvikOpcode.Format getFormat(final int index) {
+        return DalvikOpcode.getFormat(this.getOpcode(index));
+    }
+
+    /**
+     * Check whether an instruction is a payload pseudo-instruction.
+     *
+     * @param index Index of the instruction
+     * @return <code>true</code> for a payload
+     */
+    public boolean isPayload(final int index) {
+        return this.getFormat(index) == DalvikOpcode.Format.PAYLOAD;
+    }
+
+    /**
+     * Get the number of registers used by an instruction.
+     *
+     * @param index Index of the instruction
+     * @return Number of registers
+     */
+    public int getRegisterCount(final int index) {
+        switch (this.getFormat(index)) {
+            case F11n:
+            case F11x:
+            case F21t:
+            case F21s:
+            case F21h:
+            case F21c:
+            case F31i:
+            case F31t:
+            case F31c:
+            case F51l:
+                return 1;
+            case F12x:
+            case F22x:
+            case F32x:
+            case F22b:
+            case F22t:
+            case F22s:
+            case F22c:
+                return 2;
+            case F23x:
+                return 3;
+            case F35c:
+            case F45cc:
+            case F3rc:
+            case F4rcc:
+                return this.operand(index, 0);
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Get a register used by an instruction.
+     *
+     * @param index Index of the instruction
+     * @param n Number of the register, from <code>0</code> to
+     * {@link #getRegisterCount(int)} - 1
+     * @return The register number
+     */
+    public int getRegister(final int index, final int n) {
+        if (n < 0 || n >= this.getRegisterCount(index)) {
+            throw new IllegalArgumentException(String.format("Invalid register number. n = %d", n));
+        }
+        switch (this.getFormat(index)) {
+            case F35c:
+            case F45cc:
+                return (n < 4) ? (this.operand(index, 1) >>> (n * 4)) & 0x0F : this.operand(index, 1) >>> 16;
+            case F3rc:
+            case F4rcc:
+                return this.operand(index, 1) + n;
+            default:
+                return this.operand(index, n);
+        }
+    }
+
+    /**
+     * Get the index referenced by an instruction.
+     *
+     * @param index Index of the instruction
+     * @return The string, type, field, method, prototype, call site or method
+     * handle index, see {@link DalvikOpcode#getIndexType(int)}; or
+     * <code>-1</code> if the instruction does not reference an index
+     */
+    public int getIndex(final int index) {
+        if (DalvikOpcode.getIndexType(this.getOpcode(index)) == DalvikOpcode.IndexType.NONE) {
+            return -1;
+        }
+        return this.operand(index, 3);
+    }
+
+    /**
+     * Get the prototype index of <code>invoke-polymorphic</code>.
+     *
+     * @param index Index of the instruction
+     * @return The prototype index, or <code>-1</code> for the other
+     * instructions
+     */
+    public int getProtoIndex(final int index) {
+        final DalvikOpcode.Format format = this.getFormat(index);
+        if (format == DalvikOpcode.Format.F45cc || format == DalvikOpcode.Format.F4rcc) {
+            return this.operand(index, 2);
+        }
+        return -1;
+    }
+
+    /**
+     * Check whether an instruction has a literal value.
+     *
+     * @param index Index of the instruction
+     * @return <code>true</code> if the instruction has a literal value
+     */
+    public boolean hasLiteral(final int index) {
+        switch (this.getFormat(index)) {
+            case F11n:
+            case F21s:
+            case F21h:
+            case F22b:
+            case F22s:
+            case F31i:
+            case F51l:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Get the literal value of an instruction, sign-extended, the
+     * <code>high16</code> values are shifted to their position.
+     *
+     * @param index Index of the instruction
+     * @return The literal value, or <code>0</code> if the instruction has no
+     * literal value
+     */
+    public long getLiteral(final int index) {
+        final int opcode = this.getOpcode(index);
+        final int value = this.operand(index, 3);
+        switch (DalvikOpcode.getFormat(opcode)) {
+            case F11n:
+            case F21s:
+            case F22b:
+            case F22s:
+            case F31i:
+                return value;
+            case F21h:
+                // const/high16 or const-wide/high16
+                return (opcode == 0x15) ? (long) (value << 16) : ((long) value) << 48;
+            case F51l:
+                return (((long) this.operand(index, 2)) << 32) | (value & 0xFFFFFFFFL);
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Check whether an instruction is a branch, a switch or a
+     * <code>fill-array-data</code>, which have an offset to another address.
+     *
+     * @param index Index of the instruction
+     * @return <code>true</code> if the instruction has a branch offset
+     */
+    public boolean isBranch(final int index) {
+        switch (this.getFormat(index)) {
+            case F10t:
+            case F20t:
+            case F30t:
+            case F21t:
+            case F22t:
+            case F31t:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Get the branch offset of an instruction.
+     *
+     * @param index Index of the instruction
+     * @return Signed offset in code units, or <code>0</code> if the
+     * instruction is not a branch
+     */
+    public int getBranchOffset(final int index) {
+        return this.isBranch(index) ? this.operand(index, 3) : 0;
+    }
+
+    /**
+     * Get the branch target of an instruction. For a switch or
+     * <code>fill-array-data</code>, this is the address of the payload.
+     *
+     * @param index Index of the instruction
+     * @return Target address
+     */
+    public int getBranchTarget(final int index) {
+        return this.getAddress(index) + this.getBranchOffset(index);
+    }
+
+    /**
+     * Find the payload of a switch or <code>fill-array-data</code>
+     * instruction.
+     *
+     * @param index Index of the instruction
+     * @return Index of the payload, or <code>-1</code> if there is none
+     */
+    public int getPayload(final int index) {
+        if (this.getFormat(index) != DalvikOpcode.Format.F31t) {
+            return -1;
+        }
+        final int payload = this.indexOf(this.getBranchTarget(index));
+        return (payload >= 0 && this.isPayload(payload)) ? payload : -1;
+    }
+
+    private boolean isSwitchPayload(final int index) {
+        final int opcode = this.getOpcode(index);
+        return opcode == DalvikOpcode.PACKED_SWITCH_PAYLOAD || opcode == DalvikOpcode.SPARSE_SWITCH_PAYLOAD;
+    }
+
+    /**
+     * Get the number of cases of a switch payload.
+     *
+     * @param index Index of the payload, see {@link #getPayload(int)}
+     * @return Number of cases, or <code>0</code> if the instruction is not a
+     * switch payload
+     */
+    public int getSwitchCaseCount(final int index) {
+        return this.isSwitchPayload(index) ? this.operand(index, 1) : 0;
+    }
+
+    /**
+     * Get the key of a switch case.
+     *
+     * @param index Index of the payload
+     * @param c Number of the case
+     * @return Key of the case
+     */
+    public int getSwitchKey(final int index, final int c) {
+        return this.switches[this.switchCase(index, c)];
+    }
+
+    /**
+     * Get the offset of a switch case, relative to the switch instruction.
+     *
+     * @param index Index of the payload
+     * @param c Number of the case
+     * @return Offset of the case, in code units
+     */
+    public int getSwitchOffset(final int index, final int c) {
+        return this.switches[this.switchCase(index, c) + 1];
+    }
+
+    private int switchCase(final int index, final int c) {
+        if (c < 0 || c >= this.getSwitchCaseCount(index)) {
+            throw new IllegalArgumentException(String.format("Invalid switch case. case = %d", c));
+        }
+        return this.operand(index, 0) + c * 2;
+    }
+
+    /**
+     * Get the element width of a <code>fill-array-data-payload</code>.
+     *
+     * @param index Index of the payload
+     * @return Number of bytes of each element, or <code>0</code> if the
+     * instruction is not a <code>fill-array-data-payload</code>
+     */
+    public int getArrayElementWidth(final int index) {
+        return (this.getOpcode(index) == DalvikOpcode.FILL_ARRAY_DATA_PAYLOAD) ? this.operand(index, 0) : 0;
+    }
+
+    /**
+     * Get the number of elements of a <code>fill-array-data-payload</code>.
+     *
+     * @param index Index of the payload
+     * @return Number of elements, or <code>0</code> if the instruction is not
+     * a <code>fill-array-data-payload</code>
+     */
+    public int getArrayElementCount(final int index) {
+        return (this.getOpcode(index) == DalvikOpcode.FILL_ARRAY_DATA_PAYLOAD) ? this.operand(index, 1) : 0;
+    }
+
+    /**
+     * Get an element of a <code>fill-array-data-payload</code>, sign-extended
+     * from its width.
+     *
+     * @param index Index of the payload
+     * @param n Number of the element
+     * @return Value of the element
+     */
+    public long getArrayElement(final int index, final int n) {
+        if (n < 0 || n >= this.getArrayElementCount(index)) {
+            throw new IllegalArgumentException(String.format("Invalid array element. n = %d", n));
+        }
+        final int width = this.operand(index, 0);
+        final long first = ((long) this.operand(index, 3)) * 2 + (long) n * width;
+        long value = 0;
+        for (int k = width - 1; k >= 0; k--) {
+            final long at = first + k;
+            final int unit = this.unit((int) (at >>> 1));
+            value = (value << 8) | (((at & 1) == 0) ? unit & 0xFF : unit >>> 8);
+        }
+        if (width > 0 && width < 8) {
+            final int shift = 64 - width * 8;
+            value = (value << shift) >> shift;
+        }
+        return value;
+    }
+
+    /**
+     * Get the text of an instruction, without resolving the indexes.
+     *
+     * @param index Index of the instruction
+     * @return Text of the instruction
+     */
+    public String getText(final int index) {
+        return this.getText(index, null);
+    }
+
+    /**
+     * Get the text of an instruction, like
+     * <code>invoke-virtual {v0, v1}, Ljava/io/PrintStream;-&gt;println(Ljava/lang/String;)V // method@0005</code>.
+     *
+     * @param index Index of the instruction
+     * @param dex The {@link DexFile} to resolve the indexes, or
+     * <code>null</code>
+     * @return Text of the instruction
+     */
+    public String getText(final int index, final DexFile dex) {
+        final int opcode = this.getOpcode(index);
+        final DalvikOpcode.Format format = DalvikOpcode.getFormat(opcode);
+        final StringBuilder sb = new StringBuilder(DalvikOpcode.getName(opcode));
+
+        if (format == DalvikOpcode.Format.PAYLOAD) {
+            this.appendPayload(sb, index);
+            return sb.toString();
+        }
+
+        String separator = " ";
+        switch (format) {
+            case F35c:
+            case F45cc:
+            case F3rc:
+            case F4rcc:
+                sb.append(" {");
+                final int registers = this.getRegisterCount(index);
+                if (format == DalvikOpcode.Format.F3rc || format == DalvikOpcode.Format.F4rcc) {
+                    if (registers > 0) {
+                        sb.append('v').append(this.getRegister(index, 0));
+                    }
+                    if (registers > 1) {
+                        sb.append(" .. v").append(this.getRegister(index, registers - 1));
+                    }
+                } else {
+                    for (int n = 0; n < registers; n++) {
+                        sb.append((n == 0) ? "v" : ", v").append(this.getRegister(index, n));
+                    }
+                }
+                sb.append('}');
+                separator = ", ";
+                break;
+            default:
+                for (int n = 0; n < this.getRegisterCount(index); n++) {
+                    sb.append(separator).append('v').append(this.getRegister(index, n));
+                    separator = ", ";
+                }
+                break;
+        }
+
+        if (this.hasLiteral(index)) {
+            final boolean wide = (opcode >= 0x16 && opcode <= 0x19);
+            sb.append(separator).append(wide ? "#long " : "#int ").append(this.getLiteral(index));
+        } else if (this.isBranch(index)) {
+            final int offset = this.getBranchOffset(index);
+            sb.append(separator).append(String.format("%04x // %s%04x", this.getBranchTarget(index),
+                    (offset < 0) ? "-" : "+", Math.abs((long) offset)));
+        }
+
+        final DalvikOpcode.IndexType indexType = DalvikOpcode.getIndexType(opcode);
+        if (indexType != DalvikOpcode.IndexType.NONE) {
+            final int idx = this.getIndex(index);
+            final String value = resolve(dex, indexType, idx);
+            final int protoIdx = this.getProtoIndex(index);
+            final String proto = (protoIdx < 0) ? null : resolve(dex, DalvikOpcode.IndexType.PROTO, protoIdx);
+            sb.append(separator);
+            if (value != null) {
+                sb.append(value);
+                if (proto != null) {
+                    sb.append(", ").append(proto);
+                }
+                sb.append(" // ");
+            }
+            sb.append(String.format("%s@%04x", indexType.getPrefix(), idx));
+            if (protoIdx >= 0) {
+                sb.append(String.format(", %s@%04x", DalvikOpcode.IndexType.PROTO.getPrefix(), protoIdx));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Resolve an index through the identifier sections of a
+     * {@link DexFile}.
+     *
+     * @return The string, descriptor or name, or <code>null</code> if it can
+     * not be resolved
+     */
+    private static String resolve(final DexFile dex, final DalvikOpcode.IndexType indexType, final int idx) {
+        if (dex == null) {
+            return null;
+        }
+        switch (indexType) {
+            case STRING:
+                final String s = dex.getString(idx);
+                return (s == null) ? null : quote(s);
+            case TYPE:
+                return dex.getTypeDescriptor(idx);
+            case FIELD:
+                return dex.getFieldName(idx);
+            case METHOD:
+                return dex.getMethodName(idx);
+            case PROTO:
+                return dex.getProtoDescriptor(idx);
+            default:
+                // call_site_ids and method_handles are not decoded
+                return null;
+        }
+    }
+
+    private static String quote(final String s) {
+        final StringBuilder sb = new StringBuilder(Math.min(s.length(), MAX_STRING_TEXT_LENGTH) + 2);
+        sb.append('"');
+        for (int i = 0; i < s.length() && i < MAX_STRING_TEXT_LENGTH; i++) {
+            final char c = s.charAt(i);
+            switch (c) {
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                case '"':
+                case '\\':
+                    sb.append('\\').append(c);
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+        if (s.length() > MAX_STRING_TEXT_LENGTH) {
+            sb.append("...");
+        }
+        return sb.append('"').toString();
+    }
+
+    private void appendPayload(final StringBuilder sb, final int index) {
+        if (this.isSwitchPayload(index)) {
+            final int cases = this.getSwitchCaseCount(index);
+            sb.append(String.format(" %d cases", cases));
+            for (int c = 0; c < cases && c < MAX_PAYLOAD_TEXT_ITEMS; c++) {
+                final int offset = this.getSwitchOffset(index, c);
+                sb.append((c == 0) ? ": " : ", ").append(this.getSwitchKey(index, c))
+                        .append(String.format(" -> %s%04x", (offset < 0) ? "-" : "+", Math.abs((long) offset)));
+            }
+            if (cases > MAX_PAYLOAD_TEXT_ITEMS) {
+                sb.append(", ...");
+            }
+        } else {
+            final int elements = this.getArrayElementCount(index);
+            sb.append(String.format(" width = %d, size = %d", this.getArrayElementWidth(index), elements));
+            for (int n = 0; n < elements && n < MAX_PAYLOAD_TEXT_ITEMS; n++) {
+                sb.append((n == 0) ? ": " : ", ").append(this.getArrayElement(index, n));
+            }
+            if (elements > MAX_PAYLOAD_TEXT_ITEMS) {
+                sb.append(", ...");
+            }
+        }
+    }
+
+    /**
+     * Get the text of an instruction with its address.
+     *
+     * @param index Index of the instruction
+     * @return Text of the instruction
+     */
+    public String toString(final int index) {
+        return this.toString(index, null);
+    }
+
+    /**
+     * Get the text of an instruction with its address, with the indexes
+     * resolved through a {@link DexFile}.
+     *
+     * @param index Index of the instruction
+     * @param dex The {@link DexFile}, or <code>null</code>
+     * @return Text of the instruction
+     */
+    public String toString(final int index, final DexFile dex) {
+        return String.format("%04x: %s", this.getAddress(index), this.getText(index, dex));
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * DalvikOpcode.java    Oct 17, 2026, 14:10
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.format.dex;
+
+import java.util.Locale;
+
+/**
+ * Opcode table of the Dalvik bytecode, used by
+ * {@link DalvikInstructionStream} to decode the {@link CodeItem#insns} of a
+ * method.
+ * <p>
+ * Each opcode has a name, an instruction {@link Format} and the kind of the
+ * index it references, see {@link IndexType}. The payload pseudo-instructions
+ * of <code>packed-switch</code>, <code>sparse-switch</code> and
+ * <code>fill-array-data</code> use the opcode <code>nop</code> with a non-zero
+ * high byte, they have the pseudo opcodes {@link #PACKED_SWITCH_PAYLOAD},
+ * {@link #SPARSE_SWITCH_PAYLOAD} and {@link #FILL_ARRAY_DATA_PAYLOAD}.
+ * </p>
+ *
+ * @author Amos Shi
+ * @see
+ * <a href="https://source.android.com/devices/tech/dalvik/dalvik-bytecode">
+ * Dalvik bytecode</a>
+ * @see
+ * <a href="https://source.android.com/devices/tech/dalvik/instruction-formats">
+ * Dalvik Executable instruction formats</a>
+ */
+public final class DalvikOpcode {
+
+    /**
+     * Pseudo opcode of the <code>packed-switch-payload</code>.
+     */
+    public static final int PACKED_SWITCH_PAYLOAD = 0x0100;
+    /**
+     * Pseudo opcode of the <code>sparse-switch-payload</code>.
+     */
+    public static final int SPARSE_SWITCH_PAYLOAD = 0x0200;
+    /**
+     * Pseudo opcode of the <code>fill-array-data-payload</code>.
+     */
+    public static final int FILL_ARRAY_DATA_PAYLOAD = 0x0300;
+
+    /**
+     * Name of the opcodes not used by the current instruction set.
+     */
+    public static final String NAME_UNUSED = "unused";
+
+    /**
+     * Instruction formats. The name is the number of 16-bit code units, the
+     * number of registers, and the type of the extra data.
+     */
+    public static enum Format {
+
+        F10x(1), F12x(1), F11n(1), F11x(1), F10t(1),
+        F20t(2), F22x(2), F21t(2), F21s(2), F21h(2), F21c(2),
+        F23x(2), F22b(2), F22t(2), F22s(2), F22c(2),
+        F30t(3), F32x(3), F31i(3), F31t(3), F31c(3), F35c(3), F3rc(3),
+        F45cc(4), F4rcc(4),
+        F51l(5),
+        /**
+         * Payload pseudo-instructions, which have a variable length.
+         */
+        PAYLOAD(0);
+
+        /**
+         * Number of 16-bit code units of the instruction.
+         */
+        public final int units;
+
+        Format(int units) {
+            this.units = units;
+        }
+
+        /**
+         * Get the name used by the Dalvik documents, like <code>35c</code>.
+         *
+         * @return Name of the format
+         */
+        public String getName() {
+            return (this == PAYLOAD) ? this.name().toLowerCase(Locale.ROOT) : this.name().substring(1);
+        }
+    }
+
+    /**
+     * Kind of the index referenced by an instruction.
+     */
+    public static enum IndexType {
+
+        NONE,
+        STRING,
+        TYPE,
+        FIELD,
+        METHOD,
+        PROTO,
+        CALL_SITE,
+        METHOD_HANDLE;
+
+        /**
+         * Get the name used in the instruction text, like
+         * <code>method</code> for <code>method@0005</code>.
+         *
+         * @return Prefix of the index
+         */
+        public String getPrefix() {
+            return this.name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final String[] NAMES = new String[256];
+    private static final Format[] FORMATS = new Format[256];
+    private static final IndexType[] INDEX_TYPES = new IndexType[256];
+
+    static {
+        for (int code = 0; code < NAMES.length; code++) {
+            op(code, NAME_UNUSED, Format.F10x);
+        }
+
+        op(0x00, "nop", Format.F10x);
+        op(0x01, "move", Format.F12x);
+        op(0x02, "move/from16", Format.F22x);
+        op(0x03, "move/16", Format.F32x);
+        op(0x04, "move-wide", Format.F12x);
+        op(0x05, "move-wide/from16", Format.F22x);
+        op(0x06, "move-wide/16", Format.F32x);
+        op(0x07, "move-object", Format.F12x);
+        op(0x08, "move-object/from16", Format.F22x);
+        op(0x09, "move-object/16", Format.F32x);
+        op(0x0A, "move-result", Format.F11x);
+        op(0x0B, "move-result-wide", Format.F11x);
+        op(0x0C, "move-result-object", Format.F11x);
+        op(0x0D, "move-exception", Format.F11x);
+        op(0x0E, "return-void", Format.F10x);
+        op(0x0F, "return", Format.F11x);
+        op(0x10, "return-wide", Format.F11x);
+        op(0x11, "return-object", Format.F11x);
+        op(0x12, "const/4", Format.F11n);
+        op(0x13, "const/16", Format.F21s);
+        op(0x14, "const", Format.F31i);
+        op(0x15, "const/high16", Format.F21h);
+        op(0x16, "const-wide/16", Format.F21s);
+        op(0x17, "const-wide/32", Format.F31i);
+        op(0x18, "const-wide", Format.F51l);
+        op(0x19, "const-wide/high16", Format.F21h);
+        op(0x1A, "const-string", Format.F21c, IndexType.STRING);
+        op(0x1B, "const-string/jumbo", Format.F31c, IndexType.STRING);
+        op(0x1C, "const-class", Format.F21c, IndexType.TYPE);
+        op(0x1D, "monitor-enter", Format.F11x);
+        op(0x1E, "monitor-exit", Format.F11x);
+        op(0x1F, "check-cast", Format.F21c, IndexType.TYPE);
+        op(0x20, "instance-of", Format.F22c, IndexType.TYPE);
+        op(0x21, "array-length", Format.F12x);
+        op(0x22, "new-instance", Format.F21c, IndexType.TYPE);
+        op(0x23, "new-array", Format.F22c, IndexType.TYPE);
+        op(0x24, "filled-new-array", Format.F35c, IndexType.TYPE);
+        op(0x25, "filled-new-array/range", Format.F3rc, IndexType.TYPE);
+        op(0x26, "fill-array-data", Format.F31t);
+        op(0x27, "throw", Format.F11x);
+        op(0x28, "goto", Format.F10t);
+        op(0x29, "goto/16", Format.F20t);
+        op(0x2A, "goto/32", Format.F30t);
+        op(0x2B, "packed-switch", Format.F31t);
+        op(0x2C, "sparse-switch", Format.F31t);
+        ops(0x2D, Format.F23x, IndexType.NONE,
+                "cmpl-float", "cmpg-float", "cmpl-double", "cmpg-double", "cmp-long");
+        ops(0x32, Format.F22t, IndexType.NONE,
+                "if-eq", "if-ne", "if-lt", "if-ge", "if-gt", "if-le");
+        ops(0x38, Format.F21t, IndexType.NONE,
+                "if-eqz", "if-nez", "if-ltz", "if-gez", "if-gtz", "if-lez");
+        ops(0x44, Format.F23x, IndexType.NONE,
+                "aget", "aget-wide", "aget-object", "aget-boolean", "aget-byte", "aget-char", "aget-short",
+                "aput", "aput-wide", "aput-object", "aput-boolean", "aput-byte", "aput-char", "aput-short");
+        ops(0x52, Format.F22c, IndexType.FIELD,
+                "iget", "iget-wide", "iget-object", "iget-boolean", "iget-byte", "iget-char", "iget-short",
+                "iput", "iput-wide", "iput-object", "iput-boolean", "iput-byte", "iput-char", "iput-short");
+        ops(0x60, Format.F21c, IndexType.FIELD,
+                "sget", "sget-wide", "sget-object", "sget-boolean", "sget-byte", "sget-char", "sget-short",
+                "sput", "sput-wide", "sput-object", "sput-boolean", "sput-byte", "sput-char", "sput-short");
+        ops(0x6E, Format.F35c, IndexType.METHOD,
+                "invoke-virtual", "invoke-super", "invoke-direct", "invoke-static", "invoke-interface");
+        ops(0x74, Format.F3rc, IndexType.METHOD,
+                "invoke-virtual/range", "invoke-super/range", "invoke-direct/range", "invoke-static/range",
+                "invoke-interface/range");
+        ops(0x7B, Format.F12x, IndexType.NONE,
+                "neg-int", "not-int", "neg-long", "not-long", "neg-float", "neg-double",
+                "int-to-long", "int-to-float", "int-to-double", "long-to-int", "long-to-float", "long-to-double",
+                "float-to-int", "float-to-long", "float-to-double", "double-to-int", "double-to-long", "double-to-float",
+                "int-to-byte", "int-to-char", "int-to-short");
+
+        final String[] binops = {
+            "add-int", "sub-int", "mul-int", "div-int", "rem-int", "and-int", "or-int", "xor-int",
+            "shl-int", "shr-int", "ushr-int",
+            "add-long", "sub-long", "mul-long", "div-long", "rem-long", "and-long", "or-long", "xor-long",
+            "shl-long", "shr-long", "ushr-long",
+            "add-float", "sub-float", "mul-float", "div-float", "rem-float",
+            "add-double", "sub-double", "mul-double", "div-double", "rem-double"};
+        ops(0x90, Format.F23x, IndexType.NONE, binops);
+        for (int i = 0; i < binops.length; i++) {
+            op(0xB0 + i, binops[i] + "/2addr", Format.F12x);
+        }
+        ops(0xD0, Format.F22s, IndexType.NONE,
+                "add-int/lit16", "rsub-int", "mul-int/lit16", "div-int/lit16", "rem-int/lit16",
+                "and-int/lit16", "or-int/lit16", "xor-int/lit16");
+        ops(0xD8, Format.F22b, IndexType.NONE,
+                "add-int/lit8", "rsub-int/lit8", "mul-int/lit8", "div-int/lit8", "rem-int/lit8",
+                "and-int/lit8", "or-int/lit8", "xor-int/lit8", "shl-int/lit8", "shr-int/lit8", "ushr-int/lit8");
+
+        op(0xFA, "invoke-polymorphic", Format.F45cc, IndexType.METHOD);
+        op(0xFB, "invoke-polymorphic/range", Format.F4rcc, IndexType.METHOD);
+        op(0xFC, "invoke-custom", Format.F35c, IndexType.CALL_SITE);
+        op(0xFD, "invoke-custom/range", Format.F3rc, IndexType.CALL_SITE);
+        op(0xFE, "const-method-handle", Format.F21c, IndexType.METHOD_HANDLE);
+        op(0xFF, "const-method-type", Format.F21c, IndexType.PROTO);
+    }
+
+    private DalvikOpcode() {
+    }
+
+    private static void op(int code, String name, Format format) {
+        op(code, name, format, IndexType.NONE);
+    }
+
+    private static void op(int code, String name, Format format, IndexType indexType) {
+        NAMES[code] = name;
+        FORMATS[code] = format;
+        INDEX_TYPES[code] = indexType;
+    }
+
+    private static void ops(int code, Format format, IndexType indexType, String... names) {
+        for (int i = 0; i < names.length; i++) {
+            op(code + i, names[i], format, indexType);
+        }
+    }
+
+    /**
+     * Get the name of an opcode, like <code>invoke-virtual</code>.
+     *
+     * @param opcode Opcode, from <code>0</code> to <code>255</code>, or a
+     * payload pseudo opcode
+     * @return Name of the opcode
+     */
+    public static String getName(int opcode) {
+        switch (opcode) {
+            case PACKED_SWITCH_PAYLOAD:
+                return "packed-switch-payload";
+            case SPARSE_SWITCH_PAYLOAD:
+                return "sparse-switch-payload";
+            case FILL_ARRAY_DATA_PAYLOAD:
+                return "fill-array-data-payload";
+            default:
+                return (opcode >= 0 && opcode < NAMES.length) ? NAMES[opcode] : NAME_UNUSED;
+        }
+    }
+
+    /**
+     * Get the instruction format of an opcode.
+     *
+     * @param opcode Opcode, from <code>0</code> to <code>255</code>, or a
+     * payload pseudo opcode
+     * @return Format of the opcode, {@link Format#PAYLOAD} for the pseudo
+     * opcodes
+     */
+    public static Format getFormat(int opcode) {
+        return (opcode >= 0 && opcode < FORMATS.length) ? FORMATS[opcode] : Format.PAYLOAD;
+    }
+
+    /**
+     * Get the kind of the index referenced by an opcode.
+     *
+     * @param opcode Opcode, from <code>0</code> to <code>255</code>, or a
+     * payload pseudo opcode
+     * @return Kind of the index, {@link IndexType#NONE} if the opcode does not
+     * reference an index
+     */
+    public static IndexType getIndexType(int opcode) {
+        return (opcode >= 0 && opcode < INDEX_TYPES.length) ? INDEX_TYPES[opcode] : IndexType.NONE;
+    }
+
+    /**
+     * Check whether an opcode is not used by the current instruction set.
+     *
+     * @param opcode Opcode, from <code>0</code> to <code>255</code>
+     * @return <code>true</code> if the opcode is unused
+     */
+    public static boolean isUnused(int opcode) {
+        return NAME_UNUSED.equals(getName(opcode));
+    }
+
+    /**
+     * Decode the instructions of a method.
+     *
+     * @param code The code of the method
+     * @return Decoded instructions
+     */
+    public static DalvikInstructionStream decode(final CodeItem code) {
+        return decode((code != null) ? code.insns : null);
+    }
+
+    /**
+     * Decode the instructions of an <code>insns</code> array, without
+     * copying.
+     *
+     * @param insns The 16-bit code units
+     * @return Decoded instructions
+     */
+    public static DalvikInstructionStream decode(final short[] insns) {
+        return new DalvikInstructionStream((insns != null) ? insns : new short[0]);
+    }
+}
@@ -6,12 +6,276 @@
  */
 package org.freeinternals.format.dex;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import org.freeinternals.commonlib.core.FileComponent;
+import org.freeinternals.commonlib.core.FileFormatException;
 
 /**
+ * The <code>debug_info_item</code>, referenced from
+ * {@link CodeItem#debug_info_off}. It is decoded on demand by
+ * {@link DexFile#getDebugInfo(CodeItem)}.
+ * <p>
+ * The state machine byte codes are executed while decoding, so each
+ * {@link Instruction} carries the address and line registers after it.
+ * </p>
  *
  * @author Amos Shi
  */
-public class DebugInfoItem extends FileComponent{
-    
+public class DebugInfoItem extends FileComponent {
+
+    /**
+     * Terminates a debug info sequence for a code_item.
+     */
+    public static final int DBG_END_SEQUENCE = 0x00;
+    /**
+     * Advances the address register without emitting a positions entry.
+     * Argument: uleb128 addr_diff.
+     */
+    public static final int DBG_ADVANCE_PC = 0x01;
+    /**
+     * Advances the line register without emitting a positions entry.
+     * Argument: sleb128 line_diff.
+     */
+    public static final int DBG_ADVANCE_LINE = 0x02;
+    /**
+     * Introduces a local variable at the current address. Arguments: uleb128
+     * register_num, uleb128p1 name_idx, uleb128p1 type_idx.
+     */
+    public static final int DBG_START_LOCAL = 0x03;
+    /**
+     * Introduces a local with a type signature at the current address.
+     * Arguments: uleb128 register_num, uleb128p1 name_idx, uleb128p1
+     * type_idx, uleb128p1 sig_idx.
+     */
+    public static final int DBG_START_LOCAL_EXTENDED = 0x04;
+    /**
+     * Marks a currently-live local variable as out of scope at the current
+     * address. Argument: uleb128 register_num.
+     */
+    public static final int DBG_END_LOCAL = 0x05;
+    /**
+     * Re-introduces a local variable at the current address. Argument:
+     * uleb128 register_num.
+     */
+    public static final int DBG_RESTART_LOCAL = 0x06;
+    /**
+     * Sets the prologue_end state machine register.
+     */
+    public static final int DBG_SET_PROLOGUE_END = 0x07;
+    /**
+     * Sets the epilogue_begin state machine register.
+     */
+    public static final int DBG_SET_EPILOGUE_BEGIN = 0x08;
+    /**
+     * Indicates that all subsequent line number entries make reference to
+     * this source file name. Argument: uleb128p1 name_idx.
+     */
+    public static final int DBG_SET_FILE = 0x09;
+    /**
+     * The first special opcode, which advances both the line and address
+     * registers and emits a position entry.
+     */
+    public static final int DBG_FIRST_SPECIAL = 0x0a;
+    /**
+     * The smallest line number increment of a special opcode.
+     */
+    public static final int DBG_LINE_BASE = -4;
+    /**
+     * The number of line increments represented by special opcodes.
+     */
+    public static final int DBG_LINE_RANGE = 15;
+
+    /**
+     * the initial value for the state machine's line register. Does not
+     * represent an actual positions entry.
+     */
+    public Dex_uleb128 line_start;
+
+    /**
+     * the number of parameter names that are encoded. There should be one per
+     * method parameter, excluding an instance method's this, if any.
+     */
+    public Dex_uleb128 parameters_size;
+
+    /**
+     * string index of the method parameter name. An encoded value of NO_INDEX
+     * indicates that no name is available for the associated parameter. The
+     * type descriptor and signature are implied from the method descriptor
+     * and signature.
+     */
+    public Dex_uleb128p1[] parameter_names;
+
+    /**
+     * the decoded state machine byte codes, the last one is
+     * {@link #DBG_END_SEQUENCE}.
+     */
+    public Instruction[] instructions;
+
+    DebugInfoItem(PosDataInputStreamDex stream) throws IOException, FileFormatException {
+        super.startPos = stream.getPos();
+        this.line_start = stream.Dex_uleb128();
+        this.parameters_size = stream.Dex_uleb128();
+        this.parameter_names = new Dex_uleb128p1[stream.checkCount(this.parameters_size.value, 1)];
+        for (int i = 0; i < this.parameter_names.length; i++) {
+            this.parameter_names[i] = stream.Dex_uleb128p1();
+        }
+
+        List<Instruction> list = new ArrayList<>();
+        int address = 0;
+        int line = this.line_start.value;
+        Instruction instruction;
+        do {
+            instruction = new Instruction(stream, address, line);
+            address = instruction.address;
+            line = instruction.line;
+            list.add(instruction);
+        } while (instruction.opcode.value != DBG_END_SEQUENCE);
+        this.instructions = list.toArray(new Instruction[list.size()]);
+
+        super.length = stream.getPos() - super.startPos;
+    }
+
+    /**
+     * One byte code of the debug info state machine, with its arguments.
+     */
+    public static class Instruction extends FileComponent {
+
+        /**
+         * The opcode, like {@link #DBG_ADVANCE_PC}.
+         */
+        public Dex_ubyte opcode;
+
+        /**
+         * <code>register_num</code> argument, or <code>null</code> if the
+         * opcode does not have it.
+         */
+        public Dex_uleb128 register_num;
+
+        /**
+         * <code>addr_diff</code> argument of {@link #DBG_ADVANCE_PC}, or
+         * <code>null</code>.
+         */
+        public Dex_uleb128 addr_diff;
+
+        /**
+         * <code>line_diff</code> argument of {@link #DBG_ADVANCE_LINE}, or
+         * <code>null</code>.
+         */
+        public Dex_sleb128 line_diff;
+
+        /**
+         * <code>name_idx</code> argument, index into the string_ids list, or
+         * <code>null</code> if the opcode does not have it.
+         */
+        public Dex_uleb128p1 name_idx;
+
+        /**
+         * <code>type_idx</code> argument, index into the type_ids list, or
+         * <code>null</code> if the opcode does not have it.
+         */
+        public Dex_uleb128p1 type_idx;
+
+        /**
+         * <code>sig_idx</code> argument of {@link #DBG_START_LOCAL_EXTENDED},
+         * index into the string_ids list, or <code>null</code>.
+         */
+        public Dex_uleb128p1 sig_idx;
+
+        /**
+         * Value of the <code>address</code> register after this instruction.
+         */
+        public final int address;
+
+        /**
+         * Value of the <code>line</code> register after this instruction.
+         */
+        public final int line;
+
+        Instruction(PosDataInputStreamDex stream, int address, int line) throws IOException, FileFormatException {
+            super.startPos = stream.getPos();
+            this.opcode = stream.Dex_ubyte();
+            switch (this.opcode.value) {
+                case DBG_ADVANCE_PC:
+                    this.addr_diff = stream.Dex_uleb128();
+                    address += this.addr_diff.value;
+                    break;
+                case DBG_ADVANCE_LINE:
+                    this.line_diff = stream.Dex_sleb128();
+                    line += this.line_diff.value;
+                    break;
+                case DBG_START_LOCAL:
+                case DBG_START_LOCAL_EXTENDED:
+                    this.register_num = stream.Dex_uleb128();
+                    this.name_idx = stream.Dex_uleb128p1();
+                    this.type_idx = stream.Dex_uleb128p1();
+                    if (this.opcode.value == DBG_START_LOCAL_EXTENDED) {
+                        this.sig_idx = stream.Dex_uleb128p1();
+                    }
+                    break;
+                case DBG_END_LOCAL:
+                case DBG_RESTART_LOCAL:
+                    this.register_num = stream.Dex_uleb128();
+                    break;
+                case DBG_SET_FILE:
+                    this.name_idx = stream.Dex_uleb128p1();
+                    break;
+                case DBG_END_SEQUENCE:
+                case DBG_SET_PROLOGUE_END:
+                case DBG_SET_EPILOGUE_BEGIN:
+                    break;
+                default:
+                    int adjusted = this.opcode.value - DBG_FIRST_SPECIAL;
+                    line += DBG_LINE_BASE + (adjusted % DBG_LINE_RANGE);
+                    address += adjusted / DBG_LINE_RANGE;
+                    break;
+            }
+            this.address = address;
+            this.line = line;
+            super.length = stream.getPos() - super.startPos;
+        }
+
+        /**
+         * Whether this is a special opcode, which emits a position entry for
+         * {@link #address} and {@link #line}.
+         *
+         * @return true if this is a special opcode, else false
+         */
+        public boolean isSpecial() {
+            return this.opcode.value >= DBG_FIRST_SPECIAL;
+        }
+
+        /**
+         * Get the name of the {@link #opcode}.
+         *
+         * @return Name of the opcode
+         */
+        public String getName() {
+            switch (this.opcode.value) {
+                case DBG_END_SEQUENCE:
+                    return "DBG_END_SEQUENCE";
+                case DBG_ADVANCE_PC:
+                    return "DBG_ADVANCE_PC";
+                case DBG_ADVANCE_LINE:
+                    return "DBG_ADVANCE_LINE";
+                case DBG_START_LOCAL:
+                    return "DBG_START_LOCAL";
+                case DBG_START_LOCAL_EXTENDED:
+                    return "DBG_START_LOCAL_EXTENDED";
+                case DBG_END_LOCAL:
+                    return "DBG_END_LOCAL";
+                case DBG_RESTART_LOCAL:
+                    return "DBG_RESTART_LOCAL";
+                case DBG_SET_PROLOGUE_END:
+                    return "DBG_SET_PROLOGUE_END";
+                case DBG_SET_EPILOGUE_BEGIN:
+                    return "DBG_SET_EPILOGUE_BEGIN";
+                case DBG_SET_FILE:
+                    return "DBG_SET_FILE";
+                default:
+                    return "Special Opcode";
+            }
+        }
+    }
 }
@@ -8,7 +8,6 @@ package org.freeinternals.format.dex;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import javax.swing.tree.DefaultMutableTreeNode;
@@ -51,24 +50,67 @@ public class DexFile extends FileFormat {
      */
     public HeaderItem header;
     /**
-     * String identifiers list, or <code>null</code> if
-     * {@link HeaderItem#string_ids_off} is <code>0</code>.
+     * The <code>map_list</code>, or <code>null</code> if
+     * {@link HeaderItem#map_off} is <code>0</code>. The offsets and sizes of
+     * the sections are taken from it when it is present.
+     */
+    public MapList map_list;
+    /**
+     * The <code>string_ids</code>, <code>type_ids</code>,
+     * <code>proto_ids</code>, <code>field_ids</code> and
+     * <code>method_ids</code> sections.
+     */
+    public IdSections ids;
+    /**
+     * Class definitions list, or <code>null</code> if the file has no class.
      */
-    public StringIdItem[] string_ids;
-    public TypeIdItem[] type_ids;
-    public ProtoIdItem[] proto_ids;
-    public FieldIdItem[] field_ids;
-    public MethodIdItem[] method_ids;
     public ClassDefItem[] class_defs;
     // public Dex_ubyte[] data;
     /**
-     * The parsed file components.
+     * The parsed file components of the data section, by offset. The items
+     * are added when they are asked for the first time, like
+     * {@link #getClassData(ClassDefItem)}.
      */
     public SortedMap<Long, FileComponent> data = new TreeMap<>();
     public Dex_ubyte[] link_data;
+    /**
+     * Endian of the file, used to decode the {@link #data} items on demand.
+     */
+    private Endian endian;
+    /**
+     * The strings of the <code>string_ids</code>, decoded on demand.
+     */
+    private StringTable strings;
+    /**
+     * Descriptors of the <code>proto_ids</code>, by index, created on demand.
+     */
+    private String[] protoDescriptors;
 
     public DexFile(File file) throws IOException, FileFormatException {
         super(file);
+        this.checkSignature();
+        this.parse();
+    }
+
+    /**
+     * Parse a DEX file already in memory, like a <code>classes.dex</code>
+     * entry of an APK file. The array is not copied.
+     *
+     * @param fileName Name of the file
+     * @param bytes Content of the file
+     * @throws IOException Error happened when reading the content
+     * @throws FileFormatException Invalid DEX file
+     */
+    public DexFile(String fileName, byte[] bytes) throws IOException, FileFormatException {
+        super(fileName, bytes);
+        this.checkSignature();
+        this.parse();
+    }
+
+    private void checkSignature() throws FileFormatException {
+        if (super.fileByteArray.length < DEX_FILE_MAGIC1.length + DEX_FILE_MAGIC2.length) {
+            throw new FileFormatException("This is not a valid DEX file, because the file is too short.");
+        }
 
         // Check the file signature
         byte[] magic1 = new byte[DEX_FILE_MAGIC1.length];
@@ -79,36 +121,374 @@ public class DexFile extends FileFormat {
                 || magic2[DEX_FILE_MAGIC2.length - 1] != DEX_FILE_MAGIC2[DEX_FILE_MAGIC2.length - 1]) {
             throw new FileFormatException("This is not a valid DEX file, because the DEX file signature does not exist at the beginning of this file.");
         }
-
-        this.parse();
     }
 
     /**
-     * Get the underlying String value for a {@link #string_ids} item.
+     * Get the underlying String value for a <code>string_ids</code> item.
      *
-     * @param index Index in the {@link #string_ids} array
-     * @return String value for the {@link #string_ids} item, or
+     * @param index Index in the <code>string_ids</code> array
+     * @return String value for the <code>string_ids</code> item, or
      * <code>null</code> for invalid index
      */
     public String getString(int index) {
-        if (index < -1 || this.string_ids == null || index >= this.string_ids.length) {
+        return this.strings.get(index);
+    }
+
+    /**
+     * Get the {@link StringDataItem} of a <code>string_ids</code> item, it is
+     * decoded when called for the first time.
+     *
+     * @param index Index in the <code>string_ids</code> array
+     * @return The string data item, or <code>null</code> for invalid index
+     * @throws FileFormatException Invalid data at
+     * {@link StringIdItem#string_data_off}
+     */
+    public StringDataItem getStringData(int index) throws FileFormatException {
+        if (index < 0 || index >= this.strings.size()) {
             return null;
         }
 
-        FileComponent fc = this.data.get(this.string_ids[index].string_data_off.value);
-        if (fc instanceof StringDataItem) {
-            return ((StringDataItem) fc).getString();
-        } else {
+        return this.getData(this.strings.getDataOffset(index) & 0xFFFFFFFFL, StringDataItem.class, StringDataItem::new);
+    }
+
+    /**
+     * Get the descriptor of a <code>type_ids</code> item, like
+     * <code>Ljava/lang/String;</code>.
+     *
+     * @param index Index in the <code>type_ids</code> array
+     * @return Descriptor of the type, or <code>null</code> for invalid index
+     */
+    public String getTypeDescriptor(int index) {
+        if (index < 0 || index >= this.ids.type_descriptor_idx.length) {
             return null;
         }
+
+        return this.getString(this.ids.type_descriptor_idx[index]);
     }
 
-    public String getTypeDescriptor(int index) {
-        if (index < -1 || this.type_ids == null || index >= this.type_ids.length) {
+    /**
+     * Get the readable name of a <code>field_ids</code> item, like
+     * <code>Ljava/lang/System;-&gt;out:Ljava/io/PrintStream;</code>.
+     *
+     * @param index Index in the <code>field_ids</code> array
+     * @return Name of the field, or <code>null</code> for invalid index
+     */
+    public String getFieldName(int index) {
+        if (index < 0 || index >= this.ids.field_name_idx.length) {
+            return null;
+        }
+
+        return this.getTypeDescriptor(this.ids.field_class_idx[index]) + "->"
+                + this.getString(this.ids.field_name_idx[index]) + ":"
+                + this.getTypeDescriptor(this.ids.field_type_idx[index]);
+    }
+
+    /**
+     * Get the readable name of a <code>method_ids</code> item, like
+     * <code>Ljava/lang/Object;-&gt;equals(Ljava/lang/Object;)Z</code>.
+     *
+     * @param index Index in the <code>method_ids</code> array
+     * @return Name of the method, or <code>null</code> for invalid index
+     */
+    public String getMethodName(int index) {
+        if (index < 0 || index >= this.ids.method_name_idx.length) {
+            return null;
+        }
+
+        return this.getTypeDescriptor(this.ids.method_class_idx[index]) + "->"
+                + this.getString(this.ids.method_name_idx[index])
+                + this.getProtoDescriptor(this.ids.method_proto_idx[index]);
+    }
+
+    /**
+     * Get the method descriptor of a <code>proto_ids</code> item, like
+     * <code>(ILjava/lang/String;)V</code>.
+     *
+     * @param index Index in the <code>proto_ids</code> array
+     * @return Descriptor of the prototype, or <code>null</code> for invalid
+     * index
+     */
+    public String getProtoDescriptor(int index) {
+        if (index < 0 || index >= this.protoDescriptors.length) {
+            return null;
+        }
+
+        String descriptor = this.protoDescriptors[index];
+        if (descriptor == null) {
+            int parametersOff = this.ids.proto_parameters_off[index];
+            StringBuilder sb = new StringBuilder();
+            sb.append('(');
+            if (parametersOff != 0) {
+                // Read the type_list directly, it is not kept in the data
+                PosDataInputStreamDex stream = new PosDataInputStreamDex(new PosByteArrayInputStream(super.fileByteArray), this.endian);
+                stream.flyTo(parametersOff);
+                try {
+                    for (Dex_ushort type : new TypeList(stream).list) {
+                        sb.append(this.getTypeDescriptor(type.value));
+                    }
+                } catch (IOException | FileFormatException ex) {
+                    sb.append("?");
+                }
+            }
+            sb.append(')');
+            sb.append(this.getTypeDescriptor(this.ids.proto_return_type_idx[index]));
+            descriptor = sb.toString();
+            this.protoDescriptors[index] = descriptor;
+        }
+        return descriptor;
+    }
+
+    /**
+     * Get the {@link StringIdItem} of a <code>string_ids</code> item.
+     *
+     * @param index Index in the <code>string_ids</code> array
+     * @return The item, or <code>null</code> for invalid index
+     */
+    public StringIdItem getStringIdItem(int index) {
+        if (index < 0 || index >= this.ids.string_data_off.length) {
+            return null;
+        }
+        return this.getIdItem(this.ids.string_ids_off + index * StringIdItem.LENGTH, StringIdItem::new);
+    }
+
+    /**
+     * Get the {@link TypeIdItem} of a <code>type_ids</code> item.
+     *
+     * @param index Index in the <code>type_ids</code> array
+     * @return The item, or <code>null</code> for invalid index
+     */
+    public TypeIdItem getTypeIdItem(int index) {
+        if (index < 0 || index >= this.ids.type_descriptor_idx.length) {
+            return null;
+        }
+        return this.getIdItem(this.ids.type_ids_off + index * TypeIdItem.LENGTH, TypeIdItem::new);
+    }
+
+    /**
+     * Get the {@link ProtoIdItem} of a <code>proto_ids</code> item.
+     *
+     * @param index Index in the <code>proto_ids</code> array
+     * @return The item, or <code>null</code> for invalid index
+     */
+    public ProtoIdItem getProtoIdItem(int index) {
+        if (index < 0 || index >= this.ids.proto_shorty_idx.length) {
+            return null;
+        }
+        return this.getIdItem(this.ids.proto_ids_off + index * ProtoIdItem.LENGTH, ProtoIdItem::new);
+    }
+
+    /**
+     * Get the {@link FieldIdItem} of a <code>field_ids</code> item.
+     *
+     * @param index Index in the <code>field_ids</code> array
+     * @return The item, or <code>null</code> for invalid index
+     */
+    public FieldIdItem getFieldIdItem(int index) {
+        if (index < 0 || index >= this.ids.field_name_idx.length) {
+            return null;
+        }
+        return this.getIdItem(this.ids.field_ids_off + index * FieldIdItem.LENGTH, FieldIdItem::new);
+    }
+
+    /**
+     * Get the {@link MethodIdItem} of a <code>method_ids</code> item.
+     *
+     * @param index Index in the <code>method_ids</code> array
+     * @return The item, or <code>null</code> for invalid index
+     */
+    public MethodIdItem getMethodIdItem(int index) {
+        if (index < 0 || index >= this.ids.method_name_idx.length) {
+            return null;
+        }
+        return this.getIdItem(this.ids.method_ids_off + index * MethodIdItem.LENGTH, MethodIdItem::new);
+    }
+
+    /**
+     * Create an item of the identifier sections. The bounds of the sections
+     * have been checked by {@link IdSections}, the items are not kept.
+     */
+    private <T extends FileComponent> T getIdItem(int offset, IdItemParser<T> parser) {
+        PosDataInputStreamDex stream = new PosDataInputStreamDex(new PosByteArrayInputStream(super.fileByteArray), this.endian);
+        stream.flyTo(offset);
+        try {
+            return parser.parse(stream);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Get the {@link TypeList} at <code>offset</code>, for
+     * {@link ClassDefItem#interfaces_off} or {@link ProtoIdItem#parameters_off}.
+     *
+     * @param offset Offset from the start of the file
+     * @return The type list, or <code>null</code> if <code>offset</code> is
+     * <code>0</code>
+     * @throws FileFormatException Invalid data at <code>offset</code>
+     */
+    public TypeList getTypeList(long offset) throws FileFormatException {
+        return this.getData(offset, TypeList.class, TypeList::new);
+    }
+
+    /**
+     * Get the interfaces implemented by a class.
+     *
+     * @param classDef The class
+     * @return The interfaces, or <code>null</code> if there is none
+     * @throws FileFormatException Invalid data at
+     * {@link ClassDefItem#interfaces_off}
+     */
+    public TypeList getInterfaces(ClassDefItem classDef) throws FileFormatException {
+        return this.getTypeList(classDef.interfaces_off.value);
+    }
+
+    /**
+     * Get the fields and methods of a class, it is decoded when called for the
+     * first time.
+     *
+     * @param classDef The class
+     * @return The class data, or <code>null</code> if the class has no class
+     * data, like a marker interface
+     * @throws FileFormatException Invalid data at
+     * {@link ClassDefItem#class_data_off}
+     */
+    public ClassDataItem getClassData(ClassDefItem classDef) throws FileFormatException {
+        return this.getData(classDef.class_data_off.value, ClassDataItem.class, ClassDataItem::new);
+    }
+
+    /**
+     * Get the initial values for the static fields of a class.
+     *
+     * @param classDef The class
+     * @return The initial values, or <code>null</code> if there is none
+     * @throws FileFormatException Invalid data at
+     * {@link ClassDefItem#static_values_off}
+     */
+    public EncodedArrayItem getStaticValues(ClassDefItem classDef) throws FileFormatException {
+        return this.getData(classDef.static_values_off.value, EncodedArrayItem.class, EncodedArrayItem::new);
+    }
+
+    /**
+     * Get the annotations of a class and its members.
+     *
+     * @param classDef The class
+     * @return The annotations directory, or <code>null</code> if there are no
+     * annotations
+     * @throws FileFormatException Invalid data at
+     * {@link ClassDefItem#annotations_off}
+     */
+    public AnnotationsDirectoryItem getAnnotationsDirectory(ClassDefItem classDef) throws FileFormatException {
+        return this.getData(classDef.annotations_off.value, AnnotationsDirectoryItem.class, AnnotationsDirectoryItem::new);
+    }
+
+    /**
+     * Get the code of a method.
+     *
+     * @param method The method
+     * @return The code, or <code>null</code> for an abstract or native method
+     * @throws FileFormatException Invalid data at
+     * {@link ClassDataItem.EncodedMethod#code_off}
+     */
+    public CodeItem getCodeItem(ClassDataItem.EncodedMethod method) throws FileFormatException {
+        return this.getData(method.code_off.value & 0xFFFFFFFFL, CodeItem.class, CodeItem::new);
+    }
+
+    /**
+     * Get the line numbers and local variables of a method code.
+     *
+     * @param code The code
+     * @return The debug info, or <code>null</code> if there is none
+     * @throws FileFormatException Invalid data at
+     * {@link CodeItem#debug_info_off}
+     */
+    public DebugInfoItem getDebugInfo(CodeItem code) throws FileFormatException {
+        return this.getData(code.debug_info_off.value, DebugInfoItem.class, DebugInfoItem::new);
+    }
+
+    /**
+     * Get the {@link AnnotationSetList} at <code>offset</code>.
+     *
+     * @param offset Offset from the start of the file
+     * @return The annotation set, or <code>null</code> if <code>offset</code>
+     * is <code>0</code>
+     * @throws FileFormatException Invalid data at <code>offset</code>
+     */
+    public AnnotationSetList getAnnotationSet(long offset) throws FileFormatException {
+        return this.getData(offset, AnnotationSetList.class, AnnotationSetList::new);
+    }
+
+    /**
+     * Get the {@link AnnotationSetRefList} at <code>offset</code>.
+     *
+     * @param offset Offset from the start of the file
+     * @return The annotation set list, or <code>null</code> if
+     * <code>offset</code> is <code>0</code>
+     * @throws FileFormatException Invalid data at <code>offset</code>
+     */
+    public AnnotationSetRefList getAnnotationSetRefList(long offset) throws FileFormatException {
+        return this.getData(offset, AnnotationSetRefList.class, AnnotationSetRefList::new);
+    }
+
+    /**
+     * Get the {@link AnnotationItem} at <code>offset</code>.
+     *
+     * @param offset Offset from the start of the file
+     * @return The annotation, or <code>null</code> if <code>offset</code> is
+     * <code>0</code>
+     * @throws FileFormatException Invalid data at <code>offset</code>
+     */
+    public AnnotationItem getAnnotation(long offset) throws FileFormatException {
+        return this.getData(offset, AnnotationItem.class, AnnotationItem::new);
+    }
+
+    /**
+     * Get the item of the data section at <code>offset</code>. The item is
+     * decoded when it is asked for the first time, and then kept in
+     * {@link #data}, so that opening a file does not pay for the classes never
+     * looked at.
+     */
+    private synchronized <T extends FileComponent> T getData(long offset, Class<T> type, DataItemParser<T> parser)
+            throws FileFormatException {
+        if (offset == 0) {
             return null;
         }
+        if (offset < 0 || offset >= super.fileByteArray.length) {
+            throw new FileFormatException(String.format("The offset of %s is out of the file: 0x%X", type.getSimpleName(), offset));
+        }
+
+        FileComponent fc = this.data.get(offset);
+        if (fc == null) {
+            PosDataInputStreamDex stream = new PosDataInputStreamDex(new PosByteArrayInputStream(super.fileByteArray), this.endian);
+            stream.flyTo((int) offset);
+            try {
+                fc = parser.parse(stream);
+            } catch (IOException ex) {
+                throw new FileFormatException(String.format("Failed to parse %s at offset 0x%X: %s", type.getSimpleName(), offset, ex.toString()));
+            }
+            this.data.put(offset, fc);
+        } else if (!type.isInstance(fc)) {
+            throw new FileFormatException(String.format("Expected %s at offset 0x%X, but found %s",
+                    type.getSimpleName(), offset, fc.getClass().getSimpleName()));
+        }
+        return type.cast(fc);
+    }
+
+    /**
+     * Constructor of a {@link #data} item.
+     */
+    @FunctionalInterface
+    private interface DataItemParser<T extends FileComponent> {
+
+        T parse(PosDataInputStreamDex stream) throws IOException, FileFormatException;
+    }
 
-        return this.getString(this.type_ids[index].descriptor_idx.intValue());
+    /**
+     * Constructor of an {@link IdSections} item.
+     */
+    @FunctionalInterface
+    private interface IdItemParser<T extends FileComponent> {
+
+        T parse(PosDataInputStreamDex stream) throws IOException;
     }
 
     private void parse() throws IOException, FileFormatException {
@@ -139,91 +519,75 @@ public class DexFile extends FileFormat {
                     + Integer.toHexString(i4));
         }
 
+        this.endian = endian;
         PosDataInputStreamDex stream = new PosDataInputStreamDex(new PosByteArrayInputStream(super.fileByteArray), endian);
 
-        SortedMap<Long, Class> todoData = new TreeMap<>();
-
         // Header
         stream.skip(DEX_FILE_MAGIC1.length);
         stream.skip(DEX_FILE_MAGIC2.length);
         this.header = new HeaderItem(stream);
 
-        // string_ids
-        if (this.header.string_ids_off.intValue() == 0) {
-            this.string_ids = null;
-        } else {
-            stream.flyTo(this.header.string_ids_off.intValue());
-            this.string_ids = new StringIdItem[this.header.string_ids_size.intValue()];
-            for (int i = 0; i < this.string_ids.length; i++) {
-                this.string_ids[i] = new StringIdItem(stream);
-                todoData.put(this.string_ids[i].string_data_off.value, StringDataItem.class);
-            }
-        }
-
-        // type_ids
-        if (this.header.type_ids_off.intValue() == 0) {
-            this.type_ids = null;
-        } else {
-            stream.flyTo(this.header.type_ids_off.intValue());
-            this.type_ids = new TypeIdItem[this.header.type_ids_size.intValue()];
-            for (int i = 0; i < this.type_ids.length; i++) {
-                this.type_ids[i] = new TypeIdItem(stream);
-            }
-        }
-
-        // proto_ids
-        if (this.header.proto_ids_off.intValue() == 0) {
-            this.proto_ids = null;
-        } else {
-            stream.flyTo(this.header.proto_ids_off.intValue());
-            this.proto_ids = new ProtoIdItem[this.header.proto_ids_size.intValue()];
-            for (int i = 0; i < this.proto_ids.length; i++) {
-                this.proto_ids[i] = new ProtoIdItem(stream);
-            }
-        }
-
-        // field_ids
-        if (this.header.field_ids_off.intValue() == 0) {
-            this.field_ids = null;
-        } else {
-            stream.flyTo(this.header.field_ids_off.intValue());
-            this.field_ids = new FieldIdItem[this.header.field_ids_size.intValue()];
-            for (int i = 0; i < this.field_ids.length; i++) {
-                this.field_ids[i] = new FieldIdItem(stream);
+        // map_list
+        if (this.header.map_off.value != 0) {
+            if (this.header.map_off.value >= super.fileByteArray.length) {
+                throw new FileFormatException(String.format("The map_list is out of the file: 0x%X", this.header.map_off.value));
             }
+            stream.flyTo(this.header.map_off.intValue());
+            this.map_list = new MapList(stream);
+            this.data.put(this.header.map_off.value, this.map_list);
         }
 
-        // method_ids
-        if (this.header.method_ids_off.intValue() == 0) {
-            this.method_ids = null;
-        } else {
-            stream.flyTo(this.header.method_ids_off.intValue());
-            this.method_ids = new MethodIdItem[this.header.method_ids_size.intValue()];
-            for (int i = 0; i < this.method_ids.length; i++) {
-                this.method_ids[i] = new MethodIdItem(stream);
-            }
-        }
+        // string_ids, type_ids, proto_ids, field_ids, method_ids
+        super.reportProgress(this.header.getStartPos() + this.header.getLength());
+        this.ids = new IdSections(super.fileByteArray, endian,
+                this.getSectionOffset(MapList.TYPE_STRING_ID_ITEM, this.header.string_ids_off),
+                this.getSectionSize(MapList.TYPE_STRING_ID_ITEM, this.header.string_ids_size),
+                this.getSectionOffset(MapList.TYPE_TYPE_ID_ITEM, this.header.type_ids_off),
+                this.getSectionSize(MapList.TYPE_TYPE_ID_ITEM, this.header.type_ids_size),
+                this.getSectionOffset(MapList.TYPE_PROTO_ID_ITEM, this.header.proto_ids_off),
+                this.getSectionSize(MapList.TYPE_PROTO_ID_ITEM, this.header.proto_ids_size),
+                this.getSectionOffset(MapList.TYPE_FIELD_ID_ITEM, this.header.field_ids_off),
+                this.getSectionSize(MapList.TYPE_FIELD_ID_ITEM, this.header.field_ids_size),
+                this.getSectionOffset(MapList.TYPE_METHOD_ID_ITEM, this.header.method_ids_off),
+                this.getSectionSize(MapList.TYPE_METHOD_ID_ITEM, this.header.method_ids_size));
+        this.strings = new StringTable(super.fileByteArray, this.ids.string_data_off);
+        this.protoDescriptors = new String[this.ids.proto_shorty_idx.length];
 
         // class_defs
-        if (this.header.class_defs_off.intValue() == 0) {
+        int classDefsOff = this.getSectionOffset(MapList.TYPE_CLASS_DEF_ITEM, this.header.class_defs_off);
+        int classDefsSize = this.getSectionSize(MapList.TYPE_CLASS_DEF_ITEM, this.header.class_defs_size);
+        if (classDefsOff == 0 || classDefsSize == 0) {
             this.class_defs = null;
         } else {
-            stream.flyTo(this.header.class_defs_off.intValue());
-            this.class_defs = new ClassDefItem[this.header.class_defs_size.intValue()];
+            if (classDefsSize < 0 || (long) classDefsOff + (long) classDefsSize * ClassDefItem.LENGTH > super.fileByteArray.length) {
+                throw new FileFormatException(String.format("The class_defs section is out of the file: offset = 0x%X, size = %d",
+                        classDefsOff & 0xFFFFFFFFL, classDefsSize & 0xFFFFFFFFL));
+            }
+            stream.flyTo(classDefsOff);
+            this.class_defs = new ClassDefItem[classDefsSize];
             for (int i = 0; i < this.class_defs.length; i++) {
+                super.reportProgress(stream.getPos());
                 this.class_defs[i] = new ClassDefItem(stream);
             }
         }
+    }
 
-        // data
-        for (Map.Entry<Long, Class> todoItem : todoData.entrySet()) {
-            if (todoItem.getValue() == StringDataItem.class) {
-                stream.flyTo(todoItem.getKey().intValue());
-                this.data.put(todoItem.getKey(), new StringDataItem(stream));
-            }
-
-        }
+    /**
+     * Get the offset of a section from the {@link #map_list}, or from the
+     * {@link #header} if the map has no entry for it.
+     */
+    private int getSectionOffset(int type, Dex_uint headerOffset) {
+        MapList.MapItem item = (this.map_list == null) ? null : this.map_list.find(type);
+        return (item == null) ? headerOffset.intValue() : item.offset.intValue();
+    }
 
+    /**
+     * Get the number of items of a section from the {@link #map_list}, or
+     * from the {@link #header} if the map has no entry for it.
+     */
+    private int getSectionSize(int type, Dex_uint headerSize) {
+        MapList.MapItem item = (this.map_list == null) ? null : this.map_list.find(type);
+        return (item == null) ? headerSize.intValue() : item.size.intValue();
     }
 
     @Override
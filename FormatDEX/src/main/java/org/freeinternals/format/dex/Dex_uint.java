@@ -31,7 +31,7 @@ public class Dex_uint {
     }
 
     public int intValue() {
-        return Long.valueOf(this.value).intValue();
+        return (int) this.value;
     }
 
     @Override
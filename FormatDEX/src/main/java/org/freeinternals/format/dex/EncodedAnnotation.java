@@ -0,0 +1,71 @@
+/*
+ * EncodedAnnotation.java    Oct 17, 2026, 09:40
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.format.dex;
+
+import java.io.IOException;
+import org.freeinternals.commonlib.core.FileComponent;
+import org.freeinternals.commonlib.core.FileFormatException;
+
+/**
+ * The <code>encoded_annotation</code> format.
+ *
+ * @author Amos Shi
+ */
+public class EncodedAnnotation extends FileComponent {
+
+    /**
+     * type of the annotation. This must be a class (not array or primitive)
+     * type.
+     */
+    public Dex_uleb128 type_idx;
+
+    /**
+     * number of name-value mappings in this annotation.
+     */
+    public Dex_uleb128 size;
+
+    /**
+     * elements of the annotation, represented directly in-line (not as
+     * offsets). Elements must be sorted in increasing order by string_id
+     * index.
+     */
+    public AnnotationElement[] elements;
+
+    EncodedAnnotation(PosDataInputStreamDex stream) throws IOException, FileFormatException {
+        super.startPos = stream.getPos();
+        this.type_idx = stream.Dex_uleb128();
+        this.size = stream.Dex_uleb128();
+        this.elements = new AnnotationElement[stream.checkCount(this.size.value, 2)];
+        for (int i = 0; i < this.elements.length; i++) {
+            this.elements[i] = new AnnotationElement(stream);
+        }
+        super.length = stream.getPos() - super.startPos;
+    }
+
+    /**
+     * The <code>annotation_element</code> format.
+     */
+    public static class AnnotationElement extends FileComponent {
+
+        /**
+         * element name, represented as an index into the string_ids section.
+         */
+        public Dex_uleb128 name_idx;
+
+        /**
+         * element value.
+         */
+        public EncodedValue value;
+
+        AnnotationElement(PosDataInputStreamDex stream) throws IOException, FileFormatException {
+            super.startPos = stream.getPos();
+            this.name_idx = stream.Dex_uleb128();
+            this.value = new EncodedValue(stream);
+            super.length = stream.getPos() - super.startPos;
+        }
+    }
+}
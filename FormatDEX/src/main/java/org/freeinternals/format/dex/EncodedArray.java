@@ -0,0 +1,40 @@
+/*
+ * EncodedArray.java    Oct 17, 2026, 09:40
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.format.dex;
+
+import java.io.IOException;
+import org.freeinternals.commonlib.core.FileComponent;
+import org.freeinternals.commonlib.core.FileFormatException;
+
+/**
+ * The <code>encoded_array</code> format.
+ *
+ * @author Amos Shi
+ */
+public class EncodedArray extends FileComponent {
+
+    /**
+     * number of elements in the array.
+     */
+    public Dex_uleb128 size;
+
+    /**
+     * a series of size encoded_value byte sequences in the format specified
+     * by {@link EncodedValue}, concatenated sequentially.
+     */
+    public EncodedValue[] values;
+
+    EncodedArray(PosDataInputStreamDex stream) throws IOException, FileFormatException {
+        super.startPos = stream.getPos();
+        this.size = stream.Dex_uleb128();
+        this.values = new EncodedValue[stream.checkCount(this.size.value, 1)];
+        for (int i = 0; i < this.values.length; i++) {
+            this.values[i] = new EncodedValue(stream);
+        }
+        super.length = stream.getPos() - super.startPos;
+    }
+}
@@ -6,12 +6,26 @@
  */
 package org.freeinternals.format.dex;
 
+import java.io.IOException;
 import org.freeinternals.commonlib.core.FileComponent;
+import org.freeinternals.commonlib.core.FileFormatException;
 
 /**
+ * The <code>encoded_array_item</code>, referenced from
+ * {@link ClassDefItem#static_values_off}.
  *
  * @author Amos Shi
  */
-public class EncodedArrayItem extends FileComponent{
-    
+public class EncodedArrayItem extends FileComponent {
+
+    /**
+     * bytes representing the encoded array value.
+     */
+    public EncodedArray value;
+
+    EncodedArrayItem(PosDataInputStreamDex stream) throws IOException, FileFormatException {
+        super.startPos = stream.getPos();
+        this.value = new EncodedArray(stream);
+        super.length = stream.getPos() - super.startPos;
+    }
 }
@@ -0,0 +1,295 @@
+/*
+ * EncodedValue.java    Oct 17, 2026, 09:40
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.format.dex;
+
+import java.io.IOException;
+import org.freeinternals.commonlib.core.FileComponent;
+import org.freeinternals.commonlib.core.FileFormatException;
+
+/**
+ * The <code>encoded_value</code> format, an encoded piece of (nearly)
+ * arbitrary hierarchically structured data.
+ *
+ * @author Amos Shi
+ * @see
+ * <a href="https://source.android.com/devices/tech/dalvik/dex-format.html#encoding">
+ * Dalvik Executable (DEX) format: encoded_value encoding</a>
+ */
+public class EncodedValue extends FileComponent {
+
+    /**
+     * signed one-byte integer value.
+     */
+    public static final int VALUE_BYTE = 0x00;
+    /**
+     * signed two-byte integer value, sign-extended.
+     */
+    public static final int VALUE_SHORT = 0x02;
+    /**
+     * unsigned two-byte integer value, zero-extended.
+     */
+    public static final int VALUE_CHAR = 0x03;
+    /**
+     * signed four-byte integer value, sign-extended.
+     */
+    public static final int VALUE_INT = 0x04;
+    /**
+     * signed eight-byte integer value, sign-extended.
+     */
+    public static final int VALUE_LONG = 0x06;
+    /**
+     * four-byte bit pattern, zero-extended to the right, and interpreted as an
+     * IEEE754 32-bit floating point value.
+     */
+    public static final int VALUE_FLOAT = 0x10;
+    /**
+     * eight-byte bit pattern, zero-extended to the right, and interpreted as
+     * an IEEE754 64-bit floating point value.
+     */
+    public static final int VALUE_DOUBLE = 0x11;
+    /**
+     * unsigned (zero-extended) four-byte integer value, interpreted as an
+     * index into the proto_ids section.
+     */
+    public static final int VALUE_METHOD_TYPE = 0x15;
+    /**
+     * unsigned (zero-extended) four-byte integer value, interpreted as an
+     * index into the method_handles section.
+     */
+    public static final int VALUE_METHOD_HANDLE = 0x16;
+    /**
+     * unsigned (zero-extended) four-byte integer value, interpreted as an
+     * index into the string_ids section.
+     */
+    public static final int VALUE_STRING = 0x17;
+    /**
+     * unsigned (zero-extended) four-byte integer value, interpreted as an
+     * index into the type_ids section.
+     */
+    public static final int VALUE_TYPE = 0x18;
+    /**
+     * unsigned (zero-extended) four-byte integer value, interpreted as an
+     * index into the field_ids section.
+     */
+    public static final int VALUE_FIELD = 0x19;
+    /**
+     * unsigned (zero-extended) four-byte integer value, interpreted as an
+     * index into the method_ids section.
+     */
+    public static final int VALUE_METHOD = 0x1a;
+    /**
+     * unsigned (zero-extended) four-byte integer value, interpreted as an
+     * index into the field_ids section, for an enumerated type constant.
+     */
+    public static final int VALUE_ENUM = 0x1b;
+    /**
+     * an array of values, in the format specified by {@link EncodedArray}.
+     */
+    public static final int VALUE_ARRAY = 0x1c;
+    /**
+     * a sub-annotation, in the format specified by {@link EncodedAnnotation}.
+     */
+    public static final int VALUE_ANNOTATION = 0x1d;
+    /**
+     * null reference value.
+     */
+    public static final int VALUE_NULL = 0x1e;
+    /**
+     * one-bit value; 0 for false and 1 for true. The bit is represented in the
+     * value_arg.
+     */
+    public static final int VALUE_BOOLEAN = 0x1f;
+
+    /**
+     * byte indicating the type of the immediately subsequent value along with
+     * an optional clarifying argument in the high-order three bits.
+     */
+    public Dex_ubyte value_arg_and_type;
+
+    /**
+     * The type of the value, like {@link #VALUE_INT}, the low-order five bits
+     * of {@link #value_arg_and_type}.
+     */
+    public final int value_type;
+
+    /**
+     * The high-order three bits of {@link #value_arg_and_type}. It is the
+     * size of the value in bytes minus one for the numeric and index types,
+     * and the value for {@link #VALUE_BOOLEAN}.
+     */
+    public final int value_arg;
+
+    /**
+     * The value for the numeric, index and {@link #VALUE_BOOLEAN} types,
+     * sign- or zero-extended as the type requires. For {@link #VALUE_FLOAT}
+     * and {@link #VALUE_DOUBLE} it is the bit pattern of the value.
+     */
+    public final long value;
+
+    /**
+     * The value for {@link #VALUE_ARRAY}, otherwise <code>null</code>.
+     */
+    public EncodedArray array;
+
+    /**
+     * The value for {@link #VALUE_ANNOTATION}, otherwise <code>null</code>.
+     */
+    public EncodedAnnotation annotation;
+
+    EncodedValue(PosDataInputStreamDex stream) throws IOException, FileFormatException {
+        super.startPos = stream.getPos();
+        this.value_arg_and_type = stream.Dex_ubyte();
+        this.value_type = this.value_arg_and_type.value & 0x1f;
+        this.value_arg = this.value_arg_and_type.value >> 5;
+
+        switch (this.value_type) {
+            case VALUE_BYTE:
+            case VALUE_SHORT:
+            case VALUE_INT:
+            case VALUE_LONG:
+                this.value = readSigned(stream, this.value_arg + 1);
+                break;
+            case VALUE_CHAR:
+            case VALUE_METHOD_TYPE:
+            case VALUE_METHOD_HANDLE:
+            case VALUE_STRING:
+            case VALUE_TYPE:
+            case VALUE_FIELD:
+            case VALUE_METHOD:
+            case VALUE_ENUM:
+                this.value = readUnsigned(stream, this.value_arg + 1);
+                break;
+            case VALUE_FLOAT:
+                this.value = readUnsigned(stream, this.value_arg + 1) << ((3 - this.value_arg) * 8);
+                break;
+            case VALUE_DOUBLE:
+                this.value = readUnsigned(stream, this.value_arg + 1) << ((7 - this.value_arg) * 8);
+                break;
+            case VALUE_ARRAY:
+                this.value = 0;
+                this.array = new EncodedArray(stream);
+                break;
+            case VALUE_ANNOTATION:
+                this.value = 0;
+                this.annotation = new EncodedAnnotation(stream);
+                break;
+            case VALUE_NULL:
+                this.value = 0;
+                break;
+            case VALUE_BOOLEAN:
+                this.value = this.value_arg;
+                break;
+            default:
+                throw new FileFormatException(String.format("Un-recognized encoded_value type 0x%02X at file position %d",
+                        this.value_type, super.startPos));
+        }
+        super.length = stream.getPos() - super.startPos;
+    }
+
+    private static long readUnsigned(PosDataInputStreamDex stream, int size) throws IOException {
+        long result = 0;
+        for (int i = 0; i < size; i++) {
+            result |= ((long) stream.readUnsignedByte()) << (i * 8);
+        }
+        return result;
+    }
+
+    private static long readSigned(PosDataInputStreamDex stream, int size) throws IOException {
+        int shift = (8 - size) * 8;
+        return (readUnsigned(stream, size) << shift) >> shift;
+    }
+
+    /**
+     * Get the name of the {@link #value_type}.
+     *
+     * @return Name of the value type
+     */
+    public String getTypeName() {
+        switch (this.value_type) {
+            case VALUE_BYTE:
+                return "VALUE_BYTE";
+            case VALUE_SHORT:
+                return "VALUE_SHORT";
+            case VALUE_CHAR:
+                return "VALUE_CHAR";
+            case VALUE_INT:
+                return "VALUE_INT";
+            case VALUE_LONG:
+                return "VALUE_LONG";
+            case VALUE_FLOAT:
+                return "VALUE_FLOAT";
+            case VALUE_DOUBLE:
+                return "VALUE_DOUBLE";
+            case VALUE_METHOD_TYPE:
+                return "VALUE_METHOD_TYPE";
+            case VALUE_METHOD_HANDLE:
+                return "VALUE_METHOD_HANDLE";
+            case VALUE_STRING:
+                return "VALUE_STRING";
+            case VALUE_TYPE:
+                return "VALUE_TYPE";
+            case VALUE_FIELD:
+                return "VALUE_FIELD";
+            case VALUE_METHOD:
+                return "VALUE_METHOD";
+            case VALUE_ENUM:
+                return "VALUE_ENUM";
+            case VALUE_ARRAY:
+                return "VALUE_ARRAY";
+            case VALUE_ANNOTATION:
+                return "VALUE_ANNOTATION";
+            case VALUE_NULL:
+                return "VALUE_NULL";
+            default:
+                return "VALUE_BOOLEAN";
+        }
+    }
+
+    /**
+     * Get a readable form of the value, the string, type, field and method
+     * indexes are resolved in <code>dexFile</code>.
+     *
+     * @param dexFile The DEX file containing this value
+     * @return Readable form of the value
+     */
+    public String toString(DexFile dexFile) {
+        switch (this.value_type) {
+            case VALUE_BYTE:
+            case VALUE_SHORT:
+            case VALUE_INT:
+            case VALUE_LONG:
+                return String.valueOf(this.value);
+            case VALUE_CHAR:
+                return "'" + (char) this.value + "'";
+            case VALUE_FLOAT:
+                return String.valueOf(Float.intBitsToFloat((int) this.value));
+            case VALUE_DOUBLE:
+                return String.valueOf(Double.longBitsToDouble(this.value));
+            case VALUE_STRING:
+                return "\"" + dexFile.getString((int) this.value) + "\"";
+            case VALUE_TYPE:
+                return dexFile.getTypeDescriptor((int) this.value);
+            case VALUE_FIELD:
+            case VALUE_ENUM:
+                return dexFile.getFieldName((int) this.value);
+            case VALUE_METHOD:
+                return dexFile.getMethodName((int) this.value);
+            case VALUE_METHOD_TYPE:
+                return "proto@" + this.value;
+            case VALUE_METHOD_HANDLE:
+                return "method_handle@" + this.value;
+            case VALUE_ARRAY:
+                return "array, size = " + this.array.size.value;
+            case VALUE_ANNOTATION:
+                return "annotation " + dexFile.getTypeDescriptor(this.annotation.type_idx.value);
+            case VALUE_NULL:
+                return "null";
+            default:
+                return String.valueOf(this.value != 0);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * IdSections.java    Oct 17, 2026, 12:30
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.format.dex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import org.freeinternals.commonlib.core.FileFormatException;
+
+/**
+ * The fixed-size identifier sections of a {@link DexFile}:
+ * <code>string_ids</code>, <code>type_ids</code>, <code>proto_ids</code>,
+ * <code>field_ids</code> and <code>method_ids</code>.
+ * <p>
+ * Each field of the items is kept in an <code>int</code> array indexed by the
+ * item index, instead of one object per item and per field. The sections
+ * are independent, so big files decode them concurrently, in chunks of
+ * {@link #CHUNK_SIZE} items, in the {@link java.util.concurrent.ForkJoinPool}
+ * of the calling thread or the common pool.
+ * </p>
+ * <p>
+ * The {@link StringIdItem}, {@link TypeIdItem}, {@link ProtoIdItem},
+ * {@link FieldIdItem} and {@link MethodIdItem} of an index are created on
+ * demand by {@link DexFile}.
+ * </p>
+ *
+ * @author Amos Shi
+ */
+public final class IdSections {
+
+    /**
+     * Number of items decoded by one task.
+     */
+    static final int CHUNK_SIZE = 16 * 1024;
+    /**
+     * Files whose identifier sections are smaller than this, in bytes, are
+     * decoded in the calling thread.
+     */
+    static final int PARALLEL_THRESHOLD = 128 * 1024;
+
+    /**
+     * Offset of the <code>string_ids</code> section.
+     */
+    public final int string_ids_off;
+    /**
+     * Offset of the <code>type_ids</code> section.
+     */
+    public final int type_ids_off;
+    /**
+     * Offset of the <code>proto_ids</code> section.
+     */
+    public final int proto_ids_off;
+    /**
+     * Offset of the <code>field_ids</code> section.
+     */
+    public final int field_ids_off;
+    /**
+     * Offset of the <code>method_ids</code> section.
+     */
+    public final int method_ids_off;
+
+    /**
+     * {@link StringIdItem#string_data_off} of each string.
+     */
+    public final int[] string_data_off;
+    /**
+     * {@link TypeIdItem#descriptor_idx} of each type.
+     */
+    public final int[] type_descriptor_idx;
+    /**
+     * {@link ProtoIdItem#shorty_idx} of each prototype.
+     */
+    public final int[] proto_shorty_idx;
+    /**
+     * {@link ProtoIdItem#return_type_idx} of each prototype.
+     */
+    public final int[] proto_return_type_idx;
+    /**
+     * {@link ProtoIdItem#parameters_off} of each prototype.
+     */
+    public final int[] proto_parameters_off;
+    /**
+     * {@link FieldIdItem#class_idx} of each field.
+     */
+    public final int[] field_class_idx;
+    /**
+     * {@link FieldIdItem#type_idx} of each field.
+     */
+    public final int[] field_type_idx;
+    /**
+     * {@link FieldIdItem#name_idx} of each field.
+     */
+    public final int[] field_name_idx;
+    /**
+     * {@link MethodIdItem#class_idx} of each method.
+     */
+    public final int[] method_class_idx;
+    /**
+     * {@link MethodIdItem#proto_idx} of each method.
+     */
+    public final int[] method_proto_idx;
+    /**
+     * {@link MethodIdItem#name_idx} of each method.
+     */
+    public final int[] method_name_idx;
+
+    private final byte[] buf;
+    private final boolean bigEndian;
+
+    /**
+     * Decode the sections. The offsets and sizes are those of the
+     * {@link MapList}, or of the {@link HeaderItem} if there is no map.
+     */
+    IdSections(byte[] buf, HeaderItem.Endian endian,
+            int stringIdsOff, int stringIdsSize,
+            int typeIdsOff, int typeIdsSize,
+            int protoIdsOff, int protoIdsSize,
+            int fieldIdsOff, int fieldIdsSize,
+            int methodIdsOff, int methodIdsSize) throws FileFormatException {
+        this.buf = buf;
+        // Same as PosDataInputStreamDex
+        this.bigEndian = endian == HeaderItem.Endian.ENDIAN_CONSTANT;
+
+        this.string_ids_off = checkSection(buf, "string_ids", stringIdsOff, stringIdsSize, Dex_uint.LENGTH);
+        this.type_ids_off = checkSection(buf, "type_ids", typeIdsOff, typeIdsSize, Dex_uint.LENGTH);
+        this.proto_ids_off = checkSection(buf, "proto_ids", protoIdsOff, protoIdsSize, ProtoIdItem.LENGTH);
+        this.field_ids_off = checkSection(buf, "field_ids", fieldIdsOff, fieldIdsSize, FieldIdItem.LENGTH);
+        this.method_ids_off = checkSection(buf, "method_ids", methodIdsOff, methodIdsSize, MethodIdItem.LENGTH);
+
+        this.string_data_off = new int[stringIdsSize];
+        this.type_descriptor_idx = new int[typeIdsSize];
+        this.proto_shorty_idx = new int[protoIdsSize];
+        this.proto_return_type_idx = new int[protoIdsSize];
+        this.proto_parameters_off = new int[protoIdsSize];
+        this.field_class_idx = new int[fieldIdsSize];
+        this.field_type_idx = new int[fieldIdsSize];
+        this.field_name_idx = new int[fieldIdsSize];
+        this.method_class_idx = new int[methodIdsSize];
+        this.method_proto_idx = new int[methodIdsSize];
+        this.method_name_idx = new int[methodIdsSize];
+
+        List<Runnable> tasks = new ArrayList<>();
+        split(tasks, stringIdsSize, this::decodeStringIds);
+        split(tasks, typeIdsSize, this::decodeTypeIds);
+        split(tasks, protoIdsSize, this::decodeProtoIds);
+        split(tasks, fieldIdsSize, this::decodeFieldIds);
+        split(tasks, methodIdsSize, this::decodeMethodIds);
+
+        long bytes = (long) stringIdsSize * Dex_uint.LENGTH + (long) typeIdsSize * Dex_uint.LENGTH
+                + (long) protoIdsSize * ProtoIdItem.LENGTH + (long) fieldIdsSize * FieldIdItem.LENGTH
+                + (long) methodIdsSize * MethodIdItem.LENGTH;
+        if (tasks.size() < 2 || bytes < PARALLEL_THRESHOLD) {
+            for (Runnable task : tasks) {
+                task.run();
+            }
+        } else {
+            List<ForkJoinTask<?>> forkJoinTasks = new ArrayList<>(tasks.size());
+            for (Runnable task : tasks) {
+                forkJoinTasks.add(ForkJoinTask.adapt(task));
+            }
+            ForkJoinTask.invokeAll(forkJoinTasks);
+        }
+    }
+
+    private static int checkSection(byte[] buf, String name, int off, int size, int itemLength) throws FileFormatException {
+        if (size < 0 || (size > 0 && (off <= 0 || (long) off + (long) size * itemLength > buf.length))) {
+            throw new FileFormatException(String.format("The %s section is out of the file: offset = 0x%X, size = %d",
+                    name, off & 0xFFFFFFFFL, size & 0xFFFFFFFFL));
+        }
+        return size > 0 ? off : 0;
+    }
+
+    private static void split(List<Runnable> tasks, int size, RangeDecoder decoder) {
+        for (int from = 0; from < size; from += CHUNK_SIZE) {
+            final int start = from;
+            final int end = Math.min(size, from + CHUNK_SIZE);
+            tasks.add(() -> decoder.decode(start, end));
+        }
+    }
+
+    /**
+     * Decoder of the items from index <code>from</code> (inclusive) to
+     * <code>to</code> (exclusive) of a section.
+     */
+    @FunctionalInterface
+    private interface RangeDecoder {
+
+        void decode(int from, int to);
+    }
+
+    private void decodeStringIds(int from, int to) {
+        int pos = this.string_ids_off + from * Dex_uint.LENGTH;
+        for (int i = from; i < to; i++, pos += Dex_uint.LENGTH) {
+            this.string_data_off[i] = this.u4(pos);
+        }
+    }
+
+    private void decodeTypeIds(int from, int to) {
+        int pos = this.type_ids_off + from * Dex_uint.LENGTH;
+        for (int i = from; i < to; i++, pos += Dex_uint.LENGTH) {
+            this.type_descriptor_idx[i] = this.u4(pos);
+        }
+    }
+
+    private void decodeProtoIds(int from, int to) {
+        int pos = this.proto_ids_off + from * ProtoIdItem.LENGTH;
+        for (int i = from; i < to; i++, pos += ProtoIdItem.LENGTH) {
+            this.proto_shorty_idx[i] = this.u4(pos);
+            this.proto_return_type_idx[i] = this.u4(pos + 4);
+            this.proto_parameters_off[i] = this.u4(pos + 8);
+        }
+    }
+
+    private void decodeFieldIds(int from, int to) {
+        int pos = this.field_ids_off + from * FieldIdItem.LENGTH;
+        for (int i = from; i < to; i++, pos += FieldIdItem.LENGTH) {
+            this.field_class_idx[i] = this.u2(pos);
+            this.field_type_idx[i] = this.u2(pos + 2);
+            this.field_name_idx[i] = this.u4(pos + 4);
+        }
+    }
+
+    private void decodeMethodIds(int from, int to) {
+        int pos = this.method_ids_off + from * MethodIdItem.LENGTH;
+        for (int i = from; i < to; i++, pos += MethodIdItem.LENGTH) {
+            this.method_class_idx[i] = this.u2(pos);
+            this.method_proto_idx[i] = this.u2(pos + 2);
+            this.method_name_idx[i] = this.u4(pos + 4);
+        }
+    }
+
+    private int u2(int pos) {
+        if (this.bigEndian) {
+            return ((this.buf[pos] & 0xFF) << 8) | (this.buf[pos + 1] & 0xFF);
+        } else {
+            return (this.buf[pos] & 0xFF) | ((this.buf[pos + 1] & 0xFF) << 8);
+        }
+    }
+
+    private int u4(int pos) {
+        if (this.bigEndian) {
+            return ((this.buf[pos] & 0xFF) << 24) | ((this.buf[pos + 1] & 0xFF) << 16)
+                    | ((this.buf[pos + 2] & 0xFF) << 8) | (this.buf[pos + 3] & 0xFF);
+        } else {
+            return (this.buf[pos] & 0xFF) | ((this.buf[pos + 1] & 0xFF) << 8)
+                    | ((this.buf[pos + 2] & 0xFF) << 16) | ((this.buf[pos + 3] & 0xFF) << 24);
+        }
+    }
+}
@@ -6,12 +6,170 @@
  */
 package org.freeinternals.format.dex;
 
+import java.io.IOException;
 import org.freeinternals.commonlib.core.FileComponent;
+import org.freeinternals.commonlib.core.FileFormatException;
 
 /**
+ * The <code>map_list</code>, referenced from {@link HeaderItem#map_off}. This
+ * is a list of the entire contents of a file, in order. It contains some
+ * redundancy with respect to the {@link HeaderItem} but is intended to be an
+ * easy form to use to iterate over an entire file.
  *
  * @author Amos Shi
  */
-public class MapList extends FileComponent{
-    
+public class MapList extends FileComponent {
+
+    public static final int TYPE_HEADER_ITEM = 0x0000;
+    public static final int TYPE_STRING_ID_ITEM = 0x0001;
+    public static final int TYPE_TYPE_ID_ITEM = 0x0002;
+    public static final int TYPE_PROTO_ID_ITEM = 0x0003;
+    public static final int TYPE_FIELD_ID_ITEM = 0x0004;
+    public static final int TYPE_METHOD_ID_ITEM = 0x0005;
+    public static final int TYPE_CLASS_DEF_ITEM = 0x0006;
+    public static final int TYPE_CALL_SITE_ID_ITEM = 0x0007;
+    public static final int TYPE_METHOD_HANDLE_ITEM = 0x0008;
+    public static final int TYPE_MAP_LIST = 0x1000;
+    public static final int TYPE_TYPE_LIST = 0x1001;
+    public static final int TYPE_ANNOTATION_SET_REF_LIST = 0x1002;
+    public static final int TYPE_ANNOTATION_SET_ITEM = 0x1003;
+    public static final int TYPE_CLASS_DATA_ITEM = 0x2000;
+    public static final int TYPE_CODE_ITEM = 0x2001;
+    public static final int TYPE_STRING_DATA_ITEM = 0x2002;
+    public static final int TYPE_DEBUG_INFO_ITEM = 0x2003;
+    public static final int TYPE_ANNOTATION_ITEM = 0x2004;
+    public static final int TYPE_ENCODED_ARRAY_ITEM = 0x2005;
+    public static final int TYPE_ANNOTATIONS_DIRECTORY_ITEM = 0x2006;
+    public static final int TYPE_HIDDENAPI_CLASS_DATA_ITEM = 0xF000;
+
+    /**
+     * size of the list, in entries.
+     */
+    public Dex_uint size;
+
+    /**
+     * elements of the list.
+     */
+    public MapItem[] list;
+
+    MapList(PosDataInputStreamDex stream) throws IOException, FileFormatException {
+        super.startPos = stream.getPos();
+        this.size = stream.Dex_uint();
+        this.list = new MapItem[stream.checkCount(this.size.value, MapItem.LENGTH)];
+        for (int i = 0; i < this.list.length; i++) {
+            this.list[i] = new MapItem(stream);
+        }
+        super.length = stream.getPos() - super.startPos;
+    }
+
+    /**
+     * Find the entry of an item type.
+     *
+     * @param type Type of the items, like {@link #TYPE_STRING_ID_ITEM}
+     * @return The entry, or <code>null</code> if the file has no item of
+     * <code>type</code>
+     */
+    public MapItem find(int type) {
+        for (MapItem item : this.list) {
+            if (item.type.value == type) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the name of an item type.
+     *
+     * @param type Type of the items, like {@link #TYPE_STRING_ID_ITEM}
+     * @return Name of the type
+     */
+    public static String getTypeName(int type) {
+        switch (type) {
+            case TYPE_HEADER_ITEM:
+                return "header_item";
+            case TYPE_STRING_ID_ITEM:
+                return "string_id_item";
+            case TYPE_TYPE_ID_ITEM:
+                return "type_id_item";
+            case TYPE_PROTO_ID_ITEM:
+                return "proto_id_item";
+            case TYPE_FIELD_ID_ITEM:
+                return "field_id_item";
+            case TYPE_METHOD_ID_ITEM:
+                return "method_id_item";
+            case TYPE_CLASS_DEF_ITEM:
+                return "class_def_item";
+            case TYPE_CALL_SITE_ID_ITEM:
+                return "call_site_id_item";
+            case TYPE_METHOD_HANDLE_ITEM:
+                return "method_handle_item";
+            case TYPE_MAP_LIST:
+                return "map_list";
+            case TYPE_TYPE_LIST:
+                return "type_list";
+            case TYPE_ANNOTATION_SET_REF_LIST:
+                return "annotation_set_ref_list";
+            case TYPE_ANNOTATION_SET_ITEM:
+                return "annotation_set_item";
+            case TYPE_CLASS_DATA_ITEM:
+                return "class_data_item";
+            case TYPE_CODE_ITEM:
+                return "code_item";
+            case TYPE_STRING_DATA_ITEM:
+                return "string_data_item";
+            case TYPE_DEBUG_INFO_ITEM:
+                return "debug_info_item";
+            case TYPE_ANNOTATION_ITEM:
+                return "annotation_item";
+            case TYPE_ENCODED_ARRAY_ITEM:
+                return "encoded_array_item";
+            case TYPE_ANNOTATIONS_DIRECTORY_ITEM:
+                return "annotations_directory_item";
+            case TYPE_HIDDENAPI_CLASS_DATA_ITEM:
+                return "hiddenapi_class_data_item";
+            default:
+                return "Un-recognized";
+        }
+    }
+
+    /**
+     * The <code>map_item</code> format.
+     */
+    public static class MapItem extends FileComponent {
+
+        /**
+         * Item Size In Bytes.
+         */
+        public static final int LENGTH = 12;
+
+        /**
+         * type of the items, like {@link #TYPE_STRING_ID_ITEM}.
+         */
+        public Dex_ushort type;
+
+        /**
+         * (unused).
+         */
+        public Dex_ushort unused;
+
+        /**
+         * count of the number of items to be found at the indicated offset.
+         */
+        public Dex_uint size;
+
+        /**
+         * offset to the start of the items in question.
+         */
+        public Dex_uint offset;
+
+        MapItem(PosDataInputStreamDex stream) throws IOException {
+            super.startPos = stream.getPos();
+            this.type = stream.Dex_ushort();
+            this.unused = stream.Dex_ushort();
+            this.size = stream.Dex_uint();
+            this.offset = stream.Dex_uint();
+            super.length = stream.getPos() - super.startPos;
+        }
+    }
 }
@@ -83,6 +83,50 @@ public class PosDataInputStreamDex extends PosDataInputStream {
         }
     }
 
+    /**
+     * Read <code>count</code> {@link Dex_ushort} values from the input stream
+     * into an array, without creating an object for each value. The values
+     * are stored as <code>short</code>, use <code>&amp; 0xFFFF</code> to get
+     * the unsigned value.
+     *
+     * @param count Number of values to read
+     * @return the values
+     * @throws java.io.IOException I/O Error
+     * @throws org.freeinternals.commonlib.core.FileFormatException The values
+     * do not fit in the bytes left
+     */
+    public short[] Dex_ushorts(int count) throws IOException, FileFormatException {
+        short[] values = new short[this.checkCount(count & 0xFFFFFFFFL, 2)];
+        if (this.endian == HeaderItem.Endian.ENDIAN_CONSTANT) {
+            for (int i = 0; i < count; i++) {
+                values[i] = this.readShort();
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                values[i] = this.readShortInLittleEndian();
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Check the count of the items of a list read from the file, before an
+     * array is allocated for them: the items must fit in the bytes left.
+     *
+     * @param count Count of the items, as read from the file
+     * @param minItemLength Minimum length of one item, in bytes
+     * @return The count
+     * @throws org.freeinternals.commonlib.core.FileFormatException The count
+     * is negative, or the items do not fit in the bytes left
+     */
+    public int checkCount(long count, int minItemLength) throws FileFormatException {
+        if (count < 0 || count * minItemLength > this.available()) {
+            throw new FileFormatException(String.format(
+                    "Invalid item count %d at file position %d, only %d bytes are left.", count, super.getPos(), this.available()));
+        }
+        return (int) count;
+    }
+
     /**
      * Read a {@link Dex_int} from the input stream.
      *
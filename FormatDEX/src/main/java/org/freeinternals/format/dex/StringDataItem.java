@@ -26,32 +26,30 @@ public class StringDataItem extends FileComponent {
     /**
      * a series of MUTF-8 code units (a.k.a. octets, a.k.a. bytes) followed by a
      * byte of value 0. See "MUTF-8 (Modified UTF-8) Encoding" above for details
-     * and discussion about the data format.
+     * and discussion about the data format. The terminating 0 byte is not
+     * included.
      */
     public byte[] data;
 
     StringDataItem(PosDataInputStreamDex stream) throws IOException, FileFormatException {
         super.startPos = stream.getPos();
         this.utf16_size = stream.Dex_uleb128();
-        if (this.utf16_size.value > 0) {
-            this.data = new byte[this.utf16_size.value];
-            int bytesRead = stream.read(this.data);
-            if (bytesRead != this.data.length) {
-                throw new IOException("Cannot read correct number of bytes for string_data_item. expected bytes = "
-                        + this.data.length + ", atual bytes read = " + bytesRead);
-            }
-        } else {
-            this.data = null;
+
+        // The number of MUTF-8 code units is only known by the 0 byte
+        int dataStart = stream.getPos();
+        while (stream.readByte() != 0) {
         }
+        this.data = stream.getBuf(dataStart, stream.getPos() - 1 - dataStart);
         super.length = stream.getPos() - super.startPos;
     }
 
     /**
-     * Get the {@link #data} as a String, using platform's default charset.
+     * Get the {@link #data} as a String, decoded from MUTF-8.
      *
-     * @return String for the content
+     * @return String for the content, or <code>null</code> if
+     * {@link #utf16_size} is invalid
      */
     public String getString() {
-        return new String(this.data);
+        return StringTable.decodeMUTF8(this.data, 0, this.utf16_size.value);
     }
 }
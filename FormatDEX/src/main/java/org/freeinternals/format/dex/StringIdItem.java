@@ -15,6 +15,11 @@ import org.freeinternals.commonlib.core.FileComponent;
  */
 public class StringIdItem extends FileComponent {
 
+    /**
+     * Item Size In Bytes.
+     */
+    public static final int LENGTH = 4;
+
     /**
      * offset from the start of the file to the string data for this item. The
      * offset should be to a location in the data section, and the data should
@@ -26,6 +31,6 @@ public class StringIdItem extends FileComponent {
     StringIdItem(PosDataInputStreamDex stream) throws IOException {
         super.startPos = stream.getPos();
         this.string_data_off = stream.Dex_uint();
-        super.length = Dex_uint.LENGTH;
+        super.length = LENGTH;
     }
 }
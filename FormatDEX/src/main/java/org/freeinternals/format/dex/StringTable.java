@@ -0,0 +1,212 @@
+/*
+ * StringTable.java    Oct 17, 2026, 11:05
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.format.dex;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The strings of a {@link DexFile}, indexed like the <code>string_ids</code>.
+ * <p>
+ * Only the <code>string_data_off</code> of each string is kept, in an
+ * <code>int</code> array. A string is decoded from MUTF-8 when it is asked for,
+ * and kept in a direct-mapped cache of at most {@link #MAX_CACHE_CAPACITY}
+ * entries, so the memory does not grow with the number of strings in the
+ * file.
+ * </p>
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ *
+ * @author Amos Shi
+ * @see
+ * <a href="https://source.android.com/devices/tech/dalvik/dex-format.html#mutf-8">
+ * MUTF-8 (Modified UTF-8) Encoding</a>
+ */
+public final class StringTable {
+
+    /**
+     * Maximum number of decoded strings kept in the cache.
+     */
+    public static final int MAX_CACHE_CAPACITY = 1 << 14;
+
+    /**
+     * Replacement of an invalid MUTF-8 code unit.
+     */
+    private static final char REPLACEMENT_CHAR = '\uFFFD';
+
+    /**
+     * The file content.
+     */
+    private final byte[] buf;
+    /**
+     * <code>string_data_off</code> of each string.
+     */
+    private final int[] offsets;
+    /**
+     * Decoded strings, at the slot <code>index &amp; mask</code>.
+     */
+    private final Entry[] cache;
+    private final int mask;
+
+    StringTable(byte[] buf, int[] offsets) {
+        this.buf = buf;
+        this.offsets = offsets;
+
+        int capacity = 1;
+        while (capacity < offsets.length && capacity < MAX_CACHE_CAPACITY) {
+            capacity <<= 1;
+        }
+        this.cache = new Entry[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Get the number of strings.
+     *
+     * @return Number of strings
+     */
+    public int size() {
+        return this.offsets.length;
+    }
+
+    /**
+     * Get the offset of the <code>string_data_item</code> of a string.
+     *
+     * @param index Index of the string
+     * @return Offset from the start of the file
+     */
+    public int getDataOffset(int index) {
+        return this.offsets[index];
+    }
+
+    /**
+     * Get a string.
+     *
+     * @param index Index of the string
+     * @return The string, or <code>null</code> for invalid index or offset
+     */
+    public String get(int index) {
+        if (index < 0 || index >= this.offsets.length) {
+            return null;
+        }
+
+        final int slot = index & this.mask;
+        final Entry entry = this.cache[slot];
+        if (entry != null && entry.index == index) {
+            return entry.value;
+        }
+
+        final String value = decode(this.buf, this.offsets[index]);
+        if (value != null) {
+            this.cache[slot] = new Entry(index, value);
+        }
+        return value;
+    }
+
+    /**
+     * Decode a <code>string_data_item</code>: the <code>uleb128</code>
+     * <code>utf16_size</code> and the MUTF-8 code units after it.
+     *
+     * @param buf The file content
+     * @param pos Offset of the <code>string_data_item</code>
+     * @return The string, or <code>null</code> if <code>pos</code> is out of
+     * the file or <code>utf16_size</code> is invalid
+     */
+    static String decode(byte[] buf, int pos) {
+        if (pos < 0 || pos >= buf.length) {
+            return null;
+        }
+
+        int utf16Size = 0;
+        int shift = 0;
+        int b;
+        do {
+            if (pos >= buf.length) {
+                return null;
+            }
+            b = buf[pos++] & 0xFF;
+            utf16Size |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0 && shift < 35);
+
+        return decodeMUTF8(buf, pos, utf16Size);
+    }
+
+    /**
+     * Decode <code>utf16Size</code> characters of MUTF-8 code units. Decoding
+     * stops early at a <code>0</code> byte or at the end of
+     * <code>buf</code>. <code>utf16Size</code> comes from the file, so it is
+     * not trusted to size the result: each character takes at least one byte.
+     *
+     * @param buf MUTF-8 code units
+     * @param pos Position of the first code unit in <code>buf</code>
+     * @param utf16Size Number of UTF-16 characters to decode
+     * @return The decoded string, or <code>null</code> if
+     * <code>utf16Size</code> is negative
+     */
+    static String decodeMUTF8(byte[] buf, int pos, int utf16Size) {
+        if (utf16Size < 0) {
+            return null;
+        }
+        final int end = buf.length;
+        final int start = pos;
+        int count = 0;
+
+        // Plain ASCII strings, most of the names and descriptors
+        while (count < utf16Size && pos < end) {
+            final int b = buf[pos];
+            if (b <= 0) {
+                break;
+            }
+            pos++;
+            count++;
+        }
+        if (count == utf16Size || pos == end || buf[pos] == 0) {
+            return new String(buf, start, count, StandardCharsets.ISO_8859_1);
+        }
+
+        final char[] chars = new char[Math.min(utf16Size, count + (end - pos))];
+        for (int i = 0; i < count; i++) {
+            chars[i] = (char) buf[start + i];
+        }
+        while (count < chars.length && pos < end) {
+            final int b = buf[pos] & 0xFF;
+            if (b == 0) {
+                break;
+            } else if (b < 0x80) {
+                chars[count++] = (char) b;
+                pos++;
+            } else if ((b & 0xE0) == 0xC0 && pos + 1 < end && (buf[pos + 1] & 0xC0) == 0x80) {
+                chars[count++] = (char) (((b & 0x1F) << 6) | (buf[pos + 1] & 0x3F));
+                pos += 2;
+            } else if ((b & 0xF0) == 0xE0 && pos + 2 < end
+                    && (buf[pos + 1] & 0xC0) == 0x80 && (buf[pos + 2] & 0xC0) == 0x80) {
+                chars[count++] = (char) (((b & 0x0F) << 12) | ((buf[pos + 1] & 0x3F) << 6) | (buf[pos + 2] & 0x3F));
+                pos += 3;
+            } else {
+                chars[count++] = REPLACEMENT_CHAR;
+                pos++;
+            }
+        }
+        return new String(chars, 0, count);
+    }
+
+    /**
+     * A cached string with its index, replaced as a whole so that readers
+     * never see the value of another index.
+     */
+    private static final class Entry {
+
+        final int index;
+        final String value;
+
+        Entry(int index, String value) {
+            this.index = index;
+            this.value = value;
+        }
+    }
+}
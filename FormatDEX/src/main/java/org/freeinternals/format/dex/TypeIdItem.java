@@ -15,6 +15,11 @@ import org.freeinternals.commonlib.core.FileComponent;
  */
 public class TypeIdItem extends FileComponent {
 
+    /**
+     * Item Size In Bytes.
+     */
+    public static final int LENGTH = 4;
+
     /**
      * index into the string_ids list for the descriptor string of this type.
      * The string must conform to the syntax for TypeDescriptor, defined above.
@@ -24,6 +29,6 @@ public class TypeIdItem extends FileComponent {
     TypeIdItem(PosDataInputStreamDex stream) throws IOException {
         super.startPos = stream.getPos();
         this.descriptor_idx = stream.Dex_uint();
-        super.length = Dex_uint.LENGTH;
+        super.length = LENGTH;
     }
 }
@@ -6,12 +6,36 @@
  */
 package org.freeinternals.format.dex;
 
+import java.io.IOException;
 import org.freeinternals.commonlib.core.FileComponent;
+import org.freeinternals.commonlib.core.FileFormatException;
 
 /**
+ * The <code>type_list</code>, referenced from
+ * {@link ClassDefItem#interfaces_off} and {@link ProtoIdItem#parameters_off}.
  *
  * @author Amos Shi
  */
-public class TypeList extends FileComponent{
-    
+public class TypeList extends FileComponent {
+
+    /**
+     * size of the list, in entries.
+     */
+    public Dex_uint size;
+
+    /**
+     * elements of the list. Each element is a <code>type_item</code>, which is
+     * an index into the type_ids list.
+     */
+    public Dex_ushort[] list;
+
+    TypeList(PosDataInputStreamDex stream) throws IOException, FileFormatException {
+        super.startPos = stream.getPos();
+        this.size = stream.Dex_uint();
+        this.list = new Dex_ushort[stream.checkCount(this.size.value, Dex_ushort.LENGTH)];
+        for (int i = 0; i < this.list.length; i++) {
+            this.list[i] = stream.Dex_ushort();
+        }
+        super.length = stream.getPos() - super.startPos;
+    }
 }
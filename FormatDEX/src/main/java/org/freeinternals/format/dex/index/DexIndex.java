@@ -0,0 +1,294 @@
+/*
+ * DexIndex.java    Oct 17, 2026, 15:20
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.format.dex.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.freeinternals.format.dex.DexFile;
+
+/**
+ * Cross-DEX view of all DEX files of an APK or AAB file, built by
+ * {@link DexIndexer}: the counts of each DEX file, and the global type index
+ * mapping each type descriptor to the DEX files defining and referencing it.
+ *
+ * <p>
+ * The index is filled concurrently by the indexer, and can be queried from
+ * any thread once {@link DexIndexer#index} returns.
+ * </p>
+ *
+ * @author Amos Shi
+ */
+public final class DexIndex {
+
+    /**
+     * Names of the DEX entries, by position.
+     */
+    private final String[] names;
+    /**
+     * The parsed DEX files by position, <code>null</code> for the ones failed
+     * to parse.
+     */
+    private final IndexedDex[] dexFiles;
+    /**
+     * Types by descriptor.
+     */
+    private final Map<String, IndexedType> types = new ConcurrentHashMap<>();
+    /**
+     * Error messages of the entries failed to parse, by entry name.
+     */
+    private final Map<String, String> failures = new ConcurrentHashMap<>();
+    /**
+     * Total length of the DEX files read.
+     */
+    private long bytes;
+    /**
+     * Time used to build the index, in nanoseconds.
+     */
+    private long elapsedNanos;
+
+    DexIndex(final List<String> names) {
+        this.names = names.toArray(new String[names.size()]);
+        this.dexFiles = new IndexedDex[this.names.length];
+    }
+
+    /**
+     * Add a parsed DEX file, and its types to the type index. It is called
+     * on the worker threads; the parsed file is not kept.
+     */
+    void add(final IndexedDex dex, final DexFile dexFile) {
+        final int typeCount = dex.typeCount;
+        for (int i = 0; i < typeCount; i++) {
+            this.getOrAddType(dexFile.getTypeDescriptor(i)).addReference(dex.index);
+        }
+        if (dexFile.class_defs != null) {
+            for (int i = 0; i < dexFile.class_defs.length; i++) {
+                this.getOrAddType(dexFile.getTypeDescriptor(dexFile.class_defs[i].class_idx.intValue())).addDefinition(dex.index);
+            }
+        }
+        this.dexFiles[dex.index] = dex;
+    }
+
+    private IndexedType getOrAddType(final String descriptor) {
+        final IndexedType type = this.types.get(descriptor);
+        return (type != null) ? type : this.types.computeIfAbsent(descriptor, IndexedType::new);
+    }
+
+    void addFailure(final String source, final String message) {
+        this.failures.put(source, message);
+    }
+
+    void setStatistics(final long bytes, final long elapsedNanos) {
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Get the count of DEX entries in the archive, including the ones failed
+     * to parse.
+     *
+     * @return Count of DEX entries
+     */
+    public int getDexCount() {
+        return this.names.length;
+    }
+
+    /**
+     * Get the name of a DEX entry.
+     *
+     * @param index Position of the DEX entry
+     * @return Name of the entry, like <code>classes2.dex</code>
+     */
+    public String getDexName(final int index) {
+        return this.names[index];
+    }
+
+    /**
+     * Get a parsed DEX file.
+     *
+     * @param index Position of the DEX entry, like {@link IndexedDex#index}
+     * @return The DEX file, or <code>null</code> if it failed to parse
+     */
+    public IndexedDex getDexFile(final int index) {
+        return this.dexFiles[index];
+    }
+
+    /**
+     * Get the parsed DEX files, in the order of
+     * <code>classes.dex</code>, <code>classes2.dex</code>, ...
+     *
+     * @return The DEX files
+     */
+    public List<IndexedDex> getDexFiles() {
+        final List<IndexedDex> result = new ArrayList<>(this.dexFiles.length);
+        for (IndexedDex dex : this.dexFiles) {
+            if (dex != null) {
+                result.add(dex);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get a type of the global type index.
+     *
+     * @param descriptor Type descriptor, like <code>Ljava/lang/String;</code>
+     * @return The type, or <code>null</code> if no DEX file has it
+     */
+    public IndexedType getType(final String descriptor) {
+        return this.types.get(descriptor);
+    }
+
+    /**
+     * Get the descriptors of all types in the global type index.
+     *
+     * @return Unmodifiable set of the type descriptors
+     */
+    public Set<String> getTypeDescriptors() {
+        return Collections.unmodifiableSet(this.types.keySet());
+    }
+
+    /**
+     * Get the DEX file defining a class.
+     *
+     * @param descriptor Type descriptor, like <code>Ljava/lang/String;</code>
+     * @return The DEX file loaded at run time, or <code>null</code> if no DEX
+     * file defines the class
+     */
+    public IndexedDex findDefinition(final String descriptor) {
+        final IndexedType type = this.types.get(descriptor);
+        final int index = (type == null) ? -1 : type.getDefinition();
+        return (index < 0) ? null : this.dexFiles[index];
+    }
+
+    /**
+     * Get the classes defined by more than one DEX file.
+     *
+     * @return The types, sorted by descriptor
+     */
+    public List<IndexedType> getDuplicateClasses() {
+        final List<IndexedType> result = new ArrayList<>();
+        for (IndexedType type : this.types.values()) {
+            if (type.isDuplicate()) {
+                result.add(type);
+            }
+        }
+        result.sort((t1, t2) -> t1.descriptor.compareTo(t2.descriptor));
+        return result;
+    }
+
+    /**
+     * Get the types referenced but not defined by the DEX files, like the
+     * platform classes.
+     *
+     * @return The types, sorted by descriptor
+     */
+    public List<IndexedType> getExternalTypes() {
+        final List<IndexedType> result = new ArrayList<>();
+        for (IndexedType type : this.types.values()) {
+            if (!type.isDefined()) {
+                result.add(type);
+            }
+        }
+        result.sort((t1, t2) -> t1.descriptor.compareTo(t2.descriptor));
+        return result;
+    }
+
+    /**
+     * Get the count of types in the global type index.
+     *
+     * @return Count of distinct types
+     */
+    public int getTypeCount() {
+        return this.types.size();
+    }
+
+    /**
+     * Get the count of classes defined by all DEX files.
+     *
+     * @return Count of <code>class_defs</code> items
+     */
+    public int getClassCount() {
+        int count = 0;
+        for (IndexedDex dex : this.dexFiles) {
+            count += (dex == null) ? 0 : dex.classCount;
+        }
+        return count;
+    }
+
+    /**
+     * Get the count of method references of all DEX files. A method
+     * referenced by several DEX files is counted once per DEX file.
+     *
+     * @return Count of <code>method_ids</code> items
+     */
+    public int getMethodCount() {
+        int count = 0;
+        for (IndexedDex dex : this.dexFiles) {
+            count += (dex == null) ? 0 : dex.methodCount;
+        }
+        return count;
+    }
+
+    /**
+     * Get the count of field references of all DEX files. A field referenced
+     * by several DEX files is counted once per DEX file.
+     *
+     * @return Count of <code>field_ids</code> items
+     */
+    public int getFieldCount() {
+        int count = 0;
+        for (IndexedDex dex : this.dexFiles) {
+            count += (dex == null) ? 0 : dex.fieldCount;
+        }
+        return count;
+    }
+
+    /**
+     * Get the entries failed to parse.
+     *
+     * @return Unmodifiable map of the error messages, by entry name
+     */
+    public Map<String, String> getFailures() {
+        return Collections.unmodifiableMap(this.failures);
+    }
+
+    /**
+     * Get the total length of the DEX files read.
+     *
+     * @return Length in bytes
+     */
+    public long getBytes() {
+        return this.bytes;
+    }
+
+    /**
+     * Get the time used to build the index.
+     *
+     * @return Time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d DEX files (%d KB) indexed in %d ms: %d classes, %d methods, %d fields, %d types%s",
+                this.names.length,
+                this.bytes / 1024,
+                TimeUnit.NANOSECONDS.toMillis(this.elapsedNanos),
+                this.getClassCount(),
+                this.getMethodCount(),
+                this.getFieldCount(),
+                this.types.size(),
+                this.failures.isEmpty() ? "" : String.format(", %d failed", this.failures.size()));
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * DexIndexer.java    Oct 17, 2026, 15:30
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.format.dex.index;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.freeinternals.commonlib.core.FileFormatException;
+import org.freeinternals.commonlib.core.ParseMonitor;
+import org.freeinternals.format.dex.DexFile;
+
+/**
+ * Builds the {@link DexIndex} of all DEX files of an APK or AAB file, like
+ * <code>classes.dex</code>, <code>classes2.dex</code>, ...,
+ * <code>classes12.dex</code>.
+ *
+ * <p>
+ * The DEX entries are inflated straight into heap arrays of their exact size
+ * and parsed from memory, no temporary file is written; the parsed DEX file
+ * is dropped once its counts and types are in the index. Each DEX file is
+ * parsed by one task of a dedicated {@link ForkJoinPool}, the biggest files
+ * first; a big file decodes its identifier sections with the same pool. A
+ * DEX file failed to parse is recorded in the failures of the index and does
+ * not stop the others.
+ * </p>
+ *
+ * @author Amos Shi
+ */
+public final class DexIndexer {
+
+    /**
+     * Name of the DEX entries: <code>classes.dex</code>,
+     * <code>classes2.dex</code>, ... in the root of an APK file, or in the
+     * <code>dex</code> folder of a module of an AAB file.
+     */
+    private static final Pattern DEX_ENTRY = Pattern.compile("((?:[^/]+/dex/)?)classes(\\d*)\\.dex");
+
+    /**
+     * Count of worker threads.
+     */
+    private final int parallelism;
+
+    /**
+     * Creates an indexer using one worker thread per processor.
+     */
+    public DexIndexer() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an indexer.
+     *
+     * @param parallelism Count of worker threads
+     */
+    public DexIndexer(final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid parallelism. parallelism = %d", parallelism));
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Index all DEX files of an APK or AAB file.
+     *
+     * @param file The APK or AAB file
+     * @return The index
+     * @throws IOException The file can not be opened as a zip file
+     */
+    public DexIndex index(final File file) throws IOException {
+        try (ZipFile zipFile = new ZipFile(file)) {
+            return this.index(zipFile, null);
+        }
+    }
+
+    /**
+     * Index all DEX files of an APK or AAB file.
+     *
+     * @param zipFile The APK or AAB file
+     * @param monitor Monitor of the indexing; it is called on the worker
+     * threads with the count of indexed DEX files
+     * @return The index
+     * @throws CancellationException The monitor is cancelled
+     */
+    public DexIndex index(final ZipFile zipFile, final ParseMonitor monitor) {
+        final List<ZipEntry> entries = listEntries(zipFile);
+        final List<String> names = new ArrayList<>(entries.size());
+        for (ZipEntry entry : entries) {
+            names.add(entry.getName());
+        }
+
+        final DexIndex index = new DexIndex(names);
+        final long start = System.nanoTime();
+        final ParseMonitor m = (monitor == null) ? ParseMonitor.NONE : monitor;
+        final Job job = new Job(zipFile, entries, index, m);
+
+        // Biggest first, so that a big file does not start last
+        final List<Integer> order = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparingLong((Integer i) -> entries.get(i).getSize()).reversed());
+
+        final ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        try {
+            pool.invoke(new IndexTask(order, 0, order.size(), job));
+        } finally {
+            pool.shutdownNow();
+        }
+        if (m.isCancelled()) {
+            throw new CancellationException("Indexing is cancelled.");
+        }
+
+        index.setStatistics(job.bytes.get(), System.nanoTime() - start);
+        return index;
+    }
+
+    /**
+     * List the DEX entries, sorted by module then by number.
+     */
+    private static List<ZipEntry> listEntries(final ZipFile zipFile) {
+        final List<ZipEntry> entries = new ArrayList<>();
+        final Enumeration<? extends ZipEntry> e = zipFile.entries();
+        while (e.hasMoreElements()) {
+            final ZipEntry entry = e.nextElement();
+            if (!entry.isDirectory() && DEX_ENTRY.matcher(entry.getName()).matches()) {
+                entries.add(entry);
+            }
+        }
+        entries.sort(Comparator.comparing((ZipEntry entry) -> getModule(entry.getName()))
+                .thenComparingInt(entry -> getNumber(entry.getName())));
+        return entries;
+    }
+
+    private static String getModule(final String name) {
+        final Matcher matcher = DEX_ENTRY.matcher(name);
+        return matcher.matches() ? matcher.group(1) : name;
+    }
+
+    /**
+     * Get the number of a DEX entry, <code>1</code> for
+     * <code>classes.dex</code>.
+     */
+    private static int getNumber(final String name) {
+        final Matcher matcher = DEX_ENTRY.matcher(name);
+        if (!matcher.matches() || matcher.group(2).isEmpty()) {
+            return 1;
+        }
+        try {
+            return Integer.parseInt(matcher.group(2));
+        } catch (NumberFormatException ex) {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Read a zip entry into an array of its exact size.
+     */
+    private static byte[] readEntry(final ZipFile zipFile, final ZipEntry entry) throws IOException {
+        final long size = entry.getSize();
+        if (size < 0 || size > Integer.MAX_VALUE - 8) {
+            throw new IOException(String.format("Invalid entry size. name = %s, size = %d", entry.getName(), size));
+        }
+
+        final byte[] bytes = new byte[(int) size];
+        try (InputStream is = zipFile.getInputStream(entry)) {
+            int length = 0;
+            while (length < bytes.length) {
+                final int read = is.read(bytes, length, bytes.length - length);
+                if (read < 0) {
+                    throw new IOException(String.format("Unexpected end of entry. name = %s, read = %d, size = %d", entry.getName(), length, size));
+                }
+                length += read;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * State shared by all tasks of one indexing.
+     */
+    private static final class Job {
+
+        final ZipFile zipFile;
+        final List<ZipEntry> entries;
+        final DexIndex index;
+        final ParseMonitor monitor;
+        final AtomicInteger done = new AtomicInteger();
+        final AtomicLong bytes = new AtomicLong();
+
+        Job(final ZipFile zipFile, final List<ZipEntry> entries, final DexIndex index, final ParseMonitor monitor) {
+            this.zipFile = zipFile;
+            this.entries = entries;
+            this.index = index;
+            this.monitor = monitor;
+        }
+
+        void index(final int position) {
+            final ZipEntry entry = this.entries.get(position);
+            try {
+                final byte[] bytes = readEntry(this.zipFile, entry);
+                this.bytes.addAndGet(bytes.length);
+                final DexFile dexFile = new DexFile(entry.getName(), bytes);
+                this.index.add(new IndexedDex(entry.getName(), position, dexFile), dexFile);
+            } catch (IOException | FileFormatException | RuntimeException ex) {
+                this.index.addFailure(entry.getName(), ex.toString());
+            }
+        }
+    }
+
+    /**
+     * Indexes the DEX entries in <code>[from, to)</code> of the order.
+     */
+    private static final class IndexTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 4876543219876500000L;
+
+        private final transient List<Integer> order;
+        private final int from;
+        private final int to;
+        private final transient Job job;
+
+        IndexTask(final List<Integer> order, final int from, final int to, final Job job) {
+            this.order = order;
+            this.from = from;
+            this.to = to;
+            this.job = job;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.job.monitor.isCancelled()) {
+                return;
+            }
+            if (this.to - this.from > 1) {
+                final int mid = (this.from + this.to) >>> 1;
+                invokeAll(new IndexTask(this.order, this.from, mid, this.job),
+                        new IndexTask(this.order, mid, this.to, this.job));
+                return;
+            }
+            for (int i = this.from; i < this.to; i++) {
+                this.job.index(this.order.get(i));
+            }
+            this.job.monitor.progress(this.job.done.addAndGet(this.to - this.from), this.job.entries.size());
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * IndexedDex.java    Oct 17, 2026, 15:10
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.format.dex.index;
+
+import org.freeinternals.format.dex.DexFile;
+
+/**
+ * One DEX file of the {@link DexIndex}, like <code>classes2.dex</code> of an
+ * APK file, with the counts of its sections. The parsed {@link DexFile} is
+ * not kept, so the index does not hold the inflated DEX files in memory.
+ *
+ * @author Amos Shi
+ */
+public final class IndexedDex {
+
+    /**
+     * Name of the archive entry, like <code>classes2.dex</code> or
+     * <code>base/dex/classes2.dex</code>.
+     */
+    public final String name;
+    /**
+     * Position of the file among the DEX entries of the archive, see
+     * {@link DexIndex#getDexFile(int)}.
+     */
+    public final int index;
+    /**
+     * Count of the <code>class_defs</code> items, the classes defined in the
+     * file.
+     */
+    public final int classCount;
+    /**
+     * Count of the <code>method_ids</code> items, the methods defined or
+     * referenced by the file. It is limited to 65536 per file.
+     */
+    public final int methodCount;
+    /**
+     * Count of the <code>field_ids</code> items, the fields defined or
+     * referenced by the file. It is limited to 65536 per file.
+     */
+    public final int fieldCount;
+    /**
+     * Count of the <code>type_ids</code> items.
+     */
+    public final int typeCount;
+    /**
+     * Count of the <code>proto_ids</code> items.
+     */
+    public final int protoCount;
+    /**
+     * Count of the <code>string_ids</code> items.
+     */
+    public final int stringCount;
+    /**
+     * Length of the file.
+     */
+    private final long size;
+
+    IndexedDex(final String name, final int index, final DexFile dexFile) {
+        this.name = name;
+        this.index = index;
+        this.size = dexFile.getFileLength();
+        this.classCount = (dexFile.class_defs == null) ? 0 : dexFile.class_defs.length;
+        this.methodCount = dexFile.ids.method_name_idx.length;
+        this.fieldCount = dexFile.ids.field_name_idx.length;
+        this.typeCount = dexFile.ids.type_descriptor_idx.length;
+        this.protoCount = dexFile.ids.proto_shorty_idx.length;
+        this.stringCount = dexFile.ids.string_data_off.length;
+    }
+
+    /**
+     * Get the length of the file.
+     *
+     * @return Length in bytes
+     */
+    public long getSize() {
+        return this.size;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d classes, %d methods, %d fields, %d types, %d strings",
+                this.name, this.classCount, this.methodCount, this.fieldCount, this.typeCount, this.stringCount);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * IndexedType.java    Oct 17, 2026, 15:15
+ *
+ * Copyright 2026, FreeInternals.org. All rights reserved.
+ * Use is subject to license terms.
+ */
+package org.freeinternals.format.dex.index;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * One type of the global type index of a {@link DexIndex}: the DEX files
+ * defining it in their <code>class_defs</code>, and the DEX files having it
+ * in their <code>type_ids</code>.
+ *
+ * <p>
+ * A type defined by no DEX file comes from the platform or a library not in
+ * the archive, like <code>Ljava/lang/Object;</code>. A class defined by more
+ * than one DEX file is a duplicate, only the first one is loaded at run time.
+ * </p>
+ *
+ * @author Amos Shi
+ */
+public final class IndexedType {
+
+    /**
+     * Empty array of DEX file positions.
+     */
+    private static final int[] NONE = new int[0];
+
+    /**
+     * Type descriptor, like <code>Ljava/lang/String;</code> or
+     * <code>[I</code>.
+     */
+    public final String descriptor;
+    /**
+     * Positions of the DEX files defining the type, in ascending order.
+     */
+    private int[] definitions = NONE;
+    /**
+     * Positions of the DEX files referencing the type.
+     */
+    private final BitSet references = new BitSet();
+
+    IndexedType(final String descriptor) {
+        this.descriptor = descriptor;
+    }
+
+    synchronized void addDefinition(final int dex) {
+        int i = Arrays.binarySearch(this.definitions, dex);
+        if (i < 0) {
+            i = -i - 1;
+            final int[] a = new int[this.definitions.length + 1];
+            System.arraycopy(this.definitions, 0, a, 0, i);
+            a[i] = dex;
+            System.arraycopy(this.definitions, i, a, i + 1, this.definitions.length - i);
+            this.definitions = a;
+        }
+    }
+
+    synchronized void addReference(final int dex) {
+        this.references.set(dex);
+    }
+
+    /**
+     * Get the DEX files defining the type.
+     *
+     * @return Positions of the DEX files, see {@link DexIndex#getDexFile(int)},
+     * in ascending order
+     */
+    public synchronized int[] getDefinitions() {
+        return this.definitions.clone();
+    }
+
+    /**
+     * Get the DEX file whose definition of the type is loaded at run time.
+     *
+     * @return Position of the DEX file, see {@link DexIndex#getDexFile(int)},
+     * or <code>-1</code> if no DEX file defines the type
+     */
+    public synchronized int getDefinition() {
+        return (this.definitions.length > 0) ? this.definitions[0] : -1;
+    }
+
+    /**
+     * Indicates whether a DEX file of the index defines the type.
+     *
+     * @return true if the type is defined, else false
+     */
+    public synchronized boolean isDefined() {
+        return this.definitions.length > 0;
+    }
+
+    /**
+     * Indicates whether more than one DEX file defines the type.
+     *
+     * @return true if the type is defined more than once, else false
+     */
+    public synchronized boolean isDuplicate() {
+        return this.definitions.length > 1;
+    }
+
+    /**
+     * Get the DEX files referencing the type, including the defining ones.
+     *
+     * @return Positions of the DEX files, see {@link DexIndex#getDexFile(int)}
+     */
+    public synchronized BitSet getReferences() {
+        return (BitSet) this.references.clone();
+    }
+
+    @Override
+    public String toString() {
+        return this.descriptor;
+    }
+}
@@ -6,6 +6,7 @@
  */
 package org.freeinternals.biv.plugin.elf;
 
+import org.freeinternals.biv.plugin.MagicSignature;
 import org.freeinternals.biv.plugin.PluginDescriptor;
 import org.freeinternals.commonlib.core.FileFormat;
 import org.freeinternals.format.elf.ElfFile;
@@ -31,4 +32,9 @@ public class PluginDescriptorELF implements PluginDescriptor {
         return ElfFile.class;
     }
 
+    @Override
+    public MagicSignature[] getMagicSignatures() {
+        return new MagicSignature[]{MagicSignature.bytes(0x7F, 0x45, 0x4C, 0x46)};
+    }
+
 }
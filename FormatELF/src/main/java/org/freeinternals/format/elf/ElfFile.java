@@ -19,7 +19,7 @@ import org.freeinternals.commonlib.core.FileFormatException;
 public class ElfFile extends FileFormat {
 
     public ElfFile(File file) throws IOException, FileFormatException {
-        super(file);
+        super(file, false);
     }
 
     @Override
@@ -7,6 +7,7 @@
 
 package org.freeinternals.biv.plugin.jpeg;
 
+import org.freeinternals.biv.plugin.MagicSignature;
 import org.freeinternals.biv.plugin.PluginDescriptor;
 import org.freeinternals.commonlib.core.FileFormat;
 import org.freeinternals.format.jpeg.JPEGFile;
@@ -32,4 +33,9 @@ public class PluginDescriptorJPEG implements PluginDescriptor{
         return JPEGFile.class;
     }
 
+    @Override
+    public MagicSignature[] getMagicSignatures() {
+        return new MagicSignature[]{MagicSignature.bytes(0xFF, 0xD8, 0xFF)};
+    }
+
 }
@@ -48,6 +48,7 @@ public class JPEGFile extends FileFormat{
         int i;
         int length;
         while (posDataInputStream.getPos() < (this.fileByteArray.length - 1)) {
+            super.reportProgress(posDataInputStream.getPos());
             if (MarkerCode.isValid(this.getMarkerCode(posDataInputStream.getPos()))) {
                 marker = MarkerParse.parse(posDataInputStream);
                 super.addFileComponent(marker);
@@ -75,7 +76,6 @@ public class JPEGFile extends FileFormat{
         // Parse each Marker
         final Iterator<FileComponent> iteratorMarker = super.components.values().iterator();
         FileComponent comp;
-        byte[] markerByteArray;
         int markerByteArraySize;
 
         while (iteratorMarker.hasNext()) {
@@ -84,10 +84,8 @@ public class JPEGFile extends FileFormat{
                 marker = (Marker) comp;
                 if (marker.getMarkerLength() > 0) {
                     markerByteArraySize = marker.getLength() + MarkerCode.MARKER_CODE_BYTES_COUNT;
-                    markerByteArray = new byte[markerByteArraySize];
-                    System.arraycopy(this.fileByteArray, marker.getStartPos(), markerByteArray, 0, markerByteArraySize);
                     try {
-                        marker.parse(new PosDataInputStream(new PosByteArrayInputStream(markerByteArray), marker.getStartPos()));
+                        marker.parse(this.getFileSlice(marker.getStartPos(), markerByteArraySize).getStream(marker.getStartPos()));
                     } catch (IOException | FileFormatException ex) {
                         System.out.println("JPEGFile.parse() - " + marker.getMarkerName() + " - " + ex.toString());
                     }
@@ -97,8 +95,7 @@ public class JPEGFile extends FileFormat{
     } // End method parse
 
     private int getMarkerCode(int markerOffset) {
-        byte[] data = this.getFileByteArray(markerOffset, 2);
-        return ((data[0] & 0x000000FF) << 8) + (data[1] & 0x000000FF);
+        return ((this.fileByteArray[markerOffset] & 0x000000FF) << 8) + (this.fileByteArray[markerOffset + 1] & 0x000000FF);
     }
 
     @Override
@@ -8,7 +8,7 @@ package org.freeinternals.format.jpeg;
 
 import java.io.IOException;
 import javax.swing.tree.DefaultMutableTreeNode;
-import org.freeinternals.commonlib.core.PosByteArrayInputStream;
+import org.freeinternals.commonlib.core.ByteArraySlice;
 import org.freeinternals.commonlib.core.PosDataInputStream;
 import org.freeinternals.commonlib.ui.JTreeNodeFileComponent;
 import org.freeinternals.commonlib.ui.JXMLViewer;
@@ -38,25 +38,12 @@ public class Marker_APP01 extends Marker {
         this.identifier = super.parseIdentifier(pDisMarker);
 
         if (this.identifier.equalsIgnoreCase(Marker_APP01.identifier_Exif)) {
-            // TODO - Clean the following code, call method 
-            //        pDisMarker.getPartialStream(startPos, length) - This method test failed June.19.2013
             final int lengthTiff = this.marker_length - 2 - 6;
-            final byte[] bytesTiff = new byte[lengthTiff];
-            System.arraycopy(pDisMarker.getBuf(), 2 + 2 + 6, bytesTiff, 0, lengthTiff);
-            this.tiff = new TIFF(new PosDataInputStream(
-                    new PosByteArrayInputStream(bytesTiff),
+            this.tiff = new TIFF(pDisMarker.getSlice(2 + 2 + 6, lengthTiff).getStream(
                     this.getStartPos() + 2 + 2 + 6));
-            
-//            pDisMarker.getPartialStream(this.getStartPos() + 2 + 2 + 6, lengthTiff);
-//            this.tiff = new TIFF(pDisMarker.getPartialStream(
-//                    this.getStartPos() + 2 + 2 + 6,
-//                    lengthTiff));            
         } else if (this.identifier.startsWith(Marker_APP01.identifier_XMP)) {
             final int lengthXMP = this.marker_length - 2 - this.identifier.length() - 1;
-            final byte[] bytesXMP = new byte[lengthXMP];
-            System.arraycopy(pDisMarker.getBuf(), 2 + 2 + this.identifier.length() + 1, bytesXMP, 0, lengthXMP);
-            this.xmp = new XMP(new PosDataInputStream(
-                    new PosByteArrayInputStream(bytesXMP),
+            this.xmp = new XMP(pDisMarker.getSlice(2 + 2 + this.identifier.length() + 1, lengthXMP).getStream(
                     this.getStartPos() + 2 + 2 + this.identifier.length() + 1));
         }
     }
@@ -107,7 +94,7 @@ public class Marker_APP01 extends Marker {
                     this.xmp.getStartPos(),
                     this.xmp.getLength(),
                     "XMP data");
-            comp.setDetailPanel(new JXMLViewer(new PosDataInputStream(new PosByteArrayInputStream(this.xmp.rawData))));
+            comp.setDetailPanel(new JXMLViewer(new ByteArraySlice(this.xmp.rawData).getStream(0)));
             markerNode.add(new DefaultMutableTreeNode(comp));
         } else {
             markerNode.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
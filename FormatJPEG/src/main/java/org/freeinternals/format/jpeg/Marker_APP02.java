@@ -8,7 +8,6 @@ package org.freeinternals.format.jpeg;
 
 import java.io.IOException;
 import javax.swing.tree.DefaultMutableTreeNode;
-import org.freeinternals.commonlib.core.PosByteArrayInputStream;
 import org.freeinternals.commonlib.core.PosDataInputStream;
 import org.freeinternals.commonlib.ui.JTreeNodeFileComponent;
 import org.freeinternals.commonlib.core.FileFormatException;
@@ -36,10 +35,7 @@ public class Marker_APP02 extends Marker {
         if (Marker_APP02.identifier_ICC_PROFILE.equals(this.identifier)) {
             int lengthICC = this.marker_length - 2 - this.identifier.length() - 1;
             lengthICC = lengthICC - 2;
-            final byte[] bytesICC = new byte[lengthICC];
-            System.arraycopy(pDisMarker.getBuf(), 2 + 2 + this.identifier.length() + 1 + 2, bytesICC, 0, lengthICC);
-            this.icc = new ICCProfile(new PosDataInputStream(
-                    new PosByteArrayInputStream(bytesICC),
+            this.icc = new ICCProfile(pDisMarker.getSlice(2 + 2 + this.identifier.length() + 1 + 2, lengthICC).getStream(
                     this.getStartPos() + 2 + 2 + this.identifier.length() + 1 + 2));
         }
     }
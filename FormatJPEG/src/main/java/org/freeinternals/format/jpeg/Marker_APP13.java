@@ -8,7 +8,6 @@ package org.freeinternals.format.jpeg;
 
 import java.io.IOException;
 import javax.swing.tree.DefaultMutableTreeNode;
-import org.freeinternals.commonlib.core.PosByteArrayInputStream;
 import org.freeinternals.commonlib.core.PosDataInputStream;
 import org.freeinternals.commonlib.ui.JTreeNodeFileComponent;
 import org.freeinternals.commonlib.core.FileFormatException;
@@ -35,10 +34,7 @@ public class Marker_APP13 extends Marker {
         this.identifier = super.parseIdentifier(pDisMarker);
         if (this.identifier.contains(Marker_APP13.IDENTIFIER_PHOTOSHOP)) {
             final int lengthPhir = this.marker_length - 2 - this.identifier.length() - 1;
-            final byte[] bytesPhir = new byte[lengthPhir];
-            System.arraycopy(pDisMarker.getBuf(), 2 + 2 + this.identifier.length() + 1, bytesPhir, 0, lengthPhir);
-            this.psir = new PhotoshopImageResource(new PosDataInputStream(
-                    new PosByteArrayInputStream(bytesPhir),
+            this.psir = new PhotoshopImageResource(pDisMarker.getSlice(2 + 2 + this.identifier.length() + 1, lengthPhir).getStream(
                     this.getStartPos() + 2 + 2 + this.identifier.length() + 1));
         }
     }
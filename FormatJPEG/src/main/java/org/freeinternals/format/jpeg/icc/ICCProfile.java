@@ -29,9 +29,8 @@ public class ICCProfile extends FileComponent {
 
     public ICCProfile(final PosDataInputStream input) throws IOException {
         super.startPos = input.getPos();
-        super.length = input.getBuf().length;
-
         this.rawData = input.getBuf();
+        super.length = this.rawData.length;
         this.header = new Header(input);
         this.tagCount = input.readInt();
         if (this.tagCount > 0) {
@@ -9,7 +9,6 @@ package org.freeinternals.format.jpeg.icc;
 import java.io.IOException;
 import javax.swing.tree.DefaultMutableTreeNode;
 import org.freeinternals.commonlib.core.FileComponent;
-import org.freeinternals.commonlib.core.PosByteArrayInputStream;
 import org.freeinternals.commonlib.core.PosDataInputStream;
 import org.freeinternals.commonlib.ui.JTreeNodeFileComponent;
 import org.freeinternals.commonlib.ui.UITool;
@@ -36,10 +35,7 @@ public class Tag extends FileComponent {
         this.Size = input.readUnsignedInt();
         this.BasePos = input.getOffset();
 
-        byte[] dataBuf = new byte[(int) this.Size];
-        System.arraycopy(input.getBuf(), (int) this.Offset, dataBuf, 0, dataBuf.length);
-        this.tagData = Tag.parse(new PosDataInputStream(
-                new PosByteArrayInputStream(dataBuf),
+        this.tagData = Tag.parse(input.getSlice((int) this.Offset, (int) this.Size).getStream(
                 input.getOffset() + (int) this.Offset));
     }
 
@@ -29,7 +29,7 @@ public class TagData extends FileComponent implements GenerateTreeNode {
      */
     public TagData(final PosDataInputStream input) throws IOException {
         super.startPos = input.getPos();
-        super.length = input.getBuf().length;
+        super.length = input.getSlice().length();
 
         this.tagType = input.readInt();
 
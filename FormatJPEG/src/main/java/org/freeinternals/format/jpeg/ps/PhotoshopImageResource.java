@@ -27,9 +27,8 @@ public class PhotoshopImageResource extends FileComponent {
 
     public PhotoshopImageResource(final PosDataInputStream input) throws IOException {
         super.startPos = input.getPos();
-        super.length = input.getBuf().length;
-
         this.rawData = input.getBuf();
+        super.length = this.rawData.length;
         this.irb_8bim = new ArrayList<IRB_8BIM>(100);
 
         StringBuilder sb = new StringBuilder(5);
@@ -26,9 +26,8 @@ public class XMP extends FileComponent{
 
     public XMP(final PosDataInputStream input) throws FileFormatException {
         super.startPos = input.getPos();
-        super.length = input.getBuf().length;
-
         this.rawData = input.getBuf();
+        super.length = this.rawData.length;
         StringBuilder sb = new StringBuilder(this.rawData.length + 1);
         for (byte b : this.rawData) {
             sb.append((char) b);
@@ -6,6 +6,7 @@
  */
 package org.freeinternals.biv.plugin.pdf;
 
+import org.freeinternals.biv.plugin.MagicSignature;
 import org.freeinternals.biv.plugin.PluginDescriptor;
 import org.freeinternals.commonlib.core.FileFormat;
 import org.freeinternals.format.pdf.PDFFile;
@@ -30,4 +31,10 @@ public class PluginDescriptorPDF implements PluginDescriptor {
     public Class<? extends FileFormat> getFileFormatClass() {
         return PDFFile.class;
     }
+
+    @Override
+    public MagicSignature[] getMagicSignatures() {
+        return new MagicSignature[]{MagicSignature.ascii("%PDF-")};
+    }
+
 }
@@ -47,6 +47,7 @@ public class PDFFile extends FileFormat {
         // Read PDF Components
         PosDataInputStream.ASCIILine line;
         while (stream.hasNext()) {
+            super.reportProgress(stream.getPos());
             line = stream.readASCIILine();
             System.out.println("PDFFile: line = " + line.Line);
 
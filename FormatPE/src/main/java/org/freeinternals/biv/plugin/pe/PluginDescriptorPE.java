@@ -6,6 +6,7 @@
  */
 package org.freeinternals.biv.plugin.pe;
 
+import org.freeinternals.biv.plugin.MagicSignature;
 import org.freeinternals.biv.plugin.PluginDescriptor;
 import org.freeinternals.commonlib.core.FileFormat;
 import org.freeinternals.format.pe.PeFile;
@@ -31,4 +32,9 @@ public class PluginDescriptorPE implements PluginDescriptor {
         return PeFile.class;
     }
 
+    @Override
+    public MagicSignature[] getMagicSignatures() {
+        return new MagicSignature[]{MagicSignature.ascii("MZ")};
+    }
+
 }
@@ -19,7 +19,7 @@ import org.freeinternals.commonlib.core.FileFormatException;
 public class PeFile extends FileFormat {
 
     public PeFile(File file) throws IOException, FileFormatException {
-        super(file);
+        super(file, false);
     }
 
     @Override
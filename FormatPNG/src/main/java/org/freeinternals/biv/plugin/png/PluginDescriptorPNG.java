@@ -7,6 +7,7 @@
 
 package org.freeinternals.biv.plugin.png;
 
+import org.freeinternals.biv.plugin.MagicSignature;
 import org.freeinternals.biv.plugin.PluginDescriptor;
 import org.freeinternals.commonlib.core.FileFormat;
 import org.freeinternals.format.png.PNGFile;
@@ -32,4 +33,9 @@ public class PluginDescriptorPNG implements PluginDescriptor{
         return PNGFile.class;
     }
 
+    @Override
+    public MagicSignature[] getMagicSignatures() {
+        return new MagicSignature[]{MagicSignature.bytes(0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A)};
+    }
+
 }
@@ -9,7 +9,7 @@ package org.freeinternals.format.png;
 import java.io.IOException;
 import javax.swing.tree.DefaultMutableTreeNode;
 import org.freeinternals.commonlib.core.FileComponent;
-import org.freeinternals.commonlib.core.PosByteArrayInputStream;
+import org.freeinternals.commonlib.core.ByteArraySlice;
 import org.freeinternals.commonlib.core.PosDataInputStream;
 import org.freeinternals.commonlib.ui.GenerateTreeNode;
 import org.freeinternals.commonlib.ui.JTreeNodeFileComponent;
@@ -50,12 +50,13 @@ public class Chunk extends FileComponent implements GenerateTreeNode {
      */
     public final byte[] ChunkType = new byte[4];
     /**
-     * The data bytes appropriate to the chunk type, if any.
+     * The data bytes appropriate to the chunk type, if any. It is a view of
+     * the file bytes, not a copy.
      * <p>
      * This field can be <code>null</code> for zero length.
      * </p>
      */
-    public final byte[] ChunkData;
+    public final ByteArraySlice ChunkData;
     /**
      * A 4-byte CRC (Cyclic Redundancy Check) calculated on the preceding bytes
      * in the chunk, including the chunk type code and chunk data fields,
@@ -77,8 +78,7 @@ public class Chunk extends FileComponent implements GenerateTreeNode {
 
         // Chunk Data
         if (this.Length > 0) {
-            this.ChunkData = new byte[this.Length];
-            stream.read(this.ChunkData);
+            this.ChunkData = stream.readSlice(this.Length);
         } else {
             this.ChunkData = null;
         }
@@ -108,9 +108,7 @@ public class Chunk extends FileComponent implements GenerateTreeNode {
 
     protected PosDataInputStream getChunkDataStream() {
         if (this.ChunkData != null) {
-            return new PosDataInputStream(
-                    new PosByteArrayInputStream(this.ChunkData),
-                    this.startPos + 4 + 4);
+            return this.ChunkData.getStream(this.startPos + 4 + 4);
         } else {
             return null;
         }
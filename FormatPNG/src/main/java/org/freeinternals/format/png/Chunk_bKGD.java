@@ -102,7 +102,7 @@ public class Chunk_bKGD extends Chunk {
         super(stream, png);
 
         PosDataInputStream chunkDataStream = super.getChunkDataStream();
-        switch(this.ChunkData.length) {
+        switch(this.ChunkData.length()) {
             case 1:
                 this.PaletteIndex = chunkDataStream.read();
                 this.Gray = -1;
@@ -139,7 +139,7 @@ public class Chunk_bKGD extends Chunk {
     protected void generateTreeNodeChunkData(DefaultMutableTreeNode parent) {
         int start = this.startPos + 4 + 4;
 
-        switch (this.ChunkData.length) {
+        switch (this.ChunkData.length()) {
             case 1:
                 parent.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
                         start,
@@ -172,7 +172,7 @@ public class Chunk_bKGD extends Chunk {
             default:
                 parent.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
                         start,
-                        this.ChunkData.length,
+                        this.ChunkData.length(),
                         "Un-recognized")));
         }
     }
@@ -36,63 +36,63 @@ public class Chunk_sBIT extends Chunk {
     protected void generateTreeNodeChunkData(DefaultMutableTreeNode parent) {
         int start = this.startPos + 4 + 4;
 
-        switch (this.ChunkData.length) {
+        switch (this.ChunkData.length()) {
             case 1:
                 parent.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
                         start,
                         1,
-                        String.format("significant = %d", this.ChunkData[0]))));
+                        String.format("significant = %d", this.ChunkData.get(0)))));
                 break;
 
             case 2:
                 parent.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
                         start,
                         1,
-                        String.format("significant source grayscale data = %d", this.ChunkData[0]))));
+                        String.format("significant source grayscale data = %d", this.ChunkData.get(0)))));
                 parent.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
                         start + 1,
                         1,
-                        String.format("significant source alpha data = %d", this.ChunkData[1]))));
+                        String.format("significant source alpha data = %d", this.ChunkData.get(1)))));
                 break;
 
             case 3:
                 parent.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
                         start,
                         1,
-                        String.format("significant red = %d", this.ChunkData[0]))));
+                        String.format("significant red = %d", this.ChunkData.get(0)))));
                 parent.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
                         start + 1,
                         1,
-                        String.format("significant green = %d", this.ChunkData[1]))));
+                        String.format("significant green = %d", this.ChunkData.get(1)))));
                 parent.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
                         start + 2,
                         1,
-                        String.format("significant blue = %d", this.ChunkData[2]))));
+                        String.format("significant blue = %d", this.ChunkData.get(2)))));
                 break;
 
             case 4:
                 parent.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
                         start,
                         1,
-                        String.format("significant red = %d", this.ChunkData[0]))));
+                        String.format("significant red = %d", this.ChunkData.get(0)))));
                 parent.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
                         start + 1,
                         1,
-                        String.format("significant green = %d", this.ChunkData[1]))));
+                        String.format("significant green = %d", this.ChunkData.get(1)))));
                 parent.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
                         start + 2,
                         1,
-                        String.format("significant blue = %d", this.ChunkData[2]))));
+                        String.format("significant blue = %d", this.ChunkData.get(2)))));
                 parent.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
                         start + 3,
                         1,
-                        String.format("significant alpha = %d", this.ChunkData[3]))));
+                        String.format("significant alpha = %d", this.ChunkData.get(3)))));
                 break;
 
             default:
                 parent.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
                         start,
-                        this.ChunkData.length,
+                        this.ChunkData.length(),
                         "Un-recognized")));
         }
     }
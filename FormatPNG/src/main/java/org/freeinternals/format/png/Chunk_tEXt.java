@@ -85,7 +85,7 @@ public class Chunk_tEXt extends Chunk {
         PosDataInputStream chunkDataStream = super.getChunkDataStream();
         this.Keyword = chunkDataStream.readASCII();
 
-        int rest = this.ChunkData.length - this.Keyword.length() - 1;
+        int rest = this.ChunkData.length() - this.Keyword.length() - 1;
         if (rest > 0) {
             this.Text = chunkDataStream.readASCII(rest);
         } else {
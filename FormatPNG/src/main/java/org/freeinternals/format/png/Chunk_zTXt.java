@@ -43,7 +43,7 @@ public class Chunk_zTXt extends Chunk {
         this.Keyword = chunkDataStream.readASCII();
         this.CompressionMethod = chunkDataStream.read();
 
-        int rest = this.ChunkData.length - this.Keyword.length() - 1 - 1;
+        int rest = this.ChunkData.length() - this.Keyword.length() - 1 - 1;
         if (rest > 0) {
             this.CompressedText = new byte[rest];
             for (int i = 0; i < this.CompressedText.length; i++) {
@@ -101,6 +101,7 @@ public class PNGFile extends FileFormat {
         stream.skip(PNGFile.MAGIC.length);
 
         while (stream.getPos() < this.fileByteArray.length) {
+            super.reportProgress(stream.getPos());
             super.addFileComponent(this.parseChunk(stream));
         }
 
@@ -7,6 +7,7 @@
 
 package org.freeinternals.biv.plugin.zip;
 
+import org.freeinternals.biv.plugin.MagicSignature;
 import org.freeinternals.biv.plugin.PluginDescriptor;
 import org.freeinternals.commonlib.core.FileFormat;
 import org.freeinternals.format.zip.ZIPFile;
@@ -32,4 +33,12 @@ public class PluginDescriptorZIP implements PluginDescriptor{
         return ZIPFile.class;
     }
 
+    @Override
+    public MagicSignature[] getMagicSignatures() {
+        return new MagicSignature[]{
+            MagicSignature.bytes(0x50, 0x4B, 0x03, 0x04),
+            MagicSignature.bytes(0x50, 0x4B, 0x05, 0x06)
+        };
+    }
+
 }
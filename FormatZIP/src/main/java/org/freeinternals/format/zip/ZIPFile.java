@@ -100,6 +100,7 @@ public class ZIPFile extends FileFormat {
         // Local file header
         this.lfh = new LocalFileHeader[this.cds.length];
         for (int i = 0; i < this.cds.length; i++) {
+            super.reportProgress(this.cds[i].header.RelativeOffsetOfLocalHeader);
             stream.reset();
             BytesTool.skip(stream, this.cds[i].header.RelativeOffsetOfLocalHeader);
             this.lfh[i] = new LocalFileHeader(stream);
@@ -8,6 +8,7 @@ package org.freeinternals.format.zip.ui.biv;
 
 import javax.swing.tree.DefaultMutableTreeNode;
 import org.freeinternals.commonlib.ui.JTreeNodeFileComponent;
+import org.freeinternals.commonlib.ui.LazyTreeNode;
 import org.freeinternals.format.zip.CentralDirectoryStructure;
 
 /**
@@ -20,13 +21,21 @@ public class GenerateTreeNode_CDS {
             CentralDirectoryStructure cds,
             DefaultMutableTreeNode parent) {
 
-        DefaultMutableTreeNode nodeCDS, header, nodeBigFlag, nodeTime, nodeDate;
+        // The file header is generated when expanded
+        parent.add(new LazyTreeNode(new JTreeNodeFileComponent(
+                cds.getStartPos(),
+                cds.getLength(),
+                "Central Directory Structure"),
+                (nodeCDS) -> GenerateTreeNode_CDS.fileHeader(cds, nodeCDS)));
+    }
+
+    private static void fileHeader(
+            CentralDirectoryStructure cds,
+            DefaultMutableTreeNode nodeCDS) {
+
+        DefaultMutableTreeNode header, nodeBigFlag, nodeTime, nodeDate;
         int position = cds.getStartPos();
 
-        parent.add(nodeCDS = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
-                position,
-                cds.getLength(),
-                "Central Directory Structure")));
         nodeCDS.add(header = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
                 position,
                 cds.header.calcLength(),
@@ -8,6 +8,7 @@ package org.freeinternals.format.zip.ui.biv;
 
 import javax.swing.tree.DefaultMutableTreeNode;
 import org.freeinternals.commonlib.ui.JTreeNodeFileComponent;
+import org.freeinternals.commonlib.ui.LazyTreeNode;
 import org.freeinternals.format.zip.LocalFileHeader;
 import org.freeinternals.format.zip.MSDosDate;
 import org.freeinternals.format.zip.MSDosTime;
@@ -26,16 +27,42 @@ public class GenerateTreeNode_LFH {
             DefaultMutableTreeNode parent) {
 
         int position = lfh.getStartPos();
-        DefaultMutableTreeNode nodeLfh;
+
+        // Local file header, the fields are generated when expanded
+        parent.add(new LazyTreeNode(new JTreeNodeFileComponent(
+                position,
+                lfh.getLength(),
+                "Local file header"),
+                (nodeLfh) -> GenerateTreeNode_LFH.localFileHeaderFields(lfh, nodeLfh)));
+
+        // File data
+        position += 30;
+        if (lfh.FileName != null) {
+            position += lfh.FileName.length;
+        }
+        if (lfh.ExtraField != null) {
+            position += lfh.ExtraField.length;
+        }
+        if (lfh.CompressedSize > 0) {
+            parent.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
+                    position,
+                    (int) lfh.CompressedSize, // TODO - We are in danger of very big file longer than int value size.
+                    "File data")));
+        }
+    }
+
+    /**
+     * Generate tree nodes for the fields of local file header.
+     */
+    private static void localFileHeaderFields(
+            LocalFileHeader lfh,
+            DefaultMutableTreeNode nodeLfh) {
+
+        int position = lfh.getStartPos();
         DefaultMutableTreeNode nodeBigFlag;
         DefaultMutableTreeNode nodeTime;
         DefaultMutableTreeNode nodeDate;
 
-        // Local file header
-        parent.add(nodeLfh = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
-                position,
-                lfh.getLength(),
-                "Local file header")));
         nodeLfh.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
                 position,
                 4,
@@ -108,15 +135,6 @@ public class GenerateTreeNode_LFH {
                     position,
                     lfh.ExtraField.length,
                     "extra field")));
-            position += lfh.ExtraField.length;
-        }
-
-        // File data
-        if (lfh.CompressedSize > 0) {
-            parent.add(nodeLfh = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
-                    position,
-                    (int) lfh.CompressedSize, // TODO - We are in danger of very big file longer than int value size.
-                    "File data")));
         }
     }
 
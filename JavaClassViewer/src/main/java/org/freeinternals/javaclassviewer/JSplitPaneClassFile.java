@@ -8,7 +8,6 @@ package org.freeinternals.javaclassviewer;
 
 import java.awt.Component;
 import java.io.IOException;
-import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.swing.JFrame;
@@ -23,15 +22,19 @@ import org.freeinternals.commonlib.ui.HTMLKit;
 import org.freeinternals.commonlib.ui.JBinaryViewer;
 import org.freeinternals.commonlib.ui.JPanelForTree;
 import org.freeinternals.commonlib.ui.JTreeNodeFileComponent;
+import org.freeinternals.commonlib.ui.TreeNodeIndex;
+import org.freeinternals.commonlib.core.ByteArraySlice;
 import org.freeinternals.commonlib.core.BytesTool;
 import org.freeinternals.commonlib.core.FileFormatException;
 import org.freeinternals.format.classfile.constant.CPInfo;
 import org.freeinternals.format.classfile.ClassFile;
+import org.freeinternals.format.classfile.ControlFlowGraph;
 import org.freeinternals.format.classfile.FieldInfo;
 import org.freeinternals.format.classfile.MethodInfo;
+import org.freeinternals.format.classfile.InstructionStream;
 import org.freeinternals.format.classfile.Opcode;
-import org.freeinternals.format.classfile.Opcode.InstructionParsed;
 import org.freeinternals.format.classfile.attribute.AttributeCode;
+import org.freeinternals.format.classfile.attribute.AttributeInfo;
 
 /**
  * A split panel created from a class file byte array.
@@ -46,6 +49,7 @@ public class JSplitPaneClassFile extends JSplitPane {
     private JBinaryViewer binaryViewer = null;
     private JScrollPane binaryViewerView = null;
     private JTextPane opcode = null;
+    private JTextPane controlFlow = null;
     private JTextPane report = null;
 
     /**
@@ -81,6 +85,8 @@ public class JSplitPaneClassFile extends JSplitPane {
         // Construct binary viewer
         this.binaryViewer = new JBinaryViewer();
         this.binaryViewer.setData(this.classFile.classByteArray);
+        final TreeNodeIndex nodeIndex = new TreeNodeIndex(jTreeClassFile.getRootNode());
+        this.binaryViewer.addByteClickListener((offset) -> nodeIndex.select(jTreeClassFile, offset));
         this.binaryViewerView = new JScrollPane(this.binaryViewer);
         this.binaryViewerView.getVerticalScrollBar().setValue(0);
         tabbedPane.add("Class File", this.binaryViewerView);
@@ -94,6 +100,14 @@ public class JSplitPaneClassFile extends JSplitPane {
         this.opcode.setContentType("text/html");
         tabbedPane.add("Opcode", new JScrollPane(this.opcode));
 
+        // Control flow graph viewer
+        this.controlFlow = new JTextPane();
+        this.controlFlow.setAlignmentX(Component.LEFT_ALIGNMENT);
+        this.controlFlow.setEditable(false);
+        this.controlFlow.setBorder(null);
+        this.controlFlow.setContentType("text/html");
+        tabbedPane.add("Control Flow", new JScrollPane(this.controlFlow));
+
         // Class report
         this.report = new JTextPane();
         this.report.setAlignmentX(Component.LEFT_ALIGNMENT);
@@ -124,16 +138,22 @@ public class JSplitPaneClassFile extends JSplitPane {
 
                 // clear opcode values;
                 this.opcode.setText(null);
+                this.controlFlow.setText(null);
                 // Get the code bytes
                 if (AttributeCode.ATTRIBUTE_CODE_NODE.equals(objTncc.getText())) {
-                    final byte[] data = this.classFile.getClassByteArray(objTncc.getStartPos(), objTncc.getLength());
+                    final ByteArraySlice data = this.classFile.getClassSlice(objTncc.getStartPos(), objTncc.getLength());
                     this.generateOpcodeParseResult(data);
+
+                    final AttributeCode code = this.findCode(objTncc.getStartPos());
+                    if (code != null) {
+                        this.generateControlFlowResult(code.getControlFlowGraph());
+                    }
                 }
             }
         }
     }
 
-    private void generateOpcodeParseResult(byte[] opcodeData) {
+    private void generateOpcodeParseResult(ByteArraySlice opcodeData) {
         StringBuilder sb = new StringBuilder(1024);
         sb.append(HTMLKit.start());
 
@@ -143,11 +163,11 @@ public class JSplitPaneClassFile extends JSplitPane {
         sb.append("<pre>");
         sb.append(BytesTool.getByteDataHexView(opcodeData));
         sb.append('\n');
-        List<Opcode.InstructionParsed> codeResult = Opcode.parseCode(opcodeData);
-        for (InstructionParsed iResult : codeResult) {
-            sb.append(iResult.toString(this.classFile));
+        final InstructionStream codeResult = Opcode.decode(opcodeData);
+        for (int i = 0; i < codeResult.size(); i++) {
+            sb.append(codeResult.toString(i, this.classFile));
             sb.append('\n');
-            if (iResult.getCpindex() != null) {
+            if (codeResult.getCpIndex(i) >= 0) {
                 cpindexCounter++;
             }
         }
@@ -156,10 +176,12 @@ public class JSplitPaneClassFile extends JSplitPane {
         // The Reference Object
         if (cpindexCounter > 0) {
             sb.append("<ol>");
-            codeResult.stream().filter((iResult) -> (iResult.getCpindex() != null)).forEachOrdered((InstructionParsed iResult) -> {
-                sb.append(String.format("<li>%s</li>", HTMLKit.escapeFilter(
-                        this.classFile.getCPDescription(iResult.getCpindex() ))));
-            });
+            for (int i = 0; i < codeResult.size(); i++) {
+                if (codeResult.getCpIndex(i) >= 0) {
+                    sb.append(String.format("<li>%s</li>", HTMLKit.escapeFilter(
+                            this.classFile.getCPDescription(codeResult.getCpIndex(i)))));
+                }
+            }
             sb.append("</ol>");
         }
 
@@ -168,6 +190,45 @@ public class JSplitPaneClassFile extends JSplitPane {
 
     }
 
+    private AttributeCode findCode(final int codeStartPos) {
+        if (this.classFile.methods == null) {
+            return null;
+        }
+        for (MethodInfo method : this.classFile.methods) {
+            for (int i = 0; i < method.attributes_count.value; i++) {
+                final AttributeInfo attr = method.getAttribute(i);
+                if (attr instanceof AttributeCode && ((AttributeCode) attr).getCodeStartPos() == codeStartPos) {
+                    return (AttributeCode) attr;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void generateControlFlowResult(final ControlFlowGraph cfg) {
+        StringBuilder sb = new StringBuilder(1024);
+        sb.append(HTMLKit.start());
+
+        sb.append(String.format("Basic Blocks: %d, Edges: %d", cfg.getBlockCount(), cfg.getEdgeCount()));
+        sb.append(HTMLKit.newLine());
+        sb.append("<pre>");
+        final InstructionStream code = cfg.getInstructions();
+        for (int b = 0; b < cfg.getBlockCount(); b++) {
+            sb.append("<b>");
+            sb.append(HTMLKit.escapeFilter(cfg.toString(b)));
+            sb.append("</b>\n");
+            for (int i = cfg.getBlockStart(b); i < cfg.getBlockEnd(b); i++) {
+                sb.append("    ");
+                sb.append(HTMLKit.escapeFilter(code.toString(i, this.classFile)));
+                sb.append('\n');
+            }
+        }
+        sb.append("</pre>");
+
+        sb.append(HTMLKit.end());
+        this.controlFlow.setText(sb.toString());
+    }
+
     private void generateClassReport() {
         StringBuilder sb = new StringBuilder(1024);
         sb.append(HTMLKit.start());
@@ -199,6 +260,12 @@ public class JSplitPaneClassFile extends JSplitPane {
             sb.append("</ol>");
         }
 
+        if (this.classFile.isHeaderOnly()) {
+            sb.append(HTMLKit.end());
+            this.report.setText(sb.toString());
+            return;
+        }
+
         // Fields
         count = this.classFile.fields_count.getValue();
         sb.append(String.format("Field Count: %d", count));
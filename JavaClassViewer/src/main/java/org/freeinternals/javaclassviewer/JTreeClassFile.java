@@ -10,6 +10,8 @@ import javax.swing.JTree;
 import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.DefaultTreeModel;
 import org.freeinternals.commonlib.ui.JTreeNodeFileComponent;
+import org.freeinternals.commonlib.ui.LazyTreeNode;
+import org.freeinternals.commonlib.ui.UITool;
 import org.freeinternals.format.classfile.attribute.AttributeInfo;
 import org.freeinternals.format.classfile.constant.CPInfo;
 import org.freeinternals.format.classfile.ClassFile;
@@ -40,6 +42,16 @@ public class JTreeClassFile extends JTree {
         this.classFile = classFile;
         this.generateTreeNodes();
         this.setModel(new DefaultTreeModel(this.root));
+        UITool.setFixedRowHeight(this);
+    }
+
+    /**
+     * Get the root tree node.
+     *
+     * @return The root node
+     */
+    DefaultMutableTreeNode getRootNode() {
+        return this.root;
     }
 
     private void generateTreeNodes() {
@@ -49,6 +61,9 @@ public class JTreeClassFile extends JTree {
         this.generateTreeNodeClsssFileVersion();
         this.generateConstantPool();
         this.generateClassDeclaration();
+        if (this.classFile.isHeaderOnly()) {
+            return;
+        }
         this.generateFields();
         this.generateMethods();
         this.generateAttributes();
@@ -84,22 +99,30 @@ public class JTreeClassFile extends JTree {
         startPos += u2.LENGTH;
 
         final CPInfo[] cp = this.classFile.constant_pool;
-        final DefaultMutableTreeNode constant_pool = new DefaultMutableTreeNode(new JTreeNodeFileComponent(
+        // The constant pool could be huge, generate the items when expanded
+        this.root.add(new LazyTreeNode(new JTreeNodeFileComponent(
                 startPos,
                 cp[cpCount - 1].getStartPos() + cp[cpCount - 1].getLength() - startPos,
                 "constant_pool[" + cpCount + "]"
-        ));
-        this.root.add(constant_pool);
+        ), this::generateConstantPoolItems));
+    }
+
+    private void generateConstantPoolItems(final DefaultMutableTreeNode constant_pool) {
+        final int cpCount = this.classFile.constant_pool_count.value;
+        final CPInfo[] cp = this.classFile.constant_pool;
 
         DefaultMutableTreeNode cp_info_node;
         for (int i = 1; i < cpCount; i++) {
             if (cp[i] != null) {
-                cp_info_node = new DefaultMutableTreeNode(new JTreeNodeFileComponent(cp[i].getStartPos(), cp[i].getLength(), i + ". " + cp[i].getName()));
-                cp_info_node.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
-                        cp[i].getStartPos(),
-                        1,
-                        "tag: " + cp[i].tag.value)));
-                cp[i].generateTreeNode(cp_info_node, this.classFile);
+                final CPInfo cpInfo = cp[i];
+                cp_info_node = new LazyTreeNode(new JTreeNodeFileComponent(cp[i].getStartPos(), cp[i].getLength(), i + ". " + cp[i].getName()),
+                        (node) -> {
+                            node.add(new DefaultMutableTreeNode(new JTreeNodeFileComponent(
+                                    cpInfo.getStartPos(),
+                                    1,
+                                    "tag: " + cpInfo.tag.value)));
+                            cpInfo.generateTreeNode(node, this.classFile);
+                        });
             } else {
                 cp_info_node = new DefaultMutableTreeNode(new JTreeNodeFileComponent(0, 0, i + ". [Empty Item]"));
             }
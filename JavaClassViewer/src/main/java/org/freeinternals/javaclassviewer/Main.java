@@ -7,8 +7,12 @@
 package org.freeinternals.javaclassviewer;
 
 import org.freeinternals.commonlib.core.BytesTool;
+import org.freeinternals.commonlib.core.ParseMonitor;
 import org.freeinternals.commonlib.ui.JPanelForTree;
 import org.freeinternals.commonlib.ui.UITool;
+import org.freeinternals.format.classfile.index.ClassIndex;
+import org.freeinternals.format.classfile.index.ClassIndexer;
+import org.freeinternals.format.classfile.index.IndexedClass;
 
 import java.awt.BorderLayout;
 import java.awt.Component;
@@ -22,18 +26,25 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.jar.JarFile;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import javax.swing.ImageIcon;
 import javax.swing.JFileChooser;
 import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JList;
 import javax.swing.JMenu;
 import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
+import javax.swing.JScrollPane;
 import javax.swing.KeyStroke;
 import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
@@ -49,9 +60,25 @@ public final class Main extends JFrame {
 
     private static final long serialVersionUID = 4876543219876500000L;
     private static final String WINDOWS = "com.sun.java.swing.plaf.windows.WindowsLookAndFeel";
+    /**
+     * Maximum count of classes listed by "Go to Class".
+     */
+    private static final int MAX_MATCHES = 500;
     private JTreeZipFile zftree;
     private JPanelForTree zftreeContainer;
     private JSplitPaneClassFile cfPane;
+    /**
+     * Class index of the opened jar file, or <code>null</code> when it is not
+     * ready.
+     */
+    private ClassIndex classIndex;
+    /**
+     * Cancel flag of the running indexing, if any.
+     */
+    private AtomicBoolean indexCancelled;
+    private final JLabel statusBar = new JLabel(" ");
+    private JMenuItem menuItem_NavigateGotoClass;
+    private JMenuItem menuItem_NavigateSubclasses;
 
     private Main() {
         this.setTitle("Java Class Viewer");
@@ -59,6 +86,7 @@ public final class Main extends JFrame {
         updateLookAndFeel(this);
         UITool.centerJFrame(this);
         this.createMenu();
+        this.add(this.statusBar, BorderLayout.SOUTH);
         this.setVisible(true);
     }
 
@@ -113,6 +141,30 @@ public final class Main extends JFrame {
         });
         menuFile.add(menuItem_FileExit);
 
+        // Navigate
+        final JMenu menuNavigate = new JMenu("Navigate");
+        menuNavigate.setMnemonic(KeyEvent.VK_N);
+        menuBar.add(menuNavigate);
+
+        // Navigate --> Go to Class
+        this.menuItem_NavigateGotoClass = new JMenuItem("Go to Class...");
+        this.menuItem_NavigateGotoClass.setMnemonic(KeyEvent.VK_G);
+        this.menuItem_NavigateGotoClass.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_N, ActionEvent.CTRL_MASK));
+        this.menuItem_NavigateGotoClass.addActionListener((final ActionEvent e) -> {
+            menu_NavigateGotoClass();
+        });
+        menuNavigate.add(this.menuItem_NavigateGotoClass);
+
+        // Navigate --> Subclasses of
+        this.menuItem_NavigateSubclasses = new JMenuItem("Subclasses of...");
+        this.menuItem_NavigateSubclasses.setMnemonic(KeyEvent.VK_S);
+        this.menuItem_NavigateSubclasses.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_H, ActionEvent.CTRL_MASK));
+        this.menuItem_NavigateSubclasses.addActionListener((final ActionEvent e) -> {
+            menu_NavigateSubclasses();
+        });
+        menuNavigate.add(this.menuItem_NavigateSubclasses);
+        this.setNavigateEnabled(false);
+
         // Help
         final JMenu menuHelp = new JMenu("Help");
         menuFile.setMnemonic(KeyEvent.VK_H);
@@ -200,9 +252,65 @@ public final class Main extends JFrame {
             this.add(this.zftreeContainer, BorderLayout.CENTER);
 
             this.resizeForContent();
+            this.startIndexing(this.zftree.getZipFile());
         }
     }
 
+    /**
+     * Index the classes of the jar file in background, the Navigate menu is
+     * enabled once the index is ready.
+     *
+     * @param zipFile The jar file
+     */
+    private void startIndexing(final ZipFile zipFile) {
+        final AtomicBoolean cancelled = new AtomicBoolean(false);
+        this.indexCancelled = cancelled;
+        this.statusBar.setText("Indexing classes...");
+
+        final Thread indexer = new Thread(() -> {
+            try {
+                final ClassIndex index = new ClassIndexer().index(zipFile, new ParseMonitor() {
+                    @Override
+                    public void progress(final long done, final long total) {
+                        SwingUtilities.invokeLater(() -> {
+                            if (!cancelled.get()) {
+                                statusBar.setText(String.format("Indexing classes... %d / %d", done, total));
+                            }
+                        });
+                    }
+
+                    @Override
+                    public boolean isCancelled() {
+                        return cancelled.get();
+                    }
+                });
+                SwingUtilities.invokeLater(() -> {
+                    if (!cancelled.get()) {
+                        classIndex = index;
+                        statusBar.setText(index.toString());
+                        setNavigateEnabled(true);
+                    }
+                });
+            } catch (CancellationException ex) {
+                // The jar file is closed
+            } catch (RuntimeException ex) {
+                Logger.getLogger(Main.class.getName()).log(Level.SEVERE, "Index the jar file failed.", ex);
+                SwingUtilities.invokeLater(() -> {
+                    if (!cancelled.get()) {
+                        statusBar.setText(String.format("Index the jar file failed. %s", ex.getMessage()));
+                    }
+                });
+            }
+        }, "jcv-indexer");
+        indexer.setDaemon(true);
+        indexer.start();
+    }
+
+    private void setNavigateEnabled(final boolean enabled) {
+        this.menuItem_NavigateGotoClass.setEnabled(enabled);
+        this.menuItem_NavigateSubclasses.setEnabled(enabled);
+    }
+
     private void open_ClassFile(final File file) {
         this.cfPane = new JSplitPaneClassFile(BytesTool.readFileAsBytes(file), this);
         this.add(this.cfPane, BorderLayout.CENTER);
@@ -238,7 +346,118 @@ public final class Main extends JFrame {
         }
     }
 
+    private void menu_NavigateGotoClass() {
+        if (this.classIndex == null) {
+            return;
+        }
+        final String query = JOptionPane.showInputDialog(
+                this,
+                "Class name:",
+                "Go to Class",
+                JOptionPane.QUESTION_MESSAGE);
+        if (query == null || query.trim().isEmpty()) {
+            return;
+        }
+        this.showIndexedClass(
+                this.classIndex.findClasses(query, MAX_MATCHES),
+                "Go to Class",
+                String.format("No class matches '%s'.", query.trim()));
+    }
+
+    private void menu_NavigateSubclasses() {
+        if (this.classIndex == null) {
+            return;
+        }
+        final Object query = JOptionPane.showInputDialog(
+                this,
+                "Subclasses of class:",
+                "Subclasses of",
+                JOptionPane.QUESTION_MESSAGE,
+                null,
+                null,
+                this.getSelectedClassName());
+        if (query == null || query.toString().trim().isEmpty()) {
+            return;
+        }
+        this.showIndexedClass(
+                this.classIndex.getAllSubclasses(query.toString().trim()),
+                "Subclasses of " + query.toString().trim(),
+                String.format("No subclass of '%s' found.", query.toString().trim()));
+    }
+
+    /**
+     * Get the name of the class selected in the jar tree.
+     *
+     * @return Internal name of the class, or empty string if no class is
+     * selected
+     */
+    private String getSelectedClassName() {
+        final DefaultMutableTreeNode node = (DefaultMutableTreeNode) this.zftree.getLastSelectedPathComponent();
+        if (node != null && node.getUserObject() instanceof JTreeNodeZipFile) {
+            final ZipEntry ze = ((JTreeNodeZipFile) node.getUserObject()).getNodeObject();
+            if (ze != null && ze.getName().endsWith(".class")) {
+                return ze.getName().substring(0, ze.getName().length() - ".class".length());
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Let the user choose one of the classes, then show it.
+     *
+     * @param names Internal names of the classes
+     * @param title Title of the chooser
+     * @param notFound Message shown when there is no class
+     */
+    private void showIndexedClass(final List<String> names, final String title, final String notFound) {
+        if (names.isEmpty()) {
+            JOptionPane.showMessageDialog(
+                    this,
+                    notFound,
+                    this.getTitle(),
+                    JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        String name = names.get(0);
+        if (names.size() > 1) {
+            final JList<String> list = new JList<>(names.toArray(new String[names.size()]));
+            list.setSelectedIndex(0);
+            list.setVisibleRowCount(20);
+            final int result = JOptionPane.showConfirmDialog(
+                    this,
+                    new JScrollPane(list),
+                    String.format("%s (%d)", title, names.size()),
+                    JOptionPane.OK_CANCEL_OPTION,
+                    JOptionPane.PLAIN_MESSAGE);
+            if (result != JOptionPane.OK_OPTION || list.getSelectedValue() == null) {
+                return;
+            }
+            name = list.getSelectedValue();
+        }
+
+        final IndexedClass clazz = this.classIndex.getIndexedClass(name);
+        final ZipEntry ze = (clazz == null) ? null : this.zftree.getZipFile().getEntry(clazz.source);
+        if (ze == null) {
+            JOptionPane.showMessageDialog(
+                    this,
+                    String.format("Class '%s' is not found in the jar file.", name),
+                    this.getTitle(),
+                    JOptionPane.WARNING_MESSAGE);
+        } else {
+            this.showClassWindow(ze);
+        }
+    }
+
     private void clearContent() {
+        if (this.indexCancelled != null) {
+            this.indexCancelled.set(true);
+        }
+        this.indexCancelled = null;
+        this.classIndex = null;
+        this.setNavigateEnabled(false);
+        this.statusBar.setText(" ");
+
         if (this.zftreeContainer != null) {
             this.remove(this.zftreeContainer);
             this.validate();